@@ -0,0 +1,140 @@
+package com.javainfraexample.spring_monolith_template.config.rabbitmq;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerEndpoint;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.adapter.MessageListenerAdapter;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH: listener throughput of the previous container factory (platform threads, concurrency 1-3)
+ * vs virtual-thread factories, with a listener that blocks for a fixed time to simulate SMTP /
+ * push provider latency. Reported as time per message.
+ *
+ * Needs a RabbitMQ broker (RABBITMQ_HOST / RABBITMQ_PORT / RABBITMQ_USER / RABBITMQ_PASSWORD,
+ * default localhost:5672 guest/guest). Run with
+ * {@code ./mvnw -Pbenchmarks test-compile exec:exec -Djmh.args=ListenerThroughput}.
+ *
+ * Each invocation gets its own auto-delete queue, pre-filled with {@link #MESSAGES} messages
+ * outside the measured time; the benchmark measures starting the container and draining it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OperationsPerInvocation(ListenerThroughputBenchmark.MESSAGES)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ListenerThroughputBenchmark {
+
+    static final int MESSAGES = 1_000;
+    private static final long IO_LATENCY_MS = 20;
+
+    /** {@code platform|virtual}-{@code min}-{@code max}-{@code prefetch}; the first one is the previous factory. */
+    @Param({"platform-1-3-1", "virtual-1-3-1", "virtual-20-20-2", "virtual-100-100-2"})
+    public String scenario;
+
+    private CachingConnectionFactory connectionFactory;
+    private RabbitAdmin admin;
+    private RabbitTemplate template;
+    private SimpleRabbitListenerContainerFactory factory;
+
+    private String queue;
+    private CountDownLatch done;
+    private SimpleMessageListenerContainer container;
+
+    @Setup(Level.Trial)
+    public void connect() {
+        connectionFactory = new CachingConnectionFactory(
+                env("RABBITMQ_HOST", "localhost"), Integer.parseInt(env("RABBITMQ_PORT", "5672")));
+        connectionFactory.setUsername(env("RABBITMQ_USER", "guest"));
+        connectionFactory.setPassword(env("RABBITMQ_PASSWORD", "guest"));
+        connectionFactory.setChannelCacheSize(200);
+        admin = new RabbitAdmin(connectionFactory);
+        template = new RabbitTemplate(connectionFactory);
+
+        String[] parts = scenario.split("-");
+        factory = factory(connectionFactory, "virtual".equals(parts[0]),
+                Integer.parseInt(parts[1]), Integer.parseInt(parts[2]), Integer.parseInt(parts[3]));
+    }
+
+    @TearDown(Level.Trial)
+    public void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @Setup(Level.Invocation)
+    public void fillQueue() {
+        queue = admin.declareQueue(new Queue("bench.listener." + UUID.randomUUID(), false, false, true));
+        for (int i = 0; i < MESSAGES; i++) {
+            template.convertAndSend("", queue, "message-" + i);
+        }
+
+        CountDownLatch latch = new CountDownLatch(MESSAGES);
+        SimpleRabbitListenerEndpoint endpoint = new SimpleRabbitListenerEndpoint();
+        endpoint.setId(queue);
+        endpoint.setQueueNames(queue);
+        endpoint.setMessageListener(new MessageListenerAdapter(new Object() {
+            @SuppressWarnings("unused")
+            public void handleMessage(String body) throws InterruptedException {
+                Thread.sleep(IO_LATENCY_MS);
+                latch.countDown();
+            }
+        }));
+        done = latch;
+        container = factory.createListenerContainer(endpoint);
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteQueue() {
+        container.stop();
+        admin.deleteQueue(queue);
+    }
+
+    @Benchmark
+    public void drain() throws InterruptedException {
+        container.start();
+        if (!done.await(10, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Timed out draining " + queue);
+        }
+    }
+
+    private static SimpleRabbitListenerContainerFactory factory(CachingConnectionFactory connectionFactory,
+                                                                boolean virtualThreads, int min, int max, int prefetch) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setConcurrentConsumers(min);
+        factory.setMaxConcurrentConsumers(max);
+        factory.setPrefetchCount(prefetch);
+        if (virtualThreads) {
+            factory.setTaskExecutor(ListenerContainerConfig.virtualThreadExecutor("bench-listener-"));
+        }
+        return factory;
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null && !value.isBlank() ? value : defaultValue;
+    }
+}
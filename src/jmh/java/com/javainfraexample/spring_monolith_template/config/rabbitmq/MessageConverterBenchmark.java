@@ -0,0 +1,105 @@
+package com.javainfraexample.spring_monolith_template.config.rabbitmq;
+
+import com.javainfraexample.spring_monolith_template.messaging.audit.AuditMessage;
+import com.javainfraexample.spring_monolith_template.messaging.notification.message.NotificationMessage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH: current JSON converter vs {@link NegotiatingMessageConverter} variants, encode and decode
+ * of a large multicast notification (1,000 tokens) and an audit event with a big details map.
+ *
+ * Run with {@code ./mvnw -Pbenchmarks test-compile exec:exec -Djmh.args=MessageConverter}.
+ * Body sizes per format are asserted by NegotiatingMessageConverterTest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageConverterBenchmark {
+
+    @Param({"json", "json+gzip", "cbor", "cbor+gzip", "smile", "smile+gzip"})
+    public String converter;
+
+    @Param({"multicast", "audit"})
+    public String payload;
+
+    private MessageConverter messageConverter;
+    private Object value;
+    private Message encoded;
+
+    @Setup
+    public void setUp() {
+        messageConverter = switch (converter) {
+            case "json" -> new JacksonJsonMessageConverter();
+            case "json+gzip" -> negotiating(MessageConversionConfig.Format.JSON, MessageConversionConfig.Compression.GZIP);
+            case "cbor" -> negotiating(MessageConversionConfig.Format.CBOR, MessageConversionConfig.Compression.NONE);
+            case "cbor+gzip" -> negotiating(MessageConversionConfig.Format.CBOR, MessageConversionConfig.Compression.GZIP);
+            case "smile" -> negotiating(MessageConversionConfig.Format.SMILE, MessageConversionConfig.Compression.NONE);
+            case "smile+gzip" -> negotiating(MessageConversionConfig.Format.SMILE, MessageConversionConfig.Compression.GZIP);
+            default -> throw new IllegalArgumentException("Unknown converter: " + converter);
+        };
+        value = "multicast".equals(payload) ? multicast(1000) : audit(200);
+        encoded = messageConverter.toMessage(value, new MessageProperties());
+        encoded.getMessageProperties().setInferredArgumentType(value.getClass());
+    }
+
+    @Benchmark
+    public Message encode() {
+        return messageConverter.toMessage(value, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object decode() {
+        return messageConverter.fromMessage(new Message(encoded.getBody(), encoded.getMessageProperties()));
+    }
+
+    private static MessageConverter negotiating(MessageConversionConfig.Format format,
+                                                MessageConversionConfig.Compression compression) {
+        MessageConversionConfig config = new MessageConversionConfig();
+        config.setFormat(format);
+        config.setCompression(compression);
+        return new NegotiatingMessageConverter(new JacksonJsonMessageConverter(), config);
+    }
+
+    static NotificationMessage multicast(int tokens) {
+        List<String> list = new ArrayList<>(tokens);
+        for (int i = 0; i < tokens; i++) {
+            list.add("fcm-" + UUID.randomUUID());
+        }
+        return NotificationMessage.multicast(list, "Sprint review", "Sprint review at 3pm in room 4", "NORMAL",
+            Map.of("url", "/meetings/42"));
+    }
+
+    static AuditMessage audit(int entries) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        for (int i = 0; i < entries; i++) {
+            details.put("field" + i, i % 3 == 0 ? i : "value-" + i + "-" + UUID.randomUUID());
+        }
+        return new AuditMessage("USER_UPDATED", UUID.randomUUID().toString(), "203.0.113.7", details, Instant.now());
+    }
+}
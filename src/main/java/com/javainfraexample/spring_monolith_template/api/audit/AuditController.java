@@ -0,0 +1,79 @@
+package com.javainfraexample.spring_monolith_template.api.audit;
+
+import com.javainfraexample.spring_monolith_template.api.audit.dto.AuditEventPageResponse;
+import com.javainfraexample.spring_monolith_template.common.dto.ApiResponseDto;
+import com.javainfraexample.spring_monolith_template.repository.audit.AuditEventQuery;
+import com.javainfraexample.spring_monolith_template.services.audit.AuditService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+
+/**
+ * Audit trail read endpoints. Times are UTC.
+ * ADMIN only (see SecurityConfig): the trail holds every user's actions and IPs.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/audit/events")
+@RequiredArgsConstructor
+@Tag(name = "Audit", description = "Audit trail queries and exports")
+public class AuditController {
+
+    private final AuditService auditService;
+
+    @Operation(summary = "List audit events",
+               description = "Keyset-paginated, oldest first. Pass nextCursor from the previous page as 'after'.")
+    @ApiResponse(responseCode = "200", description = "Page of events")
+    @ApiResponse(responseCode = "400", description = "Invalid range, limit or cursor")
+    @GetMapping
+    public ResponseEntity<ApiResponseDto<AuditEventPageResponse>> list(
+            @Parameter(description = "Inclusive start (ISO date-time, UTC)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Exclusive end (ISO date-time, UTC), defaults to now")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Only events of this user") @RequestParam(required = false) String userId,
+            @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String after,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(auditService.findPage(from, to, userId, after, limit));
+    }
+
+    @Operation(summary = "Export audit events",
+               description = "Streams every matching event as NDJSON (one JSON object per line), oldest first")
+    @ApiResponse(responseCode = "200", description = "NDJSON stream")
+    @ApiResponse(responseCode = "400", description = "Invalid range")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "Inclusive start (ISO date-time, UTC)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Exclusive end (ISO date-time, UTC), defaults to now")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Only events of this user") @RequestParam(required = false) String userId) {
+        // Validate before the response is committed, so bad input still gets a 400
+        AuditEventQuery query = auditService.buildQuery(from, to, userId, null);
+
+        StreamingResponseBody body = out -> {
+            long rows = auditService.exportNdjson(query, out);
+            log.info("Audit export finished: {} events ({} → {})", rows, query.from(), query.to());
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"audit-events.ndjson\"")
+            .body(body);
+    }
+}
@@ -0,0 +1,14 @@
+package com.javainfraexample.spring_monolith_template.api.audit.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of audit events.
+ *
+ * @param nextCursor pass as {@code after} to get the next page; null on the last page
+ */
+public record AuditEventPageResponse(
+        List<AuditEventResponse> items,
+        String nextCursor
+) {
+}
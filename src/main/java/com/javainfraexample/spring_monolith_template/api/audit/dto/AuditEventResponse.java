@@ -0,0 +1,30 @@
+package com.javainfraexample.spring_monolith_template.api.audit.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.javainfraexample.spring_monolith_template.domain.audit.AuditEvent;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Audit event response DTO. {@code details} is the stored JSON, written as-is.
+ */
+public record AuditEventResponse(
+        UUID id,
+        String action,
+        String userId,
+        String ip,
+        @JsonRawValue String details,
+        LocalDateTime occurredAt
+) {
+    public static AuditEventResponse from(AuditEvent event) {
+        return new AuditEventResponse(
+                event.id(),
+                event.action(),
+                event.userId(),
+                event.ip(),
+                event.details(),
+                event.occurredAt()
+        );
+    }
+}
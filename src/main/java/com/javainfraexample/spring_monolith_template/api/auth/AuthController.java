@@ -33,7 +33,7 @@ public class AuthController {
     @ApiResponse(responseCode = "200", description = "Login successful")
     @ApiResponse(responseCode = "401", description = "Invalid credentials")
     @ApiResponse(responseCode = "429", description = "Too many login attempts")
-    @RateLimit(type = RateLimitType.STRICT, key = "login")
+    @RateLimit(type = RateLimitType.STRICT, key = "login", keyExpression = {"#ip", "#account(#request.email())"})
     @PostMapping("/login")
     public ResponseEntity<ApiResponseDto<LoginResponse>> login(@Valid @RequestBody LoginRequest request) {
         return ResponseEntity.ok(authService.login(request));
@@ -0,0 +1,96 @@
+package com.javainfraexample.spring_monolith_template.api.dlq;
+
+import com.javainfraexample.spring_monolith_template.api.dlq.dto.DlqRecordPageResponse;
+import com.javainfraexample.spring_monolith_template.api.dlq.dto.DlqReplayRequest;
+import com.javainfraexample.spring_monolith_template.api.dlq.dto.DlqReplayResponse;
+import com.javainfraexample.spring_monolith_template.common.dto.ApiResponseDto;
+import com.javainfraexample.spring_monolith_template.services.dlq.DlqRecordService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Admin endpoints for stored DLQ messages: filter them and replay them in bulk. Times are UTC.
+ *
+ * Served under /api/admin/dlq (global /api prefix); ADMIN role only, see SecurityConfig.
+ */
+@RestController
+@RequestMapping("/admin/dlq")
+@RequiredArgsConstructor
+@Tag(name = "DLQ", description = "Dead-lettered message inspection and replay")
+public class DlqController {
+
+    private final DlqRecordService dlqRecordService;
+
+    @Operation(summary = "List DLQ records",
+               description = "Keyset-paginated, oldest first. Pass nextCursor from the previous page as 'after'.")
+    @ApiResponse(responseCode = "200", description = "Page of records")
+    @ApiResponse(responseCode = "400", description = "Invalid filter, limit or cursor")
+    @GetMapping("/records")
+    public ResponseEntity<ApiResponseDto<DlqRecordPageResponse>> list(
+            @Parameter(description = "Original queue, e.g. app.email.send") @RequestParam(required = false) String queue,
+            @Parameter(description = "Message type, e.g. EMAIL") @RequestParam(required = false) String type,
+            @Parameter(description = "PENDING, REPLAYING, REPLAYED, FAILED or DUPLICATE") @RequestParam(required = false) String status,
+            @Parameter(description = "Inclusive start (ISO date-time, UTC)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Exclusive end (ISO date-time, UTC)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Cursor from the previous page") @RequestParam(required = false) String after,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(dlqRecordService.findPage(queue, type, status, from, to, after, limit));
+    }
+
+    @Operation(summary = "Start a bulk replay",
+               description = "Re-publishes matching PENDING / FAILED records to their original exchange and routing key at the given rate")
+    @ApiResponse(responseCode = "202", description = "Replay started")
+    @ApiResponse(responseCode = "400", description = "Invalid filter or rate")
+    @ApiResponse(responseCode = "409", description = "A replay is already running on this node")
+    @PostMapping("/replays")
+    public ResponseEntity<ApiResponseDto<DlqReplayResponse>> replay(@Valid @RequestBody DlqReplayRequest request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(dlqRecordService.startReplay(request));
+    }
+
+    @Operation(summary = "List replays", description = "Running and recently finished replays on this node")
+    @ApiResponse(responseCode = "200", description = "Replays")
+    @GetMapping("/replays")
+    public ResponseEntity<ApiResponseDto<List<DlqReplayResponse>>> replays() {
+        return ResponseEntity.ok(dlqRecordService.findReplays());
+    }
+
+    @Operation(summary = "Replay progress")
+    @ApiResponse(responseCode = "200", description = "Replay progress")
+    @ApiResponse(responseCode = "404", description = "Replay not found on this node")
+    @GetMapping("/replays/{id}")
+    public ResponseEntity<ApiResponseDto<DlqReplayResponse>> replayProgress(
+            @Parameter(description = "Replay id") @PathVariable String id) {
+        return ResponseEntity.ok(dlqRecordService.findReplay(id));
+    }
+
+    @Operation(summary = "Cancel a replay", description = "Stops after the current message; unsent records stay replayable")
+    @ApiResponse(responseCode = "200", description = "Replay cancelling")
+    @ApiResponse(responseCode = "404", description = "Replay not found on this node")
+    @DeleteMapping("/replays/{id}")
+    public ResponseEntity<ApiResponseDto<DlqReplayResponse>> cancel(
+            @Parameter(description = "Replay id") @PathVariable String id) {
+        return ResponseEntity.ok(dlqRecordService.cancelReplay(id));
+    }
+}
@@ -0,0 +1,14 @@
+package com.javainfraexample.spring_monolith_template.api.dlq.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of stored DLQ messages.
+ *
+ * @param nextCursor pass as {@code after} to get the next page; null on the last page
+ */
+public record DlqRecordPageResponse(
+        List<DlqRecordResponse> items,
+        String nextCursor
+) {
+}
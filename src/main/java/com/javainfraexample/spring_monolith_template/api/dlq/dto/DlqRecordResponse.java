@@ -0,0 +1,49 @@
+package com.javainfraexample.spring_monolith_template.api.dlq.dto;
+
+import com.javainfraexample.spring_monolith_template.repository.dlq.DlqRecord;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Stored DLQ message. {@code payload} is the decoded body (decompressed, CBOR / Smile as JSON).
+ */
+public record DlqRecordResponse(
+        long id,
+        String messageId,
+        String dlqQueue,
+        String originalQueue,
+        String messageType,
+        String exchange,
+        String routingKey,
+        int retryCount,
+        int replayCount,
+        String errorReason,
+        String payload,
+        Map<String, Object> headers,
+        LocalDateTime failedAt,
+        String replayStatus,
+        int replayAttempts,
+        String lastReplayError
+) {
+    public static DlqRecordResponse from(DlqRecord record, String payload) {
+        return new DlqRecordResponse(
+                record.id(),
+                record.messageId(),
+                record.dlqQueue(),
+                record.originalQueue(),
+                record.messageType(),
+                record.exchange(),
+                record.routingKey(),
+                record.retryCount(),
+                record.replayCount(),
+                record.errorReason(),
+                payload,
+                record.headers(),
+                record.failedAt(),
+                record.replayStatus(),
+                record.replayAttempts(),
+                record.lastReplayError()
+        );
+    }
+}
@@ -0,0 +1,29 @@
+package com.javainfraexample.spring_monolith_template.api.dlq.dto;
+
+import jakarta.validation.constraints.Positive;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bulk replay request. Every filter is optional; records already REPLAYED or DUPLICATE are never replayed.
+ *
+ * @param queue         original queue, e.g. app.email.send
+ * @param type          message type, e.g. EMAIL
+ * @param status        only PENDING or only FAILED records (default: both)
+ * @param from          inclusive lower bound on failedAt (UTC)
+ * @param to            exclusive upper bound on failedAt (UTC)
+ * @param ratePerSecond publish rate, defaults to app.dlq.replay.default-rate, capped at max-rate
+ * @param limit         stop after this many records (default: all matching)
+ */
+public record DlqReplayRequest(
+        String queue,
+        String type,
+        String status,
+        LocalDateTime from,
+        LocalDateTime to,
+        @Positive(message = "ratePerSecond must be positive")
+        Integer ratePerSecond,
+        @Positive(message = "limit must be positive")
+        Long limit
+) {
+}
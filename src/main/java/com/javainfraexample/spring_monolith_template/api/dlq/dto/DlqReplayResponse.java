@@ -0,0 +1,43 @@
+package com.javainfraexample.spring_monolith_template.api.dlq.dto;
+
+import com.javainfraexample.spring_monolith_template.messaging.dlq.DlqReplayer;
+
+import java.time.Instant;
+
+/**
+ * Replay job progress. {@code matched} is counted when the job starts; the other counts grow as it runs.
+ *
+ * @param status    RUNNING, COMPLETED, CANCELLED or FAILED
+ * @param confirmed published and confirmed by the broker (now REPLAYED)
+ * @param failed    nacked, returned or timed out (now FAILED, can be replayed again)
+ * @param duplicates skipped because a record with the same message-id was already replayed in this job
+ */
+public record DlqReplayResponse(
+        String id,
+        String status,
+        int ratePerSecond,
+        long matched,
+        long claimed,
+        long confirmed,
+        long failed,
+        long duplicates,
+        String lastError,
+        Instant startedAt,
+        Instant finishedAt
+) {
+    public static DlqReplayResponse from(DlqReplayer.ReplayJob job) {
+        return new DlqReplayResponse(
+                job.getId(),
+                job.getStatus(),
+                job.getRatePerSecond(),
+                job.getMatched(),
+                job.getClaimed().get(),
+                job.getConfirmed().get(),
+                job.getFailed().get(),
+                job.getDuplicates().get(),
+                job.getLastError(),
+                job.getStartedAt(),
+                job.getFinishedAt()
+        );
+    }
+}
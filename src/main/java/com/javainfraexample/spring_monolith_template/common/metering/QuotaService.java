@@ -0,0 +1,155 @@
+package com.javainfraexample.spring_monolith_template.common.metering;
+
+import com.javainfraexample.spring_monolith_template.repository.usage.UsageCounterRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Daily / monthly quota checks against a cached usage snapshot.
+ *
+ * Usage:
+ *   QuotaResult quota = quotaService.check("ip:203.0.113.7");
+ *   if (!quota.allowed()) {
+ *       // Return 429 with Retry-After = quota.resetSeconds()
+ *   }
+ *
+ * A client's Postgres totals are loaded at most once per {@code snapshot-ttl-seconds}
+ * and cached in memory; units this node has recorded but not flushed yet are added
+ * on top. Other nodes' unflushed units are not visible, so a quota can be overshot
+ * by roughly (nodes × flush interval) worth of traffic — fine for quotas, which is
+ * why per-second protection stays with the Redis rate limiter.
+ *
+ * Database errors fail open (last snapshot, or zero usage).
+ */
+@Slf4j
+@Service
+public class QuotaService {
+
+    private final UsageCounterRepository repository;
+    private final UsageMeter usageMeter;
+    private final UsageMeteringConfig config;
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Counter rejected;
+
+    public QuotaService(UsageCounterRepository repository,
+                        UsageMeter usageMeter,
+                        UsageMeteringConfig config,
+                        MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.usageMeter = usageMeter;
+        this.config = config;
+        this.rejected = Counter.builder("usage.quota.rejected")
+                .description("Requests rejected because a daily or monthly quota was used up")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Check whether a client still has quota left today and this month.
+     */
+    public QuotaResult check(String clientId) {
+        if (!config.isEnabled() || (config.getDailyQuota() <= 0 && config.getMonthlyQuota() <= 0)) {
+            return QuotaResult.unlimited();
+        }
+
+        long epochDay = UsageMeter.currentEpochDay();
+        Snapshot snapshot = snapshot(clientId, epochDay);
+        long pending = usageMeter.pendingUnits(clientId);
+        long daily = snapshot.daily + pending;
+        long monthly = snapshot.monthly + pending;
+
+        if (config.getDailyQuota() > 0 && daily >= config.getDailyQuota()) {
+            rejected.increment();
+            return QuotaResult.exceeded("daily", secondsUntilNextDay());
+        }
+        if (config.getMonthlyQuota() > 0 && monthly >= config.getMonthlyQuota()) {
+            rejected.increment();
+            return QuotaResult.exceeded("monthly", secondsUntilNextMonth());
+        }
+        return QuotaResult.allowed(
+            config.getDailyQuota() > 0 ? config.getDailyQuota() - daily : -1,
+            config.getMonthlyQuota() > 0 ? config.getMonthlyQuota() - monthly : -1
+        );
+    }
+
+    /**
+     * Drop a client's cached snapshot (e.g. after an admin adjusted usage).
+     */
+    public void evict(String clientId) {
+        snapshots.remove(clientId);
+    }
+
+    private Snapshot snapshot(String clientId, long epochDay) {
+        long now = System.currentTimeMillis();
+        Snapshot cached = snapshots.get(clientId);
+        if (cached != null && cached.epochDay == epochDay && now < cached.expiresAt) {
+            return cached;
+        }
+
+        LocalDate today = LocalDate.ofEpochDay(epochDay);
+        try {
+            long[] units = repository.findDailyAndMonthlyUnits(clientId, today, today.withDayOfMonth(1));
+            Snapshot loaded = new Snapshot(epochDay, units[0], units[1], now + config.getSnapshotTtlSeconds() * 1000L);
+            if (snapshots.size() >= config.getMaxSnapshots()) {
+                snapshots.values().removeIf(s -> s.expiresAt <= now);
+            }
+            if (snapshots.size() < config.getMaxSnapshots()) {
+                snapshots.put(clientId, loaded);
+            }
+            return loaded;
+
+        } catch (Exception e) {
+            log.error("Failed to load usage snapshot for client: {}", clientId, e);
+            // Fail open, and keep the result for one TTL so a DB outage isn't hit per request
+            Snapshot fallback = cached != null && cached.epochDay == epochDay
+                ? new Snapshot(epochDay, cached.daily, cached.monthly, now + config.getSnapshotTtlSeconds() * 1000L)
+                : new Snapshot(epochDay, 0, 0, now + config.getSnapshotTtlSeconds() * 1000L);
+            snapshots.put(clientId, fallback);
+            return fallback;
+        }
+    }
+
+    private static long secondsUntilNextDay() {
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        return Duration.between(now, now.toLocalDate().plusDays(1).atStartOfDay(ZoneOffset.UTC)).toSeconds() + 1;
+    }
+
+    private static long secondsUntilNextMonth() {
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        LocalDate nextMonth = now.toLocalDate().withDayOfMonth(1).plusMonths(1);
+        return Duration.between(now, nextMonth.atStartOfDay(ZoneOffset.UTC)).toSeconds() + 1;
+    }
+
+    private record Snapshot(long epochDay, long daily, long monthly, long expiresAt) {}
+
+    /**
+     * Result of a quota check. Remaining values are -1 when that quota is unlimited.
+     */
+    public record QuotaResult(
+        boolean allowed,
+        String exceededQuota,
+        long dailyRemaining,
+        long monthlyRemaining,
+        long resetSeconds
+    ) {
+        public static QuotaResult unlimited() {
+            return new QuotaResult(true, null, -1, -1, -1);
+        }
+
+        public static QuotaResult allowed(long dailyRemaining, long monthlyRemaining) {
+            return new QuotaResult(true, null, dailyRemaining, monthlyRemaining, -1);
+        }
+
+        public static QuotaResult exceeded(String quota, long resetSeconds) {
+            return new QuotaResult(false, quota, 0, 0, resetSeconds);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.javainfraexample.spring_monolith_template.common.metering;
+
+import com.javainfraexample.spring_monolith_template.repository.usage.UsageCounterRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Buffered usage counters, flushed to Postgres in batches.
+ *
+ * Hot path: {@link #record(String, long)} only bumps an in-memory {@link LongAdder}
+ * (no I/O, no locks). Every {@code flush-interval-seconds} the buffered units are
+ * drained ({@code sumThenReset}) and written as batched upserts into the day's
+ * usage_counters partition, so Postgres sees one row write per active client per
+ * interval instead of one per request.
+ *
+ * A failed flush puts the units back into the buffer; they are retried next interval.
+ * Units still buffered on shutdown are flushed by {@link #shutdown()}.
+ *
+ * Days are UTC.
+ */
+@Slf4j
+@Component
+public class UsageMeter {
+
+    private final UsageCounterRepository repository;
+    private final UsageMeteringConfig config;
+
+    // epoch day → client → units not yet written
+    private final Map<Long, Map<String, LongAdder>> buffers = new ConcurrentHashMap<>();
+    private final Set<Long> knownPartitions = ConcurrentHashMap.newKeySet();
+
+    private final Counter flushedUnits;
+    private final Counter flushFailures;
+    private final Timer flushLatency;
+
+    public UsageMeter(UsageCounterRepository repository,
+                      UsageMeteringConfig config,
+                      MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.config = config;
+
+        this.flushedUnits = Counter.builder("usage.flush.units")
+                .description("Usage units written to Postgres")
+                .register(meterRegistry);
+        this.flushFailures = Counter.builder("usage.flush.failures")
+                .description("Failed usage flushes (units are retried)")
+                .register(meterRegistry);
+        this.flushLatency = Timer.builder("usage.flush.latency")
+                .description("Time to write one batch of buffered usage")
+                .register(meterRegistry);
+        Gauge.builder("usage.buffer.clients", buffers, b -> b.values().stream().mapToInt(Map::size).sum())
+                .description("Clients with buffered usage on this node")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record {@code units} of usage for a client (hot path, in-memory only).
+     */
+    public void record(String clientId, long units) {
+        if (!config.isEnabled() || units <= 0) {
+            return;
+        }
+        long day = currentEpochDay();
+        buffers.computeIfAbsent(day, d -> new ConcurrentHashMap<>())
+            .computeIfAbsent(clientId, c -> new LongAdder())
+            .add(units);
+    }
+
+    /**
+     * Units recorded on this node for a client today that are not in Postgres yet.
+     */
+    public long pendingUnits(String clientId) {
+        Map<String, LongAdder> today = buffers.get(currentEpochDay());
+        LongAdder adder = today != null ? today.get(clientId) : null;
+        return adder != null ? adder.sum() : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${app.metering.flush-interval-seconds:10}", timeUnit = TimeUnit.SECONDS)
+    public void flush() {
+        long today = currentEpochDay();
+        for (Map.Entry<Long, Map<String, LongAdder>> entry : buffers.entrySet()) {
+            long day = entry.getKey();
+            Map<String, LongAdder> clients = entry.getValue();
+
+            Map<String, Long> batch = new HashMap<>(clients.size() * 2);
+            clients.forEach((clientId, adder) -> {
+                long units = adder.sumThenReset();
+                if (units > 0) {
+                    batch.put(clientId, units);
+                }
+            });
+
+            if (!batch.isEmpty() && !write(day, clients, batch)) {
+                continue;
+            }
+
+            // Past days receive no new writes once drained (only stragglers at the boundary)
+            if (day < today - 1) {
+                buffers.remove(day, clients);
+            } else if (day < today) {
+                clients.values().removeIf(adder -> adder.sum() == 0);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("Flushing buffered usage before shutdown");
+        flush();
+    }
+
+    private boolean write(long day, Map<String, LongAdder> clients, Map<String, Long> batch) {
+        LocalDate date = LocalDate.ofEpochDay(day);
+        long started = System.nanoTime();
+        try {
+            if (knownPartitions.add(day)) {
+                repository.ensurePartition(date);
+            }
+            repository.addUnits(date, batch, config.getBatchSize());
+            flushedUnits.increment(batch.values().stream().mapToLong(Long::longValue).sum());
+            log.debug("Flushed usage of {} clients for {}", batch.size(), date);
+            return true;
+
+        } catch (Exception e) {
+            knownPartitions.remove(day);
+            flushFailures.increment();
+            // Put the units back so the next flush retries them
+            batch.forEach((clientId, units) ->
+                clients.computeIfAbsent(clientId, c -> new LongAdder()).add(units));
+            log.error("Usage flush failed for {} ({} clients), will retry: {}", date, batch.size(), e.getMessage());
+            return false;
+        } finally {
+            flushLatency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    static long currentEpochDay() {
+        return Math.floorDiv(System.currentTimeMillis(), 86_400_000L);
+    }
+}
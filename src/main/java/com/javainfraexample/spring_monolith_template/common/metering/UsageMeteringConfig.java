@@ -0,0 +1,38 @@
+package com.javainfraexample.spring_monolith_template.common.metering;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Usage metering and quota configuration loaded from application.yaml.
+ *
+ * Example configuration:
+ * app:
+ *   metering:
+ *     enabled: true
+ *     flush-interval-seconds: 10
+ *     daily-quota: 10000        # units per client per UTC day, 0 = unlimited
+ *     monthly-quota: 200000     # units per client per UTC month, 0 = unlimited
+ *     retention-days: 90        # daily partitions kept, then dropped (usage_monthly is kept on write)
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "app.metering")
+public class UsageMeteringConfig {
+
+    private boolean enabled = true;
+
+    private int flushIntervalSeconds = 10;     // how often buffered counters are written to Postgres
+    private int batchSize = 500;               // rows per JDBC batch
+
+    private long dailyQuota = 0;               // 0 = unlimited
+    private long monthlyQuota = 0;             // 0 = unlimited
+    private int snapshotTtlSeconds = 30;       // how stale a client's cached usage may be
+    private int maxSnapshots = 100_000;        // cached client snapshots per node
+
+    private int retentionDays = 90;            // daily partitions older than this are dropped; usage_monthly is maintained on write
+    private int partitionsAhead = 7;           // daily partitions created in advance
+}
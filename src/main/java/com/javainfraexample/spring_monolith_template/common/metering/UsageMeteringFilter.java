@@ -0,0 +1,104 @@
+package com.javainfraexample.spring_monolith_template.common.metering;
+
+import com.javainfraexample.spring_monolith_template.common.net.ClientAddressResolver;
+import com.javainfraexample.spring_monolith_template.common.ratelimit.RateLimitCost;
+import com.javainfraexample.spring_monolith_template.common.ratelimit.RateLimitRule;
+import com.javainfraexample.spring_monolith_template.common.ratelimit.RateLimitRuleRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.LocalDateTime;
+
+/**
+ * HTTP filter that meters usage per client and enforces daily / monthly quotas.
+ *
+ *   - exempt paths (rate limit rules with {@code exempt: true}) → not metered
+ *   - quota used up → 429 with Retry-After until the quota resets (UTC midnight / month start)
+ *   - otherwise     → request proceeds; 1 unit + any {@link RateLimitCost} units are recorded
+ *
+ * Runs after the rate limit and concurrency filters, so rejected or shed requests are not billed.
+ * Client id is {@code ip:<client ip>}.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@RequiredArgsConstructor
+public class UsageMeteringFilter extends OncePerRequestFilter {
+
+    private final UsageMeteringConfig config;
+    private final UsageMeter usageMeter;
+    private final QuotaService quotaService;
+    private final RateLimitRuleRegistry ruleRegistry;
+    private final ClientAddressResolver clientAddressResolver;
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        if (!config.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RateLimitRule rule = ruleRegistry.match(request.getMethod(), request.getRequestURI());
+        if (rule != null && rule.exempt()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String clientId = "ip:" + clientAddressResolver.resolve(request);
+
+        QuotaService.QuotaResult quota = quotaService.check(clientId);
+        if (!quota.allowed()) {
+            sendQuotaExceededResponse(response, quota);
+            return;
+        }
+        if (quota.dailyRemaining() >= 0) {
+            response.setHeader("X-Quota-Daily-Remaining", String.valueOf(quota.dailyRemaining()));
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            usageMeter.record(clientId, 1 + RateLimitCost.get(request));
+        }
+    }
+
+    private void sendQuotaExceededResponse(HttpServletResponse response, QuotaService.QuotaResult quota) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Retry-After", String.valueOf(quota.resetSeconds()));
+
+        String jsonResponse = """
+            {
+                "timestamp": "%s",
+                "status": 429,
+                "error": "Too Many Requests",
+                "message": "%s quota exceeded. Quota resets in %d seconds.",
+                "retryAfter": %d
+            }
+            """.formatted(LocalDateTime.now().toString(),
+                quota.exceededQuota().substring(0, 1).toUpperCase() + quota.exceededQuota().substring(1),
+                quota.resetSeconds(), quota.resetSeconds());
+
+        PrintWriter writer = response.getWriter();
+        writer.write(jsonResponse);
+        writer.flush();
+    }
+}
@@ -0,0 +1,47 @@
+package com.javainfraexample.spring_monolith_template.common.metering;
+
+import com.javainfraexample.spring_monolith_template.repository.usage.UsageCounterRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Maintains usage_counters daily partitions (called by UsageRollupJob).
+ *
+ *   - creates the next {@code partitions-ahead} days so flushes never hit a missing partition
+ *   - drops partitions older than {@code retention-days} (usage_monthly already holds their totals)
+ *
+ * Dropping a partition is O(1) and leaves no dead tuples, unlike DELETE.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UsagePartitionManager {
+
+    private final UsageCounterRepository repository;
+    private final UsageMeteringConfig config;
+
+    public void ensureUpcomingPartitions() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        for (int offset = 0; offset <= config.getPartitionsAhead(); offset++) {
+            repository.ensurePartition(today.plusDays(offset));
+        }
+    }
+
+    /**
+     * @return number of partitions dropped
+     */
+    public int dropExpiredPartitions() {
+        LocalDate cutoff = LocalDate.now(ZoneOffset.UTC).minusDays(config.getRetentionDays());
+        int dropped = 0;
+        for (LocalDate day : repository.findPartitionDaysBefore(cutoff)) {
+            repository.dropPartition(day);
+            log.info("Dropped usage partition for {}", day);
+            dropped++;
+        }
+        return dropped;
+    }
+}
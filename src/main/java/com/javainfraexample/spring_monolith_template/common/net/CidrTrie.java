@@ -0,0 +1,78 @@
+package com.javainfraexample.spring_monolith_template.common.net;
+
+import java.util.Arrays;
+
+/**
+ * Binary (one bit per level) trie of CIDR prefixes for one address family.
+ *
+ * Nodes live in parallel int arrays rather than objects, so a few hundred
+ * prefixes cost a few KB and a lookup is at most 32 (IPv4) or 128 (IPv6)
+ * array reads with no allocation. Built once at startup, read-only afterwards.
+ */
+final class CidrTrie {
+
+    private final int addressBits;
+
+    // child indexes per node; 0 = no child (the root is node 0 and never a child)
+    private int[] zero = new int[16];
+    private int[] one = new int[16];
+    private boolean[] terminal = new boolean[16];
+    private int size = 1;
+
+    CidrTrie(int addressBits) {
+        this.addressBits = addressBits;
+    }
+
+    void add(byte[] address, int prefixLength) {
+        if (address.length * 8 != addressBits || prefixLength < 0 || prefixLength > addressBits) {
+            throw new IllegalArgumentException("Invalid prefix length /" + prefixLength + " for " + addressBits + "-bit address");
+        }
+        int node = 0;
+        for (int bit = 0; bit < prefixLength; bit++) {
+            if (terminal[node]) {
+                return; // a shorter prefix already covers this one
+            }
+            boolean set = bit(address, bit);
+            int child = set ? one[node] : zero[node];
+            if (child == 0) {
+                child = newNode();
+                if (set) one[node] = child; else zero[node] = child;
+            }
+            node = child;
+        }
+        terminal[node] = true;
+    }
+
+    boolean contains(byte[] address) {
+        if (address.length * 8 != addressBits) {
+            return false;
+        }
+        int node = 0;
+        for (int bit = 0; ; bit++) {
+            if (terminal[node]) {
+                return true;
+            }
+            if (bit == addressBits) {
+                return false;
+            }
+            node = bit(address, bit) ? one[node] : zero[node];
+            if (node == 0) {
+                return false;
+            }
+        }
+    }
+
+    private int newNode() {
+        if (size == zero.length) {
+            int capacity = size * 2;
+            zero = Arrays.copyOf(zero, capacity);
+            one = Arrays.copyOf(one, capacity);
+            terminal = Arrays.copyOf(terminal, capacity);
+        }
+        return size++;
+    }
+
+    private static boolean bit(byte[] address, int index) {
+        return (address[index >>> 3] & (0x80 >>> (index & 7))) != 0;
+    }
+}
@@ -0,0 +1,42 @@
+package com.javainfraexample.spring_monolith_template.common.net;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Client address resolution settings loaded from application.yaml.
+ *
+ * Example configuration:
+ * app:
+ *   client-address:
+ *     trusted-proxies:
+ *       - 10.0.0.0/8
+ *       - 2001:db8:100::/48
+ *     real-ip-header-enabled: true
+ *
+ * Only hops whose address falls inside {@code trusted-proxies} may set
+ * X-Forwarded-For / X-Real-IP. The default trusts loopback only (a proxy on the
+ * same host); load balancer or ingress ranges must be listed explicitly. Trusting
+ * all private ranges would let any host on a shared network spoof its client IP.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "app.client-address")
+public class ClientAddressConfig {
+
+    private List<String> trustedProxies = new ArrayList<>(List.of(
+        "127.0.0.0/8",
+        "::1/128"
+    ));
+
+    /**
+     * Fall back to X-Real-IP when a trusted proxy sent no X-Forwarded-For.
+     */
+    private boolean realIpHeaderEnabled = true;
+}
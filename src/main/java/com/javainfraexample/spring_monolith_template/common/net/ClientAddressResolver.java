@@ -0,0 +1,176 @@
+package com.javainfraexample.spring_monolith_template.common.net;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * Resolves the real client IP of a request, resistant to header spoofing.
+ *
+ * <h3>Algorithm</h3>
+ * <pre>
+ *   1. remoteAddr not a trusted proxy     → remoteAddr (headers are ignored)
+ *   2. walk X-Forwarded-For right-to-left:
+ *        trusted hop                      → keep walking
+ *        first untrusted hop              → that's the client
+ *        unparsable hop ("unknown", junk) → stop, use the last trusted hop
+ *      all hops trusted                   → leftmost hop
+ *   3. no X-Forwarded-For                 → X-Real-IP (if enabled), else remoteAddr
+ * </pre>
+ *
+ * A client can prepend anything to X-Forwarded-For, but it can't get past the
+ * hops our own proxies appended, so the leftmost value is never trusted blindly.
+ *
+ * The result is normalized ({@link IpAddress#format}) and cached as a request
+ * attribute, so the filter, aspects and audit code all share one parse.
+ */
+@Slf4j
+@Component
+public class ClientAddressResolver {
+
+    /** Request attribute holding the resolved client IP. */
+    public static final String ATTRIBUTE = ClientAddressResolver.class.getName() + ".clientIp";
+
+    private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+    private static final String X_REAL_IP = "X-Real-IP";
+
+    private final CidrTrie trustedV4 = new CidrTrie(32);
+    private final CidrTrie trustedV6 = new CidrTrie(128);
+    private final boolean realIpHeaderEnabled;
+
+    public ClientAddressResolver(ClientAddressConfig config) {
+        for (String cidr : config.getTrustedProxies()) {
+            addTrusted(cidr);
+        }
+        this.realIpHeaderEnabled = config.isRealIpHeaderEnabled();
+        log.info("Trusted proxies: {}", config.getTrustedProxies());
+    }
+
+    /**
+     * Resolve (or return the cached) client IP for this request.
+     */
+    public String resolve(HttpServletRequest request) {
+        if (request.getAttribute(ATTRIBUTE) instanceof String cached) {
+            return cached;
+        }
+        String clientIp = doResolve(request);
+        request.setAttribute(ATTRIBUTE, clientIp);
+        return clientIp;
+    }
+
+    /**
+     * True if the address is inside a configured trusted-proxy range.
+     */
+    public boolean isTrustedProxy(byte[] address) {
+        return address != null && (address.length == 4 ? trustedV4.contains(address) : trustedV6.contains(address));
+    }
+
+    private String doResolve(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        byte[] remote = IpAddress.parse(remoteAddr);
+        if (remote == null) {
+            return remoteAddr;
+        }
+        if (!isTrustedProxy(remote)) {
+            return IpAddress.format(remote);
+        }
+
+        byte[] lastTrusted = remote;
+        Enumeration<String> headers = request.getHeaders(X_FORWARDED_FOR);
+        if (headers != null && headers.hasMoreElements()) {
+            String first = headers.nextElement();
+            List<String> values = null;
+            while (headers.hasMoreElements()) {
+                if (values == null) {
+                    values = new ArrayList<>(4);
+                    values.add(first);
+                }
+                values.add(headers.nextElement());
+            }
+
+            // Multiple headers are one logical list: walk the last header first
+            if (values == null) {
+                return walkForwardedFor(first, lastTrusted);
+            }
+            for (int h = values.size() - 1; h >= 0; h--) {
+                WalkResult result = walk(values.get(h), lastTrusted);
+                if (result.client != null) {
+                    return result.client;
+                }
+                lastTrusted = result.lastTrusted;
+            }
+            return IpAddress.format(lastTrusted);
+        }
+
+        if (realIpHeaderEnabled) {
+            byte[] realIp = IpAddress.parse(request.getHeader(X_REAL_IP));
+            if (realIp != null) {
+                return IpAddress.format(realIp);
+            }
+        }
+        return IpAddress.format(remote);
+    }
+
+    private String walkForwardedFor(String header, byte[] lastTrusted) {
+        WalkResult result = walk(header, lastTrusted);
+        return result.client != null ? result.client : IpAddress.format(result.lastTrusted);
+    }
+
+    /**
+     * Walk one X-Forwarded-For value right-to-left by index (no split).
+     */
+    private WalkResult walk(String header, byte[] lastTrusted) {
+        int end = header.length();
+        while (end > 0) {
+            int comma = header.lastIndexOf(',', end - 1);
+            byte[] hop = IpAddress.parse(header, comma + 1, end);
+            if (hop == null) {
+                if (isBlank(header, comma + 1, end)) {
+                    end = Math.max(comma, 0);
+                    continue;
+                }
+                return new WalkResult(IpAddress.format(lastTrusted), lastTrusted);
+            }
+            if (!isTrustedProxy(hop)) {
+                return new WalkResult(IpAddress.format(hop), hop);
+            }
+            lastTrusted = hop;
+            end = Math.max(comma, 0);
+        }
+        return new WalkResult(null, lastTrusted);
+    }
+
+    private void addTrusted(String cidr) {
+        int slash = cidr.indexOf('/');
+        byte[] address = IpAddress.parse(cidr, 0, slash >= 0 ? slash : cidr.length());
+        if (address == null) {
+            throw new IllegalStateException("Invalid trusted proxy address: " + cidr);
+        }
+        int prefix;
+        try {
+            prefix = slash >= 0 ? Integer.parseInt(cidr.substring(slash + 1).trim()) : address.length * 8;
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Invalid trusted proxy prefix: " + cidr, e);
+        }
+        if (address.length == 4) {
+            trustedV4.add(address, prefix);
+        } else {
+            trustedV6.add(address, prefix);
+        }
+    }
+
+    private static boolean isBlank(String value, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record WalkResult(String client, byte[] lastTrusted) {}
+}
@@ -0,0 +1,239 @@
+package com.javainfraexample.spring_monolith_template.common.net;
+
+import java.util.Arrays;
+
+/**
+ * Allocation-light IPv4 / IPv6 literal parsing and canonical formatting.
+ *
+ * Unlike {@code InetAddress.getByName}, this never performs a DNS lookup, and
+ * it parses a region of a larger string (e.g. one hop of an X-Forwarded-For
+ * header) without substring, split or regex allocations.
+ *
+ * Accepted forms:
+ * <pre>
+ *   192.168.1.10           1.2.3.4:8080 (port dropped)
+ *   2001:db8::1            [2001:db8::1]:443 (brackets and port dropped)
+ *   fe80::1%eth0 (zone dropped)
+ *   ::ffff:10.0.0.1        (IPv4-mapped, collapsed to 10.0.0.1)
+ * </pre>
+ */
+public final class IpAddress {
+
+    private IpAddress() {}
+
+    /**
+     * Parse a whole string. Returns 4 bytes (IPv4), 16 bytes (IPv6) or null if not an IP literal.
+     */
+    public static byte[] parse(String value) {
+        return value == null ? null : parse(value, 0, value.length());
+    }
+
+    /**
+     * Parse {@code value[start, end)}, ignoring surrounding whitespace.
+     */
+    public static byte[] parse(String value, int start, int end) {
+        while (start < end && Character.isWhitespace(value.charAt(start))) start++;
+        while (end > start && Character.isWhitespace(value.charAt(end - 1))) end--;
+        if (start == end) {
+            return null;
+        }
+
+        // [v6]:port
+        if (value.charAt(start) == '[') {
+            int close = indexOf(value, ']', start, end);
+            return close < 0 ? null : unmap(parseV6(value, start + 1, close));
+        }
+
+        int firstColon = indexOf(value, ':', start, end);
+        if (firstColon < 0) {
+            return parseV4(value, start, end);
+        }
+
+        // v4:port
+        int dot = indexOf(value, '.', start, end);
+        if (dot >= 0 && dot < firstColon && indexOf(value, ':', firstColon + 1, end) < 0) {
+            return parseV4(value, start, firstColon);
+        }
+
+        int zone = indexOf(value, '%', start, end);
+        return unmap(parseV6(value, start, zone >= 0 ? zone : end));
+    }
+
+    /**
+     * Canonical text form: dotted quad for IPv4, RFC 5952 for IPv6
+     * (lowercase, no leading zeros, longest zero run compressed).
+     */
+    public static String format(byte[] address) {
+        if (address.length == 4) {
+            return (address[0] & 0xff) + "." + (address[1] & 0xff) + "." + (address[2] & 0xff) + "." + (address[3] & 0xff);
+        }
+
+        int bestStart = -1, bestLength = 0;
+        for (int i = 0; i < 8; ) {
+            if (group(address, i) != 0) {
+                i++;
+                continue;
+            }
+            int runStart = i;
+            while (i < 8 && group(address, i) == 0) i++;
+            if (i - runStart > bestLength) {
+                bestStart = runStart;
+                bestLength = i - runStart;
+            }
+        }
+        if (bestLength < 2) {
+            bestStart = -1;
+        }
+
+        StringBuilder sb = new StringBuilder(39);
+        for (int i = 0; i < 8; i++) {
+            if (i == bestStart) {
+                sb.append("::");
+                i += bestLength - 1;
+                continue;
+            }
+            if (sb.length() > 0 && sb.charAt(sb.length() - 1) != ':') {
+                sb.append(':');
+            }
+            sb.append(Integer.toHexString(group(address, i)));
+        }
+        return sb.toString();
+    }
+
+    private static byte[] parseV4(String value, int start, int end) {
+        byte[] out = new byte[4];
+        return parseV4Into(value, start, end, out, 0) ? out : null;
+    }
+
+    private static boolean parseV4Into(String value, int start, int end, byte[] out, int offset) {
+        int octets = 0;
+        int i = start;
+        while (i < end) {
+            if (octets == 4) {
+                return false;
+            }
+            int octet = 0, digits = 0;
+            while (i < end && value.charAt(i) >= '0' && value.charAt(i) <= '9') {
+                if (++digits > 3) {
+                    return false;
+                }
+                octet = octet * 10 + (value.charAt(i) - '0');
+                i++;
+            }
+            if (digits == 0 || octet > 255) {
+                return false;
+            }
+            out[offset + octets++] = (byte) octet;
+            if (i < end) {
+                if (value.charAt(i) != '.' || i == end - 1) {
+                    return false;
+                }
+                i++;
+            }
+        }
+        return octets == 4;
+    }
+
+    private static byte[] parseV6(String value, int start, int end) {
+        if (start >= end) {
+            return null;
+        }
+        byte[] out = new byte[16];
+        int groups = 0;
+        int compressAt = -1;
+        int i = start;
+
+        if (value.charAt(i) == ':') {
+            if (end - i < 2 || value.charAt(i + 1) != ':') {
+                return null;
+            }
+            compressAt = 0;
+            i += 2;
+        }
+
+        while (i < end) {
+            int groupStart = i;
+            int group = 0, digits = 0, hex;
+            while (i < end && (hex = Character.digit(value.charAt(i), 16)) >= 0) {
+                if (++digits > 4) {
+                    return null;
+                }
+                group = (group << 4) | hex;
+                i++;
+            }
+
+            // Embedded IPv4 tail, e.g. ::ffff:10.0.0.1
+            if (i < end && value.charAt(i) == '.') {
+                if (groups > 6 || !parseV4Into(value, groupStart, end, out, groups * 2)) {
+                    return null;
+                }
+                groups += 2;
+                break;
+            }
+
+            if (digits == 0 || groups == 8) {
+                return null;
+            }
+            out[groups * 2] = (byte) (group >> 8);
+            out[groups * 2 + 1] = (byte) group;
+            groups++;
+
+            if (i == end) {
+                break;
+            }
+            if (value.charAt(i) != ':' || ++i == end) {
+                return null;
+            }
+            if (value.charAt(i) == ':') {
+                if (compressAt >= 0) {
+                    return null;
+                }
+                compressAt = groups;
+                i++;
+            }
+        }
+
+        if (compressAt >= 0) {
+            if (groups == 8) {
+                return null;
+            }
+            int tail = groups - compressAt;
+            System.arraycopy(out, compressAt * 2, out, 16 - tail * 2, tail * 2);
+            Arrays.fill(out, compressAt * 2, 16 - tail * 2, (byte) 0);
+        } else if (groups != 8) {
+            return null;
+        }
+        return out;
+    }
+
+    /**
+     * Collapse IPv4-mapped IPv6 (::ffff:a.b.c.d) to plain IPv4 so both forms share a key.
+     */
+    private static byte[] unmap(byte[] address) {
+        if (address == null || address.length != 16) {
+            return address;
+        }
+        for (int i = 0; i < 10; i++) {
+            if (address[i] != 0) {
+                return address;
+            }
+        }
+        if (address[10] != (byte) 0xff || address[11] != (byte) 0xff) {
+            return address;
+        }
+        return Arrays.copyOfRange(address, 12, 16);
+    }
+
+    private static int group(byte[] address, int index) {
+        return ((address[index * 2] & 0xff) << 8) | (address[index * 2 + 1] & 0xff);
+    }
+
+    private static int indexOf(String value, char ch, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (value.charAt(i) == ch) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
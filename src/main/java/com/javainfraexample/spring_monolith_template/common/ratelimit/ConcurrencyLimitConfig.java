@@ -0,0 +1,49 @@
+package com.javainfraexample.spring_monolith_template.common.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adaptive concurrency limit (load shedding) configuration loaded from application.yaml.
+ *
+ * Example configuration:
+ * app:
+ *   concurrency-limit:
+ *     enabled: true
+ *     initial-limit: 50
+ *     min-limit: 10
+ *     max-limit: 500
+ *     rtt-tolerance: 1.5
+ *     priority-paths: [/health, /actuator]
+ *     priority-limit: 20
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+public class ConcurrencyLimitConfig {
+
+    private boolean enabled = true;
+
+    private int initialLimit = 50;           // in-flight requests allowed at startup
+    private int minLimit = 10;               // never shrink below this
+    private int maxLimit = 500;              // never grow above this
+
+    private double rttTolerance = 1.5;       // latency growth (short / long RTT) tolerated before shrinking
+    private double smoothing = 0.2;          // weight of each new limit estimate (0..1)
+    private int longWindow = 600;            // samples averaged into the baseline (no-load) latency
+
+    private int retryAfterSeconds = 1;       // Retry-After sent with 503
+
+    /**
+     * Path prefixes served from a separate, fixed-size lane so health checks and
+     * metrics scrapes keep working while application traffic is being shed.
+     */
+    private List<String> priorityPaths = new ArrayList<>(List.of("/health", "/actuator"));
+    private int priorityLimit = 20;          // in-flight requests in the priority lane
+}
@@ -0,0 +1,201 @@
+package com.javainfraexample.spring_monolith_template.common.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP filter that sheds load when the server itself is saturated.
+ *
+ * Unlike {@link RateLimitFilter} (fixed quotas per client), this limits the number
+ * of requests in flight across the whole node. The limit is sized continuously
+ * from observed latency by {@link GradientConcurrencyLimit}: it grows while latency
+ * is flat and shrinks as soon as requests start queuing.
+ *
+ *   - priority lane (/health, /actuator) → separate fixed limit, never starved by API traffic
+ *   - everything else                    → adaptive limit
+ * Returns 503 Service Unavailable with Retry-After when the lane is full.
+ *
+ * Runs right after {@link RateLimitFilter}, so requests rejected by quota never take a slot.
+ *
+ * Metrics: concurrency_limit.limit, concurrency_limit.inflight{lane}, concurrency_limit.shed{lane}
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final ConcurrencyLimitConfig config;
+    private final GradientConcurrencyLimit limit;
+    private final List<String> priorityPaths;
+    private final AtomicInteger priorityInFlight = new AtomicInteger();
+
+    private final Counter shed;
+    private final Counter priorityShed;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.limit = new GradientConcurrencyLimit(config);
+        this.priorityPaths = List.copyOf(config.getPriorityPaths());
+
+        Gauge.builder("concurrency_limit.limit", limit, GradientConcurrencyLimit::getLimit)
+                .description("Current adaptive in-flight request limit")
+                .register(meterRegistry);
+        Gauge.builder("concurrency_limit.inflight", limit, GradientConcurrencyLimit::getInFlight)
+                .description("Requests currently in flight")
+                .tag("lane", "default")
+                .register(meterRegistry);
+        Gauge.builder("concurrency_limit.inflight", priorityInFlight, AtomicInteger::get)
+                .description("Requests currently in flight")
+                .tag("lane", "priority")
+                .register(meterRegistry);
+        this.shed = Counter.builder("concurrency_limit.shed")
+                .description("Requests rejected with 503 by the concurrency limiter")
+                .tag("lane", "default")
+                .register(meterRegistry);
+        this.priorityShed = Counter.builder("concurrency_limit.shed")
+                .description("Requests rejected with 503 by the concurrency limiter")
+                .tag("lane", "priority")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        if (!config.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (isPriority(request.getRequestURI())) {
+            doFilterPriority(request, response, filterChain);
+            return;
+        }
+
+        if (!limit.tryAcquire()) {
+            shed.increment();
+            sendServiceUnavailable(response);
+            return;
+        }
+
+        int inFlightAtStart = limit.getInFlight();
+        long start = System.nanoTime();
+        boolean sample = false;
+        try {
+            filterChain.doFilter(request, response);
+            sample = true;
+        } finally {
+            if (request.isAsyncStarted()) {
+                releaseOnAsyncComplete(request, start, inFlightAtStart);
+            } else {
+                limit.release(sample ? System.nanoTime() - start : -1, inFlightAtStart);
+            }
+        }
+    }
+
+    private void doFilterPriority(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        if (priorityInFlight.incrementAndGet() > config.getPriorityLimit()) {
+            priorityInFlight.decrementAndGet();
+            priorityShed.increment();
+            sendServiceUnavailable(response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            priorityInFlight.decrementAndGet();
+        }
+    }
+
+    private void releaseOnAsyncComplete(HttpServletRequest request, long start, int inFlightAtStart) {
+        AtomicBoolean released = new AtomicBoolean();
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                release(System.nanoTime() - start);
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                release(-1);
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                release(-1);
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+
+            private void release(long rttNanos) {
+                if (released.compareAndSet(false, true)) {
+                    limit.release(rttNanos, inFlightAtStart);
+                }
+            }
+        });
+    }
+
+    private boolean isPriority(String uri) {
+        for (String prefix : priorityPaths) {
+            if (uri.startsWith(prefix)
+                    && (uri.length() == prefix.length() || uri.charAt(prefix.length()) == '/')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void sendServiceUnavailable(HttpServletResponse response) throws IOException {
+        log.debug("Concurrency limit reached (limit: {}, in flight: {}), shedding request",
+            limit.getLimit(), limit.getInFlight());
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Retry-After", String.valueOf(config.getRetryAfterSeconds()));
+
+        String jsonResponse = """
+            {
+                "timestamp": "%s",
+                "status": 503,
+                "error": "Service Unavailable",
+                "message": "Server is busy. Please try again in %d seconds.",
+                "retryAfter": %d
+            }
+            """.formatted(LocalDateTime.now().toString(), config.getRetryAfterSeconds(), config.getRetryAfterSeconds());
+
+        PrintWriter writer = response.getWriter();
+        writer.write(jsonResponse);
+        writer.flush();
+    }
+}
@@ -0,0 +1,114 @@
+package com.javainfraexample.spring_monolith_template.common.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gradient-based adaptive concurrency limit (after Netflix concurrency-limits "Gradient2").
+ *
+ * Two exponential moving averages of request latency are kept:
+ *   - long RTT  → baseline latency of the server when it is not queuing
+ *   - short RTT → latency right now
+ *
+ * <pre>
+ *   gradient = clamp(tolerance * longRtt / shortRtt, 0.5, 1.0)
+ *   newLimit = limit * gradient + sqrt(limit)      (sqrt = allowed queue headroom)
+ *   limit    = limit * (1 - smoothing) + newLimit * smoothing
+ * </pre>
+ *
+ * While latency stays within {@code tolerance} of the baseline the limit keeps
+ * growing by ~sqrt(limit); once requests start queuing the gradient drops below 1
+ * and the limit shrinks proportionally. The limit only grows when at least half of
+ * it is actually in use, so an idle server does not drift to {@code maxLimit}.
+ */
+final class GradientConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final double longAlpha;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // guarded by this
+    private double estimatedLimit;
+    private double shortRtt;
+    private double longRtt;
+    private long samples;
+
+    GradientConcurrencyLimit(ConcurrencyLimitConfig config) {
+        this.minLimit = config.getMinLimit();
+        this.maxLimit = config.getMaxLimit();
+        this.tolerance = config.getRttTolerance();
+        this.smoothing = config.getSmoothing();
+        this.longAlpha = 2.0 / (config.getLongWindow() + 1);
+        this.estimatedLimit = Math.clamp(config.getInitialLimit(), minLimit, maxLimit);
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Reserve a slot. Returns false when the current limit is reached.
+     */
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release a slot and feed the request latency into the limit.
+     *
+     * @param rttNanos   latency of the request, or -1 to release without sampling
+     * @param inFlightAtStart in-flight count when the request was admitted
+     */
+    void release(long rttNanos, int inFlightAtStart) {
+        inFlight.decrementAndGet();
+        if (rttNanos > 0) {
+            onSample(rttNanos, inFlightAtStart);
+        }
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtStart) {
+        double rtt = rttNanos;
+        if (samples++ == 0) {
+            shortRtt = rtt;
+            longRtt = rtt;
+            return;
+        }
+
+        shortRtt = shortRtt * 0.9 + rtt * 0.1;
+        longRtt = longRtt * (1 - longAlpha) + rtt * longAlpha;
+
+        // Sustained change in baseline (deploy, new traffic mix): let the long average catch up faster
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        // App-limited: not enough load to learn anything about a higher limit
+        if (inFlightAtStart < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.clamp(tolerance * longRtt / shortRtt, 0.5, 1.0);
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+
+        estimatedLimit = Math.clamp(newLimit, minLimit, maxLimit);
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,105 @@
+package com.javainfraexample.spring_monolith_template.common.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Per-node, in-memory fixed window counters used while Redis is unavailable.
+ *
+ * Counters are keyed by the exact Redis key the request would have incremented,
+ * so the usage accumulated locally can be pushed back into Redis on recovery
+ * (see {@link #drain(BiConsumer)}).
+ *
+ * Bounded by {@code maxKeys}: once full (after evicting expired windows), new keys
+ * are not tracked and pass through, so a key flood cannot exhaust the heap.
+ *
+ * Increments and the drain both run inside the map's per-key {@code compute}, so a
+ * window is handed to the drain with its final count: no increment can land on a
+ * window after it was drained, and none is counted twice.
+ */
+final class LocalRateLimiter {
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final int maxKeys;
+
+    LocalRateLimiter(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Add {@code cost} to the counter and return the new total, or -1 when the key could not be tracked.
+     *
+     * @param key           Redis key this usage belongs to
+     * @param expiresAt     epoch millis at which the local window ends
+     * @param redisExpiresAt epoch millis the Redis key should live until once reconciled
+     */
+    long increment(String key, long cost, long expiresAt, long redisExpiresAt, long now) {
+        if (windows.size() >= maxKeys && !windows.containsKey(key)) {
+            evictExpired(now);
+            if (windows.size() >= maxKeys) {
+                return -1;
+            }
+        }
+        long[] total = new long[1];
+        windows.compute(key, (k, existing) -> {
+            Window window = existing == null || existing.expiresAt <= now ? new Window(expiresAt, redisExpiresAt) : existing;
+            total[0] = window.count.addAndGet(cost);
+            return window;
+        });
+        return total[0];
+    }
+
+    /**
+     * Millis until the window of {@code key} ends (0 if unknown).
+     */
+    long millisUntilReset(String key, long now) {
+        Window window = windows.get(key);
+        return window != null ? Math.max(0, window.expiresAt - now) : 0;
+    }
+
+    void remove(String key) {
+        windows.remove(key);
+    }
+
+    int size() {
+        return windows.size();
+    }
+
+    void evictExpired(long now) {
+        windows.entrySet().removeIf(entry -> entry.getValue().expiresAt <= now);
+    }
+
+    /**
+     * Atomically remove every live window and hand (key, window) to {@code sink}. Expired windows are dropped.
+     */
+    void drain(BiConsumer<String, Window> sink) {
+        long now = System.currentTimeMillis();
+        for (String key : windows.keySet()) {
+            Window[] taken = new Window[1];
+            windows.computeIfPresent(key, (k, window) -> {
+                taken[0] = window;
+                return null;
+            });
+            if (taken[0] != null && taken[0].expiresAt > now) {
+                sink.accept(key, taken[0]);
+            }
+        }
+    }
+
+    static final class Window {
+        final long expiresAt;
+        final long redisExpiresAt;
+        final AtomicLong count = new AtomicLong();
+
+        Window(long expiresAt, long redisExpiresAt) {
+            this.expiresAt = expiresAt;
+            this.redisExpiresAt = redisExpiresAt;
+        }
+
+        long count() {
+            return count.get();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.javainfraexample.spring_monolith_template.common.ratelimit;
+
+import com.javainfraexample.spring_monolith_template.common.net.ClientAddressResolver;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies the rules with {@code key: PRINCIPAL}. Same checks as {@link RateLimitFilter}, but
+ * ordered after Spring Security's filter chain, so {@code request.getUserPrincipal()} is the
+ * authenticated user. Anonymous requests still fall back to the client IP.
+ */
+@Component
+@Order(PrincipalRateLimitFilter.ORDER)
+public class PrincipalRateLimitFilter extends RateLimitFilter {
+    
+    /**
+     * Right after springSecurityFilterChain, which Boot registers at -100 ({@code spring.security.filter.order}).
+     */
+    public static final int ORDER = -100 + 1;
+    
+    public PrincipalRateLimitFilter(RateLimiterService rateLimiterService,
+                                    RateLimitConfig config,
+                                    RateLimitRuleRegistry ruleRegistry,
+                                    ClientAddressResolver clientAddressResolver,
+                                    RateLimitMetrics metrics) {
+        super(rateLimiterService, config, ruleRegistry, clientAddressResolver, metrics);
+    }
+    
+    @Override
+    protected boolean handles(RateLimitRule rule) {
+        return rule != null && rule.keyStrategy() == RateLimitKeyStrategy.PRINCIPAL;
+    }
+}
@@ -12,6 +12,9 @@ import java.lang.annotation.Target;
  *   @RateLimit(type = RateLimitType.STRICT)
  *   @PostMapping("/login")
  *   public ResponseEntity<...> login(...) { ... }
+ * 
+ * Keyed by account and IP (both counters checked in one atomic Redis call):
+ *   @RateLimit(type = RateLimitType.STRICT, key = "login", keyExpression = {"#ip", "#account(#request.email())"})
  */
 @Target({ElementType.METHOD, ElementType.TYPE})
 @Retention(RetentionPolicy.RUNTIME)
@@ -27,4 +30,32 @@ public @interface RateLimit {
      * Useful for endpoint-specific limits.
      */
     String key() default "";
+    
+    /**
+     * Optional SpEL expressions for the counter key(s), evaluated per call.
+     * Defaults to the client IP when empty.
+     * 
+     * Variables: method parameters by name, #ip, #principal, #httpRequest;
+     * function #account(email) normalizes and hashes an e-mail address.
+     * Each kind of key gets its own namespace (ip:, user:, account:, key:).
+     * Multiple expressions create a composite limit: every key gets its own
+     * counter, and the request is rejected if any of them is over the limit.
+     * 
+     * @see RateLimitKeyResolver
+     */
+    String[] keyExpression() default {};
+    
+    /**
+     * Units consumed per call (default 1). Use a higher cost for expensive
+     * endpoints (bulk reads, exports, password hashing) so the limit tracks work, not calls.
+     */
+    int cost() default 1;
+    
+    /**
+     * Optional SpEL expression for extra units charged after the method returns,
+     * e.g. {@code "#result.body.data.size() / 100"} for rows returned.
+     * Same variables as {@link #keyExpression()}, plus {@code #result}.
+     * The charge never rejects the current call; it counts against the next ones.
+     */
+    String costExpression() default "";
 }
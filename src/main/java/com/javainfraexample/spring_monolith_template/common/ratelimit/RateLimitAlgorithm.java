@@ -0,0 +1,19 @@
+package com.javainfraexample.spring_monolith_template.common.ratelimit;
+
+/**
+ * Counting algorithm used by a rate limit rule.
+ */
+public enum RateLimitAlgorithm {
+
+    /**
+     * Fixed window: one counter per window, reset when the key expires.
+     * Cheapest option, but allows up to 2x the limit across a window boundary.
+     */
+    FIXED_WINDOW,
+
+    /**
+     * Sliding window counter: current window + weighted previous window.
+     * Smooths out boundary bursts at the cost of one extra Redis read.
+     */
+    SLIDING_WINDOW
+}
@@ -1,5 +1,6 @@
 package com.javainfraexample.spring_monolith_template.common.ratelimit;
 
+import com.javainfraexample.spring_monolith_template.common.net.ClientAddressResolver;
 import com.javainfraexample.spring_monolith_template.common.ratelimit.RateLimiterService.RateLimitResult;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
@@ -13,11 +14,14 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.util.List;
 import java.util.Map;
 
 /**
  * Aspect that handles @RateLimit annotation on controller methods.
  * Applies stricter or custom rate limits to specific endpoints.
+ * Counter keys come from {@link RateLimitKeyResolver} (client IP by default, or SpEL keyExpression).
+ * Decisions are counted and logged (throttled) through {@link RateLimitMetrics}.
  */
 @Slf4j
 @Aspect
@@ -27,6 +31,9 @@ public class RateLimitAspect {
     
     private final RateLimiterService rateLimiterService;
     private final RateLimitConfig config;
+    private final RateLimitKeyResolver keyResolver;
+    private final ClientAddressResolver clientAddressResolver;
+    private final RateLimitMetrics metrics;
     
     @Around("@annotation(rateLimit)")
     public Object checkRateLimit(ProceedingJoinPoint joinPoint, RateLimit rateLimit) throws Throwable {
@@ -40,18 +47,19 @@ public class RateLimitAspect {
             return joinPoint.proceed();
         }
         
-        String clientIp = getClientIp(request);
-        String key = rateLimit.key().isEmpty() ? clientIp : clientIp + ":" + rateLimit.key();
+        String clientIp = clientAddressResolver.resolve(request);
+        List<String> keys = keyResolver.resolve(joinPoint, rateLimit, request, clientIp);
         
-        RateLimitResult result = rateLimiterService.checkLimit(key, rateLimit.type());
-        log.info("--------------------------------");
-        log.info("[RATE LIMIT ASPECT] RESULT: " + result);
-        log.info("--------------------------------");
+        long start = System.nanoTime();
+        RateLimitResult result = rateLimiterService.checkLimitAll(keys, rateLimit.type(), Math.max(1, rateLimit.cost()));
+        metrics.recordAspectLatency(System.nanoTime() - start);
+        
+        String type = rateLimit.type().name();
+        metrics.recordDecision(type, RateLimitMetrics.routeOf(request), result.allowed());
+        keys.forEach(metrics::recordKey);
+        metrics.logDecision(joinPoint.getSignature().getName(), type, keys, result);
         
         if (!result.allowed()) {
-            log.warn("Rate limit [{}] exceeded for IP: {} on method: {}", 
-                rateLimit.type(), clientIp, joinPoint.getSignature().getName());
-            
             return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
                 .header("Retry-After", String.valueOf(result.resetSeconds()))
                 .header("X-RateLimit-Remaining", "0")
@@ -64,23 +72,26 @@ public class RateLimitAspect {
                 ));
         }
         
-        return joinPoint.proceed();
+        Object response = joinPoint.proceed();
+        
+        // Dynamic cost: charge extra units computed from the result. The call has already
+        // completed (and may have committed), so a failing charge must never fail the response.
+        if (!rateLimit.costExpression().isEmpty()) {
+            try {
+                long extraUnits = keyResolver.resolveDynamicCost(joinPoint, rateLimit, request, clientIp, response);
+                rateLimiterService.chargeLimitAll(keys, rateLimit.type(), extraUnits);
+            } catch (RuntimeException e) {
+                metrics.recordDynamicCostFailure();
+                log.warn("Dynamic rate limit cost not charged for method: {} (keys: {})",
+                    joinPoint.getSignature().getName(), keys, e);
+            }
+        }
+        
+        return response;
     }
     
     private HttpServletRequest getCurrentRequest() {
         ServletRequestAttributes attrs = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
         return attrs != null ? attrs.getRequest() : null;
     }
-    
-    private String getClientIp(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty()) {
-            return xRealIp;
-        }
-        return request.getRemoteAddr();
-    }
 }
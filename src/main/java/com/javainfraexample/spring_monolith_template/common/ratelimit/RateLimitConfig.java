@@ -5,6 +5,9 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Rate limit configuration loaded from application.yaml.
  * 
@@ -21,6 +24,21 @@ import org.springframework.context.annotation.Configuration;
  *     strict:
  *       max-requests: 5
  *       window-seconds: 60
+ *     rules:
+ *       - name: infra
+ *         paths: [/actuator/**, /health/**]
+ *         exempt: true
+ *       - name: auth
+ *         methods: [POST]
+ *         paths: [/api/auth/**]
+ *         algorithm: SLIDING_WINDOW
+ *         limits:
+ *           - max-requests: 20
+ *             window-seconds: 60
+ *     fallback:
+ *       enabled: true
+ *       failure-threshold: 3
+ *       open-seconds: 10
  */
 @Getter
 @Setter
@@ -34,6 +52,22 @@ public class RateLimitConfig {
     private Limit longTerm = new Limit(1000, 3600);    // 1000 req/hour
     private Limit strict = new Limit(5, 60);           // 5 req/min
     
+    /**
+     * Path-pattern rules used by {@link RateLimitFilter}.
+     * Requests that match no rule fall back to SHORT_TERM + LONG_TERM.
+     */
+    private List<Rule> rules = new ArrayList<>();
+    
+    /**
+     * Degraded mode used by {@link RateLimitFallback} while Redis is unavailable.
+     */
+    private Fallback fallback = new Fallback();
+    
+    /**
+     * Decision logging used by {@link RateLimitMetrics}.
+     */
+    private Observability observability = new Observability();
+    
     @Getter
     @Setter
     public static class Limit {
@@ -48,6 +82,43 @@ public class RateLimitConfig {
         }
     }
     
+    /**
+     * A single rule under {@code app.rate-limit.rules}.
+     * 
+     * Path patterns support literal segments, {@code *} (exactly one segment)
+     * and a trailing {@code **} (zero or more segments).
+     */
+    @Getter
+    @Setter
+    public static class Rule {
+        private String name;
+        private List<String> methods = new ArrayList<>();   // empty = any method
+        private List<String> paths = new ArrayList<>();
+        private boolean exempt = false;
+        private RateLimitAlgorithm algorithm = RateLimitAlgorithm.FIXED_WINDOW;
+        private RateLimitKeyStrategy key = RateLimitKeyStrategy.IP;
+        private int cost = 1;                                // units consumed per request
+        private List<Limit> limits = new ArrayList<>();
+    }
+    
+    @Getter
+    @Setter
+    public static class Fallback {
+        private boolean enabled = true;          // false = fail open on Redis errors
+        private int failureThreshold = 3;        // consecutive Redis errors before switching to local
+        private int openSeconds = 10;            // minimum time in local mode before probing Redis
+        private int heartbeatSeconds = 5;        // node heartbeat / recovery probe interval
+        private int initialClusterSize = 1;      // assumed node count if Redis is down at startup
+        private int maxKeys = 100_000;           // in-memory counters per node
+    }
+    
+    @Getter
+    @Setter
+    public static class Observability {
+        private int rejectedLogsPerSecond = 5;           // WARN lines for rejections, the rest are only counted
+        private double decisionLogSampleRate = 0.01;     // fraction of allowed decisions logged at DEBUG
+    }
+    
     public Limit getLimit(RateLimitType type) {
         return switch (type) {
             case SHORT_TERM -> shortTerm;
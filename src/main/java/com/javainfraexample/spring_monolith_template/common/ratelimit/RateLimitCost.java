@@ -0,0 +1,43 @@
+package com.javainfraexample.spring_monolith_template.common.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Dynamic request cost, charged by {@link RateLimitFilter} after the response.
+ * 
+ * Lets a controller or service report work that is only known once it's done
+ * (rows returned, bytes exported, ...). The units are deducted from the same
+ * counters that admitted the request, so heavy callers run out of budget sooner.
+ * 
+ * Usage:
+ *   List<UserResponse> users = userRepository.findAll(...);
+ *   RateLimitCost.add(users.size() / 100);
+ */
+public final class RateLimitCost {
+    
+    static final String ATTRIBUTE = RateLimitCost.class.getName() + ".units";
+    
+    private RateLimitCost() {}
+    
+    /**
+     * Add extra units to the current request (no-op outside a web request).
+     */
+    public static void add(long units) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null || units <= 0) {
+            return;
+        }
+        Object current = attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        long total = (current instanceof Long value ? value : 0L) + units;
+        attributes.setAttribute(ATTRIBUTE, total, RequestAttributes.SCOPE_REQUEST);
+    }
+    
+    /**
+     * Extra units reported for this request so far (also used by usage metering).
+     */
+    public static long get(HttpServletRequest request) {
+        return request.getAttribute(ATTRIBUTE) instanceof Long value ? value : 0L;
+    }
+}
@@ -0,0 +1,90 @@
+package com.javainfraexample.spring_monolith_template.common.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Actuator endpoint to inspect and reset rate limit counters.
+ *
+ * Only reachable when exposed (management.endpoints.web.exposure.include: ratelimit),
+ * which application-dev.yaml does, and only with the ADMIN role (see SecurityConfig): it can reset limits.
+ *
+ * <pre>
+ *   GET    /actuator/ratelimit                         → mode, cluster size, configured limits
+ *   GET    /actuator/ratelimit/{type}/{identifier}     → current count and remaining for one key
+ *   DELETE /actuator/ratelimit/{type}/{identifier}     → reset that key
+ * </pre>
+ * {@code identifier} is what follows {@code rate_limit:{type}:}, e.g. {@code 192.168.1.10}
+ * (filter defaults) or {@code ip:192.168.1.10:login} for {@code @RateLimit(key = "login")}.
+ */
+@Component
+@Endpoint(id = "ratelimit")
+@RequiredArgsConstructor
+public class RateLimitEndpoint {
+
+    private final RateLimiterService rateLimiterService;
+    private final RateLimitConfig config;
+    private final RateLimitFallback fallback;
+
+    @ReadOperation
+    public Map<String, Object> summary() {
+        Map<String, Object> limits = new LinkedHashMap<>();
+        for (RateLimitType type : RateLimitType.values()) {
+            RateLimitConfig.Limit limit = config.getLimit(type);
+            limits.put(type.name(), Map.of(
+                "maxRequests", limit.getMaxRequests(),
+                "windowSeconds", limit.getWindowSeconds()
+            ));
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("enabled", config.isEnabled());
+        summary.put("mode", fallback.isLocal() ? "LOCAL" : "REDIS");
+        summary.put("clusterSize", fallback.getClusterSize());
+        summary.put("limits", limits);
+        return summary;
+    }
+
+    @ReadOperation
+    public Map<String, Object> key(@Selector String type, @Selector String identifier) {
+        RateLimitType limitType = parseType(type);
+        RateLimitConfig.Limit limit = config.getLimit(limitType);
+        int count = rateLimiterService.getCurrentCount(identifier, limitType).orElse(0);
+
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("type", limitType.name());
+        state.put("identifier", identifier);
+        state.put("count", count);
+        state.put("maxRequests", limit.getMaxRequests());
+        state.put("remaining", Math.max(0, limit.getMaxRequests() - count));
+        state.put("exceeded", count > limit.getMaxRequests());
+        return state;
+    }
+
+    @DeleteOperation
+    public Map<String, Object> reset(@Selector String type, @Selector String identifier) {
+        RateLimitType limitType = parseType(type);
+        rateLimiterService.resetLimit(identifier, limitType);
+        return Map.of(
+            "type", limitType.name(),
+            "identifier", identifier,
+            "reset", true
+        );
+    }
+
+    private RateLimitType parseType(String type) {
+        try {
+            return RateLimitType.valueOf(type.toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown rate limit type: " + type);
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.javainfraexample.spring_monolith_template.common.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Degraded mode for {@link RateLimiterService} when Redis is unavailable.
+ *
+ * Instead of failing open, limits are enforced per node in memory, each node
+ * getting {@code maxRequests / clusterSize} so the cluster as a whole stays
+ * close to the configured limit.
+ *
+ * <h3>Circuit</h3>
+ * <pre>
+ *   REDIS  ── failure-threshold consecutive errors ──▶ LOCAL
+ *   LOCAL  ── open-seconds elapsed + heartbeat OK ──▶ REDIS (local usage reconciled)
+ * </pre>
+ * A request whose Redis call fails is decided locally even before the circuit opens.
+ *
+ * <h3>Cluster size</h3>
+ * Every node heartbeats into the {@code rate_limit:nodes} sorted set; the number of
+ * live members is remembered and used while Redis is down. The first heartbeat runs
+ * synchronously at startup, before the web server accepts traffic, so the estimate
+ * starts from live membership; {@code initial-cluster-size} is only used if Redis is
+ * already down when the node starts. The heartbeat also acts as the recovery probe,
+ * so user requests never pay for probing a dead Redis.
+ *
+ * <h3>Reconciliation</h3>
+ * Local windows are drained atomically per key ({@link LocalRateLimiter#drain}) and
+ * added to Redis with a single INCRBY script, so usage is neither lost nor double counted.
+ *
+ * Metrics: rate_limit.fallback.active, rate_limit.fallback.transitions{mode},
+ * rate_limit.fallback.decisions{result}, rate_limit.fallback.keys,
+ * rate_limit.fallback.reconciled, rate_limit.redis.errors, rate_limit.cluster.size
+ */
+@Slf4j
+@Component
+public class RateLimitFallback implements SmartInitializingSingleton {
+
+    private static final String NODES_KEY = "rate_limit:nodes";
+
+    /**
+     * Register this node and count live nodes.
+     * KEYS[1] = nodes zset, ARGV[1] = node id, ARGV[2] = now millis, ARGV[3] = stale-after millis.
+     */
+    private static final RedisScript<Long> HEARTBEAT = new DefaultRedisScript<>("""
+        redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1])
+        redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', tonumber(ARGV[2]) - tonumber(ARGV[3]))
+        redis.call('PEXPIRE', KEYS[1], ARGV[3])
+        return redis.call('ZCARD', KEYS[1])
+        """, Long.class);
+
+    /**
+     * Add locally counted usage to a Redis counter, keeping an existing TTL.
+     * KEYS[1] = counter, ARGV[1] = units, ARGV[2] = TTL millis if the key has none.
+     */
+    private static final RedisScript<Long> RECONCILE = new DefaultRedisScript<>("""
+        local count = redis.call('INCRBY', KEYS[1], ARGV[1])
+        if redis.call('PTTL', KEYS[1]) < 0 then
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+        end
+        return count
+        """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RateLimitConfig.Fallback settings;
+    private final boolean rateLimitEnabled;
+    private final LocalRateLimiter localLimiter;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openUntil = new AtomicLong();
+    private final AtomicInteger clusterSize;
+    private volatile boolean local;
+
+    private final Counter toLocal;
+    private final Counter toRedis;
+    private final Counter localAllowed;
+    private final Counter localRejected;
+    private final Counter reconciled;
+    private final Counter redisErrors;
+
+    public RateLimitFallback(StringRedisTemplate redisTemplate,
+                             RateLimitConfig config,
+                             MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.settings = config.getFallback();
+        this.rateLimitEnabled = config.isEnabled();
+        this.localLimiter = new LocalRateLimiter(settings.getMaxKeys());
+        this.clusterSize = new AtomicInteger(Math.max(1, settings.getInitialClusterSize()));
+
+        this.toLocal = Counter.builder("rate_limit.fallback.transitions")
+                .description("Rate limiter mode switches")
+                .tag("mode", "local")
+                .register(meterRegistry);
+        this.toRedis = Counter.builder("rate_limit.fallback.transitions")
+                .description("Rate limiter mode switches")
+                .tag("mode", "redis")
+                .register(meterRegistry);
+        this.localAllowed = Counter.builder("rate_limit.fallback.decisions")
+                .description("Rate limit decisions made by the local fallback limiter")
+                .tag("result", "allowed")
+                .register(meterRegistry);
+        this.localRejected = Counter.builder("rate_limit.fallback.decisions")
+                .description("Rate limit decisions made by the local fallback limiter")
+                .tag("result", "rejected")
+                .register(meterRegistry);
+        this.reconciled = Counter.builder("rate_limit.fallback.reconciled")
+                .description("Local counters pushed back to Redis after recovery")
+                .register(meterRegistry);
+        this.redisErrors = Counter.builder("rate_limit.redis.errors")
+                .description("Failed Redis rate limit calls")
+                .register(meterRegistry);
+        Gauge.builder("rate_limit.fallback.active", this, f -> f.local ? 1 : 0)
+                .description("1 while rate limits are enforced in memory")
+                .register(meterRegistry);
+        Gauge.builder("rate_limit.fallback.keys", localLimiter, LocalRateLimiter::size)
+                .description("In-memory rate limit counters on this node")
+                .register(meterRegistry);
+        Gauge.builder("rate_limit.cluster.size", clusterSize, AtomicInteger::get)
+                .description("Live nodes observed via heartbeat, used to scale local limits")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Join the cluster before traffic is served so the size estimate reflects live membership.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        heartbeat();
+        log.info("Rate limit cluster size at startup: {}", clusterSize.get());
+    }
+
+    /**
+     * True if the caller should go to Redis, false while the circuit is open.
+     * Always true when the fallback is disabled (the circuit never opens).
+     */
+    public boolean useRedis() {
+        return !local;
+    }
+
+    /**
+     * A Redis call succeeded.
+     */
+    public void onSuccess() {
+        if (consecutiveFailures.get() != 0) {
+            consecutiveFailures.set(0);
+        }
+    }
+
+    /**
+     * A Redis call failed: count it and open the circuit once the threshold is reached.
+     */
+    public void onFailure(Exception e) {
+        redisErrors.increment();
+        if (consecutiveFailures.incrementAndGet() >= settings.getFailureThreshold()) {
+            openCircuit(e);
+        }
+    }
+
+    /**
+     * Decide a fixed window limit locally. Fails open when the fallback is disabled.
+     */
+    public RateLimiterService.RateLimitResult consumeFixedWindow(String key, RateLimitConfig.Limit limit, long cost) {
+        if (!settings.isEnabled()) {
+            return RateLimiterService.RateLimitResult.allowed(-1, -1);
+        }
+        long now = System.currentTimeMillis();
+        long expiresAt = now + limit.getWindowSeconds() * 1000L;
+        return decide(key, limit, cost, expiresAt, expiresAt, now);
+    }
+
+    /**
+     * Decide a sliding window limit locally. Approximated by the current window
+     * only (the weighted previous window is not tracked in memory); usage lands in
+     * the same per-window key the Redis algorithm uses, so it reconciles cleanly.
+     */
+    public RateLimiterService.RateLimitResult consumeSlidingWindow(String key, RateLimitConfig.Limit limit, long cost) {
+        if (!settings.isEnabled()) {
+            return RateLimiterService.RateLimitResult.allowed(-1, -1);
+        }
+        long now = System.currentTimeMillis();
+        long windowMillis = limit.getWindowSeconds() * 1000L;
+        long window = now / windowMillis;
+        long expiresAt = (window + 1) * windowMillis;
+        return decide(key + ":" + window, limit, cost, expiresAt, expiresAt + windowMillis, now);
+    }
+
+    /**
+     * Forget local usage for a key (admin reset).
+     */
+    public void reset(String key) {
+        localLimiter.remove(key);
+    }
+
+    public boolean isLocal() {
+        return local;
+    }
+
+    public int getClusterSize() {
+        return clusterSize.get();
+    }
+
+    /**
+     * Heartbeat + recovery probe. Refreshes the observed cluster size; while in
+     * local mode, closes the circuit after {@code open-seconds} once Redis answers
+     * and reconciles the usage counted in memory.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.fallback.heartbeat-seconds:5}", timeUnit = TimeUnit.SECONDS)
+    public void heartbeat() {
+        if (!rateLimitEnabled || !settings.isEnabled()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        localLimiter.evictExpired(now);
+
+        if (local && now < openUntil.get()) {
+            return;
+        }
+        try {
+            Long nodes = redisTemplate.execute(HEARTBEAT, List.of(NODES_KEY),
+                nodeId, String.valueOf(now), String.valueOf(settings.getHeartbeatSeconds() * 3000L));
+            if (nodes != null && nodes > 0) {
+                clusterSize.set(nodes.intValue());
+            }
+        } catch (Exception e) {
+            if (local) {
+                openUntil.set(now + settings.getOpenSeconds() * 1000L);
+                log.debug("Redis still unavailable, staying in local rate limit mode: {}", e.getMessage());
+            } else {
+                onFailure(e);
+            }
+            return;
+        }
+
+        if (local) {
+            closeCircuit();
+        } else {
+            onSuccess();
+        }
+    }
+
+    private RateLimiterService.RateLimitResult decide(String key, RateLimitConfig.Limit limit, long cost,
+                                                      long expiresAt, long redisExpiresAt, long now) {
+        long count = localLimiter.increment(key, cost, expiresAt, redisExpiresAt, now);
+        if (count < 0) {
+            localAllowed.increment();
+            return RateLimiterService.RateLimitResult.allowed(-1, -1); // Key table full
+        }
+
+        int nodeLimit = Math.max(1, (int) Math.ceil((double) limit.getMaxRequests() / clusterSize.get()));
+        int remaining = (int) Math.max(0, nodeLimit - count);
+        long resetSeconds = Math.max(1, (localLimiter.millisUntilReset(key, now) + 999) / 1000);
+
+        if (count > nodeLimit) {
+            localRejected.increment();
+            return RateLimiterService.RateLimitResult.exceeded(remaining, resetSeconds);
+        }
+        localAllowed.increment();
+        return RateLimiterService.RateLimitResult.allowed(remaining, resetSeconds);
+    }
+
+    private void openCircuit(Exception e) {
+        openUntil.set(System.currentTimeMillis() + settings.getOpenSeconds() * 1000L);
+        if (settings.isEnabled() && !local) {
+            synchronized (this) {
+                if (local) {
+                    return;
+                }
+                local = true;
+            }
+            toLocal.increment();
+            log.warn("Redis unavailable ({}), rate limiting switched to LOCAL mode: per-node limits = limit / {} nodes",
+                e.getMessage(), clusterSize.get());
+        }
+    }
+
+    private void closeCircuit() {
+        synchronized (this) {
+            if (!local) {
+                return;
+            }
+            local = false;
+        }
+        consecutiveFailures.set(0);
+        toRedis.increment();
+
+        AtomicInteger keys = new AtomicInteger();
+        localLimiter.drain((key, window) -> {
+            try {
+                long ttlMillis = Math.max(1000, window.redisExpiresAt - System.currentTimeMillis());
+                redisTemplate.execute(RECONCILE, List.of(key),
+                    String.valueOf(window.count()), String.valueOf(ttlMillis));
+                keys.incrementAndGet();
+            } catch (Exception e) {
+                log.debug("Failed to reconcile rate limit key: {}", key, e);
+            }
+        });
+        reconciled.increment(keys.get());
+        log.info("Redis recovered, rate limiting switched back to REDIS mode ({} local counters reconciled)", keys.get());
+    }
+}
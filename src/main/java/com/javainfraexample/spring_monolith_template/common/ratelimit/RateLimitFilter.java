@@ -1,5 +1,6 @@
 package com.javainfraexample.spring_monolith_template.common.ratelimit;
 
+import com.javainfraexample.spring_monolith_template.common.net.ClientAddressResolver;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,8 +21,21 @@ import java.time.LocalDateTime;
 /**
  * HTTP filter that applies rate limiting to all API requests.
  * 
- * Applies both SHORT_TERM and LONG_TERM limits.
+ * Resolves the matching {@code app.rate-limit.rules} entry via {@link RateLimitRuleRegistry}:
+ *   - exempt rule   → request passes through untouched
+ *   - limited rule  → the rule's own limits, algorithm and key strategy
+ *   - no match      → both SHORT_TERM and LONG_TERM limits per IP
  * Returns 429 Too Many Requests when limit is exceeded.
+ * 
+ * The client IP comes from {@link ClientAddressResolver} (trusted-proxy aware).
+ * 
+ * Decisions are counted per rule and route template via {@link RateLimitMetrics}.
+ * 
+ * Extra units reported via {@link RateLimitCost#add(long)} during the request
+ * are charged to the same counters after the response.
+ * 
+ * Runs before Spring Security, so failed logins are limited too, but no principal is known
+ * yet: rules with {@code key: PRINCIPAL} are left to {@link PrincipalRateLimitFilter}.
  */
 @Slf4j
 @Component
@@ -31,6 +45,9 @@ public class RateLimitFilter extends OncePerRequestFilter {
     
     private final RateLimiterService rateLimiterService;
     private final RateLimitConfig config;
+    private final RateLimitRuleRegistry ruleRegistry;
+    private final ClientAddressResolver clientAddressResolver;
+    private final RateLimitMetrics metrics;
     
     @Override
     protected void doFilterInternal(
@@ -45,62 +62,82 @@ public class RateLimitFilter extends OncePerRequestFilter {
             return;
         }
         
-        // Skip health/actuator endpoints
-        String path = request.getRequestURI();
-        if (shouldSkip(path)) {
+        // Exempt rules (health, actuator, docs, ...) skip limiting entirely
+        RateLimitRule rule = ruleRegistry.match(request.getMethod(), request.getRequestURI());
+        if ((rule != null && rule.exempt()) || !handles(rule)) {
             filterChain.doFilter(request, response);
             return;
         }
         
-        String clientIp = getClientIp(request);
+        String clientIp = clientAddressResolver.resolve(request);
         
-        // Check both short-term and long-term limits
-        RateLimiterService.RateLimitResult result = rateLimiterService.checkLimits(
-            clientIp,
-            RateLimitType.SHORT_TERM,
-            RateLimitType.LONG_TERM
-        );
+        String ruleKey = rule != null ? resolveKey(rule, request, clientIp) : null;
+        String type = rule != null ? "rule:" + rule.name() : "DEFAULT";
+        
+        long start = System.nanoTime();
+        RateLimiterService.RateLimitResult result;
+        if (rule != null) {
+            result = rateLimiterService.checkRule(rule, ruleKey);
+        } else {
+            // No rule matched: check both short-term and long-term limits
+            result = rateLimiterService.checkLimits(
+                clientIp,
+                RateLimitType.SHORT_TERM,
+                RateLimitType.LONG_TERM
+            );
+        }
+        metrics.recordFilterLatency(System.nanoTime() - start);
+        metrics.recordKey(ruleKey != null ? ruleKey : clientIp);
+        metrics.logDecision("filter", type, ruleKey != null ? ruleKey : clientIp, result);
         
         // Add rate limit headers
         addRateLimitHeaders(response, result);
         
         if (!result.allowed()) {
-            sendRateLimitResponse(response, result, clientIp);
+            // Rejected before routing: the route template is not known yet
+            metrics.recordDecision(type, RateLimitMetrics.UNKNOWN_ROUTE, false);
+            sendRateLimitResponse(response, result);
             return;
         }
         
-        filterChain.doFilter(request, response);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            metrics.recordDecision(type, RateLimitMetrics.routeOf(request), true);
+        }
+        
+        // Dynamic cost: deduct work reported by the handler (rows returned, ...)
+        long extraUnits = RateLimitCost.get(request);
+        // The response is already written; a failing charge is counted, never propagated.
+        if (extraUnits > 0) {
+            try {
+                if (rule != null) {
+                    rateLimiterService.chargeRule(rule, ruleKey, extraUnits);
+                } else {
+                    rateLimiterService.chargeLimits(clientIp, extraUnits, RateLimitType.SHORT_TERM, RateLimitType.LONG_TERM);
+                }
+            } catch (RuntimeException e) {
+                metrics.recordDynamicCostFailure();
+                log.warn("Dynamic rate limit cost not charged for {} {}", request.getMethod(), request.getRequestURI(), e);
+            }
+        }
     }
     
-    private boolean shouldSkip(String path) {
-        return path.startsWith("/actuator") 
-            || path.startsWith("/health")
-            || path.equals("/")
-            || path.startsWith("/dev")
-            || path.startsWith("/apidocs")
-            || path.startsWith("/v1/api-docs")
-            || path.startsWith("/swagger");
+    /**
+     * Whether this filter checks requests matching {@code rule} ({@code null}: no rule matched).
+     */
+    protected boolean handles(RateLimitRule rule) {
+        return rule == null || rule.keyStrategy() != RateLimitKeyStrategy.PRINCIPAL;
     }
     
-    private String getClientIp(HttpServletRequest request) {
-        // Check common proxy headers
-        String[] headers = {
-            "X-Forwarded-For",
-            "X-Real-IP",
-            "Proxy-Client-IP",
-            "WL-Proxy-Client-IP",
-            "HTTP_X_FORWARDED_FOR"
+    private String resolveKey(RateLimitRule rule, HttpServletRequest request, String clientIp) {
+        return switch (rule.keyStrategy()) {
+            case IP -> clientIp;
+            case PRINCIPAL -> request.getUserPrincipal() != null
+                ? "user:" + request.getUserPrincipal().getName()
+                : clientIp;
+            case GLOBAL -> "global";
         };
-        
-        for (String header : headers) {
-            String ip = request.getHeader(header);
-            if (ip != null && !ip.isEmpty() && !"unknown".equalsIgnoreCase(ip)) {
-                // X-Forwarded-For can contain multiple IPs, take the first
-                return ip.split(",")[0].trim();
-            }
-        }
-        
-        return request.getRemoteAddr();
     }
     
     private void addRateLimitHeaders(HttpServletResponse response, RateLimiterService.RateLimitResult result) {
@@ -114,11 +151,8 @@ public class RateLimitFilter extends OncePerRequestFilter {
     
     private void sendRateLimitResponse(
             HttpServletResponse response,
-            RateLimiterService.RateLimitResult result,
-            String clientIp
+            RateLimiterService.RateLimitResult result
     ) throws IOException {
-        log.warn("Rate limit exceeded for IP: {}", clientIp);
-        
         response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
         response.setCharacterEncoding("UTF-8");
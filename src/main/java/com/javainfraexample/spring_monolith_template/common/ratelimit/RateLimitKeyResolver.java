@@ -0,0 +1,187 @@
+package com.javainfraexample.spring_monolith_template.common.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the counter keys (and optional dynamic cost) for a {@link RateLimit} annotated method.
+ *
+ * Each {@code keyExpression} is a SpEL expression evaluated against the method call.
+ * Available variables and functions:
+ *   - method parameters by name    #request.email()
+ *   - #ip                          resolved client IP                      -> ip:{ip}
+ *   - #principal                   authenticated user (null when anonymous) -> user:{name}
+ *   - #account(email)              trimmed, lower-cased, SHA-256 hashed    -> account:{hash}
+ *   - #httpRequest                 the HttpServletRequest, e.g. #httpRequest.getHeader('X-API-Key')
+ *
+ * Every key lives in its own namespace so an IP can never share a counter with an
+ * account or a custom value: #ip, #principal and #account(..) carry their namespace,
+ * anything else an expression returns is stored under "key:".
+ *
+ * Expressions are parsed (and SpEL-compiled after warm-up) once per method and cached.
+ * Expressions that evaluate to null or blank are skipped; if none yield a value
+ * the client IP is used, so a limit is never silently disabled.
+ *
+ * {@code costExpression} sees the same variables plus {@code #result} (the return value).
+ */
+@Component
+public class RateLimitKeyResolver {
+
+    private static final ParameterNameDiscoverer PARAMETER_NAMES = new DefaultParameterNameDiscoverer();
+
+    private static final String CUSTOM_NAMESPACE = "key";
+
+    private static final Method ACCOUNT_FUNCTION;
+
+    static {
+        try {
+            ACCOUNT_FUNCTION = RateLimitKeyResolver.class.getMethod("account", String.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private final ExpressionParser parser = new SpelExpressionParser(
+        new SpelParserConfiguration(SpelCompilerMode.MIXED, RateLimitKeyResolver.class.getClassLoader()));
+
+    private final Map<Method, Expression[]> expressionCache = new ConcurrentHashMap<>();
+    private final Map<Method, Expression> costExpressionCache = new ConcurrentHashMap<>();
+
+    /**
+     * Resolve the identifiers to rate limit this call by (without the Redis prefix).
+     * The annotation's static {@code key} suffix is appended to every identifier.
+     */
+    public List<String> resolve(ProceedingJoinPoint joinPoint, RateLimit rateLimit,
+                                HttpServletRequest request, String clientIp) {
+        String suffix = rateLimit.key().isEmpty() ? "" : ":" + rateLimit.key();
+
+        if (rateLimit.keyExpression().length == 0) {
+            return List.of(Key.ip(clientIp) + suffix);
+        }
+
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Expression[] expressions = expressionCache.computeIfAbsent(method, m -> parse(rateLimit.keyExpression()));
+        MethodBasedEvaluationContext context = createContext(joinPoint, method, request, clientIp);
+
+        List<String> keys = new ArrayList<>(expressions.length);
+        for (Expression expression : expressions) {
+            Object value = expression.getValue(context);
+            if (value instanceof Key key) {
+                keys.add(key + suffix);
+            } else if (value != null && !value.toString().isBlank()) {
+                keys.add(new Key(CUSTOM_NAMESPACE, value.toString()) + suffix);
+            }
+        }
+
+        if (keys.isEmpty()) {
+            keys.add(Key.ip(clientIp) + suffix);
+        }
+        return keys;
+    }
+
+    /**
+     * Evaluate {@code costExpression} after the call. Returns 0 for null, non-numeric or negative values.
+     */
+    public long resolveDynamicCost(ProceedingJoinPoint joinPoint, RateLimit rateLimit,
+                                   HttpServletRequest request, String clientIp, Object result) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Expression expression = costExpressionCache.computeIfAbsent(
+            method, m -> parser.parseExpression(rateLimit.costExpression()));
+
+        MethodBasedEvaluationContext context = createContext(joinPoint, method, request, clientIp);
+        context.setVariable("result", result);
+
+        Object value = expression.getValue(context);
+        return value instanceof Number number ? Math.max(0, number.longValue()) : 0;
+    }
+
+    private MethodBasedEvaluationContext createContext(ProceedingJoinPoint joinPoint, Method method,
+                                                       HttpServletRequest request, String clientIp) {
+        MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(
+            null, method, joinPoint.getArgs(), PARAMETER_NAMES);
+        context.setVariable("ip", Key.ip(clientIp));
+        String principal = currentPrincipal();
+        context.setVariable("principal", principal == null ? null : new Key("user", principal));
+        context.setVariable("httpRequest", request);
+        context.registerFunction("account", ACCOUNT_FUNCTION);
+        return context;
+    }
+
+    /**
+     * SpEL {@code #account(email)}: normalizes the address (trim, lower-case) so case and
+     * whitespace variants share one counter, and hashes it so no address is stored in Redis.
+     * Returns null for a null or blank address so the expression is skipped.
+     */
+    public static Key account(String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        return new Key("account", sha256(email.trim().toLowerCase(Locale.ROOT)));
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private Expression[] parse(String[] sources) {
+        Expression[] expressions = new Expression[sources.length];
+        for (int i = 0; i < sources.length; i++) {
+            expressions[i] = parser.parseExpression(sources[i]);
+        }
+        return expressions;
+    }
+
+    private String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null
+                || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    /**
+     * A namespaced counter identifier; renders as {@code namespace:value}.
+     */
+    public record Key(String namespace, String value) {
+
+        static Key ip(String clientIp) {
+            return new Key("ip", clientIp);
+        }
+
+        @Override
+        public String toString() {
+            return namespace + ":" + value;
+        }
+    }
+}
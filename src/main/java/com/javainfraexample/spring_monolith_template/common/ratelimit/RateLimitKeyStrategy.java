@@ -0,0 +1,25 @@
+package com.javainfraexample.spring_monolith_template.common.ratelimit;
+
+/**
+ * How a rate limit rule derives the counter key for a request.
+ */
+public enum RateLimitKeyStrategy {
+
+    /**
+     * One counter per client IP (default).
+     */
+    IP,
+
+    /**
+     * One counter per authenticated principal, falls back to IP for anonymous requests.
+     * Checked by {@link PrincipalRateLimitFilter}, after authentication.
+     * Use for: endpoints where users share an IP (office NAT, mobile carriers)
+     */
+    PRINCIPAL,
+
+    /**
+     * One counter shared by every client hitting the rule.
+     * Use for: protecting an expensive endpoint as a whole
+     */
+    GLOBAL
+}
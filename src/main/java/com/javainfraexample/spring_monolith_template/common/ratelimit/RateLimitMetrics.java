@@ -0,0 +1,162 @@
+package com.javainfraexample.spring_monolith_template.common.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rate limit decision metrics and throttled decision logging.
+ *
+ * Metrics (visible in Grafana as rate_limit_decisions_total, etc.):
+ *   - rate_limit.decisions{type, route, result}  allowed / rejected per limit type and route template
+ *   - rate_limit.decision.latency{source}        time spent deciding (Redis round trips), filter vs aspect
+ *   - rate_limit.active.keys                     distinct keys checked in the last minute on this node
+ *   - rate_limit.dynamic_cost.failures           costExpression charges that failed after the call completed
+ *
+ * Logging: rejections are logged at WARN up to {@code rejected-logs-per-second},
+ * the rest are only counted (a summary line reports how many were suppressed).
+ * Allowed decisions are logged at DEBUG for a sampled fraction only.
+ */
+@Slf4j
+@Component
+public class RateLimitMetrics {
+
+    public static final String UNKNOWN_ROUTE = "UNKNOWN";
+
+    private static final int MAX_TRACKED_KEYS = 100_000;
+
+    private final MeterRegistry meterRegistry;
+    private final RateLimitConfig.Observability settings;
+    private final Map<String, Counter> decisionCounters = new ConcurrentHashMap<>();
+    private final Timer filterLatency;
+    private final Timer aspectLatency;
+    private final Counter dynamicCostFailures;
+
+    private volatile Set<String> activeKeys = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger lastWindowKeys = new AtomicInteger();
+
+    private final AtomicLong logSecond = new AtomicLong();
+    private final AtomicInteger loggedThisSecond = new AtomicInteger();
+    private final AtomicInteger suppressed = new AtomicInteger();
+
+    public RateLimitMetrics(MeterRegistry meterRegistry, RateLimitConfig config) {
+        this.meterRegistry = meterRegistry;
+        this.settings = config.getObservability();
+
+        this.filterLatency = Timer.builder("rate_limit.decision.latency")
+                .description("Time spent deciding whether a request is within its rate limit")
+                .tag("source", "filter")
+                .register(meterRegistry);
+        this.aspectLatency = Timer.builder("rate_limit.decision.latency")
+                .description("Time spent deciding whether a request is within its rate limit")
+                .tag("source", "aspect")
+                .register(meterRegistry);
+        this.dynamicCostFailures = Counter.builder("rate_limit.dynamic_cost.failures")
+                .description("Post-response costExpression charges that could not be applied")
+                .register(meterRegistry);
+        Gauge.builder("rate_limit.active.keys", this, RateLimitMetrics::activeKeyCount)
+                .description("Distinct rate limit keys checked in the last minute on this node")
+                .register(meterRegistry);
+    }
+
+    public void recordFilterLatency(long nanos) {
+        filterLatency.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordAspectLatency(long nanos) {
+        aspectLatency.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordDynamicCostFailure() {
+        dynamicCostFailures.increment();
+    }
+
+    /**
+     * Count one decision. {@code type} is a {@link RateLimitType} name, "rule:&lt;name&gt;" or "DEFAULT".
+     */
+    public void recordDecision(String type, String route, boolean allowed) {
+        String id = type + '|' + route + '|' + allowed;
+        decisionCounters.computeIfAbsent(id, k -> Counter.builder("rate_limit.decisions")
+                .description("Rate limit decisions")
+                .tag("type", type)
+                .tag("route", route)
+                .tag("result", allowed ? "allowed" : "rejected")
+                .register(meterRegistry))
+            .increment();
+    }
+
+    /**
+     * Track a key for the active keys gauge.
+     */
+    public void recordKey(String key) {
+        Set<String> keys = activeKeys;
+        if (keys.size() < MAX_TRACKED_KEYS) {
+            keys.add(key);
+        }
+    }
+
+    /**
+     * Log a decision: rejections at WARN (rate-limited), allowed ones at DEBUG (sampled).
+     */
+    public void logDecision(String source, String type, Object key, RateLimiterService.RateLimitResult result) {
+        if (result.allowed()) {
+            if (log.isDebugEnabled() && ThreadLocalRandom.current().nextDouble() < settings.getDecisionLogSampleRate()) {
+                log.debug("[{}] Rate limit [{}] allowed for key: {} (remaining: {})",
+                    source, type, key, result.remaining());
+            }
+            return;
+        }
+
+        long second = System.currentTimeMillis() / 1000;
+        long previous = logSecond.get();
+        if (previous != second && logSecond.compareAndSet(previous, second)) {
+            loggedThisSecond.set(0);
+            int dropped = suppressed.getAndSet(0);
+            if (dropped > 0) {
+                log.warn("{} rate limit rejections not logged in the previous interval", dropped);
+            }
+        }
+        if (loggedThisSecond.incrementAndGet() <= settings.getRejectedLogsPerSecond()) {
+            log.warn("[{}] Rate limit [{}] exceeded for key: {} (retry in {}s)",
+                source, type, key, result.resetSeconds());
+        } else {
+            suppressed.incrementAndGet();
+        }
+    }
+
+    /**
+     * Route template of the handled request (e.g. /api/users/{id}), or UNKNOWN before routing.
+     */
+    public static String routeOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : UNKNOWN_ROUTE;
+    }
+
+    /**
+     * Rotate the active keys window once a minute.
+     */
+    @Scheduled(fixedRate = 60, timeUnit = TimeUnit.SECONDS)
+    public void rotateActiveKeys() {
+        Set<String> previous = activeKeys;
+        activeKeys = ConcurrentHashMap.newKeySet();
+        lastWindowKeys.set(previous.size());
+    }
+
+    private int activeKeyCount() {
+        return Math.max(lastWindowKeys.get(), activeKeys.size());
+    }
+}
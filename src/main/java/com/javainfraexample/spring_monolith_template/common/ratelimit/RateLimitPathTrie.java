@@ -0,0 +1,292 @@
+package com.javainfraexample.spring_monolith_template.common.ratelimit;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Locale;
+
+/**
+ * Segment trie that maps (HTTP method, request path) to a {@link RateLimitRule}.
+ *
+ * Supported pattern segments:
+ *   - literal      /api/users       exact segment match
+ *   - *            /api/users/*     exactly one segment
+ *   - ** (last)    /api/auth/**     zero or more remaining segments
+ *
+ * Matching precedence:
+ *   1. an exact terminal beats any {@code **}
+ *   2. literal child beats {@code *}; if the literal branch has no exact match the
+ *      {@code *} sibling is tried (backtracking), so {@code /a/b/c} still matches
+ *      {@code /a/*}{@code /c} when a {@code /a/b/...} branch exists
+ *   3. otherwise the deepest {@code **} on any matching branch is the fallback
+ *      (literal branch first on equal depth)
+ *   4. a method-specific rule beats an any-method rule on the same node
+ *
+ * The path is normalized first ({@link #normalize}): repeated and trailing slashes,
+ * {@code .}/{@code ..} segments, {@code ;params} and percent-encoding can't be used
+ * to dodge a rule. Backtracking only happens on nodes that have both a literal and a
+ * {@code *} child, and walks the path by index without allocating. The {@code **} fallback
+ * is found in two passes (deepest depth, then the first rule at that depth), so a lookup of an
+ * already-normalized path allocates nothing. Not thread-safe for
+ * writes; the registry builds it once at startup and only reads afterwards.
+ */
+final class RateLimitPathTrie {
+
+    private static final int ANY_METHOD = 0;
+    private static final int UNKNOWN_METHOD = -1;
+    private static final int METHOD_SLOTS = 9;
+
+    private final Node root = new Node();
+
+    /**
+     * Register a pattern. If the same pattern/method pair is registered twice,
+     * the first registration wins (declaration order in YAML).
+     */
+    void add(String pattern, String method, RateLimitRule rule) {
+        if (pattern == null || !pattern.startsWith("/")) {
+            throw new IllegalArgumentException("Rate limit path pattern must start with '/': " + pattern);
+        }
+
+        Node node = root;
+        String[] segments = Arrays.stream(pattern.split("/")).filter(s -> !s.isEmpty()).toArray(String[]::new);
+        int slot = methodSlot(method);
+        if (slot == UNKNOWN_METHOD) {
+            throw new IllegalArgumentException("Unknown HTTP method '" + method + "' for rate limit pattern: " + pattern);
+        }
+
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (segment.equals("**")) {
+                if (i != segments.length - 1) {
+                    throw new IllegalArgumentException("'**' is only allowed as the last segment: " + pattern);
+                }
+                node.rest = put(node.rest, slot, rule);
+                return;
+            }
+            if (segment.equals("*")) {
+                if (node.wildcard == null) {
+                    node.wildcard = new Node();
+                }
+                node = node.wildcard;
+            } else if (segment.indexOf('*') >= 0) {
+                throw new IllegalArgumentException("Partial wildcards are not supported: " + pattern);
+            } else {
+                node = node.literalOrCreate(segment);
+            }
+        }
+        node.exact = put(node.exact, slot, rule);
+    }
+
+    /**
+     * Find the rule for a request, or null when no pattern matches.
+     * Unknown methods (e.g. WebDAV verbs) only match any-method rules.
+     */
+    RateLimitRule match(String method, String path) {
+        int slot = Math.max(methodSlot(method), ANY_METHOD);
+        String normalized = normalize(path);
+
+        RateLimitRule exact = matchExact(root, normalized, 0, slot);
+        if (exact != null) {
+            return exact;
+        }
+        int depth = deepestRest(root, normalized, 0, 0, slot);
+        return depth >= 0 ? restAt(root, normalized, 0, 0, depth, slot) : null;
+    }
+
+    private RateLimitRule matchExact(Node node, String path, int from, int slot) {
+        int start = segmentStart(path, from);
+        if (start == path.length()) {
+            return pick(node.exact, slot);
+        }
+        int end = segmentEnd(path, start);
+
+        Node literal = node.literal(path, start, end - start);
+        if (literal != null) {
+            RateLimitRule rule = matchExact(literal, path, end, slot);
+            if (rule != null) {
+                return rule;
+            }
+        }
+        return node.wildcard != null ? matchExact(node.wildcard, path, end, slot) : null;
+    }
+
+    /**
+     * Depth of the deepest {@code **} rule on any branch matching the path, or -1.
+     */
+    private int deepestRest(Node node, String path, int from, int depth, int slot) {
+        int deepest = pick(node.rest, slot) != null ? depth : -1;
+        int start = segmentStart(path, from);
+        if (start == path.length()) {
+            return deepest;
+        }
+        int end = segmentEnd(path, start);
+
+        Node literal = node.literal(path, start, end - start);
+        if (literal != null) {
+            deepest = Math.max(deepest, deepestRest(literal, path, end, depth + 1, slot));
+        }
+        if (node.wildcard != null) {
+            deepest = Math.max(deepest, deepestRest(node.wildcard, path, end, depth + 1, slot));
+        }
+        return deepest;
+    }
+
+    /**
+     * The first {@code **} rule at {@code target} depth, literal branch before {@code *}.
+     */
+    private RateLimitRule restAt(Node node, String path, int from, int depth, int target, int slot) {
+        if (depth == target) {
+            return pick(node.rest, slot);
+        }
+        int start = segmentStart(path, from);
+        if (start == path.length()) {
+            return null;
+        }
+        int end = segmentEnd(path, start);
+
+        Node literal = node.literal(path, start, end - start);
+        if (literal != null) {
+            RateLimitRule rule = restAt(literal, path, end, depth + 1, target, slot);
+            if (rule != null) {
+                return rule;
+            }
+        }
+        return node.wildcard != null ? restAt(node.wildcard, path, end, depth + 1, target, slot) : null;
+    }
+
+    private static int segmentStart(String path, int from) {
+        int i = from;
+        while (i < path.length() && path.charAt(i) == '/') {
+            i++;
+        }
+        return i;
+    }
+
+    private static int segmentEnd(String path, int start) {
+        int end = path.indexOf('/', start);
+        return end < 0 ? path.length() : end;
+    }
+
+    /**
+     * Canonical form of a request path: percent-decoded, {@code ;params} dropped,
+     * {@code .}/{@code ..} resolved, no empty or trailing segments. Already-clean paths
+     * (the common case) are returned as is.
+     */
+    static String normalize(String path) {
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        if (!needsNormalization(path)) {
+            return path;
+        }
+        String decoded = path;
+        if (path.indexOf('%') >= 0) {
+            try {
+                decoded = URLDecoder.decode(path.replace("+", "%2B"), StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                // malformed escape: match the raw path
+            }
+        }
+
+        Deque<String> segments = new ArrayDeque<>();
+        for (String segment : decoded.split("/")) {
+            int params = segment.indexOf(';');
+            if (params >= 0) {
+                segment = segment.substring(0, params);
+            }
+            if (segment.isEmpty() || segment.equals(".")) {
+                continue;
+            }
+            if (segment.equals("..")) {
+                segments.pollLast();
+            } else {
+                segments.addLast(segment);
+            }
+        }
+        return "/" + String.join("/", segments);
+    }
+
+    private static boolean needsNormalization(String path) {
+        return path.charAt(0) != '/'
+                || (path.length() > 1 && path.endsWith("/"))
+                || path.contains("//")
+                || path.contains("/.")
+                || path.indexOf(';') >= 0
+                || path.indexOf('%') >= 0;
+    }
+
+    private static RateLimitRule[] put(RateLimitRule[] rules, int slot, RateLimitRule rule) {
+        if (rules == null) {
+            rules = new RateLimitRule[METHOD_SLOTS];
+        }
+        if (rules[slot] == null) {
+            rules[slot] = rule;
+        }
+        return rules;
+    }
+
+    private static RateLimitRule pick(RateLimitRule[] rules, int slot) {
+        if (rules == null) {
+            return null;
+        }
+        RateLimitRule rule = rules[slot];
+        return rule != null ? rule : rules[ANY_METHOD];
+    }
+
+    /**
+     * Map an HTTP method to its slot. Null and "*" map to the any-method slot, unknown
+     * methods to {@code UNKNOWN_METHOD} (rejected by {@link #add}).
+     */
+    static int methodSlot(String method) {
+        if (method == null) {
+            return ANY_METHOD;
+        }
+        return switch (method.toUpperCase(Locale.ROOT)) {
+            case "*" -> ANY_METHOD;
+            case "GET" -> 1;
+            case "HEAD" -> 2;
+            case "POST" -> 3;
+            case "PUT" -> 4;
+            case "PATCH" -> 5;
+            case "DELETE" -> 6;
+            case "OPTIONS" -> 7;
+            case "TRACE" -> 8;
+            default -> UNKNOWN_METHOD;
+        };
+    }
+
+    private static final class Node {
+        // Parallel arrays instead of a map: fan-out per node is small and
+        // regionMatches lets us compare without substring allocation.
+        private String[] literals = new String[0];
+        private Node[] children = new Node[0];
+        private Node wildcard;
+        private RateLimitRule[] exact;
+        private RateLimitRule[] rest;
+
+        Node literal(String path, int offset, int length) {
+            for (int i = 0; i < literals.length; i++) {
+                String literal = literals[i];
+                if (literal.length() == length && path.regionMatches(offset, literal, 0, length)) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node literalOrCreate(String segment) {
+            Node existing = literal(segment, 0, segment.length());
+            if (existing != null) {
+                return existing;
+            }
+            Node child = new Node();
+            literals = Arrays.copyOf(literals, literals.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            literals[literals.length - 1] = segment;
+            children[children.length - 1] = child;
+            return child;
+        }
+    }
+}
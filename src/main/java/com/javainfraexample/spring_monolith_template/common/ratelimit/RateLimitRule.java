@@ -0,0 +1,24 @@
+package com.javainfraexample.spring_monolith_template.common.ratelimit;
+
+import java.util.List;
+
+/**
+ * Compiled, immutable form of a {@code app.rate-limit.rules} entry.
+ * Built once at startup by {@link RateLimitRuleRegistry}.
+ *
+ * @param name        rule name, part of the Redis key (rate_limit:rule:{name}:...)
+ * @param exempt      true to skip rate limiting entirely for matching requests
+ * @param algorithm   counting algorithm
+ * @param keyStrategy how the counter key is derived from the request
+ * @param cost        units consumed per request (limits are budgets of units)
+ * @param limits      limits checked in order, the first exceeded one rejects the request
+ */
+public record RateLimitRule(
+        String name,
+        boolean exempt,
+        RateLimitAlgorithm algorithm,
+        RateLimitKeyStrategy keyStrategy,
+        int cost,
+        List<RateLimitConfig.Limit> limits
+) {
+}
@@ -0,0 +1,106 @@
+package com.javainfraexample.spring_monolith_template.common.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Compiles {@code app.rate-limit.rules} into a {@link RateLimitPathTrie} at startup
+ * and resolves the rule for each request.
+ *
+ * Invalid rules (missing name/paths, no limits on a non-exempt rule, bad patterns)
+ * fail application startup instead of silently disabling protection.
+ *
+ * When no rules are configured, the infrastructure paths that used to be
+ * hard-coded in {@code RateLimitFilter} (actuator, health, dev, Swagger) are exempt.
+ */
+@Slf4j
+@Component
+public class RateLimitRuleRegistry {
+
+    static final List<String> DEFAULT_EXEMPT_PATHS = List.of(
+        "/",
+        "/actuator/**",
+        "/health/**",
+        "/dev/**",
+        "/apidocs/**",
+        "/v1/api-docs/**",
+        "/swagger-ui/**",
+        "/swagger-ui.html"
+    );
+
+    private final RateLimitPathTrie trie = new RateLimitPathTrie();
+
+    public RateLimitRuleRegistry(RateLimitConfig config) {
+        List<RateLimitConfig.Rule> rules = config.getRules();
+        if (rules == null || rules.isEmpty()) {
+            registerDefaults();
+            return;
+        }
+        for (RateLimitConfig.Rule rule : rules) {
+            register(rule);
+        }
+        log.info("Rate limit rules loaded: {}", rules.stream().map(RateLimitConfig.Rule::getName).toList());
+    }
+
+    /**
+     * Resolve the rule for a request.
+     *
+     * @return the matching rule, or null if no rule matches (caller applies the global limits)
+     */
+    public RateLimitRule match(String method, String path) {
+        return trie.match(method, path);
+    }
+
+    private void register(RateLimitConfig.Rule source) {
+        if (source.getName() == null || source.getName().isBlank()) {
+            throw new IllegalStateException("Rate limit rule is missing a name");
+        }
+        if (source.getPaths().isEmpty()) {
+            throw new IllegalStateException("Rate limit rule '" + source.getName() + "' has no paths");
+        }
+        if (!source.isExempt() && source.getLimits().isEmpty()) {
+            throw new IllegalStateException(
+                "Rate limit rule '" + source.getName() + "' must declare limits or be exempt");
+        }
+        if (source.getCost() < 1) {
+            throw new IllegalStateException("Rate limit rule '" + source.getName() + "' must have cost >= 1");
+        }
+        for (RateLimitConfig.Limit limit : source.getLimits()) {
+            if (limit.getMaxRequests() <= 0 || limit.getWindowSeconds() <= 0) {
+                throw new IllegalStateException(
+                    "Rate limit rule '" + source.getName() + "' has a non-positive limit or window");
+            }
+        }
+
+        RateLimitRule rule = new RateLimitRule(
+            source.getName(),
+            source.isExempt(),
+            source.getAlgorithm(),
+            source.getKey(),
+            source.getCost(),
+            List.copyOf(source.getLimits())
+        );
+
+        for (String path : source.getPaths()) {
+            if (source.getMethods().isEmpty()) {
+                trie.add(path, null, rule);
+            } else {
+                for (String method : source.getMethods()) {
+                    trie.add(path, method.toUpperCase(Locale.ROOT), rule);
+                }
+            }
+        }
+    }
+
+    private void registerDefaults() {
+        RateLimitRule exempt = new RateLimitRule(
+            "default-exempt", true, RateLimitAlgorithm.FIXED_WINDOW, RateLimitKeyStrategy.IP, 1, List.of());
+        for (String path : DEFAULT_EXEMPT_PATHS) {
+            trie.add(path, null, exempt);
+        }
+        log.info("No rate limit rules configured, using default exempt paths: {}", DEFAULT_EXEMPT_PATHS);
+    }
+}
@@ -3,9 +3,13 @@ package com.javainfraexample.spring_monolith_template.common.ratelimit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -16,6 +20,13 @@ import java.util.Optional;
  *   if (!result.allowed()) {
  *       // Return 429 Too Many Requests
  *   }
+ * 
+ * Weighted requests: every check consumes {@code cost} units (INCRBY), so limits
+ * are budgets of work rather than request counts. Work that is only known after
+ * the response (rows returned, ...) is deducted with the {@code charge*} methods.
+ * 
+ * Redis outage: decisions are made by {@link RateLimitFallback} (per-node in-memory
+ * limits scaled by cluster size) instead of failing open; see that class for the circuit.
  */
 @Slf4j
 @Service
@@ -24,8 +35,31 @@ public class RateLimiterService {
     
     private static final String KEY_PREFIX = "rate_limit:";
     
+    /**
+     * Increment every key in one atomic call (fixed window).
+     * KEYS = counters, ARGV[1] = window seconds, ARGV[2] = cost.
+     * Returns {highest count, TTL of that counter}.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> MULTI_KEY_INCREMENT = new DefaultRedisScript<>("""
+        local highest = 0
+        local ttl = tonumber(ARGV[1])
+        for _, key in ipairs(KEYS) do
+            local count = redis.call('INCRBY', key, ARGV[2])
+            if count == tonumber(ARGV[2]) then
+                redis.call('EXPIRE', key, ARGV[1])
+            end
+            if count > highest then
+                highest = count
+                ttl = redis.call('TTL', key)
+            end
+        end
+        return {highest, ttl}
+        """, List.class);
+    
     private final StringRedisTemplate redisTemplate;
     private final RateLimitConfig config;
+    private final RateLimitFallback fallback;
     
     /**
      * Check if request is allowed for given IP and rate limit type.
@@ -35,6 +69,13 @@ public class RateLimiterService {
      * @return RateLimitResult with allowed status and remaining requests
      */
     public RateLimitResult checkLimit(String ip, RateLimitType type) {
+        return checkLimit(ip, type, 1);
+    }
+    
+    /**
+     * Check if a request costing {@code cost} units is allowed for given IP and rate limit type.
+     */
+    public RateLimitResult checkLimit(String ip, RateLimitType type, long cost) {
         if (!config.isEnabled()) {
             return RateLimitResult.allowed(-1, -1);
         }
@@ -42,35 +83,154 @@ public class RateLimiterService {
         RateLimitConfig.Limit limit = config.getLimit(type);
         String key = buildKey(ip, type);
         
+        if (fallback.useRedis()) {
+            try {
+                RateLimitResult result = consumeFixedWindow(key, limit, cost);
+                fallback.onSuccess();
+                if (!result.allowed()) {
+                    log.debug("Rate limit exceeded for IP: {}, type: {}, cost: {}", ip, type, cost);
+                }
+                return result;
+                
+            } catch (Exception e) {
+                log.error("Rate limit check failed for IP: {}, type: {}", ip, type, e);
+                fallback.onFailure(e);
+            }
+        }
+        return fallback.consumeFixedWindow(key, limit, cost);
+    }
+    
+    /**
+     * Check all limits of a path rule for the given key (IP, principal, or "global").
+     * Consumes the rule's {@code cost} per request.
+     * Returns the first exceeded limit, otherwise the allowed result with the fewest remaining requests.
+     */
+    public RateLimitResult checkRule(RateLimitRule rule, String key) {
+        return consumeRule(rule, key, rule.cost());
+    }
+    
+    /**
+     * Deduct extra units from a rule after the response (dynamic cost). Never rejects.
+     */
+    public void chargeRule(RateLimitRule rule, String key, long units) {
+        if (units > 0) {
+            consumeRule(rule, key, units);
+        }
+    }
+    
+    private RateLimitResult consumeRule(RateLimitRule rule, String key, long cost) {
+        if (!config.isEnabled() || rule.exempt()) {
+            return RateLimitResult.allowed(-1, -1);
+        }
+        
+        if (fallback.useRedis()) {
+            try {
+                RateLimitResult result = consumeRuleLimits(rule, key, cost, false);
+                fallback.onSuccess();
+                return result;
+                
+            } catch (Exception e) {
+                log.error("Rate limit rule check failed for rule: {}, key: {}", rule.name(), key, e);
+                fallback.onFailure(e);
+            }
+        }
+        return consumeRuleLimits(rule, key, cost, true);
+    }
+    
+    private RateLimitResult consumeRuleLimits(RateLimitRule rule, String key, long cost, boolean local) {
+        RateLimitResult tightest = RateLimitResult.allowed(-1, -1);
+        for (RateLimitConfig.Limit limit : rule.limits()) {
+            String redisKey = KEY_PREFIX + "rule:" + rule.name() + ":" + limit.getWindowSeconds() + ":" + key;
+            RateLimitResult result = switch (rule.algorithm()) {
+                case FIXED_WINDOW -> local
+                    ? fallback.consumeFixedWindow(redisKey, limit, cost)
+                    : consumeFixedWindow(redisKey, limit, cost);
+                case SLIDING_WINDOW -> local
+                    ? fallback.consumeSlidingWindow(redisKey, limit, cost)
+                    : consumeSlidingWindow(redisKey, limit, cost);
+            };
+            if (!result.allowed()) {
+                log.debug("Rate limit rule [{}] exceeded for key: {}", rule.name(), key);
+                return result;
+            }
+            if (tightest.remaining() < 0 || result.remaining() < tightest.remaining()) {
+                tightest = result;
+            }
+        }
+        return tightest;
+    }
+    
+    /**
+     * Check one rate limit type against several identifiers at once (e.g. IP + account).
+     * All counters are incremented in a single atomic Redis call; the request is
+     * rejected if any of them is over the limit.
+     * 
+     * Note: on Redis Cluster all keys must hash to the same slot.
+     */
+    public RateLimitResult checkLimitAll(List<String> identifiers, RateLimitType type) {
+        return checkLimitAll(identifiers, type, 1);
+    }
+    
+    /**
+     * Weighted variant of {@link #checkLimitAll(List, RateLimitType)}: every counter is incremented by {@code cost}.
+     */
+    public RateLimitResult checkLimitAll(List<String> identifiers, RateLimitType type, long cost) {
+        if (!config.isEnabled()) {
+            return RateLimitResult.allowed(-1, -1);
+        }
+        if (identifiers.size() == 1) {
+            return checkLimit(identifiers.getFirst(), type, cost);
+        }
+        
+        RateLimitConfig.Limit limit = config.getLimit(type);
+        List<String> keys = identifiers.stream().map(id -> buildKey(id, type)).toList();
+        
+        if (!fallback.useRedis()) {
+            return consumeAllLocally(keys, limit, cost);
+        }
+        
         try {
-            Long currentCount = redisTemplate.opsForValue().increment(key);
-            
-            if (currentCount == null) {
-                log.warn("Redis increment returned null for key: {}", key);
+            List<?> reply = redisTemplate.execute(MULTI_KEY_INCREMENT, keys,
+                String.valueOf(limit.getWindowSeconds()), String.valueOf(cost));
+            fallback.onSuccess();
+            if (reply == null || reply.size() < 2) {
+                log.warn("Redis multi-key increment returned no result for keys: {}", keys);
                 return RateLimitResult.allowed(-1, -1); // Fail open
             }
             
-            // Set expiry on first request
-            if (currentCount == 1) {
-                redisTemplate.expire(key, Duration.ofSeconds(limit.getWindowSeconds()));
-            }
-            
-            int remaining = Math.max(0, limit.getMaxRequests() - currentCount.intValue());
-            long resetSeconds = getResetSeconds(key, limit.getWindowSeconds());
+            long highest = ((Number) reply.get(0)).longValue();
+            long ttl = ((Number) reply.get(1)).longValue();
+            int remaining = (int) Math.max(0, limit.getMaxRequests() - highest);
+            long resetSeconds = ttl > 0 ? ttl : limit.getWindowSeconds();
             
-            if (currentCount > limit.getMaxRequests()) {
-                log.debug("Rate limit exceeded for IP: {}, type: {}, count: {}", ip, type, currentCount);
+            if (highest > limit.getMaxRequests()) {
+                log.debug("Rate limit exceeded for keys: {}, type: {}", identifiers, type);
                 return RateLimitResult.exceeded(remaining, resetSeconds);
             }
-            
             return RateLimitResult.allowed(remaining, resetSeconds);
             
         } catch (Exception e) {
-            log.error("Rate limit check failed for IP: {}, type: {}", ip, type, e);
-            return RateLimitResult.allowed(-1, -1); // Fail open on Redis errors
+            log.error("Rate limit check failed for keys: {}, type: {}", identifiers, type, e);
+            fallback.onFailure(e);
+            return consumeAllLocally(keys, limit, cost);
         }
     }
     
+    /**
+     * Local equivalent of the multi-key script: every counter is incremented, rejected if any is over.
+     */
+    private RateLimitResult consumeAllLocally(List<String> keys, RateLimitConfig.Limit limit, long cost) {
+        RateLimitResult worst = RateLimitResult.allowed(-1, -1);
+        for (String key : keys) {
+            RateLimitResult result = fallback.consumeFixedWindow(key, limit, cost);
+            if (worst.allowed() && (!result.allowed()
+                    || worst.remaining() < 0 || result.remaining() < worst.remaining())) {
+                worst = result;
+            }
+        }
+        return worst;
+    }
+    
     /**
      * Check multiple rate limit types. Returns first exceeded limit or allowed.
      */
@@ -84,6 +244,27 @@ public class RateLimiterService {
         return RateLimitResult.allowed(-1, -1);
     }
     
+    /**
+     * Deduct extra units from every identifier after the response (dynamic cost). Never rejects.
+     */
+    public void chargeLimitAll(List<String> identifiers, RateLimitType type, long units) {
+        if (units > 0) {
+            checkLimitAll(identifiers, type, units);
+        }
+    }
+    
+    /**
+     * Deduct extra units from several rate limit types for an IP after the response. Never rejects.
+     */
+    public void chargeLimits(String ip, long units, RateLimitType... types) {
+        if (units <= 0) {
+            return;
+        }
+        for (RateLimitType type : types) {
+            checkLimit(ip, type, units);
+        }
+    }
+    
     /**
      * Get current request count for IP and type.
      */
@@ -103,6 +284,7 @@ public class RateLimiterService {
      */
     public void resetLimit(String ip, RateLimitType type) {
         String key = buildKey(ip, type);
+        fallback.reset(key);
         try {
             redisTemplate.delete(key);
             log.info("Rate limit reset for IP: {}, type: {}", ip, type);
@@ -120,6 +302,67 @@ public class RateLimiterService {
         }
     }
     
+    /**
+     * Fixed window: INCRBY cost, set expiry on the first hit of the window.
+     */
+    private RateLimitResult consumeFixedWindow(String key, RateLimitConfig.Limit limit, long cost) {
+        Long currentCount = redisTemplate.opsForValue().increment(key, cost);
+        
+        if (currentCount == null) {
+            log.warn("Redis increment returned null for key: {}", key);
+            return RateLimitResult.allowed(-1, -1); // Fail open
+        }
+        
+        // Set expiry on first request (counter equals this request's cost)
+        if (currentCount == cost) {
+            redisTemplate.expire(key, Duration.ofSeconds(limit.getWindowSeconds()));
+        }
+        
+        int remaining = Math.max(0, limit.getMaxRequests() - currentCount.intValue());
+        long resetSeconds = getResetSeconds(key, limit.getWindowSeconds());
+        
+        if (currentCount > limit.getMaxRequests()) {
+            return RateLimitResult.exceeded(remaining, resetSeconds);
+        }
+        
+        return RateLimitResult.allowed(remaining, resetSeconds);
+    }
+    
+    /**
+     * Sliding window counter: one key per window (suffixed with the window index),
+     * estimated count = current + previous * (unelapsed fraction of the current window).
+     */
+    private RateLimitResult consumeSlidingWindow(String key, RateLimitConfig.Limit limit, long cost) {
+        long windowSeconds = limit.getWindowSeconds();
+        long now = Instant.now().getEpochSecond();
+        long window = now / windowSeconds;
+        long elapsed = now % windowSeconds;
+        
+        String currentKey = key + ":" + window;
+        Long currentCount = redisTemplate.opsForValue().increment(currentKey, cost);
+        if (currentCount == null) {
+            log.warn("Redis increment returned null for key: {}", currentKey);
+            return RateLimitResult.allowed(-1, -1); // Fail open
+        }
+        if (currentCount == cost) {
+            // Keep it alive through the next window, where it is read as "previous"
+            redisTemplate.expire(currentKey, Duration.ofSeconds(windowSeconds * 2));
+        }
+        
+        String previous = redisTemplate.opsForValue().get(key + ":" + (window - 1));
+        long previousCount = previous != null ? Long.parseLong(previous) : 0;
+        double weight = (double) (windowSeconds - elapsed) / windowSeconds;
+        long estimated = currentCount + (long) Math.floor(previousCount * weight);
+        
+        int remaining = (int) Math.max(0, limit.getMaxRequests() - estimated);
+        long resetSeconds = windowSeconds - elapsed;
+        
+        if (estimated > limit.getMaxRequests()) {
+            return RateLimitResult.exceeded(remaining, resetSeconds);
+        }
+        return RateLimitResult.allowed(remaining, resetSeconds);
+    }
+    
     private String buildKey(String ip, RateLimitType type) {
         return KEY_PREFIX + type.name().toLowerCase() + ":" + ip;
     }
@@ -8,7 +8,11 @@ import io.micrometer.core.instrument.MeterRegistry;
 
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
@@ -18,6 +22,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -47,6 +52,13 @@ import java.util.stream.Collectors;
 @Service
 public class RedisCacheService {
 
+    private static final RedisScript<Long> SADD_IF_EXISTS = new DefaultRedisScript<>("""
+        if redis.call('EXISTS', KEYS[1]) == 1 then
+            return redis.call('SADD', KEYS[1], unpack(ARGV))
+        end
+        return 0
+        """, Long.class);
+
     private final StringRedisTemplate redisTemplate;
     private final ObjectMapper objectMapper;
 
@@ -405,8 +417,25 @@ public class RedisCacheService {
         }
     }
 
+    /**
+     * Add values to a set only if the set already exists.
+     * Keeps a cached set from being re-created with just the new members after it expired.
+     *
+     * @return number of values added (0 if the key doesn't exist)
+     */
+    public long setAddIfExists(String key, String... values) {
+        try {
+            Long count = redisTemplate.execute(SADD_IF_EXISTS, List.of(key), (Object[]) values);
+            return count != null ? count : 0;
+        } catch (Exception e) {
+            log.error("Redis SADD (if exists) failed for key: {}", key, e);
+            return 0;
+        }
+    }
+
     /**
      * Get all members of a set.
+     * Loads the whole set in one reply — use {@link #setScan} for sets that can grow large.
      */
     public Set<String> setMembers(String key) {
         try {
@@ -418,6 +447,27 @@ public class RedisCacheService {
         }
     }
 
+    /**
+     * Iterate a set incrementally with SSCAN; {@code count} is the per-call hint sent to Redis.
+     * Only one SSCAN reply is held in memory at a time.
+     *
+     * SSCAN may return a member more than once if the set is rehashed during the scan.
+     * Unlike the other methods, errors propagate: a scan that stopped halfway must not
+     * look like a complete one.
+     *
+     * @return number of members visited
+     */
+    public long setScan(String key, int count, Consumer<String> action) {
+        long visited = 0;
+        try (Cursor<String> cursor = redisTemplate.opsForSet().scan(key, ScanOptions.scanOptions().count(count).build())) {
+            while (cursor.hasNext()) {
+                action.accept(cursor.next());
+                visited++;
+            }
+        }
+        return visited;
+    }
+
     /**
      * Check if value is member of set.
      */
@@ -501,6 +551,19 @@ public class RedisCacheService {
         }
     }
 
+    /**
+     * Atomically rename a key, replacing the target if it exists.
+     */
+    public boolean rename(String key, String newKey) {
+        try {
+            redisTemplate.rename(key, newKey);
+            return true;
+        } catch (Exception e) {
+            log.error("Redis RENAME failed: {} -> {}", key, newKey, e);
+            return false;
+        }
+    }
+
     /**
      * Get all keys matching a pattern.
      */
@@ -25,6 +25,12 @@ public enum RedisKey {
     // Rate limiting
     RATE_LIMIT("rate:limit"),
     
+    // Notifications
+    NOTIFICATION_TOPIC("notification:topic"),
+
+    // Processed message-ids of idempotent listeners
+    IDEMPOTENCY("idempotency"),
+
     // General cache
     CACHE("cache"),
     
@@ -8,8 +8,12 @@ import org.quartz.TriggerBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.TimeZone;
+
+import com.javainfraexample.spring_monolith_template.scheduler.jobs.AuditPartitionJob;
 import com.javainfraexample.spring_monolith_template.scheduler.jobs.DailyCleanupJob;
 import com.javainfraexample.spring_monolith_template.scheduler.jobs.HealthCheckJob;
+import com.javainfraexample.spring_monolith_template.scheduler.jobs.UsageRollupJob;
 import com.javainfraexample.spring_monolith_template.scheduler.jobs.WeeklyReportJob;
 
 /**
@@ -117,4 +121,58 @@ public class QuartzConfig {
                 )
                 .build();
     }
+
+    // ==================== Usage Rollup Job (Every day at 00:30 UTC) ====================
+
+    @Bean
+    public JobDetail usageRollupJobDetail() {
+        return JobBuilder.newJob(UsageRollupJob.class)
+                .withIdentity("usageRollupJob", "scheduled-jobs")
+                .withDescription("Runs daily at 00:30 UTC - usage partitions: create ahead, drop old")
+                .storeDurably()
+                .requestRecovery(true)
+                .build();
+    }
+
+    @Bean
+    public Trigger usageRollupTrigger() {
+        return TriggerBuilder.newTrigger()
+                .forJob(usageRollupJobDetail())
+                .withIdentity("usageRollupTrigger", "scheduled-triggers")
+                .withDescription("Fires every day at 00:30:00 UTC")
+                .withSchedule(
+                    CronScheduleBuilder
+                        .dailyAtHourAndMinute(0, 30)
+                        .inTimeZone(TimeZone.getTimeZone("UTC")) // usage days are UTC
+                        .withMisfireHandlingInstructionFireAndProceed()
+                )
+                .build();
+    }
+
+    // ==================== Audit Partition Job (Every day at 01:00 UTC) ====================
+
+    @Bean
+    public JobDetail auditPartitionJobDetail() {
+        return JobBuilder.newJob(AuditPartitionJob.class)
+                .withIdentity("auditPartitionJob", "scheduled-jobs")
+                .withDescription("Runs daily at 01:00 UTC - audit_events partitions: create ahead, drain default, drop old")
+                .storeDurably()
+                .requestRecovery(true)
+                .build();
+    }
+
+    @Bean
+    public Trigger auditPartitionTrigger() {
+        return TriggerBuilder.newTrigger()
+                .forJob(auditPartitionJobDetail())
+                .withIdentity("auditPartitionTrigger", "scheduled-triggers")
+                .withDescription("Fires every day at 01:00:00 UTC")
+                .withSchedule(
+                    CronScheduleBuilder
+                        .dailyAtHourAndMinute(1, 0)
+                        .inTimeZone(TimeZone.getTimeZone("UTC")) // audit months are UTC
+                        .withMisfireHandlingInstructionFireAndProceed()
+                )
+                .build();
+    }
 }
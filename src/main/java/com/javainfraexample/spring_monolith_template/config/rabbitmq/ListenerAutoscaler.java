@@ -0,0 +1,278 @@
+package com.javainfraexample.spring_monolith_template.config.rabbitmq;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scales listener consumers and prefetch per queue from queue depth and consumer utilization.
+ *
+ * <p>Every {@code app.messaging.autoscaling.interval-ms}, for each queue with {@code autoscale: true}
+ * in {@code app.messaging.queues}:</p>
+ * <ul>
+ *   <li>depth — ready messages, from a passive declare ({@link AmqpAdmin#getQueueInfo})</li>
+ *   <li>utilization — busy share of consumer time since the last sample, from the container's
+ *       {@code spring.rabbitmq.listener} timer; unknown (depth only) if the timer isn't there</li>
+ * </ul>
+ *
+ * <p>Hysteresis: a direction must hold for {@code scale-up-samples} / {@code scale-down-samples}
+ * consecutive samples, the up and down thresholds are far apart, and nothing changes during
+ * {@code cooldown-ms} after a change. Scaling up adds consumers first (+50%) and only raises
+ * prefetch (×2, up to {@code max-prefetch}) once consumers are at max; scaling down undoes it in
+ * reverse, prefetch first, then one consumer at a time.</p>
+ *
+ * <p>A prefetch change restarts the container, since a running consumer's QoS is fixed. The restart
+ * runs on its own virtual thread, because {@code stop()} waits up to the container's shutdown
+ * timeout for in-flight listeners and must not hold up sampling of the other queues; the queue is
+ * not sampled again until it is back. Cost of a restart: every message prefetched but not yet
+ * handed to the listener (up to consumers × prefetch) is requeued and redelivered with the
+ * redelivered flag, possibly out of order, and for a moment the queue has no consumers. Prefetch
+ * therefore changes at most once per {@code prefetch-cooldown-ms}, on top of {@code cooldown-ms}.
+ * Leave {@code max-prefetch} unset on priority queues.</p>
+ *
+ * <p>Metrics (tag {@code queue}): {@code rabbitmq.listener.scaling{action}} per decision,
+ * gauges {@code rabbitmq.listener.consumers}, {@code rabbitmq.listener.prefetch},
+ * {@code rabbitmq.listener.utilization} and {@code rabbitmq.queue.depth}.</p>
+ */
+@Slf4j
+@Component
+public class ListenerAutoscaler {
+
+    private final RabbitListenerEndpointRegistry registry;
+    private final AmqpAdmin amqpAdmin;
+    private final ListenerQueuesConfig queuesConfig;
+    private final ListenerAutoscalingConfig config;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, QueueState> states = new ConcurrentHashMap<>();
+    private final Map<String, Counter> decisions = new ConcurrentHashMap<>();
+
+    public ListenerAutoscaler(RabbitListenerEndpointRegistry registry,
+                              AmqpAdmin amqpAdmin,
+                              ListenerQueuesConfig queuesConfig,
+                              ListenerAutoscalingConfig config,
+                              MeterRegistry meterRegistry) {
+        this.registry = registry;
+        this.amqpAdmin = amqpAdmin;
+        this.queuesConfig = queuesConfig;
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Scheduled(fixedDelayString = "${app.messaging.autoscaling.interval-ms:5000}",
+               initialDelayString = "${app.messaging.autoscaling.interval-ms:5000}")
+    public void sample() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        for (MessageListenerContainer listenerContainer : registry.getListenerContainers()) {
+            if (!(listenerContainer instanceof SimpleMessageListenerContainer container) || !container.isRunning()) {
+                continue;
+            }
+            for (String queue : container.getQueueNames()) {
+                ListenerQueuesConfig.QueueListener settings = queuesConfig.getQueues().get(queue);
+                if (settings != null && settings.isAutoscale() && settings.getConcurrency() != null) {
+                    try {
+                        scale(queue, container, settings);
+                    } catch (Exception e) {
+                        log.warn("Listener autoscaling failed for queue {}: {}", queue, e.getMessage());
+                    }
+                    break;
+                }
+            }
+        }
+    }
+
+    private void scale(String queue, SimpleMessageListenerContainer container, ListenerQueuesConfig.QueueListener settings) {
+        QueueInformation info = amqpAdmin.getQueueInfo(queue);
+        if (info == null) {
+            return;
+        }
+
+        int[] bounds = ListenerContainerConfig.parseConcurrency(settings.getConcurrency());
+        int minPrefetch = settings.getPrefetch() != null ? settings.getPrefetch() : 1;
+        int maxPrefetch = settings.getMaxPrefetch() != null ? Math.max(minPrefetch, settings.getMaxPrefetch()) : minPrefetch;
+        QueueState state = states.computeIfAbsent(queue, q -> register(q, container, bounds[0], minPrefetch));
+        if (state.restarting) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        double busyNanos = busyNanos(container.getListenerId());
+        state.depth = info.getMessageCount();
+        state.utilization = state.sampled && state.lastBusyNanos >= 0 && busyNanos >= 0
+                ? Math.min(1.0, (busyNanos - state.lastBusyNanos) / ((double) (now - state.lastSampleAt) * state.consumers))
+                : -1;
+        state.sampled = true;
+        state.lastSampleAt = now;
+        state.lastBusyNanos = busyNanos;
+
+        double backlogPerConsumer = (double) state.depth / state.consumers;
+        boolean utilizationKnown = state.utilization >= 0;
+        if (backlogPerConsumer >= config.getScaleUpBacklog()
+                && (!utilizationKnown || state.utilization >= config.getScaleUpUtilization())) {
+            state.upSamples++;
+            state.downSamples = 0;
+        } else if (backlogPerConsumer <= config.getScaleDownBacklog()
+                && (!utilizationKnown || state.utilization <= config.getScaleDownUtilization())) {
+            state.downSamples++;
+            state.upSamples = 0;
+        } else {
+            state.upSamples = 0;
+            state.downSamples = 0;
+        }
+
+        if (now - state.lastChangeAt < TimeUnit.MILLISECONDS.toNanos(config.getCooldownMs())) {
+            return;
+        }
+        if (state.upSamples >= config.getScaleUpSamples()) {
+            state.upSamples = 0;
+            if (state.consumers < bounds[1]) {
+                setConsumers(container, state, Math.min(bounds[1], state.consumers + Math.max(1, state.consumers / 2)), "scale_up");
+            } else if (state.prefetch < maxPrefetch && prefetchCooledDown(state, now)) {
+                setPrefetch(container, state, Math.min(maxPrefetch, state.prefetch * 2), "prefetch_up");
+            }
+        } else if (state.downSamples >= config.getScaleDownSamples()) {
+            state.downSamples = 0;
+            if (state.prefetch > minPrefetch) {
+                if (prefetchCooledDown(state, now)) {
+                    setPrefetch(container, state, Math.max(minPrefetch, state.prefetch / 2), "prefetch_down");
+                }
+            } else if (state.consumers > bounds[0]) {
+                setConsumers(container, state, state.consumers - 1, "scale_down");
+            }
+        }
+    }
+
+    /**
+     * Pins min = max = target so the container's own consumer start/stop logic doesn't fight this one.
+     */
+    private void setConsumers(SimpleMessageListenerContainer container, QueueState state, int target, String action) {
+        if (target > state.consumers) {
+            container.setMaxConcurrentConsumers(target);
+            container.setConcurrentConsumers(target);
+        } else {
+            container.setConcurrentConsumers(target);
+            container.setMaxConcurrentConsumers(target);
+        }
+        log.info("Listener {} for queue {}: consumers {} → {} (depth={}, utilization={})",
+                action, state.queue, state.consumers, target, state.depth, formatUtilization(state.utilization));
+        state.consumers = target;
+        recordDecision(state, action);
+    }
+
+    private boolean prefetchCooledDown(QueueState state, long now) {
+        return now - state.lastPrefetchChangeAt >= TimeUnit.MILLISECONDS.toNanos(config.getPrefetchCooldownMs());
+    }
+
+    /**
+     * Restarts the container off the scheduler thread; {@code restarting} keeps the queue out of
+     * sampling until it is running again, and the cooldowns start when the restart ends.
+     */
+    private void setPrefetch(SimpleMessageListenerContainer container, QueueState state, int prefetch, String action) {
+        log.info("Listener {} for queue {}: prefetch {} → {} (depth={}, utilization={}), restarting container",
+                action, state.queue, state.prefetch, prefetch, state.depth, formatUtilization(state.utilization));
+        int previous = state.prefetch;
+        state.restarting = true;
+        state.prefetch = prefetch;
+        recordDecision(state, action);
+        Thread.ofVirtual().name("listener-restart-" + state.queue).start(() -> {
+            try {
+                container.stop();
+                container.setPrefetchCount(prefetch);
+                container.start();
+            } catch (Exception e) {
+                log.error("Listener restart for queue {} failed: {}", state.queue, e.getMessage(), e);
+                state.prefetch = previous;
+            } finally {
+                state.lastChangeAt = System.nanoTime();
+                state.lastPrefetchChangeAt = state.lastChangeAt;
+                state.sampled = false;
+                state.restarting = false;
+            }
+        });
+    }
+
+    private void recordDecision(QueueState state, String action) {
+        state.lastChangeAt = System.nanoTime();
+        decisions.computeIfAbsent(state.queue + ":" + action, k -> Counter.builder("rabbitmq.listener.scaling")
+                .description("Listener autoscaling decisions")
+                .tag("queue", state.queue)
+                .tag("action", action)
+                .register(meterRegistry))
+            .increment();
+    }
+
+    private QueueState register(String queue, SimpleMessageListenerContainer container, int minConsumers, int prefetch) {
+        QueueState state = new QueueState(queue);
+        state.consumers = minConsumers;
+        state.prefetch = prefetch;
+        state.lastChangeAt = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(config.getCooldownMs());
+        state.lastPrefetchChangeAt = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(config.getPrefetchCooldownMs());
+        // Take over from the container's own min-max scaling, starting at the configured minimum
+        container.setConcurrentConsumers(minConsumers);
+        container.setMaxConcurrentConsumers(minConsumers);
+
+        Gauge.builder("rabbitmq.listener.consumers", state, s -> s.consumers)
+            .description("Consumers set by the listener autoscaler").tag("queue", queue).register(meterRegistry);
+        Gauge.builder("rabbitmq.listener.prefetch", state, s -> s.prefetch)
+            .description("Prefetch set by the listener autoscaler").tag("queue", queue).register(meterRegistry);
+        Gauge.builder("rabbitmq.listener.utilization", state, s -> s.utilization)
+            .description("Busy share of consumer time in the last sample (-1 = unknown)").tag("queue", queue).register(meterRegistry);
+        Gauge.builder("rabbitmq.queue.depth", state, s -> s.depth)
+            .description("Ready messages at the last sample").tag("queue", queue).register(meterRegistry);
+        return state;
+    }
+
+    /**
+     * Total time spent in the listener, from the per-container timer Spring AMQP registers; -1 if absent.
+     */
+    private double busyNanos(String listenerId) {
+        var timers = meterRegistry.find("spring.rabbitmq.listener").tag("listener.id", listenerId).timers();
+        if (timers.isEmpty()) {
+            return -1;
+        }
+        double total = 0;
+        for (Timer timer : timers) {
+            total += timer.totalTime(TimeUnit.NANOSECONDS);
+        }
+        return total;
+    }
+
+    private static String formatUtilization(double utilization) {
+        return utilization >= 0 ? String.format("%.2f", utilization) : "n/a";
+    }
+
+    private static final class QueueState {
+        final String queue;
+        volatile int consumers;
+        volatile int prefetch;
+        volatile long depth;
+        volatile double utilization = -1;
+        volatile boolean restarting;
+        volatile boolean sampled;
+        long lastSampleAt;
+        double lastBusyNanos = -1;
+        volatile long lastChangeAt;
+        volatile long lastPrefetchChangeAt;
+        int upSamples;
+        int downSamples;
+
+        QueueState(String queue) {
+            this.queue = queue;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.javainfraexample.spring_monolith_template.config.rabbitmq;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Settings for {@link ListenerAutoscaler}. Which queues are scaled, and their bounds, come from
+ * {@code app.messaging.queues} ({@code autoscale}, {@code concurrency}, {@code prefetch}, {@code max-prefetch}).
+ *
+ * <pre>
+ * app:
+ *   messaging:
+ *     autoscaling:
+ *       enabled: true
+ *       interval-ms: 5000
+ *       scale-up-backlog: 10          # ready messages per consumer
+ *       scale-up-utilization: 0.8     # busy fraction of consumer time
+ *       scale-up-samples: 2           # consecutive samples before scaling up
+ *       scale-down-backlog: 1
+ *       scale-down-utilization: 0.3
+ *       scale-down-samples: 6         # slower down than up
+ *       cooldown-ms: 30000            # no further change for this long after one
+ *       prefetch-cooldown-ms: 300000  # prefetch changes restart the container: rarer still
+ * </pre>
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "app.messaging.autoscaling")
+public class ListenerAutoscalingConfig {
+
+    private boolean enabled = true;
+    private long intervalMs = 5000;
+    private double scaleUpBacklog = 10;
+    private double scaleUpUtilization = 0.8;
+    private int scaleUpSamples = 2;
+    private double scaleDownBacklog = 1;
+    private double scaleDownUtilization = 0.3;
+    private int scaleDownSamples = 6;
+    private long cooldownMs = 30_000;
+    private long prefetchCooldownMs = 300_000;
+}
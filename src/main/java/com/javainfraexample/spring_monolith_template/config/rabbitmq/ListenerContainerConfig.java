@@ -0,0 +1,104 @@
+package com.javainfraexample.spring_monolith_template.config.rabbitmq;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.amqp.rabbit.config.ContainerCustomizer;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.boot.amqp.autoconfigure.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+/**
+ * Default listener container factory for every {@code @RabbitListener} without an explicit
+ * {@code containerFactory}.
+ *
+ * <p>Starts from {@code spring.rabbitmq.listener.simple.*} (ack mode, retry, defaults) and adds:</p>
+ * <ul>
+ *   <li>consumers on virtual threads ({@code app.messaging.virtual-thread-listeners}) — a consumer
+ *       blocked on SMTP or a push provider no longer holds a platform thread, so concurrency can
+ *       be raised to match the I/O latency instead of the core count</li>
+ *   <li>per-queue concurrency / prefetch from {@code app.messaging.queues}; an entry wins over
+ *       the {@code concurrency} attribute of the {@code @RabbitListener}</li>
+ * </ul>
+ *
+ * @see ListenerQueuesConfig
+ */
+@Slf4j
+@Configuration
+public class ListenerContainerConfig {
+
+    @Bean
+    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            ListenerQueuesConfig queuesConfig,
+            ContainerCustomizer<SimpleMessageListenerContainer> queueListenerCustomizer) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        if (queuesConfig.isVirtualThreadListeners()) {
+            factory.setTaskExecutor(virtualThreadExecutor("rabbit-listener-"));
+        }
+        factory.setContainerCustomizer(queueListenerCustomizer);
+        return factory;
+    }
+
+    /**
+     * Executor that starts one virtual thread per consumer. Not a bean on purpose: a TaskExecutor
+     * bean would replace Boot's applicationTaskExecutor (@Async, MVC async requests).
+     */
+    public static SimpleAsyncTaskExecutor virtualThreadExecutor(String threadNamePrefix) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    /**
+     * Applies {@code app.messaging.queues} entries to a container; also used by factories
+     * declared elsewhere (e.g. the audit batch factory).
+     */
+    @Bean
+    public ContainerCustomizer<SimpleMessageListenerContainer> queueListenerCustomizer(ListenerQueuesConfig queuesConfig) {
+        return container -> {
+            for (String queue : container.getQueueNames()) {
+                ListenerQueuesConfig.QueueListener settings = queuesConfig.getQueues().get(queue);
+                if (settings == null) {
+                    continue;
+                }
+                if (settings.getConcurrency() != null) {
+                    applyConcurrency(container, settings.getConcurrency());
+                }
+                if (settings.getPrefetch() != null) {
+                    container.setPrefetchCount(settings.getPrefetch());
+                }
+                log.debug("Listener settings for queue {}: concurrency={}, prefetch={}",
+                        queue, settings.getConcurrency(), settings.getPrefetch());
+            }
+        };
+    }
+
+    /**
+     * Min is reset to 1 first so the new max always passes the container's min ≤ max check.
+     */
+    private static void applyConcurrency(SimpleMessageListenerContainer container, String concurrency) {
+        int[] bounds = parseConcurrency(concurrency);
+        container.setConcurrentConsumers(1);
+        container.setMaxConcurrentConsumers(bounds[1]);
+        container.setConcurrentConsumers(bounds[0]);
+    }
+
+    /**
+     * @return {min, max} from "min-max" or a fixed "n"
+     */
+    static int[] parseConcurrency(String concurrency) {
+        String[] parts = concurrency.split("-");
+        int min = Integer.parseInt(parts[0].trim());
+        int max = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : min;
+        if (min < 1 || max < min) {
+            throw new IllegalArgumentException("Invalid listener concurrency: " + concurrency);
+        }
+        return new int[] {min, max};
+    }
+}
@@ -0,0 +1,47 @@
+package com.javainfraexample.spring_monolith_template.config.rabbitmq;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Listener container settings — virtual-thread consumers and per-queue overrides.
+ *
+ * Queues without an entry keep {@code spring.rabbitmq.listener.simple.*}. Queue names contain
+ * dots, so the map keys need the bracket notation:
+ *
+ * <pre>
+ * app:
+ *   messaging:
+ *     virtual-thread-listeners: true
+ *     queues:
+ *       "[app.email.send]":
+ *         concurrency: 2-20   # min-max consumers, or a fixed number
+ *         prefetch: 2
+ *         autoscale: true     # ListenerAutoscaler moves consumers within concurrency
+ *         max-prefetch: 20    # ...and prefetch within [prefetch, max-prefetch]
+ * </pre>
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "app.messaging")
+public class ListenerQueuesConfig {
+
+    private boolean virtualThreadListeners = true;
+    private Map<String, QueueListener> queues = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class QueueListener {
+        private String concurrency;
+        private Integer prefetch;
+        private boolean autoscale;
+        private Integer maxPrefetch;
+    }
+}
@@ -0,0 +1,38 @@
+package com.javainfraexample.spring_monolith_template.config.rabbitmq;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wire format of outgoing AMQP messages ({@link NegotiatingMessageConverter}).
+ *
+ * <pre>
+ * app:
+ *   messaging:
+ *     conversion:
+ *       format: json             # json | cbor | smile
+ *       compression: gzip        # none | gzip
+ *       compression-threshold: 1024   # only bodies at least this many bytes are compressed
+ * </pre>
+ *
+ * Only the producing side reads these. Consumers decode whatever the message says
+ * ({@code content_type} / {@code content_encoding}), so roll out new consumers first,
+ * then switch producers.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "app.messaging.conversion")
+public class MessageConversionConfig {
+
+    private Format format = Format.JSON;
+    private Compression compression = Compression.NONE;
+    private int compressionThreshold = 1024;
+
+    public enum Format { JSON, CBOR, SMILE }
+
+    public enum Compression { NONE, GZIP }
+}
@@ -0,0 +1,151 @@
+package com.javainfraexample.spring_monolith_template.config.rabbitmq;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JavaType;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.amqp.support.postprocessor.DelegatingDecompressingPostProcessor;
+import org.springframework.amqp.support.postprocessor.GZipPostProcessor;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Message converter that writes JSON, CBOR or Smile, optionally gzip-compressed,
+ * and reads any of them based on the message's own properties.
+ *
+ * <h3>Outgoing ({@link MessageConversionConfig}):</h3>
+ * <pre>
+ *   json  → JacksonJsonMessageConverter (unchanged wire format, content_type application/json)
+ *   cbor  → content_type application/cbor
+ *   smile → content_type application/x-jackson-smile
+ *   body ≥ compression-threshold and compression=gzip → content_encoding "gzip:&lt;original&gt;"
+ * </pre>
+ *
+ * <h3>Incoming:</h3>
+ * content_encoding gzip/zip/deflate is unpacked first, then content_type picks the decoder.
+ * Anything that isn't CBOR or Smile goes to the JSON converter, so messages from
+ * producers that were not upgraded keep working.
+ *
+ * Binary payloads carry the same {@code __TypeId__} header as JSON ones. When the listener
+ * method's parameter type is known it wins; otherwise the header is only honoured for
+ * classes under this application's base package.
+ *
+ * CBOR and Smile use Jackson 3 ({@code tools.jackson}), the same generation as the
+ * JacksonJsonMessageConverter they sit next to, so java.time and records behave alike
+ * in all three formats.
+ */
+public class NegotiatingMessageConverter implements MessageConverter {
+
+    public static final String CONTENT_TYPE_CBOR = "application/cbor";
+    public static final String CONTENT_TYPE_SMILE = "application/x-jackson-smile";
+
+    private static final String TYPE_ID_HEADER = "__TypeId__";
+    private static final String TRUSTED_PACKAGE = "com.javainfraexample.spring_monolith_template.";
+
+    private final MessageConverter jsonConverter;
+    private final MessageConversionConfig config;
+    private final ObjectMapper cborMapper;
+    private final ObjectMapper smileMapper;
+    private final GZipPostProcessor gzip = new GZipPostProcessor();
+    private final DelegatingDecompressingPostProcessor decompressor = new DelegatingDecompressingPostProcessor();
+
+    public NegotiatingMessageConverter(MessageConverter jsonConverter, MessageConversionConfig config) {
+        this.jsonConverter = jsonConverter;
+        this.config = config;
+        this.cborMapper = CBORMapper.builder().build();
+        this.smileMapper = SmileMapper.builder().build();
+    }
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) {
+        Message message = switch (config.getFormat()) {
+            case CBOR -> toBinary(object, messageProperties, cborMapper, CONTENT_TYPE_CBOR);
+            case SMILE -> toBinary(object, messageProperties, smileMapper, CONTENT_TYPE_SMILE);
+            case JSON -> jsonConverter.toMessage(object, messageProperties);
+        };
+
+        if (config.getCompression() == MessageConversionConfig.Compression.GZIP
+                && message.getBody().length >= config.getCompressionThreshold()) {
+            return gzip.postProcessMessage(message);
+        }
+        return message;
+    }
+
+    @Override
+    public Object fromMessage(Message message) {
+        Message decoded = message.getMessageProperties().getContentEncoding() != null
+            ? decompressor.postProcessMessage(message)
+            : message;
+
+        String contentType = decoded.getMessageProperties().getContentType();
+        if (contentType != null && contentType.startsWith(CONTENT_TYPE_CBOR)) {
+            return fromBinary(decoded, cborMapper);
+        }
+        if (contentType != null && contentType.startsWith(CONTENT_TYPE_SMILE)) {
+            return fromBinary(decoded, smileMapper);
+        }
+        return jsonConverter.fromMessage(decoded);
+    }
+
+    /**
+     * Human-readable body for logs and alerts: decompressed, binary formats rendered as JSON.
+     */
+    public String toDisplayString(Message message) {
+        Message decoded = message.getMessageProperties().getContentEncoding() != null
+            ? decompressor.postProcessMessage(message)
+            : message;
+        String contentType = decoded.getMessageProperties().getContentType();
+        try {
+            if (contentType != null && contentType.startsWith(CONTENT_TYPE_CBOR)) {
+                return cborMapper.readTree(decoded.getBody()).toString();
+            }
+            if (contentType != null && contentType.startsWith(CONTENT_TYPE_SMILE)) {
+                return smileMapper.readTree(decoded.getBody()).toString();
+            }
+        } catch (JacksonException e) {
+            return "<undecodable " + contentType + " body, " + decoded.getBody().length + " bytes>";
+        }
+        return new String(decoded.getBody(), StandardCharsets.UTF_8);
+    }
+
+    private static Message toBinary(Object object, MessageProperties properties, ObjectMapper mapper, String contentType) {
+        try {
+            byte[] body = mapper.writeValueAsBytes(object);
+            properties.setContentType(contentType);
+            properties.setContentLength(body.length);
+            properties.setHeader(TYPE_ID_HEADER, object.getClass().getName());
+            return new Message(body, properties);
+        } catch (JacksonException e) {
+            throw new MessageConversionException("Failed to encode " + object.getClass().getSimpleName() + " as " + contentType, e);
+        }
+    }
+
+    private static Object fromBinary(Message message, ObjectMapper mapper) {
+        try {
+            return mapper.readValue(message.getBody(), targetType(message.getMessageProperties(), mapper));
+        } catch (JacksonException e) {
+            throw new MessageConversionException("Failed to decode " + message.getMessageProperties().getContentType() + " message", e);
+        }
+    }
+
+    private static JavaType targetType(MessageProperties properties, ObjectMapper mapper) {
+        if (properties.getInferredArgumentType() != null && properties.getInferredArgumentType() != Object.class) {
+            return mapper.constructType(properties.getInferredArgumentType());
+        }
+        Object typeId = properties.getHeaders().get(TYPE_ID_HEADER);
+        if (typeId instanceof String className && className.startsWith(TRUSTED_PACKAGE)) {
+            try {
+                return mapper.constructType(Class.forName(className));
+            } catch (ClassNotFoundException e) {
+                throw new MessageConversionException("Unknown message type: " + className, e);
+            }
+        }
+        return mapper.constructType(Object.class);
+    }
+}
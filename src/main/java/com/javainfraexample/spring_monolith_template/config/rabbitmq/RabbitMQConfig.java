@@ -11,7 +11,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
- * Shared RabbitMQ infrastructure — exchanges, JSON converter, and template.
+ * Shared RabbitMQ infrastructure — exchanges, message converter, and template.
  *
  * <p>Queue-specific configuration (queue, DLQ, bindings) lives inside each
  * domain package under {@code messaging/}. This class only provides the
@@ -33,12 +33,16 @@ import org.springframework.context.annotation.Configuration;
 public class RabbitMQConfig {
 
     // ===========================================
-    // JSON Message Converter
+    // Message Converter (JSON / CBOR / Smile, optional gzip)
     // ===========================================
 
+    /**
+     * Producers write the format in {@code app.messaging.conversion}; consumers read any
+     * format based on content_type / content_encoding. Plain JSON by default.
+     */
     @Bean
-    public MessageConverter jacksonMessageConverter() {
-        return new JacksonJsonMessageConverter();
+    public NegotiatingMessageConverter jacksonMessageConverter(MessageConversionConfig conversionConfig) {
+        return new NegotiatingMessageConverter(new JacksonJsonMessageConverter(), conversionConfig);
     }
 
     @Bean
@@ -2,17 +2,33 @@ package com.javainfraexample.spring_monolith_template.config.security;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.SecurityFilterChain;
 
+/**
+ * HTTP security.
+ *
+ * Operator endpoints require the ADMIN role (HTTP Basic, user from spring.security.user):
+ *   /api/audit/**   audit trail queries and exports
+ *   /api/admin/**   DLQ inspection and replay
+ *   /actuator/ratelimit/**  rate limit counters (its DELETE resets anyone's limits)
+ *
+ * They are matched before the /api/** and /actuator/** permitAll, which would otherwise expose them.
+ */
 @Configuration
 public class SecurityConfig {
 
+    public static final String ADMIN_ROLE = "ADMIN";
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
+            .httpBasic(Customizer.withDefaults())
             .authorizeHttpRequests(auth -> auth
+                .requestMatchers("/api/audit/**", "/api/admin/**", "/actuator/ratelimit", "/actuator/ratelimit/**")
+                    .hasRole(ADMIN_ROLE)
                 .requestMatchers(
                     "/",
                     "/dev",
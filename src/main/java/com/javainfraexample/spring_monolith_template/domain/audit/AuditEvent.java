@@ -0,0 +1,19 @@
+package com.javainfraexample.spring_monolith_template.domain.audit;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A stored audit event (row of audit_events).
+ *
+ * @param details raw JSON of the details column, or null
+ */
+public record AuditEvent(
+        UUID id,
+        String action,
+        String userId,
+        String ip,
+        String details,
+        LocalDateTime occurredAt
+) {
+}
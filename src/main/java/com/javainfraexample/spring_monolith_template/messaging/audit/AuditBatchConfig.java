@@ -0,0 +1,35 @@
+package com.javainfraexample.spring_monolith_template.messaging.audit;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Batch consumption settings for {@code AuditListener}.
+ *
+ * <pre>
+ * app:
+ *   audit:
+ *     batch:
+ *       size: 200            # messages per batch (one JDBC batch insert)
+ *       timeout-ms: 1000     # deliver a partial batch after this long
+ *       concurrency: 1
+ *       max-concurrency: 2
+ *       insert-attempts: 3   # attempts before the batch goes to the DLQ
+ * </pre>
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "app.audit.batch")
+public class AuditBatchConfig {
+
+    private int size = 200;
+    private long timeoutMs = 1000;
+    private int concurrency = 1;
+    private int maxConcurrency = 2;
+    private int insertAttempts = 3;
+    private long retryBackoffMs = 500;
+}
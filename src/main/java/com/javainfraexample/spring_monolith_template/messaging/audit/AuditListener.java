@@ -1,16 +1,56 @@
 package com.javainfraexample.spring_monolith_template.messaging.audit;
 
 import com.javainfraexample.spring_monolith_template.messaging.constant.QueueConstants;
+import com.javainfraexample.spring_monolith_template.messaging.idempotency.IdempotencyStore;
+import com.javainfraexample.spring_monolith_template.messaging.idempotency.IdempotencyStore.Claim;
+import com.javainfraexample.spring_monolith_template.messaging.publisher.AsyncRabbitPublisher;
+import com.javainfraexample.spring_monolith_template.messaging.retry.RetryConfig;
+import com.javainfraexample.spring_monolith_template.messaging.retry.RetryTopology;
+import com.javainfraexample.spring_monolith_template.services.audit.AuditService;
+import com.rabbitmq.client.Channel;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 /**
- * Listens to the audit queue and delegates to the audit service.
+ * Consumes the audit queue in batches and persists each batch with one JDBC batch insert.
+ *
+ * <h3>Acknowledgement (manual, per batch):</h3>
+ * <pre>
+ *   unreadable message  → NACK that message alone (→ DLQ), rest of the batch continues
+ *   already stored      → skipped, acked with the batch (message-id, see IdempotencyStore)
+ *   being stored        → held: re-published to app.audit.event.retry.hold, then acked alone
+ *   Redis unavailable   → whole batch held (fail-open: false)
+ *   insert committed    → one basicAck(lastTag, multiple=true) for the whole batch
+ *   insert failed       → retried insert-attempts times, then duplicates acked alone and
+ *                         basicNack(last event tag, multiple=true) → DLQ
+ *   ack failed          → not retried: the insert has committed, the redelivery is skipped as a duplicate
+ * </pre>
+ * Rows are never acked before they are committed, and a batch is never half-stored. The whole
+ * batch is claimed in one Redis call, so a redelivered audit event doesn't create a second row;
+ * the claims are kept alive while the insert runs. Held messages come back after the idempotency
+ * lease instead of being requeued at once; one whose re-publish fails goes to the DLQ.
  *
- * <p>Retry: Spring auto-retry (3 attempts, exponential backoff) → DLQ on exhaustion.</p>
+ * <p>Metrics: audit.batch.rows (rate = rows/sec), audit.batch.fill.ratio (batch size / configured size),
+ * audit.batch.insert.latency, audit.batch.failed, audit.batch.rejected.messages, audit.batch.held.messages</p>
  * <p>Queue: {@code app.audit.event}</p>
  * <p>DLQ: {@code app.audit.event.dlq}</p>
  */
@@ -18,16 +58,232 @@ import org.springframework.stereotype.Component;
 @Component
 public class AuditListener {
 
-    // TODO: Inject your audit service here
-    // private final AuditService auditService;
+    private static final String IDEMPOTENCY_SCOPE = "AuditListener";
+
+    private final AuditService auditService;
+    private final MessageConverter messageConverter;
+    private final AuditBatchConfig batchConfig;
+    private final IdempotencyStore idempotencyStore;
+    private final RetryTopology retryTopology;
+    private final RetryConfig retryConfig;
+    private final AsyncRabbitPublisher publisher;
+
+    private final Counter rows;
+    private final Counter failedBatches;
+    private final Counter rejectedMessages;
+    private final Counter heldMessages;
+    private final DistributionSummary fillRatio;
+    private final Timer insertLatency;
+
+    public AuditListener(AuditService auditService,
+                         MessageConverter jacksonMessageConverter,
+                         AuditBatchConfig batchConfig,
+                         IdempotencyStore idempotencyStore,
+                         RetryTopology retryTopology,
+                         RetryConfig retryConfig,
+                         AsyncRabbitPublisher publisher,
+                         MeterRegistry meterRegistry) {
+        this.auditService = auditService;
+        this.messageConverter = jacksonMessageConverter;
+        this.batchConfig = batchConfig;
+        this.idempotencyStore = idempotencyStore;
+        this.retryTopology = retryTopology;
+        this.retryConfig = retryConfig;
+        this.publisher = publisher;
+
+        this.rows = Counter.builder("audit.batch.rows")
+                .description("Audit rows persisted (use rate() for rows/sec)")
+                .register(meterRegistry);
+        this.failedBatches = Counter.builder("audit.batch.failed")
+                .description("Audit batches sent to the DLQ after all insert attempts failed")
+                .register(meterRegistry);
+        this.rejectedMessages = Counter.builder("audit.batch.rejected.messages")
+                .description("Unreadable audit messages rejected individually")
+                .register(meterRegistry);
+        this.heldMessages = Counter.builder("audit.batch.held.messages")
+                .description("Audit messages sent to the hold queue (in flight elsewhere or idempotency check unavailable)")
+                .register(meterRegistry);
+        this.fillRatio = DistributionSummary.builder("audit.batch.fill.ratio")
+                .description("Received batch size / configured batch size")
+                .register(meterRegistry);
+        this.insertLatency = Timer.builder("audit.batch.insert.latency")
+                .description("Time to insert and commit one audit batch")
+                .register(meterRegistry);
+    }
+
+    @RabbitListener(queues = QueueConstants.AUDIT_QUEUE, containerFactory = "auditBatchListenerContainerFactory")
+    public void onBatch(List<Message> messages, Channel channel) throws IOException {
+        if (messages.isEmpty()) {
+            return;
+        }
+        fillRatio.record((double) messages.size() / batchConfig.getSize());
+
+        List<Message> readable = new ArrayList<>(messages.size());
+        List<AuditMessage> converted = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            try {
+                converted.add((AuditMessage) messageConverter.fromMessage(message));
+                readable.add(message);
+            } catch (Exception e) {
+                log.error("[AUDIT QUEUE] Unreadable message rejected to DLQ: {}", e.getMessage());
+                channel.basicNack(message.getMessageProperties().getDeliveryTag(), false, false);
+                rejectedMessages.increment();
+            }
+        }
+        if (readable.isEmpty()) {
+            return;
+        }
 
-    @RabbitListener(queues = QueueConstants.AUDIT_QUEUE)
-    public void onMessage(AuditMessage event) {
-        log.info("[AUDIT QUEUE] Event received: action={}, userId={}", event.action(), event.userId());
+        List<Claim> claims;
+        try {
+            claims = claim(readable);
+        } catch (RuntimeException e) {
+            log.warn("[AUDIT QUEUE] Idempotency check unavailable, batch of {} held: {}", readable.size(), e.getMessage());
+            hold(readable, channel);
+            return;
+        }
 
-        // TODO: Delegate to audit service
-        // auditService.record(event);
+        // Ack up to the last message still pending: individually acked or nacked tags can't be acked again
+        long lastTag = 0;
+        long lastEventTag = 0;
+        List<Long> duplicateTags = new ArrayList<>();
+        List<AuditMessage> events = new ArrayList<>(readable.size());
+        List<String> claimed = new ArrayList<>(readable.size());
+        List<Message> inFlight = new ArrayList<>();
+        for (int i = 0; i < readable.size(); i++) {
+            MessageProperties properties = readable.get(i).getMessageProperties();
+            switch (claims.get(i)) {
+                case DUPLICATE -> {
+                    duplicateTags.add(properties.getDeliveryTag());
+                    lastTag = properties.getDeliveryTag();
+                }
+                case IN_FLIGHT -> inFlight.add(readable.get(i));
+                default -> {
+                    events.add(converted.get(i));
+                    if (claims.get(i) == Claim.CLAIMED) {
+                        claimed.add(properties.getMessageId());
+                    }
+                    lastTag = properties.getDeliveryTag();
+                    lastEventTag = lastTag;
+                }
+            }
+        }
+        if (!inFlight.isEmpty()) {
+            hold(inFlight, channel);
+        }
+        if (events.isEmpty()) {
+            if (lastTag > 0) {
+                channel.basicAck(lastTag, true);
+            }
+            return;
+        }
+
+        // Only the insert is retried: once it has committed, a failing ack must not insert the batch again
+        Integer written = null;
+        Exception lastError = null;
+        try (IdempotencyStore.Heartbeat heartbeat = idempotencyStore.keepAlive(IDEMPOTENCY_SCOPE, claimed)) {
+            for (int attempt = 1; attempt <= batchConfig.getInsertAttempts(); attempt++) {
+                try {
+                    written = insertLatency.recordCallable(() -> auditService.recordBatch(events));
+                    break;
+                } catch (Exception e) {
+                    lastError = e;
+                    log.warn("[AUDIT QUEUE] Batch insert failed (attempt {}/{}): {}",
+                            attempt, batchConfig.getInsertAttempts(), e.getMessage());
+                    if (attempt < batchConfig.getInsertAttempts() && !backOff(attempt)) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        if (written != null) {
+            // Recorded before the ack: a redelivery after a crash in between is then skipped, not re-inserted
+            idempotencyStore.complete(IDEMPOTENCY_SCOPE, claimed, idempotencyStore.defaultTtl());
+            rows.increment(written);
+            channel.basicAck(lastTag, true);
+            log.debug("[AUDIT QUEUE] Batch persisted: {} events, {} duplicates skipped", written, duplicateTags.size());
+            return;
+        }
+
+        // Duplicates are already stored: ack them alone so only the failed events reach the DLQ
+        for (long tag : duplicateTags) {
+            channel.basicAck(tag, false);
+        }
+        log.error("[AUDIT QUEUE] Batch of {} events sent to DLQ", events.size(), lastError);
+        channel.basicNack(lastEventTag, true, false);
+        idempotencyStore.release(IDEMPOTENCY_SCOPE, claimed);
+        failedBatches.increment();
+    }
+
+    /**
+     * Re-publish to the hold queue, which returns the messages after the idempotency lease, and
+     * ack each one once the broker confirms. A message whose re-publish fails is nacked to the DLQ.
+     * Never requeued directly: that would redeliver it at once, in a loop, while the claim is held.
+     */
+    private void hold(List<Message> messages, Channel channel) throws IOException {
+        String routingKey = retryTopology.holdRoutingKey(QueueConstants.AUDIT_QUEUE);
+        List<CompletableFuture<CorrelationData.Confirm>> confirms = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            confirms.add(publisher.publish(QueueConstants.DLX_EXCHANGE, routingKey, message));
+        }
+        for (int i = 0; i < messages.size(); i++) {
+            long tag = messages.get(i).getMessageProperties().getDeliveryTag();
+            if (confirmed(confirms.get(i))) {
+                channel.basicAck(tag, false);
+                heldMessages.increment();
+            } else {
+                channel.basicNack(tag, false, false);
+            }
+        }
+    }
+
+    private boolean confirmed(CompletableFuture<CorrelationData.Confirm> confirm) {
+        try {
+            return confirm.get(retryConfig.getPublishTimeoutMs(), TimeUnit.MILLISECONDS).ack();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            log.error("[AUDIT QUEUE] Re-publish to the hold queue failed, rejecting to the DLQ: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * One claim per message, in order; messages without a message-id (or with idempotency off) are UNCHECKED.
+     */
+    private List<Claim> claim(List<Message> messages) {
+        List<Claim> claims = new ArrayList<>(Collections.nCopies(messages.size(), Claim.UNCHECKED));
+        if (!idempotencyStore.isEnabled()) {
+            return claims;
+        }
+        List<String> messageIds = new ArrayList<>(messages.size());
+        List<Integer> positions = new ArrayList<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            String messageId = messages.get(i).getMessageProperties().getMessageId();
+            if (messageId != null) {
+                messageIds.add(messageId);
+                positions.add(i);
+            }
+        }
+        if (messageIds.isEmpty()) {
+            return claims;
+        }
+        List<Claim> result = idempotencyStore.claim(IDEMPOTENCY_SCOPE, messageIds);
+        for (int j = 0; j < positions.size(); j++) {
+            claims.set(positions.get(j), result.get(j));
+        }
+        return claims;
+    }
 
-        log.info("[AUDIT QUEUE] Processed successfully: action={}", event.action());
+    private boolean backOff(int attempt) {
+        try {
+            Thread.sleep(batchConfig.getRetryBackoffMs() * (1L << (attempt - 1)));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
     }
 }
@@ -1,11 +1,11 @@
 package com.javainfraexample.spring_monolith_template.messaging.audit;
 
 import com.javainfraexample.spring_monolith_template.messaging.constant.QueueConstants;
+import com.javainfraexample.spring_monolith_template.messaging.outbox.OutboxPublisher;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -14,6 +14,8 @@ import java.util.Map;
 /**
  * Publishes audit events to the audit queue.
  *
+ * <p>Events are written to the outbox ({@link OutboxPublisher}) in the caller's transaction.</p>
+ *
  * <h3>Usage:</h3>
  * <pre>
  * auditPublisher.send(new AuditMessage("USER_REGISTERED", userId, Map.of("email", email)));
@@ -25,14 +27,14 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class AuditPublisher {
 
-    private final RabbitTemplate rabbitTemplate;
+    private final OutboxPublisher outboxPublisher;
 
     /**
      * Send an audit event to the queue.
      */
     public void send(AuditMessage message) {
-        rabbitTemplate.convertAndSend(QueueConstants.EXCHANGE, QueueConstants.AUDIT_ROUTING_KEY, message);
-        log.info("Audit event published: action={}, userId={}", message.action(), message.userId());
+        outboxPublisher.publish(QueueConstants.EXCHANGE, QueueConstants.AUDIT_ROUTING_KEY, message);
+        log.info("Audit event queued: action={}, userId={}", message.action(), message.userId());
     }
 
     /**
@@ -1,12 +1,21 @@
 package com.javainfraexample.spring_monolith_template.messaging.audit;
 
+import com.javainfraexample.spring_monolith_template.config.rabbitmq.ListenerContainerConfig;
+import com.javainfraexample.spring_monolith_template.config.rabbitmq.ListenerQueuesConfig;
 import com.javainfraexample.spring_monolith_template.messaging.constant.QueueConstants;
+import com.javainfraexample.spring_monolith_template.messaging.retry.RetryTopology;
 
+import org.springframework.amqp.core.AcknowledgeMode;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarables;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.QueueBuilder;
 import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.config.ContainerCustomizer;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -18,10 +27,12 @@ import org.springframework.context.annotation.Configuration;
  *   AuditPublisher
  *       → app.exchange (routing key: app.audit.event)
  *           → app.audit.event (queue)
- *               → AuditListener
- *                   ✓ ACK  → message removed
- *                   ✗ NACK → app.exchange.dlx
+ *               → AuditListener (batches of app.audit.batch.size)
+ *                   ✓ ACK  (whole batch) → messages removed
+ *                   ✗ NACK (whole batch, or single unreadable message) → app.exchange.dlx
  *                               → app.audit.event.dlq
+ *                   ↻ held (in flight elsewhere / Redis down) → app.audit.event.retry.hold
+ *                               → expires after the idempotency lease → app.audit.event
  * </pre>
  */
 @Configuration
@@ -44,6 +55,15 @@ public class AuditQueueConfig {
         return BindingBuilder.bind(auditQueue).to(mainExchange).with(QueueConstants.AUDIT_ROUTING_KEY);
     }
 
+    /**
+     * The audit listener acks itself, so it has no delayed retries; only the hold queue for
+     * messages it can't claim yet.
+     */
+    @Bean
+    public Declarables auditHoldQueue(RetryTopology retryTopology, TopicExchange dlxExchange) {
+        return retryTopology.declareHold(QueueConstants.AUDIT_QUEUE, QueueConstants.AUDIT_ROUTING_KEY, dlxExchange);
+    }
+
     // ===========================================
     // Dead Letter Queue
     // ===========================================
@@ -57,4 +77,36 @@ public class AuditQueueConfig {
     public Binding auditDlqBinding(Queue auditDlq, TopicExchange dlxExchange) {
         return BindingBuilder.bind(auditDlq).to(dlxExchange).with(QueueConstants.AUDIT_DLQ);
     }
+
+    // ===========================================
+    // Batch Listener Container
+    // ===========================================
+
+    /**
+     * Consumer-side batching: the listener receives up to {@code size} messages at once,
+     * or fewer once {@code timeout-ms} passes. Manual ack so the listener can ack the
+     * whole batch with one {@code basicAck(multiple=true)} after the insert commits.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory auditBatchListenerContainerFactory(ConnectionFactory connectionFactory,
+                                                                                   AuditBatchConfig batchConfig,
+                                                                                   ListenerQueuesConfig queuesConfig,
+                                                                                   ContainerCustomizer<SimpleMessageListenerContainer> queueListenerCustomizer) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchConfig.getSize());
+        factory.setBatchReceiveTimeout(batchConfig.getTimeoutMs());
+        factory.setPrefetchCount(batchConfig.getSize() * 2);   // next batch is already in flight
+        factory.setConcurrentConsumers(batchConfig.getConcurrency());
+        factory.setMaxConcurrentConsumers(batchConfig.getMaxConcurrency());
+        factory.setDefaultRequeueRejected(false);
+        if (queuesConfig.isVirtualThreadListeners()) {
+            factory.setTaskExecutor(ListenerContainerConfig.virtualThreadExecutor("audit-listener-"));
+        }
+        factory.setContainerCustomizer(queueListenerCustomizer);  // app.messaging.queues.[app.audit.event]
+        return factory;
+    }
 }
@@ -10,6 +10,7 @@ package com.javainfraexample.spring_monolith_template.messaging.constant;
  *   Queue:       app.{domain}.{action}
  *   Routing key: app.{domain}.{action}
  *   DLQ:         app.{domain}.{action}.dlq
+ *   Retry:       app.{domain}.{action}.retry.{attempt}   (delay queues, see RetryTopology)
  * </pre>
  *
  * <h3>How to add a new queue:</h3>
@@ -33,9 +34,51 @@ public final class QueueConstants {
     /** Main topic exchange — routes all messages by routing key pattern. */
     public static final String EXCHANGE = "app.exchange";
 
-    /** Dead letter exchange — receives messages that failed after all retries. */
+    /** Dead letter exchange — receives messages that failed after all retries, and delayed retries. */
     public static final String DLX_EXCHANGE = "app.exchange.dlx";
 
+    // ===========================================
+    // Retry headers (set by DelayedRetryRecoverer)
+    // ===========================================
+
+    /** Failed deliveries so far (absent = first delivery). */
+    public static final String HEADER_ATTEMPT = "x-attempt";
+
+    /** Queue the message failed on — x-death only shows the last retry queue once it has cycled. */
+    public static final String HEADER_ORIGINAL_QUEUE = "x-original-queue";
+
+    /** Message of the exception that caused the failure. */
+    public static final String HEADER_EXCEPTION_MESSAGE = "x-exception-message";
+
+    /** Class name of that exception. */
+    public static final String HEADER_FAILURE_CLASS = "x-failure-class";
+
+    /** NON_RETRYABLE (sent to the DLQ on the first failure) or RETRYABLE (see FailureClassifier). */
+    public static final String HEADER_FAILURE_CLASSIFICATION = "x-failure-classification";
+
+    // ===========================================
+    // Replay headers (set by DlqReplayer)
+    // ===========================================
+
+    /** Times the message has been replayed from the DLQ store. */
+    public static final String HEADER_REPLAY_COUNT = "x-replay-count";
+
+    /** dlq_records id the message was replayed from. */
+    public static final String HEADER_REPLAYED_FROM = "x-replayed-from";
+
+    // ===========================================
+    // DLQ store headers (set by DlqListener)
+    // ===========================================
+
+    /** Rounds in which the message could not be stored in dlq_records. */
+    public static final String HEADER_DLQ_STORE_FAILURES = "x-dlq-store-failures";
+
+    /** Last error from storing the message. */
+    public static final String HEADER_DLQ_STORE_ERROR = "x-dlq-store-error";
+
+    /** DLQ a parked message came from (move it back there once the cause is fixed). */
+    public static final String HEADER_PARKED_FROM = "x-parked-from";
+
     // ===========================================
     // Email
     // ===========================================
@@ -71,6 +114,15 @@ public final class QueueConstants {
     public static final String NOTIFICATION_TOPIC_ROUTING_KEY = "app.notification.topic";
     public static final String NOTIFICATION_TOPIC_DLQ = "app.notification.topic.dlq";
 
+    // ===========================================
+    // Notification — High priority (all types, dedicated consumers)
+    // ===========================================
+
+    /** HIGH notifications of every type, so they never queue behind NORMAL/LOW traffic. */
+    public static final String NOTIFICATION_HIGH_QUEUE = "app.notification.high";
+    public static final String NOTIFICATION_HIGH_ROUTING_KEY = "app.notification.high";
+    public static final String NOTIFICATION_HIGH_DLQ = "app.notification.high.dlq";
+
     // ===========================================
     // Audit
     // ===========================================
@@ -78,4 +130,11 @@ public final class QueueConstants {
     public static final String AUDIT_QUEUE = "app.audit.event";
     public static final String AUDIT_ROUTING_KEY = "app.audit.event";
     public static final String AUDIT_DLQ = "app.audit.event.dlq";
+
+    // ===========================================
+    // DLQ parking (messages that could not be stored in dlq_records)
+    // ===========================================
+
+    /** No consumer: inspect in the Management UI, then move the messages back to their DLQ. */
+    public static final String DLQ_PARKING_QUEUE = "app.dlq.parking";
 }
@@ -0,0 +1,198 @@
+package com.javainfraexample.spring_monolith_template.messaging.dlq;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Groups DLQ messages into one Slack alert per window instead of one webhook call per message.
+ *
+ * <pre>
+ *   DlqAlertAggregator.record(msg)      ──►  group (originalQueue, normalized errorReason)
+ *       (never blocks, no I/O)                 count, first / last failure, first N samples
+ *
+ *   every window-ms:  groups with new messages, not alerted within dedup-window-ms
+ *                         │  largest first, max-groups-per-alert, rest summed up
+ *                         ▼
+ *                     DlqSlackNotifier.sendAsync(...)   (one webhook call)
+ * </pre>
+ *
+ * Error reasons are grouped with digits and UUIDs masked, so "User 42 not found" and
+ * "User 43 not found" are one group. A group that keeps failing is re-alerted at most once per
+ * {@code dedup-window-ms}, with the count since its last alert; idle groups are forgotten after that.
+ * At most {@code max-tracked-groups} groups are tracked (a slot is reserved inside {@code compute},
+ * so concurrent listeners can't overshoot); beyond that, new errors go to one "other errors"
+ * group per queue.
+ *
+ * <p>Metrics: {@code dlq.alert.messages} (recorded), {@code dlq.alert.groups} (tracked groups).</p>
+ */
+@Component
+public class DlqAlertAggregator {
+
+    private static final Pattern VOLATILE_PARTS = Pattern.compile(
+            "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|\\d+");
+    private static final int MAX_KEY_LENGTH = 200;
+    private static final String OTHER_ERRORS = "<other errors>";
+
+    private final DlqSlackNotifier notifier;
+    private final DlqSlackConfig config;
+    private final Map<GroupKey, Group> groups = new ConcurrentHashMap<>();
+    private final AtomicInteger trackedGroups = new AtomicInteger();
+    private final Counter recorded;
+
+    public DlqAlertAggregator(DlqSlackNotifier notifier, DlqSlackConfig config, MeterRegistry meterRegistry) {
+        this.notifier = notifier;
+        this.config = config;
+        this.recorded = Counter.builder("dlq.alert.messages")
+                .description("DLQ messages recorded for alerting")
+                .register(meterRegistry);
+        Gauge.builder("dlq.alert.groups", groups, Map::size)
+                .description("Alert groups (queue + error) currently tracked")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Add a message to its group. Cheap and non-blocking; the alert goes out with the next window.
+     */
+    public void record(DlqMessage message) {
+        if (!notifier.isEnabled()) {
+            return;
+        }
+        GroupKey key = new GroupKey(message.originalQueue(), normalize(message.errorReason()));
+        Group group = groups.compute(key, (k, existing) -> {
+            if (existing == null && !reserveGroup()) {
+                return null;
+            }
+            Group target = existing != null ? existing : new Group(message, true);
+            target.add(message, config.getMaxSamples());
+            return target;
+        });
+        if (group == null) {
+            // Over max-tracked-groups: the "other" group isn't counted, there is one per queue at most
+            groups.compute(new GroupKey(message.originalQueue(), OTHER_ERRORS), (k, existing) -> {
+                Group target = existing != null ? existing : new Group(message, false);
+                target.add(message, config.getMaxSamples());
+                return target;
+            });
+        }
+        recorded.increment();
+    }
+
+    private boolean reserveGroup() {
+        if (trackedGroups.incrementAndGet() <= config.getMaxTrackedGroups()) {
+            return true;
+        }
+        trackedGroups.decrementAndGet();
+        return false;
+    }
+
+    @Scheduled(fixedDelayString = "${app.dlq.slack.window-ms:30000}",
+               initialDelayString = "${app.dlq.slack.window-ms:30000}")
+    public void flush() {
+        if (groups.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<DlqAlertGroup> due = new ArrayList<>();
+        for (GroupKey key : groups.keySet()) {
+            groups.computeIfPresent(key, (k, group) -> {
+                if (group.pending == 0) {
+                    // Idle past the dedup window: forget it, the next failure alerts as new
+                    if (now - group.lastAlertAt < config.getDedupWindowMs()) {
+                        return group;
+                    }
+                    if (group.counted) {
+                        trackedGroups.decrementAndGet();
+                    }
+                    return null;
+                }
+                if (group.lastAlertAt == 0 || now - group.lastAlertAt >= config.getDedupWindowMs()) {
+                    due.add(group.drain(now));
+                }
+                return group;
+            });
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        due.sort(Comparator.comparingLong(DlqAlertGroup::count).reversed());
+        List<DlqAlertGroup> shown = due.subList(0, Math.min(due.size(), config.getMaxGroupsPerAlert()));
+        long omittedMessages = due.subList(shown.size(), due.size()).stream().mapToLong(DlqAlertGroup::count).sum();
+        notifier.sendAsync(List.copyOf(shown), due.size() - shown.size(), omittedMessages);
+    }
+
+    static String normalize(String errorReason) {
+        if (errorReason == null) {
+            return "unknown";
+        }
+        String masked = VOLATILE_PARTS.matcher(errorReason).replaceAll("#");
+        return masked.length() > MAX_KEY_LENGTH ? masked.substring(0, MAX_KEY_LENGTH) : masked;
+    }
+
+    private record GroupKey(String originalQueue, String errorKey) {
+    }
+
+    /**
+     * Mutated only inside {@code groups.compute*}, which serializes access per key.
+     */
+    private static final class Group {
+        final String originalQueue;
+        final String messageType;
+        final String errorReason;
+        final boolean counted;
+        final List<DlqMessage> samples = new ArrayList<>();
+        long pending;
+        long total;
+        int maxRetryCount;
+        Instant firstFailedAt;
+        Instant lastFailedAt;
+        long lastAlertAt;
+
+        /**
+         * @param counted holds a max-tracked-groups slot (every group but the per-queue "other" one)
+         */
+        Group(DlqMessage first, boolean counted) {
+            this.originalQueue = first.originalQueue();
+            this.messageType = first.messageType();
+            this.errorReason = first.errorReason();
+            this.counted = counted;
+        }
+
+        void add(DlqMessage message, int maxSamples) {
+            pending++;
+            total++;
+            maxRetryCount = Math.max(maxRetryCount, message.retryCount());
+            if (firstFailedAt == null) {
+                firstFailedAt = message.failedAt();
+            }
+            lastFailedAt = message.failedAt();
+            if (samples.size() < maxSamples) {
+                samples.add(message);
+            }
+        }
+
+        DlqAlertGroup drain(long now) {
+            DlqAlertGroup alert = new DlqAlertGroup(originalQueue, messageType, errorReason, pending, total,
+                    lastAlertAt != 0, maxRetryCount, firstFailedAt, lastFailedAt, List.copyOf(samples));
+            pending = 0;
+            maxRetryCount = 0;
+            firstFailedAt = null;
+            samples.clear();
+            lastAlertAt = now;
+            return alert;
+        }
+    }
+}
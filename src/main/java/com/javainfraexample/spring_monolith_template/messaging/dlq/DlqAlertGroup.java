@@ -0,0 +1,27 @@
+package com.javainfraexample.spring_monolith_template.messaging.dlq;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One line of an aggregated DLQ alert: messages from one queue that failed with the same error.
+ *
+ * @param errorReason first error seen in the group (others differ only in numbers / ids)
+ * @param count       messages since the group was last alerted
+ * @param total       messages since the group was first seen
+ * @param repeat      the group was alerted before (still failing)
+ * @param samples     the first few messages of this alert
+ */
+public record DlqAlertGroup(
+        String originalQueue,
+        String messageType,
+        String errorReason,
+        long count,
+        long total,
+        boolean repeat,
+        int maxRetryCount,
+        Instant firstFailedAt,
+        Instant lastFailedAt,
+        List<DlqMessage> samples
+) {
+}
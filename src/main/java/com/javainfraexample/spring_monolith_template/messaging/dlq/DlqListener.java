@@ -1,19 +1,28 @@
 package com.javainfraexample.spring_monolith_template.messaging.dlq;
 
 import com.javainfraexample.spring_monolith_template.messaging.constant.QueueConstants;
+import com.javainfraexample.spring_monolith_template.messaging.publisher.AsyncRabbitPublisher;
+import com.rabbitmq.client.Channel;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
 /**
- * Shared DLQ listener — consumes messages from ALL dead letter queues.
+ * Shared DLQ listener — consumes messages from ALL dead letter queues, in batches.
  *
- * <p>When any message fails 3 retries and lands in a DLQ, this listener picks it up,
- * identifies the source, and triggers a Slack alert.</p>
+ * <p>When any message fails its retries and lands in a DLQ, this listener picks it up,
+ * stores it in dlq_records, and triggers a Slack alert.</p>
  *
  * <h3>Flow:</h3>
  * <pre>
@@ -21,54 +30,173 @@ import org.springframework.stereotype.Component;
  *   app.notification.single.dlq     ─┤
  *   app.notification.multicast.dlq  ─┼──→ DlqListener → DlqNotificationService
  *   app.notification.topic.dlq      ─┤        ├── Identify source
- *   app.audit.event.dlq             ─┘        ├── Emit Slack alert
- *                                              └── Store in DB (TODO)
+ *   app.notification.high.dlq       ─┤        ├── Store in dlq_records (one JDBC batch)
+ *   app.audit.event.dlq             ─┘        └── Emit Slack alert (newly stored messages only)
+ * </pre>
+ *
+ * <h3>Acknowledgement (manual):</h3>
+ * <pre>
+ *   stored        → basicAck(lastTag, multiple=true)
+ *   store failed  → retried insert-attempts times, then each message is stored on its own:
+ *                     stored      → basicAck(tag)
+ *                     failed      → re-published to the back of its DLQ with x-dlq-store-failures + 1,
+ *                                   or to app.dlq.parking once that reaches max-store-failures; then basicAck(tag)
+ *                     not confirmed → basicNack(tag, requeue=true)
  * </pre>
+ * A DLQ message is only removed from RabbitMQ once it is in the database, back on its DLQ or
+ * parked. One bad message no longer sends its whole batch round forever: its neighbours are
+ * stored on their own and it is parked after {@code max-store-failures} rounds. During a
+ * database outage every message counts rounds too, so a long outage parks them; move them back
+ * from {@code app.dlq.parking} (header {@code x-parked-from}) once it is over. Already stored
+ * messages are skipped on redelivery, so nothing is stored or alerted twice. There is no retry
+ * interceptor here, so failures never loop through the delay queues.
  *
- * <h3>Important:</h3>
- * <p>This listener does NOT have retry enabled — if DLQ processing itself fails,
- * we log the error but don't re-queue (to avoid infinite loops).</p>
+ * <p>Metrics: {@code dlq.store.redeliveries} (re-published after a failed round),
+ * {@code dlq.store.parked}.</p>
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class DlqListener {
 
     private final DlqNotificationService dlqNotificationService;
+    private final DlqStoreConfig storeConfig;
+    private final AsyncRabbitPublisher publisher;
+    private final Counter redeliveries;
+    private final Counter parked;
+
+    public DlqListener(DlqNotificationService dlqNotificationService,
+                       DlqStoreConfig storeConfig,
+                       AsyncRabbitPublisher publisher,
+                       MeterRegistry meterRegistry) {
+        this.dlqNotificationService = dlqNotificationService;
+        this.storeConfig = storeConfig;
+        this.publisher = publisher;
+        this.redeliveries = Counter.builder("dlq.store.redeliveries")
+                .description("DLQ messages re-published to their DLQ after failing to be stored")
+                .register(meterRegistry);
+        this.parked = Counter.builder("dlq.store.parked")
+                .description("DLQ messages parked after failing to be stored max-store-failures times")
+                .register(meterRegistry);
+    }
+
+    @RabbitListener(queues = QueueConstants.EMAIL_DLQ, containerFactory = DlqListenerConfig.CONTAINER_FACTORY)
+    public void onEmailDlq(List<Message> messages, Channel channel) throws IOException {
+        processSafely(messages, channel, QueueConstants.EMAIL_DLQ);
+    }
 
-    @RabbitListener(queues = QueueConstants.EMAIL_DLQ)
-    public void onEmailDlq(Message message) {
-        processSafely(message, QueueConstants.EMAIL_DLQ);
+    @RabbitListener(queues = QueueConstants.NOTIFICATION_SINGLE_DLQ, containerFactory = DlqListenerConfig.CONTAINER_FACTORY)
+    public void onNotificationSingleDlq(List<Message> messages, Channel channel) throws IOException {
+        processSafely(messages, channel, QueueConstants.NOTIFICATION_SINGLE_DLQ);
     }
 
-    @RabbitListener(queues = QueueConstants.NOTIFICATION_SINGLE_DLQ)
-    public void onNotificationSingleDlq(Message message) {
-        processSafely(message, QueueConstants.NOTIFICATION_SINGLE_DLQ);
+    @RabbitListener(queues = QueueConstants.NOTIFICATION_MULTICAST_DLQ, containerFactory = DlqListenerConfig.CONTAINER_FACTORY)
+    public void onNotificationMulticastDlq(List<Message> messages, Channel channel) throws IOException {
+        processSafely(messages, channel, QueueConstants.NOTIFICATION_MULTICAST_DLQ);
     }
 
-    @RabbitListener(queues = QueueConstants.NOTIFICATION_MULTICAST_DLQ)
-    public void onNotificationMulticastDlq(Message message) {
-        processSafely(message, QueueConstants.NOTIFICATION_MULTICAST_DLQ);
+    @RabbitListener(queues = QueueConstants.NOTIFICATION_TOPIC_DLQ, containerFactory = DlqListenerConfig.CONTAINER_FACTORY)
+    public void onNotificationTopicDlq(List<Message> messages, Channel channel) throws IOException {
+        processSafely(messages, channel, QueueConstants.NOTIFICATION_TOPIC_DLQ);
     }
 
-    @RabbitListener(queues = QueueConstants.NOTIFICATION_TOPIC_DLQ)
-    public void onNotificationTopicDlq(Message message) {
-        processSafely(message, QueueConstants.NOTIFICATION_TOPIC_DLQ);
+    @RabbitListener(queues = QueueConstants.NOTIFICATION_HIGH_DLQ, containerFactory = DlqListenerConfig.CONTAINER_FACTORY)
+    public void onNotificationHighDlq(List<Message> messages, Channel channel) throws IOException {
+        processSafely(messages, channel, QueueConstants.NOTIFICATION_HIGH_DLQ);
     }
 
-    @RabbitListener(queues = QueueConstants.AUDIT_DLQ)
-    public void onAuditDlq(Message message) {
-        processSafely(message, QueueConstants.AUDIT_DLQ);
+    @RabbitListener(queues = QueueConstants.AUDIT_DLQ, containerFactory = DlqListenerConfig.CONTAINER_FACTORY)
+    public void onAuditDlq(List<Message> messages, Channel channel) throws IOException {
+        processSafely(messages, channel, QueueConstants.AUDIT_DLQ);
     }
 
     /**
-     * Process DLQ message safely — never throw to avoid infinite loop.
+     * Process a DLQ batch — never throws, so the container never rejects DLQ messages into nowhere.
      */
-    private void processSafely(Message message, String dlqName) {
+    private void processSafely(List<Message> messages, Channel channel, String dlqName) throws IOException {
+        if (messages.isEmpty()) {
+            return;
+        }
+        long lastTag = messages.getLast().getMessageProperties().getDeliveryTag();
+
+        for (int attempt = 1; attempt <= storeConfig.getInsertAttempts(); attempt++) {
+            try {
+                dlqNotificationService.processBatch(messages, dlqName);
+                channel.basicAck(lastTag, true);
+                return;
+            } catch (Exception e) {
+                log.warn("DLQ processing failed for queue={} (attempt {}/{}): {}",
+                        dlqName, attempt, storeConfig.getInsertAttempts(), e.getMessage());
+                if (attempt < storeConfig.getInsertAttempts() && !backOff(attempt)) {
+                    break;
+                }
+            }
+        }
+
+        log.error("DLQ processing failed for queue={}, storing {} messages one by one", dlqName, messages.size());
+        for (Message message : messages) {
+            storeOne(message, channel, dlqName);
+        }
+    }
+
+    private void storeOne(Message message, Channel channel, String dlqName) throws IOException {
+        long tag = message.getMessageProperties().getDeliveryTag();
         try {
-            dlqNotificationService.process(message, dlqName);
+            dlqNotificationService.processBatch(List.of(message), dlqName);
+            channel.basicAck(tag, false);
         } catch (Exception e) {
-            log.error("DLQ processing itself failed for queue={}: {}", dlqName, e.getMessage(), e);
+            forward(message, channel, dlqName, e);
+        }
+    }
+
+    /**
+     * Re-publish a message that could not be stored — to the back of its DLQ, or to the parking
+     * queue once it has failed {@code max-store-failures} rounds — and ack it once confirmed.
+     */
+    private void forward(Message message, Channel channel, String dlqName, Exception error) throws IOException {
+        MessageProperties properties = message.getMessageProperties();
+        int failures = storeFailures(properties) + 1;
+        boolean park = failures >= storeConfig.getMaxStoreFailures();
+        String target = park ? QueueConstants.DLQ_PARKING_QUEUE : dlqName;
+
+        properties.setHeader(QueueConstants.HEADER_DLQ_STORE_FAILURES, failures);
+        properties.setHeader(QueueConstants.HEADER_DLQ_STORE_ERROR, String.valueOf(error.getMessage()));
+        if (park) {
+            properties.setHeader(QueueConstants.HEADER_PARKED_FROM, dlqName);
+        }
+
+        try {
+            CorrelationData.Confirm confirm = publisher.publish("", target, new Message(message.getBody(), properties)).get();
+            if (confirm.ack()) {
+                channel.basicAck(properties.getDeliveryTag(), false);
+                if (park) {
+                    parked.increment();
+                    log.error("DLQ message parked on {}: queue={}, messageId={}, failures={}, error={}",
+                            target, dlqName, properties.getMessageId(), failures, error.getMessage());
+                } else {
+                    redeliveries.increment();
+                }
+                return;
+            }
+            log.warn("DLQ re-publish to {} not confirmed: {}", target, confirm.reason());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("DLQ re-publish to {} failed: {}", target, e.getCause().getMessage());
+        }
+        channel.basicNack(properties.getDeliveryTag(), false, true);
+    }
+
+    private static int storeFailures(MessageProperties properties) {
+        return properties.getHeader(QueueConstants.HEADER_DLQ_STORE_FAILURES) instanceof Number n ? n.intValue() : 0;
+    }
+
+    private boolean backOff(int attempt) {
+        try {
+            Thread.sleep(storeConfig.getRetryBackoffMs() * (1L << (attempt - 1)));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
         }
     }
 }
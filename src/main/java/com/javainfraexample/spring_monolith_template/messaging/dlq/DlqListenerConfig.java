@@ -0,0 +1,59 @@
+package com.javainfraexample.spring_monolith_template.messaging.dlq;
+
+import com.javainfraexample.spring_monolith_template.config.rabbitmq.ListenerContainerConfig;
+import com.javainfraexample.spring_monolith_template.config.rabbitmq.ListenerQueuesConfig;
+import com.javainfraexample.spring_monolith_template.messaging.constant.QueueConstants;
+
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.ContainerCustomizer;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Batch listener container for {@link DlqListener}.
+ *
+ * Same shape as the audit batch factory: up to {@code app.dlq.store.batch-size} messages per
+ * call (or fewer after {@code timeout-ms}), manual ack so a batch is only acked once its rows
+ * are committed to dlq_records.
+ *
+ * Also declares {@code app.dlq.parking}, where {@link DlqListener} parks messages it could not
+ * store after {@code max-store-failures} rounds.
+ */
+@Configuration
+public class DlqListenerConfig {
+
+    public static final String CONTAINER_FACTORY = "dlqBatchListenerContainerFactory";
+
+    @Bean(CONTAINER_FACTORY)
+    public SimpleRabbitListenerContainerFactory dlqBatchListenerContainerFactory(ConnectionFactory connectionFactory,
+                                                                                 DlqStoreConfig storeConfig,
+                                                                                 ListenerQueuesConfig queuesConfig,
+                                                                                 ContainerCustomizer<SimpleMessageListenerContainer> queueListenerCustomizer) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(storeConfig.getBatchSize());
+        factory.setBatchReceiveTimeout(storeConfig.getTimeoutMs());
+        factory.setPrefetchCount(storeConfig.getBatchSize() * 2);
+        factory.setConcurrentConsumers(1);
+        factory.setMaxConcurrentConsumers(1);
+        factory.setDefaultRequeueRejected(false);
+        if (queuesConfig.isVirtualThreadListeners()) {
+            factory.setTaskExecutor(ListenerContainerConfig.virtualThreadExecutor("dlq-listener-"));
+        }
+        factory.setContainerCustomizer(queueListenerCustomizer);
+        return factory;
+    }
+
+    @Bean
+    public Queue dlqParkingQueue() {
+        return QueueBuilder.durable(QueueConstants.DLQ_PARKING_QUEUE).build();
+    }
+}
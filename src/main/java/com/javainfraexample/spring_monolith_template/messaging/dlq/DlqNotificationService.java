@@ -1,8 +1,13 @@
 package com.javainfraexample.spring_monolith_template.messaging.dlq;
 
+import com.javainfraexample.spring_monolith_template.config.rabbitmq.NegotiatingMessageConverter;
 import com.javainfraexample.spring_monolith_template.messaging.constant.QueueConstants;
+import com.javainfraexample.spring_monolith_template.messaging.retry.RetryTopology;
+import com.javainfraexample.spring_monolith_template.repository.dlq.DlqRecord;
+import com.javainfraexample.spring_monolith_template.services.dlq.DlqRecordService;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.amqp.core.Message;
@@ -10,50 +15,99 @@ import org.springframework.amqp.core.MessageProperties;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Processes dead-lettered messages — builds a {@link DlqMessage}, identifies the source,
- * emits Slack alert, and (future) stores in DB.
+ * stores it in dlq_records and emits a Slack alert.
  *
  * <h3>Flow:</h3>
  * <pre>
- *   DlqListener → DlqNotificationService
+ *   DlqListener → DlqNotificationService (one batch per call)
  *                    ├── Identify source (email / notification / audit)
  *                    ├── Build DlqMessage with error details
- *                    ├── Send Slack alert
- *                    └── Store in DB (TODO)
+ *                    ├── Store in DB (one transaction, already stored messages skipped)
+ *                    └── Record for the aggregated Slack alert (newly stored messages only)
  * </pre>
+ *
+ * <p>Metrics: {@code dlq.records.stored}, {@code dlq.records.duplicates} (redeliveries skipped).</p>
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class DlqNotificationService {
 
-    private final DlqSlackNotifier slackNotifier;
+    private final DlqAlertAggregator alertAggregator;
+    private final NegotiatingMessageConverter messageConverter;
+    private final DlqRecordService dlqRecordService;
+    private final RetryTopology retryTopology;
+    private final DlqStoreConfig storeConfig;
+
+    private final Counter stored;
+    private final Counter duplicates;
 
-    // TODO: Inject repository to persist DLQ records
-    // private final DlqRecordRepository dlqRecordRepository;
+    public DlqNotificationService(DlqAlertAggregator alertAggregator,
+                                  NegotiatingMessageConverter messageConverter,
+                                  DlqRecordService dlqRecordService,
+                                  RetryTopology retryTopology,
+                                  DlqStoreConfig storeConfig,
+                                  MeterRegistry meterRegistry) {
+        this.alertAggregator = alertAggregator;
+        this.messageConverter = messageConverter;
+        this.dlqRecordService = dlqRecordService;
+        this.retryTopology = retryTopology;
+        this.storeConfig = storeConfig;
+
+        this.stored = Counter.builder("dlq.records.stored")
+                .description("Dead-lettered messages stored in dlq_records")
+                .register(meterRegistry);
+        this.duplicates = Counter.builder("dlq.records.duplicates")
+                .description("Redelivered DLQ messages skipped because they were already stored")
+                .register(meterRegistry);
+    }
 
     /**
-     * Process a dead-lettered message — extract info, alert, and persist.
+     * Process a batch of dead-lettered messages from one DLQ — extract info, persist, and alert.
+     * Throws if the batch could not be stored; nothing is alerted in that case.
      */
-    public void process(Message message, String dlqName) {
-        DlqMessage dlqMessage = buildDlqMessage(message, dlqName);
-
-        log.error("DLQ message received: queue={}, type={}, retries={}, error={}",
-                dlqMessage.originalQueue(),
-                dlqMessage.messageType(),
-                dlqMessage.retryCount(),
-                dlqMessage.errorReason());
+    public void processBatch(List<Message> messages, String dlqName) {
+        Map<DlqRecord, DlqMessage> alerts = new IdentityHashMap<>();
+        List<DlqRecord> records = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            DlqMessage dlqMessage = buildDlqMessage(message, dlqName);
+            DlqRecord record = buildDlqRecord(message, dlqMessage, dlqName);
+            alerts.put(record, dlqMessage);
+            records.add(record);
+        }
 
-        // 1. Send Slack alert
-        slackNotifier.notify(dlqMessage);
+        Set<DlqRecord> fresh = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (storeConfig.isEnabled()) {
+            fresh.addAll(dlqRecordService.recordBatch(dlqName, records));
+            stored.increment(fresh.size());
+            duplicates.increment(records.size() - fresh.size());
+        } else {
+            fresh.addAll(records);
+        }
 
-        // 2. Store in DB (commented — implement when ready)
-        // dlqRecordRepository.save(DlqRecord.from(dlqMessage));
+        for (DlqRecord record : records) {
+            if (!fresh.contains(record)) {
+                continue;
+            }
+            DlqMessage dlqMessage = alerts.get(record);
+            log.error("DLQ message received: queue={}, type={}, retries={}, error={}",
+                    dlqMessage.originalQueue(),
+                    dlqMessage.messageType(),
+                    dlqMessage.retryCount(),
+                    dlqMessage.errorReason());
+            alertAggregator.record(dlqMessage);
+        }
     }
 
     /**
@@ -61,7 +115,13 @@ public class DlqNotificationService {
      */
     private DlqMessage buildDlqMessage(Message message, String dlqName) {
         MessageProperties props = message.getMessageProperties();
-        String payload = new String(message.getBody());
+        // Compressed / CBOR / Smile bodies are decoded so the alert stays readable
+        String payload;
+        try {
+            payload = messageConverter.toDisplayString(message);
+        } catch (RuntimeException e) {
+            payload = "<undecodable body, " + message.getBody().length + " bytes>";
+        }
 
         // Extract original queue from x-death header
         String originalQueue = extractOriginalQueue(props);
@@ -86,6 +146,71 @@ public class DlqNotificationService {
         );
     }
 
+    /**
+     * Storable form of the message: raw body and properties, plus where a replay should publish it.
+     */
+    private DlqRecord buildDlqRecord(Message message, DlqMessage dlqMessage, String dlqName) {
+        MessageProperties props = message.getMessageProperties();
+        String[] target = resolveReplayTarget(props, dlqMessage.originalQueue());
+
+        Map<String, Object> headers = new HashMap<>();
+        if (props.getHeaders() != null) {
+            // Keep scalar header types so a replay sends them as they were; anything else as text
+            props.getHeaders().forEach((k, v) -> {
+                if (v != null) {
+                    headers.put(k, v instanceof Number || v instanceof Boolean ? v : v.toString());
+                }
+            });
+        }
+        Object replayCount = props.getHeader(QueueConstants.HEADER_REPLAY_COUNT);
+
+        return new DlqRecord(
+                null,
+                props.getMessageId(),
+                dlqName,
+                dlqMessage.originalQueue(),
+                dlqMessage.messageType(),
+                target[0],
+                target[1],
+                dlqMessage.retryCount(),
+                replayCount instanceof Number number ? number.intValue() : 0,
+                dlqMessage.errorReason(),
+                props.getContentType(),
+                props.getContentEncoding(),
+                props.getPriority(),
+                headers,
+                message.getBody(),
+                LocalDateTime.ofInstant(dlqMessage.failedAt(), ZoneOffset.UTC),
+                null,
+                0,
+                null
+        );
+    }
+
+    /**
+     * Exchange and routing key the message was originally published with: the retry topology's
+     * routing key for the queue, else the x-death entry of the original queue, else the queue
+     * name on the main exchange (every routing key here equals its queue name).
+     */
+    @SuppressWarnings("unchecked")
+    private String[] resolveReplayTarget(MessageProperties props, String originalQueue) {
+        String routingKey = retryTopology.routingKey(originalQueue);
+        if (routingKey != null) {
+            return new String[]{QueueConstants.EXCHANGE, routingKey};
+        }
+        List<Map<String, Object>> xDeath = (List<Map<String, Object>>) props.getHeader("x-death");
+        if (xDeath != null) {
+            for (Map<String, Object> death : xDeath) {
+                if (originalQueue.equals(String.valueOf(death.get("queue")))
+                        && death.get("exchange") != null
+                        && death.get("routing-keys") instanceof List<?> keys && !keys.isEmpty()) {
+                    return new String[]{death.get("exchange").toString(), keys.getFirst().toString()};
+                }
+            }
+        }
+        return new String[]{QueueConstants.EXCHANGE, originalQueue};
+    }
+
     /**
      * Identify the message type based on the original queue name.
      */
@@ -97,16 +222,21 @@ public class DlqNotificationService {
             case QueueConstants.NOTIFICATION_SINGLE_QUEUE -> "SINGLE_NOTIFICATION";
             case QueueConstants.NOTIFICATION_MULTICAST_QUEUE -> "MULTICAST_NOTIFICATION";
             case QueueConstants.NOTIFICATION_TOPIC_QUEUE -> "TOPIC_NOTIFICATION";
+            case QueueConstants.NOTIFICATION_HIGH_QUEUE -> "HIGH_PRIORITY_NOTIFICATION";
             case QueueConstants.AUDIT_QUEUE -> "AUDIT";
             default -> "UNKNOWN (" + originalQueue + ")";
         };
     }
 
     /**
-     * Extract original queue name from the x-death header.
+     * Original queue: the x-original-queue header set by delayed retries, else the x-death header
+     * (which names the last retry queue once a message has been through one).
      */
     @SuppressWarnings("unchecked")
     private String extractOriginalQueue(MessageProperties props) {
+        Object originalQueue = props.getHeader(QueueConstants.HEADER_ORIGINAL_QUEUE);
+        if (originalQueue != null) return originalQueue.toString();
+
         List<Map<String, Object>> xDeath = (List<Map<String, Object>>) props.getHeader("x-death");
         if (xDeath != null && !xDeath.isEmpty()) {
             Object queue = xDeath.getFirst().get("queue");
@@ -116,10 +246,13 @@ public class DlqNotificationService {
     }
 
     /**
-     * Extract retry count from the x-death header.
+     * Retry count: the x-attempt header set by delayed retries, else the x-death count.
      */
     @SuppressWarnings("unchecked")
     private int extractRetryCount(MessageProperties props) {
+        Object attempts = props.getHeader(QueueConstants.HEADER_ATTEMPT);
+        if (attempts instanceof Number number) return number.intValue();
+
         List<Map<String, Object>> xDeath = (List<Map<String, Object>>) props.getHeader("x-death");
         if (xDeath != null && !xDeath.isEmpty()) {
             Object count = xDeath.getFirst().get("count");
@@ -129,12 +262,25 @@ public class DlqNotificationService {
     }
 
     /**
-     * Extract error reason from headers (Spring sets the exception in headers).
+     * Extract error reason from headers, prefixed with the failure classification when present,
+     * e.g. {@code [NON_RETRYABLE] IllegalArgumentException: Unknown email type: FOO}.
      */
     private String extractErrorReason(MessageProperties props) {
-        // Spring AMQP stores the exception in x-exception-message header
-        Object exceptionMsg = props.getHeader("x-exception-message");
-        if (exceptionMsg != null) return exceptionMsg.toString();
+        // DelayedRetryRecoverer stores the failing exception in the x-exception-message / x-failure-* headers
+        Object exceptionMsg = props.getHeader(QueueConstants.HEADER_EXCEPTION_MESSAGE);
+        if (exceptionMsg != null) {
+            Object failureClass = props.getHeader(QueueConstants.HEADER_FAILURE_CLASS);
+            Object classification = props.getHeader(QueueConstants.HEADER_FAILURE_CLASSIFICATION);
+            StringBuilder reason = new StringBuilder();
+            if (classification != null) {
+                reason.append('[').append(classification).append("] ");
+            }
+            if (failureClass != null) {
+                String className = failureClass.toString();
+                reason.append(className.substring(className.lastIndexOf('.') + 1)).append(": ");
+            }
+            return reason.append(exceptionMsg).toString();
+        }
 
         // Fall back to x-death reason
         @SuppressWarnings("unchecked")
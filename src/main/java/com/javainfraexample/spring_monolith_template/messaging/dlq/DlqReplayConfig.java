@@ -0,0 +1,36 @@
+package com.javainfraexample.spring_monolith_template.messaging.dlq;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Bulk replay of dlq_records back to their original exchange / routing key.
+ *
+ * <pre>
+ * app:
+ *   dlq:
+ *     replay:
+ *       default-rate: 50             # messages/sec when the request doesn't set one
+ *       max-rate: 500                # upper bound for a requested rate
+ *       batch-size: 100              # rows claimed, published and confirmed together
+ *       confirm-timeout-ms: 15000    # wait for one batch's confirms
+ *       claim-timeout-seconds: 300   # REPLAYING rows older than this are claimed again (crashed replay)
+ *       max-finished-jobs: 20        # finished jobs kept for the progress endpoint
+ * </pre>
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "app.dlq.replay")
+public class DlqReplayConfig {
+
+    private int defaultRate = 50;
+    private int maxRate = 500;
+    private int batchSize = 100;
+    private long confirmTimeoutMs = 15_000;
+    private long claimTimeoutSeconds = 300;
+    private int maxFinishedJobs = 20;
+}
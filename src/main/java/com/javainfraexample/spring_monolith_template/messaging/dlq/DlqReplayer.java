@@ -0,0 +1,318 @@
+package com.javainfraexample.spring_monolith_template.messaging.dlq;
+
+import com.javainfraexample.spring_monolith_template.common.exception.ConflictException;
+import com.javainfraexample.spring_monolith_template.messaging.constant.QueueConstants;
+import com.javainfraexample.spring_monolith_template.messaging.publisher.AsyncRabbitPublisher;
+import com.javainfraexample.spring_monolith_template.repository.dlq.DlqRecord;
+import com.javainfraexample.spring_monolith_template.repository.dlq.DlqRecordQuery;
+import com.javainfraexample.spring_monolith_template.repository.dlq.DlqRecordRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays stored DLQ messages back to their original exchange / routing key.
+ *
+ * <p>A job runs on its own virtual thread, in batches of {@code batch-size}:</p>
+ * <ol>
+ *   <li>claim the next PENDING / FAILED rows matching the filter (status → REPLAYING,
+ *       {@code FOR UPDATE SKIP LOCKED}), so two nodes never replay the same row</li>
+ *   <li>publish them through {@link AsyncRabbitPublisher}, paced to the job's rate</li>
+ *   <li>wait for the batch's confirms together; confirmed → REPLAYED, nacked / returned /
+ *       timed out → FAILED (replayable again), second record with an already replayed
+ *       message-id → DUPLICATE</li>
+ * </ol>
+ *
+ * <p>Replayed messages drop the retry and x-death headers (they get a full set of attempts
+ * again) and carry {@code x-replay-count} and {@code x-replayed-from}. If one fails again it is
+ * stored as a new record with the higher replay count.</p>
+ *
+ * <p>One job runs at a time per node; the rate is per node. Jobs live in memory:
+ * rows left REPLAYING by a crash are claimed again after {@code claim-timeout-seconds}.</p>
+ *
+ * <p>Metrics: {@code dlq.replay.messages{outcome=confirmed|failed|duplicate}},
+ * {@code dlq.replay.batch.latency}, {@code dlq.replay.running}.</p>
+ */
+@Slf4j
+@Component
+public class DlqReplayer {
+
+    private static final Set<String> DROPPED_HEADERS = Set.of(
+            "x-death",
+            QueueConstants.HEADER_ATTEMPT,
+            QueueConstants.HEADER_ORIGINAL_QUEUE,
+            QueueConstants.HEADER_EXCEPTION_MESSAGE,
+            QueueConstants.HEADER_FAILURE_CLASS,
+            QueueConstants.HEADER_FAILURE_CLASSIFICATION);
+
+    private final DlqRecordRepository repository;
+    private final AsyncRabbitPublisher publisher;
+    private final DlqReplayConfig config;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, ReplayJob> jobs = new LinkedHashMap<>();
+
+    private final Counter confirmedMessages;
+    private final Counter failedMessages;
+    private final Counter duplicateMessages;
+    private final Timer batchLatency;
+
+    public DlqReplayer(DlqRecordRepository repository,
+                       AsyncRabbitPublisher publisher,
+                       DlqReplayConfig config,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.publisher = publisher;
+        this.config = config;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.confirmedMessages = outcome(meterRegistry, "confirmed");
+        this.failedMessages = outcome(meterRegistry, "failed");
+        this.duplicateMessages = outcome(meterRegistry, "duplicate");
+        this.batchLatency = Timer.builder("dlq.replay.batch.latency")
+                .description("Claim, publish, confirm and mark one replay batch")
+                .register(meterRegistry);
+        Gauge.builder("dlq.replay.running", this, r -> r.running() != null ? 1 : 0)
+                .description("Replay jobs running on this node")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start a replay of every replayable record matching {@code query}, up to {@code limit} records.
+     *
+     * @throws ConflictException if a replay is already running on this node
+     */
+    public synchronized ReplayJob start(DlqRecordQuery query, int ratePerSecond, long limit) {
+        ReplayJob running = running();
+        if (running != null) {
+            throw new ConflictException("A DLQ replay is already running: " + running.getId());
+        }
+        long matched = query.replayStatus() != null
+                ? repository.count(query)
+                : repository.count(withStatus(query, "PENDING")) + repository.count(withStatus(query, "FAILED"));
+
+        ReplayJob job = new ReplayJob(UUID.randomUUID().toString(), query, ratePerSecond, limit, Math.min(matched, limit));
+        jobs.put(job.getId(), job);
+        pruneFinished();
+
+        log.info("DLQ replay {} started: {} records, {}/s, filter={}", job.getId(), job.getMatched(), ratePerSecond, query);
+        Thread.ofVirtual().name("dlq-replay-" + job.getId()).start(() -> run(job));
+        return job;
+    }
+
+    public synchronized ReplayJob job(String id) {
+        return jobs.get(id);
+    }
+
+    public synchronized List<ReplayJob> jobs() {
+        return List.copyOf(jobs.values());
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        jobs.values().forEach(ReplayJob::cancel);
+    }
+
+    private void run(ReplayJob job) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / job.getRatePerSecond();
+        long[] nextSendAt = {System.nanoTime()};
+        Set<String> replayedMessageIds = new HashSet<>();
+        Long afterId = null;
+        try {
+            while (!job.cancelled && job.claimed.get() < job.limit) {
+                int size = (int) Math.min(config.getBatchSize(), job.limit - job.claimed.get());
+                DlqRecordQuery page = job.query.withAfterId(afterId);
+                List<DlqRecord> batch = transactionTemplate.execute(
+                        status -> repository.claimForReplay(page, size, config.getClaimTimeoutSeconds()));
+                if (batch == null || batch.isEmpty()) {
+                    break;
+                }
+                afterId = batch.getLast().id();
+                job.claimed.addAndGet(batch.size());
+                batchLatency.record(() -> replayBatch(job, batch, replayedMessageIds, intervalNanos, nextSendAt));
+            }
+            job.finish(job.cancelled ? "CANCELLED" : "COMPLETED");
+        } catch (Exception e) {
+            job.lastError = e.getMessage();
+            job.finish("FAILED");
+            log.error("DLQ replay {} failed: {}", job.getId(), e.getMessage(), e);
+        }
+        log.info("DLQ replay {} {}: {} confirmed, {} failed, {} duplicates", job.getId(), job.getStatus().toLowerCase(),
+                job.confirmed.get(), job.failed.get(), job.duplicates.get());
+    }
+
+    private void replayBatch(ReplayJob job, List<DlqRecord> batch, Set<String> replayedMessageIds,
+                             long intervalNanos, long[] nextSendAt) {
+        Map<Long, CompletableFuture<CorrelationData.Confirm>> pending = new LinkedHashMap<>(batch.size() * 2);
+        List<Long> duplicates = new ArrayList<>();
+        List<Long> unsent = new ArrayList<>();
+        for (DlqRecord record : batch) {
+            if (job.cancelled) {
+                unsent.add(record.id());
+                continue;
+            }
+            if (record.messageId() != null && !replayedMessageIds.add(record.messageId())) {
+                duplicates.add(record.id());
+                continue;
+            }
+            // Pace to the job's rate; after a stall (confirm wait) don't burst to catch up
+            long wait = nextSendAt[0] - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            nextSendAt[0] = Math.max(nextSendAt[0], System.nanoTime()) + intervalNanos;
+            pending.put(record.id(), publisher.publish(record.exchange(), record.routingKey(), toMessage(record)));
+        }
+
+        List<Long> confirmed = new ArrayList<>(pending.size());
+        Map<Long, String> errors = new HashMap<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getConfirmTimeoutMs());
+        for (Map.Entry<Long, CompletableFuture<CorrelationData.Confirm>> entry : pending.entrySet()) {
+            try {
+                CorrelationData.Confirm confirm = entry.getValue()
+                    .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (confirm.ack()) {
+                    confirmed.add(entry.getKey());
+                } else {
+                    errors.put(entry.getKey(), "not confirmed: " + confirm.reason());
+                }
+            } catch (TimeoutException e) {
+                errors.put(entry.getKey(), "confirm timeout");
+            } catch (ExecutionException e) {
+                errors.put(entry.getKey(), "publish failed: " + e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                errors.put(entry.getKey(), "interrupted");
+            }
+        }
+
+        repository.markReplayed(confirmed);
+        repository.markReplayFailed(errors);
+        repository.markDuplicate(duplicates);
+        repository.releaseClaims(unsent);
+
+        job.confirmed.addAndGet(confirmed.size());
+        job.failed.addAndGet(errors.size());
+        job.duplicates.addAndGet(duplicates.size());
+        confirmedMessages.increment(confirmed.size());
+        failedMessages.increment(errors.size());
+        duplicateMessages.increment(duplicates.size());
+        if (!errors.isEmpty()) {
+            job.lastError = errors.values().iterator().next();
+            log.warn("DLQ replay {} batch: {} confirmed, {} failed (first error: {})",
+                job.getId(), confirmed.size(), errors.size(), job.lastError);
+        }
+    }
+
+    private static Message toMessage(DlqRecord record) {
+        MessageProperties properties = new MessageProperties();
+        properties.setMessageId(record.messageId());
+        properties.setContentType(record.contentType());
+        properties.setContentEncoding(record.contentEncoding());
+        properties.setPriority(record.priority());
+        record.headers().forEach((name, value) -> {
+            if (!DROPPED_HEADERS.contains(name) && !name.startsWith("x-first-death-") && !name.startsWith("x-last-death-")) {
+                properties.setHeader(name, value);
+            }
+        });
+        properties.setHeader(QueueConstants.HEADER_REPLAY_COUNT, record.replayCount() + 1);
+        properties.setHeader(QueueConstants.HEADER_REPLAYED_FROM, record.id());
+        return new Message(record.payload(), properties);
+    }
+
+    private synchronized ReplayJob running() {
+        return jobs.values().stream().filter(job -> job.finishedAt == null).findFirst().orElse(null);
+    }
+
+    private void pruneFinished() {
+        long finished = jobs.values().stream().filter(job -> job.finishedAt != null).count();
+        var iterator = jobs.values().iterator();
+        while (finished > config.getMaxFinishedJobs() && iterator.hasNext()) {
+            if (iterator.next().finishedAt != null) {
+                iterator.remove();
+                finished--;
+            }
+        }
+    }
+
+    private static DlqRecordQuery withStatus(DlqRecordQuery query, String status) {
+        return new DlqRecordQuery(query.originalQueue(), query.messageType(), status, query.from(), query.to(), query.afterId());
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("dlq.replay.messages")
+                .description("Replayed DLQ messages by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Progress of one replay. Counters are updated by the replay thread after each batch.
+     */
+    @Getter
+    public static final class ReplayJob {
+
+        private final String id;
+        private final DlqRecordQuery query;
+        private final int ratePerSecond;
+        private final long limit;
+        private final long matched;
+        private final AtomicLong claimed = new AtomicLong();
+        private final AtomicLong confirmed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong duplicates = new AtomicLong();
+        private final Instant startedAt = Instant.now();
+        private volatile String status = "RUNNING";
+        private volatile String lastError;
+        private volatile Instant finishedAt;
+        private volatile boolean cancelled;
+
+        ReplayJob(String id, DlqRecordQuery query, int ratePerSecond, long limit, long matched) {
+            this.id = id;
+            this.query = query;
+            this.ratePerSecond = ratePerSecond;
+            this.limit = limit;
+            this.matched = matched;
+        }
+
+        /**
+         * Stop after the current publish; claimed but unsent rows go back to PENDING / FAILED.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        void finish(String finalStatus) {
+            status = finalStatus;
+            finishedAt = Instant.now();
+        }
+    }
+}
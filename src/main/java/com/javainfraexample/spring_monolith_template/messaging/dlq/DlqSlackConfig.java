@@ -0,0 +1,46 @@
+package com.javainfraexample.spring_monolith_template.messaging.dlq;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Slack alerting for dead-lettered messages (see {@link DlqAlertAggregator}).
+ *
+ * <pre>
+ * app:
+ *   dlq:
+ *     slack:
+ *       enabled: true
+ *       webhook-url: https://hooks.slack.com/services/XXX/YYY/ZZZ
+ *       window-ms: 30000           # aggregation window: at most one webhook call per window
+ *       dedup-window-ms: 300000    # a group already alerted is re-alerted at most this often
+ *       max-groups-per-alert: 15   # largest groups first, the rest summed up (Slack: 50 blocks, 3 per group)
+ *       max-samples: 3             # sample payloads per group
+ *       max-tracked-groups: 1000   # beyond this, new groups are folded into one "other" group
+ *       connect-timeout-ms: 2000
+ *       read-timeout-ms: 5000
+ *       queue-capacity: 10         # alerts waiting for the sender; more are dropped
+ * </pre>
+ *
+ * For local testing point {@code webhook-url} at any HTTP stub that accepts a JSON POST.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "app.dlq.slack")
+public class DlqSlackConfig {
+
+    private boolean enabled = false;
+    private String webhookUrl = "";
+    private long windowMs = 30_000;
+    private long dedupWindowMs = 300_000;
+    private int maxGroupsPerAlert = 15;
+    private int maxSamples = 3;
+    private int maxTrackedGroups = 1000;
+    private long connectTimeoutMs = 2000;
+    private long readTimeoutMs = 5000;
+    private int queueCapacity = 10;
+}
@@ -1,18 +1,33 @@
 package com.javainfraexample.spring_monolith_template.messaging.dlq;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 /**
- * Sends Slack webhook alerts when a message lands in the DLQ.
+ * Sends aggregated DLQ alerts to a Slack webhook, off the listener thread.
  *
- * <p>Configure the webhook URL in {@code application.yaml}:</p>
+ * <p>Configure the webhook URL in {@code application.yaml} (see {@link DlqSlackConfig}):</p>
  * <pre>
  * app:
  *   dlq:
@@ -20,88 +35,153 @@ import org.springframework.web.client.RestTemplate;
  *       enabled: true
  *       webhook-url: https://hooks.slack.com/services/XXX/YYY/ZZZ
  * </pre>
+ *
+ * One sender thread with a bounded queue ({@code queue-capacity}): if Slack is slow or down,
+ * alerts beyond the queue are dropped and counted rather than piling up. Connect and read
+ * timeouts bound each call. The payload is built with Jackson, so quotes and newlines in
+ * error messages or payloads can't break the JSON.
+ *
+ * <p>Metric: {@code dlq.alert.posts{outcome=sent|failed|dropped}}.</p>
  */
 @Slf4j
 @Component
 public class DlqSlackNotifier {
 
-    @Value("${app.dlq.slack.enabled:false}")
-    private boolean enabled;
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final int MAX_SAMPLE_LENGTH = 300;
 
-    @Value("${app.dlq.slack.webhook-url:}")
-    private String webhookUrl;
+    private final DlqSlackConfig config;
+    private final ObjectMapper objectMapper;
+    private final RestTemplate restTemplate;
+    private final ThreadPoolExecutor executor;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter dropped;
+
+    public DlqSlackNotifier(DlqSlackConfig config, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.objectMapper = objectMapper;
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(Duration.ofMillis(config.getConnectTimeoutMs()));
+        requestFactory.setReadTimeout(Duration.ofMillis(config.getReadTimeoutMs()));
+        this.restTemplate = new RestTemplate(requestFactory);
+
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getQueueCapacity()),
+                r -> {
+                    Thread t = new Thread(r, "dlq-slack-sender");
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.sent = outcome(meterRegistry, "sent");
+        this.failed = outcome(meterRegistry, "failed");
+        this.dropped = outcome(meterRegistry, "dropped");
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled() && config.getWebhookUrl() != null && !config.getWebhookUrl().isBlank();
+    }
 
     /**
-     * Send a Slack alert for a failed DLQ message.
+     * Queue one alert covering {@code groups}. Never blocks; drops the alert if the queue is full.
+     *
+     * @param omittedGroups   groups left out because of max-groups-per-alert
+     * @param omittedMessages messages in those groups
      */
-    public void notify(DlqMessage dlqMessage) {
-        if (!enabled || webhookUrl.isBlank()) {
-            log.debug("Slack DLQ notification disabled or webhook URL not configured");
+    public void sendAsync(List<DlqAlertGroup> groups, int omittedGroups, long omittedMessages) {
+        if (!isEnabled() || groups.isEmpty()) {
             return;
         }
+        try {
+            executor.execute(() -> post(groups, omittedGroups, omittedMessages));
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+            log.warn("Slack DLQ alert dropped, sender queue full: {} groups", groups.size() + omittedGroups);
+        }
+    }
 
-        String slackPayload = buildSlackPayload(dlqMessage);
-
+    private void post(List<DlqAlertGroup> groups, int omittedGroups, long omittedMessages) {
         try {
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
-            HttpEntity<String> request = new HttpEntity<>(slackPayload, headers);
+            HttpEntity<String> request = new HttpEntity<>(buildSlackPayload(groups, omittedGroups, omittedMessages), headers);
 
-            restTemplate.postForEntity(webhookUrl, request, String.class);
-            log.info("Slack DLQ alert sent: queue={}, type={}", dlqMessage.originalQueue(), dlqMessage.messageType());
+            restTemplate.postForEntity(config.getWebhookUrl(), request, String.class);
+            sent.increment();
+            log.info("Slack DLQ alert sent: {} groups, {} messages",
+                    groups.size() + omittedGroups, groups.stream().mapToLong(DlqAlertGroup::count).sum() + omittedMessages);
 
         } catch (Exception e) {
-            log.error("Failed to send Slack DLQ alert: {}", e.getMessage(), e);
+            failed.increment();
+            log.error("Failed to send Slack DLQ alert: {}", e.getMessage());
         }
     }
 
-    private String buildSlackPayload(DlqMessage msg) {
-        return """
-                {
-                  "blocks": [
-                    {
-                      "type": "header",
-                      "text": {
-                        "type": "plain_text",
-                        "text": "🚨 DLQ Alert — Message Failed",
-                        "emoji": true
-                      }
-                    },
-                    {
-                      "type": "section",
-                      "fields": [
-                        { "type": "mrkdwn", "text": "*Queue:*\\n`%s`" },
-                        { "type": "mrkdwn", "text": "*Type:*\\n`%s`" },
-                        { "type": "mrkdwn", "text": "*Retries:*\\n`%d`" },
-                        { "type": "mrkdwn", "text": "*Failed At:*\\n`%s`" }
-                      ]
-                    },
-                    {
-                      "type": "section",
-                      "text": {
-                        "type": "mrkdwn",
-                        "text": "*Error:*\\n```%s```"
-                      }
-                    },
-                    {
-                      "type": "section",
-                      "text": {
-                        "type": "mrkdwn",
-                        "text": "*Payload:*\\n```%s```"
-                      }
-                    }
-                  ]
-                }
-                """.formatted(
-                msg.originalQueue(),
-                msg.messageType(),
-                msg.retryCount(),
-                msg.failedAt().toString(),
-                truncate(msg.errorReason(), 500),
-                truncate(msg.payload(), 1000)
-        );
+    String buildSlackPayload(List<DlqAlertGroup> groups, int omittedGroups, long omittedMessages) throws JsonProcessingException {
+        long total = groups.stream().mapToLong(DlqAlertGroup::count).sum() + omittedMessages;
+
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("text", "DLQ Alert — " + total + " messages failed");
+        ArrayNode blocks = root.putArray("blocks");
+
+        ObjectNode header = blocks.addObject().put("type", "header");
+        header.putObject("text")
+                .put("type", "plain_text")
+                .put("text", "🚨 DLQ Alert — " + total + (total == 1 ? " Message" : " Messages") + " Failed")
+                .put("emoji", true);
+
+        for (DlqAlertGroup group : groups) {
+            blocks.addObject().put("type", "divider");
+
+            ObjectNode fields = blocks.addObject().put("type", "section");
+            ArrayNode fieldList = fields.putArray("fields");
+            field(fieldList, "*Queue:*\n`" + group.originalQueue() + "`");
+            field(fieldList, "*Type:*\n`" + group.messageType() + "`");
+            field(fieldList, "*Count:*\n`" + group.count() + "`" + (group.repeat() ? " (still failing, " + group.total() + " total)" : ""));
+            field(fieldList, "*Retries:*\n`" + group.maxRetryCount() + "`");
+            field(fieldList, "*First Failed At:*\n`" + group.firstFailedAt() + "`");
+            field(fieldList, "*Last Failed At:*\n`" + group.lastFailedAt() + "`");
+
+            StringBuilder detail = new StringBuilder("*Error:*\n```")
+                    .append(truncate(group.errorReason(), MAX_ERROR_LENGTH)).append("```");
+            for (DlqMessage sample : group.samples()) {
+                detail.append("\n*Sample:*\n```").append(truncate(sample.payload(), MAX_SAMPLE_LENGTH)).append("```");
+            }
+            blocks.addObject().put("type", "section").putObject("text")
+                    .put("type", "mrkdwn")
+                    .put("text", detail.toString());
+        }
+
+        if (omittedGroups > 0) {
+            blocks.addObject().put("type", "context").putArray("elements").addObject()
+                    .put("type", "mrkdwn")
+                    .put("text", "…and " + omittedGroups + " more groups (" + omittedMessages + " messages). See GET /api/admin/dlq/records.");
+        }
+        return objectMapper.writeValueAsString(root);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(config.getConnectTimeoutMs() + config.getReadTimeoutMs(), TimeUnit.MILLISECONDS)) {
+            log.warn("Slack DLQ sender did not finish, {} alerts dropped", executor.getQueue().size());
+            executor.shutdownNow();
+        }
+    }
+
+    private static void field(ArrayNode fields, String text) {
+        fields.addObject().put("type", "mrkdwn").put("text", text);
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("dlq.alert.posts")
+                .description("Slack DLQ alert webhook calls by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
     private String truncate(String text, int maxLength) {
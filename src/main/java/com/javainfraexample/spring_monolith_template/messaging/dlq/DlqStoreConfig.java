@@ -0,0 +1,38 @@
+package com.javainfraexample.spring_monolith_template.messaging.dlq;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Persistence of dead-lettered messages to dlq_records.
+ *
+ * <pre>
+ * app:
+ *   dlq:
+ *     store:
+ *       enabled: true        # false → DLQ messages are only alerted on, as before
+ *       batch-size: 50       # DLQ messages per consumed batch (one JDBC batch insert)
+ *       timeout-ms: 1000     # deliver a partial batch after this long
+ *       insert-attempts: 3   # then each message is stored on its own
+ *       retry-backoff-ms: 500
+ *       max-store-failures: 10  # rounds a message may fail to store before it is parked
+ *       max-page-size: 500   # admin list endpoint
+ * </pre>
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "app.dlq.store")
+public class DlqStoreConfig {
+
+    private boolean enabled = true;
+    private int batchSize = 50;
+    private long timeoutMs = 1000;
+    private int insertAttempts = 3;
+    private long retryBackoffMs = 500;
+    private int maxStoreFailures = 10;
+    private int maxPageSize = 500;
+}
@@ -1,9 +1,11 @@
 package com.javainfraexample.spring_monolith_template.messaging.email;
 
 import com.javainfraexample.spring_monolith_template.messaging.constant.QueueConstants;
+import com.javainfraexample.spring_monolith_template.messaging.retry.RetryTopology;
 
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarables;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.QueueBuilder;
 import org.springframework.amqp.core.TopicExchange;
@@ -11,7 +13,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
- * Email queue infrastructure — queue, DLQ, and bindings.
+ * Email queue infrastructure — queue, delayed retry queues, DLQ, and bindings.
  *
  * <h3>Flow:</h3>
  * <pre>
@@ -20,7 +22,8 @@ import org.springframework.context.annotation.Configuration;
  *           → app.email.send (queue)
  *               → EmailListener
  *                   ✓ ACK  → message removed
- *                   ✗ NACK → app.exchange.dlx
+ *                   ✗ fail → app.email.send.retry.{n} (delay) → back to app.email.send
+ *                   ✗ fail, attempts exhausted → app.exchange.dlx
  *                               → app.email.send.dlq (inspect in RabbitMQ UI)
  * </pre>
  */
@@ -44,6 +47,16 @@ public class EmailQueueConfig {
         return BindingBuilder.bind(emailQueue).to(mainExchange).with(QueueConstants.EMAIL_ROUTING_KEY);
     }
 
+    // ===========================================
+    // Delayed Retry Queues
+    // ===========================================
+
+    @Bean
+    public Declarables emailRetryQueues(RetryTopology retryTopology, TopicExchange dlxExchange) {
+        return retryTopology.declare(QueueConstants.EMAIL_QUEUE, QueueConstants.EMAIL_ROUTING_KEY,
+                QueueConstants.EMAIL_DLQ, dlxExchange);
+    }
+
     // ===========================================
     // Dead Letter Queue
     // ===========================================
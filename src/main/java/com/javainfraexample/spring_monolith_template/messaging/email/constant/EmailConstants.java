@@ -1,5 +1,7 @@
 package com.javainfraexample.spring_monolith_template.messaging.email.constant;
 
+import java.util.List;
+
 /**
  * Email-specific constants — types used to route email processing logic.
  *
@@ -8,7 +10,8 @@ package com.javainfraexample.spring_monolith_template.messaging.email.constant;
  *
  * <h3>Adding a new email type:</h3>
  * <ol>
- *   <li>Add a constant here (e.g. {@code TYPE_INVOICE})</li>
+ *   <li>Add a constant here (e.g. {@code TYPE_INVOICE}) and to {@link #ALL_TYPES}</li>
+ *   <li>Add its template, {@code templates/email/invoice.html}</li>
  *   <li>Add a convenience method in {@code EmailPublisher}</li>
  *   <li>Add a case in {@code EmailService.process()}</li>
  * </ol>
@@ -38,4 +41,8 @@ public final class EmailConstants {
 
     /** Account verification — sent for email verification. */
     public static final String TYPE_VERIFICATION = "VERIFICATION";
+
+    /** Every type above — each needs a template (compiled at startup by EmailTemplateRenderer). */
+    public static final List<String> ALL_TYPES = List.of(
+            TYPE_WELCOME, TYPE_LOGIN, TYPE_USER_UPDATE, TYPE_PASSWORD_RESET, TYPE_PASSWORD_CHANGED, TYPE_VERIFICATION);
 }
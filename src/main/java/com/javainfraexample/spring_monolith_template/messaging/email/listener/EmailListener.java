@@ -2,12 +2,15 @@ package com.javainfraexample.spring_monolith_template.messaging.email.listener;
 
 import com.javainfraexample.spring_monolith_template.messaging.constant.QueueConstants;
 import com.javainfraexample.spring_monolith_template.messaging.email.message.EmailMessage;
+import com.javainfraexample.spring_monolith_template.messaging.idempotency.Idempotent;
 import com.javainfraexample.spring_monolith_template.services.email.EmailService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
 /**
@@ -19,7 +22,8 @@ import org.springframework.stereotype.Component;
  * <p>Spring's {@code JacksonJsonMessageConverter} automatically deserializes
  * the JSON payload into {@code EmailMessage} — no manual ObjectMapper needed.</p>
  *
- * <p>Retry: Spring auto-retry (3 attempts, exponential backoff) → DLQ on exhaustion.</p>
+ * <p>Idempotent: a redelivered message-id that was already sent is skipped, so no duplicate emails.</p>
+ * <p>Retry: delayed re-delivery via {@code .retry.{n}} queues (3 attempts) → DLQ on exhaustion.</p>
  * <p>Queue: {@code app.email.send}</p>
  * <p>DLQ: {@code app.email.send.dlq}</p>
  */
@@ -30,8 +34,10 @@ public class EmailListener {
 
     private final EmailService emailService;
 
+    @Idempotent
     @RabbitListener(queues = QueueConstants.EMAIL_QUEUE)
-    public void onMessage(EmailMessage email) {
+    public void onMessage(EmailMessage email,
+                          @Header(name = AmqpHeaders.MESSAGE_ID, required = false) String messageId) {
         log.info("[EMAIL QUEUE] Message received: type={}, to={}", email.type(), email.to());
 
         emailService.process(email);
@@ -2,11 +2,11 @@ package com.javainfraexample.spring_monolith_template.messaging.email.publisher;
 
 import com.javainfraexample.spring_monolith_template.messaging.constant.QueueConstants;
 import com.javainfraexample.spring_monolith_template.messaging.email.message.EmailMessage;
+import com.javainfraexample.spring_monolith_template.messaging.outbox.OutboxPublisher;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
 
 import java.util.Map;
@@ -17,6 +17,9 @@ import java.util.Map;
  * <p>The {@code type} field inside {@code EmailMessage} determines how
  * {@code EmailService} processes it (switch case).</p>
  *
+ * <p>Messages go through the transactional outbox ({@link OutboxPublisher}): they are
+ * stored in the caller's transaction and relayed to RabbitMQ after commit.</p>
+ *
  * <h3>Usage:</h3>
  * <pre>
  * emailPublisher.sendWelcome("user@example.com", "John", Map.of());
@@ -30,14 +33,14 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class EmailPublisher {
 
-    private final RabbitTemplate rabbitTemplate;
+    private final OutboxPublisher outboxPublisher;
 
     /**
      * Send an email message — generic method, routes any type.
      */
     public void send(EmailMessage message) {
-        rabbitTemplate.convertAndSend(QueueConstants.EXCHANGE, QueueConstants.EMAIL_ROUTING_KEY, message);
-        log.info("Email published: type={}, to={}, subject={}", message.type(), message.to(), message.subject());
+        outboxPublisher.publish(QueueConstants.EXCHANGE, QueueConstants.EMAIL_ROUTING_KEY, message);
+        log.info("Email queued: type={}, to={}, subject={}", message.type(), message.to(), message.subject());
     }
 
     /** Publish a welcome email (new user registration). */
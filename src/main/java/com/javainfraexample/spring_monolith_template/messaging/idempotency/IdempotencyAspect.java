@@ -0,0 +1,120 @@
+package com.javainfraexample.spring_monolith_template.messaging.idempotency;
+
+import com.javainfraexample.spring_monolith_template.messaging.idempotency.IdempotencyStore.Claim;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Handles {@link Idempotent} listener methods.
+ *
+ * <pre>
+ *   claim message-id ──► CLAIMED    invoke (lease renewed meanwhile) ──► success: complete (remembered for ttl)
+ *                    │                                                └─► failure: release, rethrow (delayed retry runs it again)
+ *                    ├─► DUPLICATE  return without invoking (acked)
+ *                    ├─► IN_FLIGHT  MessageInFlightException → hold queue, no retry attempt spent
+ *                    └─► UNCHECKED  Redis down, fail-open: invoke
+ * </pre>
+ */
+@Slf4j
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class IdempotencyAspect {
+
+    private static final int NOT_FOUND = -1;
+
+    private final IdempotencyStore store;
+    private final Map<Method, Integer> messageIdParameters = new ConcurrentHashMap<>();
+
+    @Around("@annotation(idempotent)")
+    public Object handleIdempotent(ProceedingJoinPoint joinPoint, Idempotent idempotent) throws Throwable {
+        if (!store.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        String messageId = messageId(method, joinPoint.getArgs());
+        if (messageId == null) {
+            return joinPoint.proceed();
+        }
+
+        String scope = idempotent.scope().isEmpty() ? method.getDeclaringClass().getSimpleName() : idempotent.scope();
+        Claim claim = store.claim(scope, messageId);
+        switch (claim) {
+            case DUPLICATE -> {
+                log.info("[IDEMPOTENCY] Duplicate skipped: listener={}, messageId={}", scope, messageId);
+                return null;
+            }
+            case IN_FLIGHT -> throw new MessageInFlightException(scope, messageId);
+            case UNCHECKED -> {
+                return joinPoint.proceed();
+            }
+            default -> {
+                // CLAIMED
+            }
+        }
+
+        Object result;
+        try (IdempotencyStore.Heartbeat heartbeat = store.keepAlive(scope, List.of(messageId))) {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            store.release(scope, List.of(messageId));
+            throw e;
+        }
+        Duration ttl = idempotent.ttlSeconds() > 0 ? Duration.ofSeconds(idempotent.ttlSeconds()) : store.defaultTtl();
+        store.complete(scope, List.of(messageId), ttl);
+        return result;
+    }
+
+    private String messageId(Method method, Object[] args) {
+        int index = messageIdParameters.computeIfAbsent(method, IdempotencyAspect::findMessageIdParameter);
+        if (index == NOT_FOUND || args[index] == null) {
+            return null;
+        }
+        Object arg = args[index];
+        if (arg instanceof Message message) {
+            return message.getMessageProperties().getMessageId();
+        }
+        return arg.toString();
+    }
+
+    /**
+     * A {@code @Header(AmqpHeaders.MESSAGE_ID)} parameter, else a {@code Message} parameter.
+     */
+    private static int findMessageIdParameter(Method method) {
+        Annotation[][] annotations = method.getParameterAnnotations();
+        for (int i = 0; i < annotations.length; i++) {
+            for (Annotation annotation : annotations[i]) {
+                if (annotation instanceof Header header
+                        && (AmqpHeaders.MESSAGE_ID.equals(header.name()) || AmqpHeaders.MESSAGE_ID.equals(header.value()))) {
+                    return i;
+                }
+            }
+        }
+        Class<?>[] types = method.getParameterTypes();
+        for (int i = 0; i < types.length; i++) {
+            if (Message.class.isAssignableFrom(types[i])) {
+                return i;
+            }
+        }
+        log.warn("@Idempotent on {}.{} has no message-id parameter, messages are not deduplicated",
+                method.getDeclaringClass().getSimpleName(), method.getName());
+        return NOT_FOUND;
+    }
+}
@@ -0,0 +1,38 @@
+package com.javainfraexample.spring_monolith_template.messaging.idempotency;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Idempotent consumer settings — see {@link Idempotent}.
+ *
+ * <pre>
+ * app:
+ *   messaging:
+ *     idempotency:
+ *       enabled: true
+ *       ttl-seconds: 86400           # processed message-ids remembered in Redis
+ *       lease-seconds: 30            # in-flight claim, renewed while the listener runs; a crashed consumer's messages are reprocessed after it
+ *       local-cache-size: 10000      # processed ids also kept per node, 0 = always ask Redis
+ *       fail-open: true              # Redis down: process without the check (false: retry later)
+ * </pre>
+ *
+ * The lease is renewed every {@code lease-seconds / 3} while the listener runs, so it only bounds
+ * how long a crashed consumer's messages wait. A copy that finds the id in flight waits in the
+ * queue's {@code .retry.hold} queue for longer than the lease (see {@code RetryTopology}).
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "app.messaging.idempotency")
+public class IdempotencyConfig {
+
+    private boolean enabled = true;
+    private long ttlSeconds = 86400;
+    private long leaseSeconds = 30;
+    private int localCacheSize = 10000;
+    private boolean failOpen = true;
+}
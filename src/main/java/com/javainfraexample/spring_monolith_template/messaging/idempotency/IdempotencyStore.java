@@ -0,0 +1,279 @@
+package com.javainfraexample.spring_monolith_template.messaging.idempotency;
+
+import com.javainfraexample.spring_monolith_template.common.redis.RedisKey;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Processed message-ids per listener scope, in Redis — the check and the record are one atomic step.
+ *
+ * <pre>
+ *   claim     SET idempotency:{scope}:{id} PROCESSING NX PX lease   ──► CLAIMED    process it
+ *             (key exists)  value DONE                              ──► DUPLICATE  skip it
+ *             (key exists)  value PROCESSING                        ──► IN_FLIGHT  another consumer has it
+ *   keepAlive PEXPIRE ... lease if still PROCESSING, every lease/3 while the listener runs
+ *   complete  SET ... DONE PX ttl
+ *   release   DEL ... if still PROCESSING      (failure: the retry may run it again)
+ * </pre>
+ *
+ * The lease is short and renewed by a heartbeat for as long as the listener runs, so a slow call
+ * keeps its claim while a crashed consumer's claim expires within one lease.
+ *
+ * Every call takes a list, so a batch listener claims its whole batch in one round trip.
+ * Completed ids are also kept in a per-node LRU ({@code local-cache-size}), so a duplicate this
+ * node has already processed is skipped without asking Redis. Only completed ids are cached:
+ * a local miss always goes to Redis, since the first copy may have been processed on another node.
+ *
+ * <p>Metrics: {@code rabbitmq.listener.duplicates{listener, source=local|redis}},
+ * {@code rabbitmq.listener.idempotency.unchecked{listener}} (Redis unavailable, processed without the check).</p>
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    public enum Claim { CLAIMED, DUPLICATE, IN_FLIGHT, UNCHECKED }
+
+    /**
+     * Renews the lease of claimed ids until closed.
+     */
+    public interface Heartbeat extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final Heartbeat NO_HEARTBEAT = () -> { };
+    private static final long MIN_HEARTBEAT_MS = 1000;
+
+    private static final String PROCESSING = "PROCESSING";
+    private static final String DONE = "DONE";
+
+    /**
+     * KEYS = message keys, ARGV[1] = lease ms. Returns 1 (claimed), 0 (done) or 2 (in flight) per key.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CLAIM = new DefaultRedisScript<>("""
+        local result = {}
+        for i, key in ipairs(KEYS) do
+            if redis.call('SET', key, 'PROCESSING', 'NX', 'PX', ARGV[1]) then
+                result[i] = 1
+            elseif redis.call('GET', key) == 'DONE' then
+                result[i] = 0
+            else
+                result[i] = 2
+            end
+        end
+        return result
+        """, List.class);
+
+    private static final RedisScript<Long> COMPLETE = new DefaultRedisScript<>("""
+        for _, key in ipairs(KEYS) do
+            redis.call('SET', key, ARGV[1], 'PX', ARGV[2])
+        end
+        return #KEYS
+        """, Long.class);
+
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>("""
+        local released = 0
+        for _, key in ipairs(KEYS) do
+            if redis.call('GET', key) == ARGV[1] then
+                released = released + redis.call('DEL', key)
+            end
+        end
+        return released
+        """, Long.class);
+
+    private static final RedisScript<Long> EXTEND = new DefaultRedisScript<>("""
+        local extended = 0
+        for _, key in ipairs(KEYS) do
+            if redis.call('GET', key) == ARGV[1] then
+                extended = extended + redis.call('PEXPIRE', key, ARGV[2])
+            end
+        end
+        return extended
+        """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final IdempotencyConfig config;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Boolean> completed;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("idempotency-heartbeat").daemon().factory());
+
+    public IdempotencyStore(StringRedisTemplate redisTemplate, IdempotencyConfig config, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+        int maxSize = config.getLocalCacheSize();
+        this.completed = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    public Claim claim(String scope, String messageId) {
+        return claim(scope, List.of(messageId)).getFirst();
+    }
+
+    /**
+     * Claim each message-id for {@code scope}; the result is in the same order.
+     *
+     * @throws org.springframework.dao.DataAccessException if Redis is unavailable and {@code fail-open} is false
+     */
+    public List<Claim> claim(String scope, List<String> messageIds) {
+        List<Claim> claims = new ArrayList<>(Collections.nCopies(messageIds.size(), Claim.CLAIMED));
+        List<String> keys = new ArrayList<>(messageIds.size());
+        List<Integer> positions = new ArrayList<>(messageIds.size());
+        for (int i = 0; i < messageIds.size(); i++) {
+            String key = key(scope, messageIds.get(i));
+            if (completed.containsKey(key)) {
+                claims.set(i, Claim.DUPLICATE);
+                counter("rabbitmq.listener.duplicates", scope, "local").increment();
+            } else {
+                keys.add(key);
+                positions.add(i);
+            }
+        }
+        if (keys.isEmpty()) {
+            return claims;
+        }
+
+        List<?> result;
+        try {
+            result = redisTemplate.execute(CLAIM, keys, String.valueOf(config.getLeaseSeconds() * 1000));
+        } catch (RuntimeException e) {
+            if (!config.isFailOpen()) {
+                throw e;
+            }
+            log.warn("Idempotency check unavailable for {} ({} messages processed unchecked): {}",
+                    scope, keys.size(), e.getMessage());
+            counter("rabbitmq.listener.idempotency.unchecked", scope, null).increment(keys.size());
+            positions.forEach(i -> claims.set(i, Claim.UNCHECKED));
+            return claims;
+        }
+
+        for (int j = 0; j < positions.size(); j++) {
+            long state = ((Number) result.get(j)).longValue();
+            Claim claim = state == 1 ? Claim.CLAIMED : state == 0 ? Claim.DUPLICATE : Claim.IN_FLIGHT;
+            if (claim == Claim.DUPLICATE) {
+                completed.put(keys.get(j), Boolean.TRUE);
+                counter("rabbitmq.listener.duplicates", scope, "redis").increment();
+            }
+            claims.set(positions.get(j), claim);
+        }
+        return claims;
+    }
+
+    /**
+     * Record the claimed message-ids as processed for {@code ttl}. A failure is only logged: the
+     * claims then expire after the lease and a later duplicate is processed again.
+     */
+    public void complete(String scope, Collection<String> messageIds, Duration ttl) {
+        if (messageIds.isEmpty()) {
+            return;
+        }
+        List<String> keys = keys(scope, messageIds);
+        keys.forEach(key -> completed.put(key, Boolean.TRUE));
+        try {
+            redisTemplate.execute(COMPLETE, keys, DONE, String.valueOf(ttl.toMillis()));
+        } catch (RuntimeException e) {
+            log.warn("Failed to record {} processed messages for {}: {}", keys.size(), scope, e.getMessage());
+        }
+    }
+
+    /**
+     * Drop the claims after a failure so the retried delivery is processed. Claims already
+     * completed are left alone. A failure is only logged: the claims expire after the lease.
+     */
+    public void release(String scope, Collection<String> messageIds) {
+        if (messageIds.isEmpty()) {
+            return;
+        }
+        List<String> keys = keys(scope, messageIds);
+        try {
+            redisTemplate.execute(RELEASE, keys, PROCESSING);
+        } catch (RuntimeException e) {
+            log.warn("Failed to release {} claims for {}, they expire in {}s: {}",
+                    keys.size(), scope, config.getLeaseSeconds(), e.getMessage());
+        }
+    }
+
+    /**
+     * Extend the lease of the claimed message-ids every lease/3 until the returned heartbeat is
+     * closed. A failed renewal is only logged: the claim then expires and a redelivered copy
+     * may run alongside this one.
+     */
+    public Heartbeat keepAlive(String scope, Collection<String> messageIds) {
+        if (messageIds.isEmpty()) {
+            return NO_HEARTBEAT;
+        }
+        List<String> keys = keys(scope, List.copyOf(messageIds));
+        String leaseMs = String.valueOf(config.getLeaseSeconds() * 1000);
+        long periodMs = Math.max(MIN_HEARTBEAT_MS, config.getLeaseSeconds() * 1000 / 3);
+        ScheduledFuture<?> renewal = heartbeats.scheduleAtFixedRate(() -> {
+            try {
+                redisTemplate.execute(EXTEND, keys, PROCESSING, leaseMs);
+            } catch (RuntimeException e) {
+                log.warn("Failed to renew {} claims for {}: {}", keys.size(), scope, e.getMessage());
+            }
+        }, periodMs, periodMs, TimeUnit.MILLISECONDS);
+        return () -> renewal.cancel(false);
+    }
+
+    public Duration defaultTtl() {
+        return Duration.ofSeconds(config.getTtlSeconds());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+    }
+
+    private static String key(String scope, String messageId) {
+        return RedisKey.IDEMPOTENCY.key(scope, messageId);
+    }
+
+    private static List<String> keys(String scope, Collection<String> messageIds) {
+        return messageIds.stream().map(id -> key(scope, id)).toList();
+    }
+
+    private Counter counter(String name, String scope, String source) {
+        return counters.computeIfAbsent(name + '|' + scope + '|' + source, k -> {
+            Counter.Builder builder = Counter.builder(name).tag("listener", scope);
+            if (source != null) {
+                builder.description("Duplicate deliveries skipped by idempotent listeners").tag("source", source);
+            } else {
+                builder.description("Messages processed without an idempotency check because Redis was unavailable");
+            }
+            return builder.register(meterRegistry);
+        });
+    }
+}
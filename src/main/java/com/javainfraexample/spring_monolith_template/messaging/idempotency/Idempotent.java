@@ -0,0 +1,41 @@
+package com.javainfraexample.spring_monolith_template.messaging.idempotency;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Skips messages this listener has already processed, by AMQP message-id.
+ *
+ * Usage:
+ * <pre>
+ * &#64;Idempotent
+ * &#64;RabbitListener(queues = QueueConstants.EMAIL_QUEUE)
+ * public void onMessage(EmailMessage email,
+ *                       &#64;Header(name = AmqpHeaders.MESSAGE_ID, required = false) String messageId) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * The message-id is taken from a parameter annotated {@code @Header(AmqpHeaders.MESSAGE_ID)} or
+ * from a {@code Message} parameter. Messages without one are processed normally. A duplicate
+ * returns without invoking the method (the delivery is acked); see {@link IdempotencyAspect}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Idempotent {
+
+    /**
+     * Dedup scope — listeners with different scopes each process the same message once.
+     * Default: the listener's simple class name.
+     */
+    String scope() default "";
+
+    /**
+     * How long a processed message-id is remembered, in seconds. Default (0): {@code app.messaging.idempotency.ttl-seconds}.
+     */
+    long ttlSeconds() default 0;
+}
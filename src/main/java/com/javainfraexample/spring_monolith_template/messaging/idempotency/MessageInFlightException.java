@@ -0,0 +1,14 @@
+package com.javainfraexample.spring_monolith_template.messaging.idempotency;
+
+/**
+ * Another consumer holds the claim on this message-id and hasn't finished yet. The recoverer
+ * parks the delivery in the queue's hold queue for longer than the lease, without counting it
+ * as an attempt: by then the claim is done (duplicate, skipped), released after a failure, or
+ * expired because its consumer died (processed again).
+ */
+public class MessageInFlightException extends RuntimeException {
+
+    public MessageInFlightException(String scope, String messageId) {
+        super("Message " + messageId + " is already being processed by " + scope);
+    }
+}
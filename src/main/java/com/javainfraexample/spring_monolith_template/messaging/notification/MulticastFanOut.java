@@ -0,0 +1,95 @@
+package com.javainfraexample.spring_monolith_template.messaging.notification;
+
+import com.javainfraexample.spring_monolith_template.messaging.notification.message.NotificationMessage;
+import com.javainfraexample.spring_monolith_template.services.notification.NotificationService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Delivers one multicast chunk by splitting it into provider-sized batches and sending them
+ * in parallel on virtual threads.
+ *
+ *   - batch size:  {@code app.notification.multicast.send-batch-size}
+ *   - parallelism: {@code app.notification.multicast.max-parallel-sends}, shared by every
+ *                  listener thread on this node so concurrent chunks can't multiply it
+ *
+ * Provider calls are I/O bound, so a virtual thread per batch is cheap; the semaphore is what
+ * keeps the provider from being flooded. Failed tokens are collected per batch — a batch that
+ * throws counts all of its tokens as failed — so the caller can retry only those.
+ *
+ * Metrics: {@code notification.multicast.tokens{outcome=delivered|failed}}
+ */
+@Slf4j
+@Component
+public class MulticastFanOut {
+
+    private final NotificationService notificationService;
+    private final NotificationDeliveryConfig config;
+    private final Semaphore sendPermits;
+    private final Counter delivered;
+    private final Counter failed;
+
+    public MulticastFanOut(NotificationService notificationService,
+                           NotificationDeliveryConfig config,
+                           MeterRegistry meterRegistry) {
+        this.notificationService = notificationService;
+        this.config = config;
+        this.sendPermits = new Semaphore(Math.max(1, config.getMulticast().getMaxParallelSends()));
+        this.delivered = Counter.builder("notification.multicast.tokens")
+                .description("Multicast tokens by delivery outcome")
+                .tag("outcome", "delivered")
+                .register(meterRegistry);
+        this.failed = Counter.builder("notification.multicast.tokens")
+                .description("Multicast tokens by delivery outcome")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return tokens that could not be delivered (empty when the whole chunk succeeded)
+     */
+    public List<String> deliver(NotificationMessage message) throws InterruptedException {
+        List<String> tokens = message.tokens();
+        if (tokens == null || tokens.isEmpty()) {
+            return List.of();
+        }
+
+        int batchSize = Math.max(1, config.getMulticast().getSendBatchSize());
+        Queue<String> failedTokens = new ConcurrentLinkedQueue<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int from = 0; from < tokens.size(); from += batchSize) {
+                List<String> batch = tokens.subList(from, Math.min(tokens.size(), from + batchSize));
+                sendPermits.acquire();
+                executor.execute(() -> {
+                    try {
+                        failedTokens.addAll(notificationService.sendToTokens(
+                                batch, message.title(), message.body(), message.priority(), message.data()));
+                    } catch (Exception e) {
+                        log.warn("[NOTIFICATION MULTICAST] Batch of {} tokens failed: {}", batch.size(), e.getMessage());
+                        failedTokens.addAll(batch);
+                    } finally {
+                        sendPermits.release();
+                    }
+                });
+            }
+        } // close() waits for every batch
+
+        List<String> result = new ArrayList<>(failedTokens);
+        delivered.increment(tokens.size() - result.size());
+        failed.increment(result.size());
+        return result;
+    }
+}
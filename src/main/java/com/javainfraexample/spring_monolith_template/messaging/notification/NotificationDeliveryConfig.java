@@ -0,0 +1,53 @@
+package com.javainfraexample.spring_monolith_template.messaging.notification;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Notification delivery settings.
+ *
+ * <pre>
+ * app:
+ *   notification:
+ *     provider: none            # none | logging (selects the NotificationService bean)
+ *     high-priority-concurrency: 2-4
+ *     multicast:
+ *       chunk-size: 1000        # tokens per queued message (split at publish time)
+ *       send-batch-size: 100    # tokens per provider call inside a chunk
+ *       max-parallel-sends: 32  # provider calls in flight per node (virtual threads)
+ *       max-attempts: 3         # then the still-failing tokens go to the DLQ
+ *     topics:
+ *       cache-ttl-minutes: 60   # Redis subscriber set lifetime (rebuilt from Postgres on miss)
+ *       scan-count: 500         # SSCAN COUNT hint when streaming a topic
+ * </pre>
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "app.notification")
+public class NotificationDeliveryConfig {
+
+    private String provider = "none";
+    private String highPriorityConcurrency = "2-4";
+    private Multicast multicast = new Multicast();
+    private Topics topics = new Topics();
+
+    @Getter
+    @Setter
+    public static class Multicast {
+        private int chunkSize = 1000;
+        private int sendBatchSize = 100;
+        private int maxParallelSends = 32;
+        private int maxAttempts = 3;
+    }
+
+    @Getter
+    @Setter
+    public static class Topics {
+        private int cacheTtlMinutes = 60;
+        private int scanCount = 500;
+    }
+}
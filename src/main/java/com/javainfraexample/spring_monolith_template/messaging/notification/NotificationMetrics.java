@@ -0,0 +1,45 @@
+package com.javainfraexample.spring_monolith_template.messaging.notification;
+
+import com.javainfraexample.spring_monolith_template.messaging.notification.constant.NotificationConstants;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end notification latency (publish → processed), tagged by type and priority.
+ *
+ * Metric: {@code notification.delivery.latency{type, priority}} — percentiles and SLO
+ * buckets come from the Timer's histogram, so p99 of HIGH can be alerted on directly.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * @param publishedAt value of the {@code x-published-at} header, null for messages published before it existed
+     */
+    public void recordDelivered(String type, String priority, Long publishedAt) {
+        if (publishedAt == null) {
+            return;
+        }
+        String level = priority != null ? priority : NotificationConstants.PRIORITY_NORMAL;
+        long latencyMillis = Math.max(0, System.currentTimeMillis() - publishedAt);
+        timers.computeIfAbsent(type + ":" + level, k -> Timer.builder("notification.delivery.latency")
+                .description("Time from publish to processed notification")
+                .tag("type", type)
+                .tag("priority", level)
+                .publishPercentileHistogram()
+                .register(meterRegistry))
+            .record(latencyMillis, TimeUnit.MILLISECONDS);
+    }
+}
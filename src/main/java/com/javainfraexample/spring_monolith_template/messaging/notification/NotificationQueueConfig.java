@@ -1,9 +1,12 @@
 package com.javainfraexample.spring_monolith_template.messaging.notification;
 
 import com.javainfraexample.spring_monolith_template.messaging.constant.QueueConstants;
+import com.javainfraexample.spring_monolith_template.messaging.notification.constant.NotificationConstants;
+import com.javainfraexample.spring_monolith_template.messaging.retry.RetryTopology;
 
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarables;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.QueueBuilder;
 import org.springframework.amqp.core.TopicExchange;
@@ -11,7 +14,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
- * Notification queue infrastructure — declares all 3 notification queues, DLQs, and bindings.
+ * Notification queue infrastructure — declares the notification queues, delayed retry queues, DLQs, and bindings.
  *
  * <h3>Notification types:</h3>
  * <ul>
@@ -25,13 +28,25 @@ import org.springframework.context.annotation.Configuration;
  *   app.notification.single      → SingleNotificationListener      (DLQ: app.notification.single.dlq)
  *   app.notification.multicast   → MulticastNotificationListener   (DLQ: app.notification.multicast.dlq)
  *   app.notification.topic       → TopicNotificationListener       (DLQ: app.notification.topic.dlq)
+ *   app.notification.high        → HighPriorityNotificationListener (DLQ: app.notification.high.dlq)
  * </pre>
+ *
+ * <p>Each queue has {@code .retry.{n}} delay queues (see {@code RetryTopology}): a failed message
+ * waits there and comes back, instead of holding a consumer through a backoff.</p>
+ *
+ * <h3>Priority:</h3>
+ * HIGH notifications of every type go to {@code app.notification.high}, which has its own
+ * consumers, so security alerts never wait behind a burst of broadcasts. The per-type queues
+ * are priority queues ({@code x-max-priority}), so NORMAL is delivered before LOW when they back up.
+ *
+ * <p>Adding {@code x-max-priority} changes queue arguments: delete the three existing
+ * per-type queues once (they are re-declared on startup) before deploying.</p>
  */
 @Configuration
 public class NotificationQueueConfig {
 
     // ===========================================
-    // Single Notification — Queue + DLQ
+    // Single Notification — Queue + Retry + DLQ
     // ===========================================
 
     @Bean
@@ -39,6 +54,7 @@ public class NotificationQueueConfig {
         return QueueBuilder.durable(QueueConstants.NOTIFICATION_SINGLE_QUEUE)
                 .withArgument("x-dead-letter-exchange", QueueConstants.DLX_EXCHANGE)
                 .withArgument("x-dead-letter-routing-key", QueueConstants.NOTIFICATION_SINGLE_DLQ)
+                .maxPriority(NotificationConstants.MAX_PRIORITY)
                 .build();
     }
 
@@ -48,6 +64,12 @@ public class NotificationQueueConfig {
                 .with(QueueConstants.NOTIFICATION_SINGLE_ROUTING_KEY);
     }
 
+    @Bean
+    public Declarables notificationSingleRetryQueues(RetryTopology retryTopology, TopicExchange dlxExchange) {
+        return retryTopology.declare(QueueConstants.NOTIFICATION_SINGLE_QUEUE, QueueConstants.NOTIFICATION_SINGLE_ROUTING_KEY,
+                QueueConstants.NOTIFICATION_SINGLE_DLQ, dlxExchange);
+    }
+
     @Bean
     public Queue notificationSingleDlq() {
         return QueueBuilder.durable(QueueConstants.NOTIFICATION_SINGLE_DLQ).build();
@@ -60,7 +82,7 @@ public class NotificationQueueConfig {
     }
 
     // ===========================================
-    // Multicast Notification — Queue + DLQ
+    // Multicast Notification — Queue + Retry + DLQ
     // ===========================================
 
     @Bean
@@ -68,6 +90,7 @@ public class NotificationQueueConfig {
         return QueueBuilder.durable(QueueConstants.NOTIFICATION_MULTICAST_QUEUE)
                 .withArgument("x-dead-letter-exchange", QueueConstants.DLX_EXCHANGE)
                 .withArgument("x-dead-letter-routing-key", QueueConstants.NOTIFICATION_MULTICAST_DLQ)
+                .maxPriority(NotificationConstants.MAX_PRIORITY)
                 .build();
     }
 
@@ -77,6 +100,12 @@ public class NotificationQueueConfig {
                 .with(QueueConstants.NOTIFICATION_MULTICAST_ROUTING_KEY);
     }
 
+    @Bean
+    public Declarables notificationMulticastRetryQueues(RetryTopology retryTopology, TopicExchange dlxExchange) {
+        return retryTopology.declare(QueueConstants.NOTIFICATION_MULTICAST_QUEUE, QueueConstants.NOTIFICATION_MULTICAST_ROUTING_KEY,
+                QueueConstants.NOTIFICATION_MULTICAST_DLQ, dlxExchange);
+    }
+
     @Bean
     public Queue notificationMulticastDlq() {
         return QueueBuilder.durable(QueueConstants.NOTIFICATION_MULTICAST_DLQ).build();
@@ -89,7 +118,7 @@ public class NotificationQueueConfig {
     }
 
     // ===========================================
-    // Topic Notification — Queue + DLQ
+    // Topic Notification — Queue + Retry + DLQ
     // ===========================================
 
     @Bean
@@ -97,6 +126,7 @@ public class NotificationQueueConfig {
         return QueueBuilder.durable(QueueConstants.NOTIFICATION_TOPIC_QUEUE)
                 .withArgument("x-dead-letter-exchange", QueueConstants.DLX_EXCHANGE)
                 .withArgument("x-dead-letter-routing-key", QueueConstants.NOTIFICATION_TOPIC_DLQ)
+                .maxPriority(NotificationConstants.MAX_PRIORITY)
                 .build();
     }
 
@@ -106,6 +136,12 @@ public class NotificationQueueConfig {
                 .with(QueueConstants.NOTIFICATION_TOPIC_ROUTING_KEY);
     }
 
+    @Bean
+    public Declarables notificationTopicRetryQueues(RetryTopology retryTopology, TopicExchange dlxExchange) {
+        return retryTopology.declare(QueueConstants.NOTIFICATION_TOPIC_QUEUE, QueueConstants.NOTIFICATION_TOPIC_ROUTING_KEY,
+                QueueConstants.NOTIFICATION_TOPIC_DLQ, dlxExchange);
+    }
+
     @Bean
     public Queue notificationTopicDlq() {
         return QueueBuilder.durable(QueueConstants.NOTIFICATION_TOPIC_DLQ).build();
@@ -116,4 +152,39 @@ public class NotificationQueueConfig {
         return BindingBuilder.bind(notificationTopicDlq).to(dlxExchange)
                 .with(QueueConstants.NOTIFICATION_TOPIC_DLQ);
     }
+
+    // ===========================================
+    // High Priority Notification — Queue + Retry + DLQ
+    // ===========================================
+
+    @Bean
+    public Queue notificationHighQueue() {
+        return QueueBuilder.durable(QueueConstants.NOTIFICATION_HIGH_QUEUE)
+                .withArgument("x-dead-letter-exchange", QueueConstants.DLX_EXCHANGE)
+                .withArgument("x-dead-letter-routing-key", QueueConstants.NOTIFICATION_HIGH_DLQ)
+                .build();
+    }
+
+    @Bean
+    public Binding notificationHighBinding(Queue notificationHighQueue, TopicExchange mainExchange) {
+        return BindingBuilder.bind(notificationHighQueue).to(mainExchange)
+                .with(QueueConstants.NOTIFICATION_HIGH_ROUTING_KEY);
+    }
+
+    @Bean
+    public Declarables notificationHighRetryQueues(RetryTopology retryTopology, TopicExchange dlxExchange) {
+        return retryTopology.declare(QueueConstants.NOTIFICATION_HIGH_QUEUE, QueueConstants.NOTIFICATION_HIGH_ROUTING_KEY,
+                QueueConstants.NOTIFICATION_HIGH_DLQ, dlxExchange);
+    }
+
+    @Bean
+    public Queue notificationHighDlq() {
+        return QueueBuilder.durable(QueueConstants.NOTIFICATION_HIGH_DLQ).build();
+    }
+
+    @Bean
+    public Binding notificationHighDlqBinding(Queue notificationHighDlq, TopicExchange dlxExchange) {
+        return BindingBuilder.bind(notificationHighDlq).to(dlxExchange)
+                .with(QueueConstants.NOTIFICATION_HIGH_DLQ);
+    }
 }
@@ -1,7 +1,9 @@
 package com.javainfraexample.spring_monolith_template.messaging.notification.constant;
 
+import com.javainfraexample.spring_monolith_template.messaging.constant.QueueConstants;
+
 /**
- * Notification-specific constants — types and priority levels.
+ * Notification-specific constants — types, priority levels and their AMQP mapping.
  *
  * <p>Queue/routing key names are in {@code QueueConstants} (shared registry).
  * This class holds domain-specific values used by publishers and listeners.</p>
@@ -30,4 +32,33 @@ public final class NotificationConstants {
     public static final String PRIORITY_HIGH = "HIGH";
     public static final String PRIORITY_NORMAL = "NORMAL";
     public static final String PRIORITY_LOW = "LOW";
+
+    // ===========================================
+    // AMQP priorities (queues declared with x-max-priority = MAX_PRIORITY)
+    // ===========================================
+
+    /** Few levels on purpose: RabbitMQ keeps one sub-queue per level. */
+    public static final int MAX_PRIORITY = 2;
+
+    public static final int AMQP_PRIORITY_LOW = 0;
+    public static final int AMQP_PRIORITY_NORMAL = 1;
+    public static final int AMQP_PRIORITY_HIGH = 2;
+
+    /** Epoch millis when the notification was published — used for end-to-end latency. */
+    public static final String HEADER_PUBLISHED_AT = "x-published-at";
+
+    /** Delivery attempt of a re-published multicast chunk — the same header delayed retries count with. */
+    public static final String HEADER_ATTEMPT = QueueConstants.HEADER_ATTEMPT;
+
+    /** Map a {@code PRIORITY_*} value to its AMQP priority; unknown or missing → NORMAL. */
+    public static int amqpPriority(String priority) {
+        if (priority == null) {
+            return AMQP_PRIORITY_NORMAL;
+        }
+        return switch (priority) {
+            case PRIORITY_HIGH -> AMQP_PRIORITY_HIGH;
+            case PRIORITY_LOW -> AMQP_PRIORITY_LOW;
+            default -> AMQP_PRIORITY_NORMAL;
+        };
+    }
 }
@@ -0,0 +1,49 @@
+package com.javainfraexample.spring_monolith_template.messaging.notification.listener;
+
+import com.javainfraexample.spring_monolith_template.messaging.constant.QueueConstants;
+import com.javainfraexample.spring_monolith_template.messaging.notification.constant.NotificationConstants;
+import com.javainfraexample.spring_monolith_template.messaging.notification.message.NotificationMessage;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consumes HIGH priority notifications of every type on dedicated consumers,
+ * then hands each one to the listener for its type.
+ *
+ * <p>These consumers only ever see HIGH traffic, so a backlog of NORMAL/LOW
+ * broadcasts can't hold up e.g. security alerts.</p>
+ * <p>Idempotency is checked by the listener for the type (the message-id is passed on).</p>
+ * <p>Concurrency: {@code app.notification.high-priority-concurrency} (default 2-4).</p>
+ * <p>Queue: {@code app.notification.high}</p>
+ * <p>DLQ: {@code app.notification.high.dlq}</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HighPriorityNotificationListener {
+
+    private final SingleNotificationListener singleListener;
+    private final MulticastNotificationListener multicastListener;
+    private final TopicNotificationListener topicListener;
+
+    @RabbitListener(queues = QueueConstants.NOTIFICATION_HIGH_QUEUE,
+                    concurrency = "${app.notification.high-priority-concurrency:2-4}")
+    public void onMessage(NotificationMessage message,
+                          @Header(name = NotificationConstants.HEADER_PUBLISHED_AT, required = false) Long publishedAt,
+                          @Header(name = NotificationConstants.HEADER_ATTEMPT, required = false) Integer attempt,
+                          @Header(name = AmqpHeaders.MESSAGE_ID, required = false) String messageId)
+            throws InterruptedException {
+        switch (message.type()) {
+            case NotificationConstants.TYPE_SINGLE -> singleListener.onMessage(message, publishedAt, messageId);
+            case NotificationConstants.TYPE_MULTICAST -> multicastListener.onMessage(message, publishedAt, attempt, messageId);
+            case NotificationConstants.TYPE_TOPIC -> topicListener.onMessage(message, publishedAt, messageId);
+            default -> throw new IllegalArgumentException("Unknown notification type: " + message.type());
+        }
+    }
+}
@@ -1,36 +1,77 @@
 package com.javainfraexample.spring_monolith_template.messaging.notification.listener;
 
 import com.javainfraexample.spring_monolith_template.messaging.constant.QueueConstants;
+import com.javainfraexample.spring_monolith_template.messaging.idempotency.Idempotent;
+import com.javainfraexample.spring_monolith_template.messaging.notification.MulticastFanOut;
+import com.javainfraexample.spring_monolith_template.messaging.notification.NotificationDeliveryConfig;
+import com.javainfraexample.spring_monolith_template.messaging.notification.NotificationMetrics;
+import com.javainfraexample.spring_monolith_template.messaging.notification.constant.NotificationConstants;
 import com.javainfraexample.spring_monolith_template.messaging.notification.message.NotificationMessage;
+import com.javainfraexample.spring_monolith_template.messaging.notification.publisher.NotificationPublisher;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
  * Consumes multicast notification messages — delivers to a list of tokens.
  *
- * <p>Retry: Spring auto-retry (3 attempts, exponential backoff) → DLQ on exhaustion.</p>
+ * <p>Each message is one chunk (see {@code app.notification.multicast.chunk-size}); its tokens
+ * are sent in parallel batches by {@link MulticastFanOut}.</p>
+ * <p>Retry: only the tokens that failed are re-published as a new chunk with {@code x-attempt}
+ * incremented, through the multicast delay queues; after {@code app.notification.multicast.max-attempts}
+ * they go to the DLQ. Unexpected errors retry the whole chunk the same way (DelayedRetryRecoverer).</p>
+ * <p>Idempotent: a redelivered chunk that was already fanned out is skipped. Re-published failed
+ * tokens are a new message with a new message-id.</p>
  * <p>Queue: {@code app.notification.multicast}</p>
  * <p>DLQ: {@code app.notification.multicast.dlq}</p>
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class MulticastNotificationListener {
 
-    // TODO: Inject your notification service here
-    // private final NotificationService notificationService;
+    private final MulticastFanOut fanOut;
+    private final NotificationPublisher notificationPublisher;
+    private final NotificationDeliveryConfig deliveryConfig;
+    private final NotificationMetrics notificationMetrics;
 
+    @Idempotent
     @RabbitListener(queues = QueueConstants.NOTIFICATION_MULTICAST_QUEUE)
-    public void onMessage(NotificationMessage message) {
-        log.info("[NOTIFICATION MULTICAST] Received: tokens={}, title={}, priority={}",
-                message.tokens() != null ? message.tokens().size() : 0, message.title(), message.priority());
+    public void onMessage(NotificationMessage message,
+                          @Header(name = NotificationConstants.HEADER_PUBLISHED_AT, required = false) Long publishedAt,
+                          @Header(name = NotificationConstants.HEADER_ATTEMPT, required = false) Integer attempt,
+                          @Header(name = AmqpHeaders.MESSAGE_ID, required = false) String messageId)
+            throws InterruptedException {
+        int currentAttempt = attempt != null ? attempt : 0;
+        int tokenCount = message.tokens() != null ? message.tokens().size() : 0;
+        log.info("[NOTIFICATION MULTICAST] Received: tokens={}, title={}, priority={}, attempt={}",
+                tokenCount, message.title(), message.priority(), currentAttempt);
+
+        List<String> failed = fanOut.deliver(message);
 
-        // TODO: Delegate to notification service
-        // notificationService.sendToTokens(message.tokens(), message.title(), message.body(), message.priority(), message.data());
+        if (failed.isEmpty()) {
+            log.info("[NOTIFICATION MULTICAST] Processed successfully for {} tokens", tokenCount);
+            notificationMetrics.recordDelivered(NotificationConstants.TYPE_MULTICAST, message.priority(), publishedAt);
+            return;
+        }
 
-        log.info("[NOTIFICATION MULTICAST] Processed successfully for {} tokens",
-                message.tokens() != null ? message.tokens().size() : 0);
+        NotificationMessage remaining = NotificationMessage.multicast(
+                failed, message.title(), message.body(), message.priority(), message.data());
+        int nextAttempt = currentAttempt + 1;
+        if (nextAttempt < deliveryConfig.getMulticast().getMaxAttempts()) {
+            log.warn("[NOTIFICATION MULTICAST] {}/{} tokens failed, retrying them (attempt {})",
+                    failed.size(), tokenCount, nextAttempt);
+            notificationPublisher.resendMulticast(remaining, nextAttempt, publishedAt);
+        } else {
+            notificationPublisher.deadLetterMulticast(remaining, nextAttempt,
+                    failed.size() + " tokens failed after " + nextAttempt + " attempts");
+        }
     }
 }
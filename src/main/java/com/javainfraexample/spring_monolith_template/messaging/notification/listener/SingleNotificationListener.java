@@ -1,29 +1,42 @@
 package com.javainfraexample.spring_monolith_template.messaging.notification.listener;
 
 import com.javainfraexample.spring_monolith_template.messaging.constant.QueueConstants;
+import com.javainfraexample.spring_monolith_template.messaging.idempotency.Idempotent;
+import com.javainfraexample.spring_monolith_template.messaging.notification.NotificationMetrics;
+import com.javainfraexample.spring_monolith_template.messaging.notification.constant.NotificationConstants;
 import com.javainfraexample.spring_monolith_template.messaging.notification.message.NotificationMessage;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
 /**
  * Consumes single notification messages — delivers to one specific token.
  *
- * <p>Retry: Spring auto-retry (3 attempts, exponential backoff) → DLQ on exhaustion.</p>
+ * <p>Idempotent: a redelivered message-id that was already delivered is skipped.</p>
+ * <p>Retry: delayed re-delivery via {@code .retry.{n}} queues (3 attempts) → DLQ on exhaustion.</p>
  * <p>Queue: {@code app.notification.single}</p>
  * <p>DLQ: {@code app.notification.single.dlq}</p>
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class SingleNotificationListener {
 
+    private final NotificationMetrics notificationMetrics;
+
     // TODO: Inject your notification service here
     // private final NotificationService notificationService;
 
+    @Idempotent
     @RabbitListener(queues = QueueConstants.NOTIFICATION_SINGLE_QUEUE)
-    public void onMessage(NotificationMessage message) {
+    public void onMessage(NotificationMessage message,
+                          @Header(name = NotificationConstants.HEADER_PUBLISHED_AT, required = false) Long publishedAt,
+                          @Header(name = AmqpHeaders.MESSAGE_ID, required = false) String messageId) {
         log.info("[NOTIFICATION SINGLE] Received: token={}, title={}, priority={}",
                 message.token(), message.title(), message.priority());
 
@@ -31,5 +44,6 @@ public class SingleNotificationListener {
         // notificationService.sendToToken(message.token(), message.title(), message.body(), message.priority(), message.data());
 
         log.info("[NOTIFICATION SINGLE] Processed successfully for token: {}", message.token());
+        notificationMetrics.recordDelivered(NotificationConstants.TYPE_SINGLE, message.priority(), publishedAt);
     }
 }
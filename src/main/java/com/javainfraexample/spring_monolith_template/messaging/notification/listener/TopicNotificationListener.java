@@ -1,35 +1,65 @@
 package com.javainfraexample.spring_monolith_template.messaging.notification.listener;
 
 import com.javainfraexample.spring_monolith_template.messaging.constant.QueueConstants;
+import com.javainfraexample.spring_monolith_template.messaging.idempotency.Idempotent;
+import com.javainfraexample.spring_monolith_template.messaging.notification.NotificationDeliveryConfig;
+import com.javainfraexample.spring_monolith_template.messaging.notification.NotificationMetrics;
+import com.javainfraexample.spring_monolith_template.messaging.notification.constant.NotificationConstants;
 import com.javainfraexample.spring_monolith_template.messaging.notification.message.NotificationMessage;
+import com.javainfraexample.spring_monolith_template.messaging.notification.publisher.NotificationPublisher;
+import com.javainfraexample.spring_monolith_template.services.notification.TopicSubscriptionService;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Consumes topic-based notification messages — broadcasts to all subscribers of a topic.
  *
- * <p>Retry: Spring auto-retry (3 attempts, exponential backoff) → DLQ on exhaustion.</p>
+ * <p>Subscribers are streamed page by page from {@link TopicSubscriptionService} and each page
+ * is published as a multicast chunk, so memory stays at one page whatever the topic size and
+ * delivery, retries and DLQ entries are handled per chunk by the multicast listener.</p>
+ * <p>Retry: delayed re-delivery via {@code .retry.{n}} queues (3 attempts) → DLQ on exhaustion. A retry
+ * starts the split over; each chunk's message-id is {@code topicMessageId:chunkIndex}, so the
+ * multicast listener skips the chunks the failed attempt already queued. Pages are only stable
+ * while the subscriber set is: a subscription change, or the Redis set expiring so the retry reads
+ * Postgres order instead of SSCAN order, shifts tokens across chunk boundaries, so some tokens
+ * may be skipped or sent twice.</p>
+ * <p>Idempotent: a redelivered topic message that was already split is skipped.</p>
  * <p>Queue: {@code app.notification.topic}</p>
  * <p>DLQ: {@code app.notification.topic.dlq}</p>
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class TopicNotificationListener {
 
-    // TODO: Inject your notification service here
-    // private final NotificationService notificationService;
+    private final TopicSubscriptionService subscriptionService;
+    private final NotificationPublisher notificationPublisher;
+    private final NotificationDeliveryConfig deliveryConfig;
+    private final NotificationMetrics notificationMetrics;
 
+    @Idempotent
     @RabbitListener(queues = QueueConstants.NOTIFICATION_TOPIC_QUEUE)
-    public void onMessage(NotificationMessage message) {
+    public void onMessage(NotificationMessage message,
+                          @Header(name = NotificationConstants.HEADER_PUBLISHED_AT, required = false) Long publishedAt,
+                          @Header(name = AmqpHeaders.MESSAGE_ID, required = false) String messageId) {
         log.info("[NOTIFICATION TOPIC] Received: topic={}, title={}, priority={}",
                 message.topic(), message.title(), message.priority());
 
-        // TODO: Delegate to notification service
-        // notificationService.sendToTopic(message.topic(), message.title(), message.body(), message.priority(), message.data());
+        AtomicInteger chunkIndex = new AtomicInteger();
+        long subscribers = subscriptionService.forEachPage(message.topic(), deliveryConfig.getMulticast().getChunkSize(),
+                page -> notificationPublisher.sendTopicChunk(message, page, publishedAt, messageId,
+                        chunkIndex.getAndIncrement()));
 
-        log.info("[NOTIFICATION TOPIC] Processed successfully for topic: {}", message.topic());
+        log.info("[NOTIFICATION TOPIC] Processed successfully for topic: {} ({} subscribers queued)",
+                message.topic(), subscribers);
+        notificationMetrics.recordDelivered(NotificationConstants.TYPE_TOPIC, message.priority(), publishedAt);
     }
 }
@@ -1,13 +1,16 @@
 package com.javainfraexample.spring_monolith_template.messaging.notification.publisher;
 
 import com.javainfraexample.spring_monolith_template.messaging.constant.QueueConstants;
+import com.javainfraexample.spring_monolith_template.messaging.notification.NotificationDeliveryConfig;
 import com.javainfraexample.spring_monolith_template.messaging.notification.constant.NotificationConstants;
 import com.javainfraexample.spring_monolith_template.messaging.notification.message.NotificationMessage;
+import com.javainfraexample.spring_monolith_template.messaging.outbox.OutboxPublisher;
+import com.javainfraexample.spring_monolith_template.messaging.retry.RetryTopology;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.core.MessageProperties;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -16,6 +19,8 @@ import java.util.Map;
 /**
  * Single publisher for all notification types — routes to the correct queue based on type.
  *
+ * <p>Sent via {@link OutboxPublisher}: a notification is only relayed if the caller's transaction commits.</p>
+ *
  * <h3>Usage:</h3>
  * <pre>
  * notificationPublisher.sendSingle("token-123", "Welcome!", "Thanks for signing up.", "HIGH", Map.of("url", "/home"));
@@ -28,15 +33,113 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class NotificationPublisher {
 
-    private final RabbitTemplate rabbitTemplate;
+    private final OutboxPublisher outboxPublisher;
+    private final NotificationDeliveryConfig deliveryConfig;
+    private final RetryTopology retryTopology;
 
     /**
-     * Send a notification message — automatically routes to the correct queue based on {@code type}.
+     * Send a notification message — routes by {@code type}; HIGH priority goes to the dedicated
+     * high-priority queue instead. The AMQP priority is set from {@code priority}.
+     *
+     * <p>Multicasts with more than {@code app.notification.multicast.chunk-size} tokens are split
+     * into one message per chunk, so each chunk is consumed, retried and dead-lettered on its own.</p>
      */
     public void send(NotificationMessage message) {
-        String routingKey = resolveRoutingKey(message.type());
-        rabbitTemplate.convertAndSend(QueueConstants.EXCHANGE, routingKey, message);
-        log.info("Notification published: type={}, priority={}, routingKey={}", message.type(), message.priority(), routingKey);
+        int chunkSize = deliveryConfig.getMulticast().getChunkSize();
+        if (NotificationConstants.TYPE_MULTICAST.equals(message.type())
+                && message.tokens() != null && message.tokens().size() > chunkSize) {
+            List<String> tokens = message.tokens();
+            for (int from = 0; from < tokens.size(); from += chunkSize) {
+                List<String> chunk = List.copyOf(tokens.subList(from, Math.min(tokens.size(), from + chunkSize)));
+                publish(NotificationMessage.multicast(chunk, message.title(), message.body(), message.priority(), message.data()),
+                        System.currentTimeMillis());
+            }
+            log.info("Notification queued: type={}, priority={}, tokens={} in {} chunks", message.type(),
+                    message.priority(), tokens.size(), (tokens.size() + chunkSize - 1) / chunkSize);
+            return;
+        }
+
+        String routingKey = publish(message, System.currentTimeMillis());
+        log.info("Notification queued: type={}, priority={}, routingKey={}", message.type(), message.priority(), routingKey);
+    }
+
+    /**
+     * Publish one page of a topic's subscribers as a multicast chunk, keeping the topic message's
+     * publish time so delivery latency covers the whole broadcast.
+     *
+     * <p>The chunk's message-id is {@code topicMessageId:chunkIndex}, so when a failed split is
+     * retried the multicast listener's idempotency skips the chunks that were already queued.</p>
+     *
+     * @param topicMessageId message-id of the topic message (null: the chunk gets a random id)
+     * @param chunkIndex     0-based position of the page in the split
+     */
+    public void sendTopicChunk(NotificationMessage topicMessage, List<String> tokens, Long publishedAt,
+                               String topicMessageId, int chunkIndex) {
+        NotificationMessage chunk = NotificationMessage.multicast(tokens, topicMessage.title(), topicMessage.body(),
+                topicMessage.priority(), topicMessage.data());
+        MessageProperties properties = properties(chunk, publishedAt != null ? publishedAt : System.currentTimeMillis(), 0);
+        if (topicMessageId != null) {
+            properties.setMessageId(topicMessageId + ":" + chunkIndex);
+        }
+        outboxPublisher.publish(QueueConstants.EXCHANGE, routingKey(chunk), chunk, properties);
+    }
+
+    /**
+     * Re-publish the tokens of a multicast chunk that failed, keeping the original publish time.
+     * The chunk goes through the delay queue for {@code attempt} and then back to its queue.
+     *
+     * @param attempt delivery attempt the new message represents (1 = first retry)
+     */
+    public void resendMulticast(NotificationMessage failed, int attempt, Long publishedAt) {
+        String queue = multicastQueue(failed);
+        MessageProperties properties = properties(failed, publishedAt != null ? publishedAt : System.currentTimeMillis(), attempt);
+        outboxPublisher.publish(QueueConstants.DLX_EXCHANGE, retryTopology.retryRoutingKey(queue, attempt), failed, properties);
+        log.info("Multicast retry queued: tokens={}, attempt={}", failed.tokens().size(), attempt);
+    }
+
+    /**
+     * Send the tokens that failed every attempt straight to the DLQ of the queue they came from
+     * (the HIGH queue for HIGH chunks), so a replay goes back to that queue.
+     */
+    public void deadLetterMulticast(NotificationMessage failed, int attempts, String reason) {
+        String queue = multicastQueue(failed);
+        MessageProperties properties = new MessageProperties();
+        properties.setHeader(NotificationConstants.HEADER_ATTEMPT, attempts);
+        properties.setHeader(QueueConstants.HEADER_ORIGINAL_QUEUE, queue);
+        properties.setHeader(QueueConstants.HEADER_EXCEPTION_MESSAGE, reason);
+        String dlq = QueueConstants.NOTIFICATION_HIGH_QUEUE.equals(queue)
+                ? QueueConstants.NOTIFICATION_HIGH_DLQ
+                : QueueConstants.NOTIFICATION_MULTICAST_DLQ;
+        outboxPublisher.publish(QueueConstants.DLX_EXCHANGE, dlq, failed, properties);
+        log.warn("Multicast dead-lettered: tokens={}, attempts={}, reason={}", failed.tokens().size(), attempts, reason);
+    }
+
+    private String publish(NotificationMessage message, long publishedAt) {
+        String routingKey = routingKey(message);
+        outboxPublisher.publish(QueueConstants.EXCHANGE, routingKey, message, properties(message, publishedAt, 0));
+        return routingKey;
+    }
+
+    private static String multicastQueue(NotificationMessage message) {
+        return NotificationConstants.PRIORITY_HIGH.equals(message.priority())
+                ? QueueConstants.NOTIFICATION_HIGH_QUEUE
+                : QueueConstants.NOTIFICATION_MULTICAST_QUEUE;
+    }
+
+    private String routingKey(NotificationMessage message) {
+        return NotificationConstants.PRIORITY_HIGH.equals(message.priority())
+                ? QueueConstants.NOTIFICATION_HIGH_ROUTING_KEY
+                : resolveRoutingKey(message.type());
+    }
+
+    private static MessageProperties properties(NotificationMessage message, long publishedAt, int attempt) {
+        MessageProperties properties = new MessageProperties();
+        properties.setPriority(NotificationConstants.amqpPriority(message.priority()));
+        properties.setHeader(NotificationConstants.HEADER_PUBLISHED_AT, publishedAt);
+        if (attempt > 0) {
+            properties.setHeader(NotificationConstants.HEADER_ATTEMPT, attempt);
+        }
+        return properties;
     }
 
     /** Send a single (one-to-one) notification. */
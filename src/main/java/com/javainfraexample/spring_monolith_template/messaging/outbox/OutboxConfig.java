@@ -0,0 +1,37 @@
+package com.javainfraexample.spring_monolith_template.messaging.outbox;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Transactional outbox settings.
+ *
+ * <pre>
+ * app:
+ *   outbox:
+ *     enabled: true              # false → publishers send straight to RabbitMQ
+ *     poll-interval-ms: 500
+ *     batch-size: 100            # rows claimed and published per batch
+ *     max-batches-per-poll: 10   # keep draining while batches come back full
+ *     confirm-timeout-ms: 15000  # wait for one batch's confirms (covers the publisher's own retries)
+ *     max-backoff-seconds: 300   # retry delay cap for failed rows
+ *     claim-lease-seconds: 60    # claimed rows are not due again for this long (at least confirm timeout + 5s)
+ * </pre>
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxConfig {
+
+    private boolean enabled = true;
+    private long pollIntervalMs = 500;
+    private int batchSize = 100;
+    private int maxBatchesPerPoll = 10;
+    private long confirmTimeoutMs = 15_000;
+    private long maxBackoffSeconds = 300;
+    private long claimLeaseSeconds = 60;
+}
@@ -0,0 +1,93 @@
+package com.javainfraexample.spring_monolith_template.messaging.outbox;
+
+import com.javainfraexample.spring_monolith_template.messaging.publisher.AsyncRabbitPublisher;
+import com.javainfraexample.spring_monolith_template.repository.outbox.OutboxRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Writes messages to the outbox table instead of sending them to RabbitMQ.
+ *
+ * <p>The insert joins the caller's transaction: the message exists if and only if the
+ * business change commits, and the request thread never waits on the broker.
+ * {@link OutboxRelay} publishes committed rows afterwards (at-least-once).</p>
+ *
+ * <h3>Usage:</h3>
+ * <pre>
+ * outboxPublisher.publish(QueueConstants.EXCHANGE, QueueConstants.EMAIL_ROUTING_KEY, emailMessage);
+ * </pre>
+ *
+ * With {@code app.outbox.enabled=false} messages go straight to {@link AsyncRabbitPublisher}
+ * (not tied to the transaction; failures are only logged).
+ */
+@Slf4j
+@Service
+public class OutboxPublisher {
+
+    private final OutboxRepository outboxRepository;
+    private final AsyncRabbitPublisher asyncRabbitPublisher;
+    private final MessageConverter messageConverter;
+    private final OutboxConfig config;
+
+    public OutboxPublisher(OutboxRepository outboxRepository,
+                           AsyncRabbitPublisher asyncRabbitPublisher,
+                           MessageConverter jacksonMessageConverter,
+                           OutboxConfig config) {
+        this.outboxRepository = outboxRepository;
+        this.asyncRabbitPublisher = asyncRabbitPublisher;
+        this.messageConverter = jacksonMessageConverter;
+        this.config = config;
+    }
+
+    /**
+     * Queue {@code payload} for delivery; converted now, so the stored bytes are exactly what is sent.
+     */
+    @Transactional
+    public void publish(String exchange, String routingKey, Object payload) {
+        publish(exchange, routingKey, payload, new MessageProperties());
+    }
+
+    /**
+     * Same, starting from caller-supplied properties (e.g. priority, custom headers). A message-id
+     * already set on them is kept, so a caller can make re-publishing idempotent; otherwise a
+     * random one is assigned.
+     */
+    @Transactional
+    public void publish(String exchange, String routingKey, Object payload, MessageProperties initialProperties) {
+        if (initialProperties.getMessageId() == null) {
+            initialProperties.setMessageId(UUID.randomUUID().toString());
+        }
+        Message message = messageConverter.toMessage(payload, initialProperties);
+
+        if (!config.isEnabled()) {
+            asyncRabbitPublisher.publish(exchange, routingKey, message).whenComplete((confirm, error) -> {
+                if (error != null || !confirm.ack()) {
+                    log.error("Direct publish failed: routingKey={}, reason={}",
+                        routingKey, error != null ? error.getMessage() : confirm.reason());
+                }
+            });
+            return;
+        }
+
+        MessageProperties properties = message.getMessageProperties();
+        outboxRepository.insert(
+            properties.getMessageId(),
+            exchange,
+            routingKey,
+            properties.getContentType(),
+            properties.getContentEncoding(),
+            properties.getPriority(),
+            properties.getHeaders(),
+            message.getBody()
+        );
+        log.debug("Outbox message stored: routingKey={}", routingKey);
+    }
+}
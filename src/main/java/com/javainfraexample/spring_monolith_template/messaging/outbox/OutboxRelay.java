@@ -0,0 +1,177 @@
+package com.javainfraexample.spring_monolith_template.messaging.outbox;
+
+import com.javainfraexample.spring_monolith_template.messaging.publisher.AsyncRabbitPublisher;
+import com.javainfraexample.spring_monolith_template.repository.outbox.OutboxRecord;
+import com.javainfraexample.spring_monolith_template.repository.outbox.OutboxRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes committed outbox rows to RabbitMQ.
+ *
+ * <p>Each batch takes two short transactions, with the broker round trip in between:</p>
+ * <ol>
+ *   <li>claim up to {@code batch-size} due rows in one committed UPDATE ({@code FOR UPDATE SKIP LOCKED}
+ *       inside, so several nodes relay in parallel without claiming the same row). The claim is a
+ *       lease: the rows are not due again for {@code claim-lease-seconds}</li>
+ *   <li>with no transaction or row lock open, hand them all to {@link AsyncRabbitPublisher} and wait
+ *       for their confirms together (pipelined, one confirm round trip per batch)</li>
+ *   <li>delete confirmed rows; nacked, returned or timed-out rows get a backoff and are released</li>
+ * </ol>
+ *
+ * A crash after the claim leaves the rows leased until the lease ends, then another relay
+ * re-sends them, so delivery is at-least-once; consumers can dedupe on the AMQP message-id.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxRepository outboxRepository;
+    private final AsyncRabbitPublisher publisher;
+    private final OutboxConfig config;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter published;
+    private final Counter failed;
+    private final Timer batchLatency;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public OutboxRelay(OutboxRepository outboxRepository,
+                       AsyncRabbitPublisher publisher,
+                       OutboxConfig config,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.publisher = publisher;
+        this.config = config;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.published = Counter.builder("outbox.published")
+                .description("Outbox messages confirmed by the broker and deleted")
+                .register(meterRegistry);
+        this.failed = Counter.builder("outbox.publish.failures")
+                .description("Outbox publishes that were nacked, returned, rejected or timed out (retried later)")
+                .register(meterRegistry);
+        this.batchLatency = Timer.builder("outbox.relay.batch.latency")
+                .description("Claim, publish, confirm and delete one outbox batch")
+                .register(meterRegistry);
+        Gauge.builder("outbox.lag", lagMillis, AtomicLong::get)
+                .description("Age of the oldest row in the last relayed batch")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:500}")
+    public void relay() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        for (int i = 0; i < config.getMaxBatchesPerPoll(); i++) {
+            Integer relayed;
+            try {
+                relayed = batchLatency.record(this::relayBatch);
+            } catch (Exception e) {
+                log.error("Outbox relay failed: {}", e.getMessage());
+                return;
+            }
+            if (relayed == null || relayed < config.getBatchSize()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return number of rows picked up (confirmed or not)
+     */
+    private int relayBatch() {
+        UUID claimToken = UUID.randomUUID();
+        List<OutboxRecord> batch = outboxRepository.claimBatch(claimToken, config.getBatchSize(), leaseSeconds());
+        if (batch.isEmpty()) {
+            lagMillis.set(0);
+            return 0;
+        }
+        lagMillis.set(Math.max(0, batch.get(0).ageMillis()));
+
+        Map<Long, CompletableFuture<CorrelationData.Confirm>> pending = new LinkedHashMap<>(batch.size() * 2);
+        for (OutboxRecord record : batch) {
+            pending.put(record.id(), publisher.publish(record.exchange(), record.routingKey(), toMessage(record)));
+        }
+
+        List<Long> confirmed = new ArrayList<>(pending.size());
+        Map<Long, String> errors = new HashMap<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getConfirmTimeoutMs());
+        for (Map.Entry<Long, CompletableFuture<CorrelationData.Confirm>> entry : pending.entrySet()) {
+            try {
+                CorrelationData.Confirm confirm = entry.getValue()
+                    .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (confirm.ack()) {
+                    confirmed.add(entry.getKey());
+                } else {
+                    // Nacked or returned as unroutable after the publisher's own retries
+                    errors.put(entry.getKey(), "not confirmed: " + confirm.reason());
+                }
+            } catch (TimeoutException e) {
+                errors.put(entry.getKey(), "confirm timeout");
+            } catch (ExecutionException e) {
+                errors.put(entry.getKey(), "publish failed: " + e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                errors.put(entry.getKey(), "interrupted");
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxRepository.deleteAll(confirmed);
+            outboxRepository.markFailed(claimToken, errors, config.getMaxBackoffSeconds());
+        });
+
+        published.increment(confirmed.size());
+        if (!errors.isEmpty()) {
+            failed.increment(errors.size());
+            log.warn("Outbox batch: {} confirmed, {} failed (first error: {})",
+                confirmed.size(), errors.size(), errors.values().iterator().next());
+        }
+        return batch.size();
+    }
+
+    /**
+     * The lease must outlive the confirm wait, otherwise another relay re-sends rows still in flight.
+     */
+    private double leaseSeconds() {
+        return Math.max(config.getClaimLeaseSeconds(), config.getConfirmTimeoutMs() / 1000.0 + 5);
+    }
+
+    private static Message toMessage(OutboxRecord record) {
+        MessageProperties properties = new MessageProperties();
+        properties.setMessageId(record.messageId());
+        properties.setContentType(record.contentType());
+        properties.setContentEncoding(record.contentEncoding());
+        properties.setPriority(record.priority());
+        record.headers().forEach(properties::setHeader);
+        return new Message(record.payload(), properties);
+    }
+}
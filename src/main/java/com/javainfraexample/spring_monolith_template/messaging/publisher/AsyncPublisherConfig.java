@@ -0,0 +1,36 @@
+package com.javainfraexample.spring_monolith_template.messaging.publisher;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Settings for {@link AsyncRabbitPublisher}.
+ *
+ * <pre>
+ * app:
+ *   messaging:
+ *     publisher:
+ *       buffer-size: 10000             # messages waiting to be sent; full → rejected
+ *       max-outstanding-confirms: 500  # sent but unconfirmed; full → senders wait
+ *       sender-threads: 2              # each sends on its own cached channel
+ *       confirm-timeout-ms: 10000
+ *       max-attempts: 3                # nack / return retries, then the future fails
+ *       retry-backoff-ms: 200          # × attempt
+ * </pre>
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "app.messaging.publisher")
+public class AsyncPublisherConfig {
+
+    private int bufferSize = 10_000;
+    private int maxOutstandingConfirms = 500;
+    private int senderThreads = 2;
+    private long confirmTimeoutMs = 10_000;
+    private int maxAttempts = 3;
+    private long retryBackoffMs = 200;
+}
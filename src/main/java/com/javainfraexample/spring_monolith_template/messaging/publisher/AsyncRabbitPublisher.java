@@ -0,0 +1,276 @@
+package com.javainfraexample.spring_monolith_template.messaging.publisher;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking RabbitMQ publisher with publisher-confirm tracking and backpressure.
+ *
+ * <h3>Usage:</h3>
+ * <pre>
+ * asyncRabbitPublisher.publish(QueueConstants.EXCHANGE, routingKey, message)
+ *     .thenAccept(confirm -> { if (!confirm.ack()) log.warn("Not delivered: {}", confirm.reason()); });
+ * </pre>
+ *
+ * <pre>
+ *   publish() ──► bounded buffer ──► sender threads ──► broker
+ *   (never blocks;   (buffer-size;     (wait for a slot in    │
+ *    full → rejected)  depth metric)    max-outstanding-confirms)
+ *                                              ▲              │ confirm / return
+ *                                              └── retry ◄────┘ (nack, return: up to max-attempts)
+ * </pre>
+ *
+ * The returned future completes with the broker's {@link CorrelationData.Confirm}: {@code ack=true}
+ * once the message was confirmed and routed, {@code ack=false} after the last nack / return.
+ * It fails with {@link RejectedExecutionException} when the buffer is full and with
+ * {@link TimeoutException} when no confirm arrives within {@code confirm-timeout-ms}.
+ *
+ * Sends go through a template on the publisher connection ({@code usePublisherConnection}),
+ * so broker flow control on publishing never blocks the consumers' connection.
+ */
+@Slf4j
+@Component
+public class AsyncRabbitPublisher {
+
+    private final RabbitTemplate template;
+    private final AsyncPublisherConfig config;
+    private final BlockingQueue<Pending> buffer;
+    private final Semaphore outstanding;
+    private final ScheduledExecutorService retryScheduler;
+    private final Set<Pending> scheduledRetries = ConcurrentHashMap.newKeySet();
+    private final List<Thread> senders = new ArrayList<>();
+    private volatile boolean running = true;
+
+    private final Timer confirmLatency;
+    private final Counter rejected;
+    private final Counter retried;
+    private final Counter nacked;
+    private final Counter returned;
+
+    public AsyncRabbitPublisher(ConnectionFactory connectionFactory,
+                                MessageConverter jacksonMessageConverter,
+                                AsyncPublisherConfig config,
+                                MeterRegistry meterRegistry) {
+        this.config = config;
+        this.buffer = new ArrayBlockingQueue<>(config.getBufferSize());
+        this.outstanding = new Semaphore(config.getMaxOutstandingConfirms());
+
+        this.template = new RabbitTemplate(connectionFactory);
+        this.template.setMessageConverter(jacksonMessageConverter);
+        this.template.setMandatory(true);
+        this.template.setUsePublisherConnection(true);
+
+        this.confirmLatency = Timer.builder("rabbitmq.publish.confirm.latency")
+                .description("Time from send to broker confirm")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("rabbitmq.publish.rejected")
+                .description("Publishes rejected because the publish buffer was full (backpressure)")
+                .register(meterRegistry);
+        this.retried = Counter.builder("rabbitmq.publish.retries")
+                .description("Re-sends after a nack, return or send error")
+                .register(meterRegistry);
+        this.nacked = Counter.builder("rabbitmq.publish.nacks")
+                .description("Publishes nacked by the broker")
+                .register(meterRegistry);
+        this.returned = Counter.builder("rabbitmq.publish.returns")
+                .description("Publishes returned as unroutable")
+                .register(meterRegistry);
+        Gauge.builder("rabbitmq.publish.buffer.depth", buffer, BlockingQueue::size)
+                .description("Messages waiting in the publish buffer")
+                .register(meterRegistry);
+        Gauge.builder("rabbitmq.publish.outstanding", outstanding,
+                        s -> config.getMaxOutstandingConfirms() - s.availablePermits())
+                .description("Messages sent and awaiting a publisher confirm")
+                .register(meterRegistry);
+
+        AtomicInteger retryThreads = new AtomicInteger();
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "rabbit-publish-retry-" + retryThreads.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Start the sender threads once the bean is fully constructed; until then publishes only buffer.
+     */
+    @PostConstruct
+    public void start() {
+        for (int i = 1; i <= config.getSenderThreads(); i++) {
+            Thread sender = new Thread(this::sendLoop, "rabbit-publisher-" + i);
+            sender.setDaemon(true);
+            sender.start();
+            senders.add(sender);
+        }
+    }
+
+    /**
+     * Convert {@code payload} with the JSON converter and publish it asynchronously.
+     */
+    public CompletableFuture<CorrelationData.Confirm> publish(String exchange, String routingKey, Object payload) {
+        MessageProperties properties = new MessageProperties();
+        properties.setMessageId(UUID.randomUUID().toString());
+        return publish(exchange, routingKey, template.getMessageConverter().toMessage(payload, properties));
+    }
+
+    /**
+     * Publish an already converted message asynchronously. Never blocks the caller.
+     * A message without a message-id gets one, so idempotent consumers can dedupe it.
+     */
+    public CompletableFuture<CorrelationData.Confirm> publish(String exchange, String routingKey, Message message) {
+        if (message.getMessageProperties().getMessageId() == null) {
+            message.getMessageProperties().setMessageId(UUID.randomUUID().toString());
+        }
+        Pending pending = new Pending(exchange, routingKey, message, new CompletableFuture<>());
+        if (!running || !buffer.offer(pending)) {
+            rejected.increment();
+            pending.result.completeExceptionally(new RejectedExecutionException("Publish buffer full"));
+        }
+        return pending.result;
+    }
+
+    private void sendLoop() {
+        while (running || !buffer.isEmpty()) {
+            try {
+                Pending pending = buffer.poll(500, TimeUnit.MILLISECONDS);
+                if (pending == null) {
+                    continue;
+                }
+                // Backpressure: at most max-outstanding-confirms in flight
+                outstanding.acquire();
+                send(pending);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void send(Pending pending) {
+        pending.attempt++;
+        String id = (pending.message.getMessageProperties().getMessageId() != null
+                ? pending.message.getMessageProperties().getMessageId() : UUID.randomUUID().toString())
+                + "#" + pending.attempt;
+        CorrelationData correlation = new CorrelationData(id);
+        long sentAt = System.nanoTime();
+
+        try {
+            template.send(pending.exchange, pending.routingKey, pending.message, correlation);
+        } catch (AmqpException e) {
+            outstanding.release();
+            retryOrFail(pending, null, e);
+            return;
+        }
+
+        correlation.getFuture()
+            .orTimeout(config.getConfirmTimeoutMs(), TimeUnit.MILLISECONDS)
+            .whenComplete((confirm, error) -> {
+                outstanding.release();
+                confirmLatency.record(System.nanoTime() - sentAt, TimeUnit.NANOSECONDS);
+                if (error != null) {
+                    // No confirm: the message may or may not have reached the broker, don't resend blindly
+                    pending.result.completeExceptionally(error);
+                } else if (!confirm.ack()) {
+                    nacked.increment();
+                    retryOrFail(pending, confirm, null);
+                } else if (correlation.getReturned() != null) {
+                    returned.increment();
+                    retryOrFail(pending, new CorrelationData.Confirm(false,
+                        "returned: " + correlation.getReturned().getReplyText()), null);
+                } else {
+                    pending.result.complete(confirm);
+                }
+            });
+    }
+
+    private void retryOrFail(Pending pending, CorrelationData.Confirm confirm, Exception error) {
+        if (pending.attempt >= config.getMaxAttempts() || !running) {
+            if (error != null) {
+                pending.result.completeExceptionally(error);
+            } else {
+                pending.result.complete(confirm);
+            }
+            return;
+        }
+        retried.increment();
+        scheduledRetries.add(pending);
+        try {
+            retryScheduler.schedule(() -> {
+                scheduledRetries.remove(pending);
+                if (!buffer.offer(pending)) {
+                    rejected.increment();
+                    pending.result.completeExceptionally(new RejectedExecutionException("Publish buffer full on retry"));
+                }
+            }, config.getRetryBackoffMs() * pending.attempt, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // shutting down
+            scheduledRetries.remove(pending);
+            pending.result.completeExceptionally(new RejectedExecutionException("Publisher stopped"));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        log.info("Stopping async publisher ({} buffered messages)", buffer.size());
+        running = false;
+        for (Thread sender : senders) {
+            sender.join(5000);
+        }
+        retryScheduler.shutdownNow();
+        retryScheduler.awaitTermination(1, TimeUnit.SECONDS);
+        // Retries still waiting for their backoff never run: fail them like the buffered messages
+        for (Pending retry : scheduledRetries) {
+            retry.result.completeExceptionally(new RejectedExecutionException("Publisher stopped"));
+        }
+        scheduledRetries.clear();
+        Pending left;
+        while ((left = buffer.poll()) != null) {
+            left.result.completeExceptionally(new RejectedExecutionException("Publisher stopped"));
+        }
+    }
+
+    private static final class Pending {
+        final String exchange;
+        final String routingKey;
+        final Message message;
+        final CompletableFuture<CorrelationData.Confirm> result;
+        int attempt;
+
+        Pending(String exchange, String routingKey, Message message, CompletableFuture<CorrelationData.Confirm> result) {
+            this.exchange = exchange;
+            this.routingKey = routingKey;
+            this.message = message;
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.javainfraexample.spring_monolith_template.messaging.retry;
+
+import com.javainfraexample.spring_monolith_template.messaging.constant.QueueConstants;
+import com.javainfraexample.spring_monolith_template.messaging.idempotency.MessageInFlightException;
+import com.javainfraexample.spring_monolith_template.messaging.publisher.AsyncRabbitPublisher;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Handles a listener failure without holding the consumer: the message is re-published to the
+ * delay queue for its next attempt (or to its DLQ once attempts are exhausted) and then ACKed.
+ *
+ * <p>Picked up by Boot's listener container configurer; with
+ * {@code spring.rabbitmq.listener.simple.retry.max-attempts: 1} it runs on the first failure,
+ * so there is no in-thread backoff.</p>
+ *
+ * <p>Failures classified as non-retryable by {@link FailureClassifier} (bad payloads, unknown
+ * types, {@link NonRetryable} exceptions) skip the delay queues and go to the DLQ at once.</p>
+ *
+ * <p>Headers set: {@code x-attempt}, {@code x-original-queue}, {@code x-exception-message},
+ * {@code x-failure-class}, {@code x-failure-classification}.
+ * The re-publish waits for the broker confirm; if it fails, the message is rejected instead and
+ * the queue's own dead-letter arguments take it to the DLQ, so it is never lost.</p>
+ *
+ * <p>A {@link MessageInFlightException} (another consumer holds the message-id) is not a failure:
+ * the message goes to the queue's hold queue, which outlasts the idempotency lease, and
+ * {@code x-attempt} is left unchanged.</p>
+ *
+ * <p>Queues not registered with {@link RetryTopology} (e.g. the DLQs) keep the previous
+ * behaviour: reject, no requeue.</p>
+ *
+ * <p>Metric: {@code rabbitmq.listener.failures{queue, exception, outcome=retried|exhausted|non_retryable|in_flight}}.</p>
+ */
+@Slf4j
+@Component
+public class DelayedRetryRecoverer implements MessageRecoverer {
+
+    private static final int MAX_REASON_LENGTH = 1000;
+
+    private final RetryTopology topology;
+    private final FailureClassifier classifier;
+    private final RetryConfig config;
+    private final AsyncRabbitPublisher publisher;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public DelayedRetryRecoverer(RetryTopology topology,
+                                 FailureClassifier classifier,
+                                 RetryConfig config,
+                                 AsyncRabbitPublisher publisher,
+                                 MeterRegistry meterRegistry) {
+        this.topology = topology;
+        this.classifier = classifier;
+        this.config = config;
+        this.publisher = publisher;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void recover(Message message, Throwable cause) {
+        MessageProperties props = message.getMessageProperties();
+        String queue = props.getConsumerQueue();
+        if (!topology.isManaged(queue)) {
+            throw new AmqpRejectAndDontRequeueException("Listener failed, no delayed retry for queue " + queue, cause);
+        }
+
+        MessageInFlightException inFlight = inFlight(cause);
+        if (inFlight != null) {
+            props.setHeader(QueueConstants.HEADER_ORIGINAL_QUEUE, queue);
+            String holdRoutingKey = topology.holdRoutingKey(queue);
+            republish(holdRoutingKey, message, cause);
+            count(queue, inFlight, "in_flight");
+            log.info("Message in flight on another consumer, held: queue={}, holdQueue={}, messageId={}",
+                    queue, holdRoutingKey, props.getMessageId());
+            return;
+        }
+
+        FailureClassifier.Classification classification = classifier.classify(cause);
+        Throwable failure = classification.cause();
+        int attempt = attempts(props) + 1;
+        props.setHeader(QueueConstants.HEADER_ATTEMPT, attempt);
+        props.setHeader(QueueConstants.HEADER_ORIGINAL_QUEUE, queue);
+        props.setHeader(QueueConstants.HEADER_EXCEPTION_MESSAGE, truncate(String.valueOf(failure.getMessage())));
+        props.setHeader(QueueConstants.HEADER_FAILURE_CLASS, failure.getClass().getName());
+        props.setHeader(QueueConstants.HEADER_FAILURE_CLASSIFICATION, classification.classification());
+
+        String outcome;
+        String routingKey;
+        if (!classification.retryable()) {
+            outcome = "non_retryable";
+            routingKey = topology.dlqRoutingKey(queue);
+        } else if (attempt >= config.getMaxAttempts()) {
+            outcome = "exhausted";
+            routingKey = topology.dlqRoutingKey(queue);
+        } else {
+            outcome = "retried";
+            routingKey = topology.retryRoutingKey(queue, attempt);
+        }
+        republish(routingKey, message, cause);
+        count(queue, failure, outcome);
+
+        switch (outcome) {
+            case "non_retryable" -> log.error("Non-retryable failure, message dead-lettered: queue={}, error={}: {}",
+                    queue, failure.getClass().getSimpleName(), failure.getMessage());
+            case "exhausted" -> log.error("Message dead-lettered after {} attempts: queue={}, error={}: {}",
+                    attempt, queue, failure.getClass().getSimpleName(), failure.getMessage());
+            default -> log.warn("Message scheduled for retry {}: queue={}, delayQueue={}, error={}: {}",
+                    attempt, queue, routingKey, failure.getClass().getSimpleName(), failure.getMessage());
+        }
+    }
+
+    private void republish(String routingKey, Message message, Throwable cause) {
+        try {
+            CorrelationData.Confirm confirm = publisher.publish(QueueConstants.DLX_EXCHANGE, routingKey, message)
+                    .get(config.getPublishTimeoutMs(), TimeUnit.MILLISECONDS);
+            if (!confirm.ack()) {
+                throw new IllegalStateException("Broker nacked re-publish: " + confirm.reason());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmqpRejectAndDontRequeueException("Interrupted during re-publish", cause);
+        } catch (Exception e) {
+            log.error("Re-publish to {} failed, rejecting to the DLQ instead: {}", routingKey, e.getMessage());
+            throw new AmqpRejectAndDontRequeueException("Re-publish failed", cause);
+        }
+    }
+
+    private static MessageInFlightException inFlight(Throwable cause) {
+        for (Throwable t = cause; t != null; t = t.getCause()) {
+            if (t instanceof MessageInFlightException inFlight) {
+                return inFlight;
+            }
+        }
+        return null;
+    }
+
+    private static int attempts(MessageProperties props) {
+        Object header = props.getHeader(QueueConstants.HEADER_ATTEMPT);
+        return header instanceof Number number ? number.intValue() : 0;
+    }
+
+    private static String truncate(String reason) {
+        return reason.length() > MAX_REASON_LENGTH ? reason.substring(0, MAX_REASON_LENGTH) : reason;
+    }
+
+    private void count(String queue, Throwable failure, String outcome) {
+        String exception = failure.getClass().getSimpleName();
+        counters.computeIfAbsent(queue + ":" + exception + ":" + outcome, k -> Counter.builder("rabbitmq.listener.failures")
+                .description("Listener failures by queue, exception class and outcome")
+                .tag("queue", queue)
+                .tag("exception", exception)
+                .tag("outcome", outcome)
+                .register(meterRegistry))
+            .increment();
+    }
+}
@@ -0,0 +1,63 @@
+package com.javainfraexample.spring_monolith_template.messaging.retry;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides whether a listener failure is worth retrying.
+ *
+ * Non-retryable if any exception in the cause chain is annotated {@link NonRetryable} or is an
+ * instance of a type in {@code app.messaging.retry.non-retryable-exceptions} (e.g. a payload that
+ * can't be deserialized, an unknown message type). Everything else is retryable.
+ */
+@Component
+@RequiredArgsConstructor
+public class FailureClassifier {
+
+    public static final String NON_RETRYABLE = "NON_RETRYABLE";
+    public static final String RETRYABLE = "RETRYABLE";
+
+    private static final int MAX_CAUSE_DEPTH = 16;
+
+    private final RetryConfig config;
+
+    /**
+     * @param cause the listener failure, usually a ListenerExecutionFailedException wrapper
+     */
+    public Classification classify(Throwable cause) {
+        Throwable current = cause;
+        Throwable root = cause;
+        for (int depth = 0; current != null && depth < MAX_CAUSE_DEPTH; depth++) {
+            if (isNonRetryable(current)) {
+                return new Classification(NON_RETRYABLE, current);
+            }
+            root = current;
+            current = current.getCause() != current ? current.getCause() : null;
+        }
+        return new Classification(RETRYABLE, root);
+    }
+
+    private boolean isNonRetryable(Throwable throwable) {
+        if (throwable.getClass().isAnnotationPresent(NonRetryable.class)) {
+            return true;
+        }
+        for (Class<? extends Throwable> type : config.getNonRetryableExceptions()) {
+            if (type.isInstance(throwable)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param classification {@link #NON_RETRYABLE} or {@link #RETRYABLE}
+     * @param cause          the exception that decided it (the root cause when retryable)
+     */
+    public record Classification(String classification, Throwable cause) {
+
+        public boolean retryable() {
+            return RETRYABLE.equals(classification);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.javainfraexample.spring_monolith_template.messaging.retry;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an exception type as one that can never succeed on redelivery — a listener failure caused
+ * by it skips the delay queues and goes straight to the DLQ.
+ *
+ * Usage:
+ * <pre>
+ * &#64;NonRetryable
+ * public class InvalidRecipientException extends RuntimeException { ... }
+ * </pre>
+ *
+ * Inherited by subclasses. For exception types you don't own, use
+ * {@code app.messaging.retry.non-retryable-exceptions} instead.
+ */
+@Documented
+@Inherited
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface NonRetryable {
+}
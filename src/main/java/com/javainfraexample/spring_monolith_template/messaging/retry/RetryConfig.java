@@ -0,0 +1,50 @@
+package com.javainfraexample.spring_monolith_template.messaging.retry;
+
+import tools.jackson.core.JacksonException;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.handler.invocation.MethodArgumentResolutionException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Delayed retry settings — one delay queue per entry in {@code delays-ms} for every queue
+ * registered with {@link RetryTopology}.
+ *
+ * <pre>
+ * app:
+ *   messaging:
+ *     retry:
+ *       max-attempts: 3              # deliveries in total, then the queue's DLQ
+ *       delays-ms: 1000, 5000        # delay before retry 1, 2, ... (last one repeats)
+ *       publish-timeout-ms: 5000     # broker confirm for the re-publish
+ *       non-retryable-exceptions:    # straight to the DLQ (subclasses too), like @NonRetryable
+ *         - java.lang.IllegalArgumentException
+ * </pre>
+ *
+ * Changing a delay changes the retry queue's x-message-ttl: delete the
+ * {@code *.retry.*} queues once before deploying (they are re-declared on startup).
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "app.messaging.retry")
+public class RetryConfig {
+
+    private int maxAttempts = 3;
+    private List<Long> delaysMs = new ArrayList<>(List.of(1000L, 5000L));
+    private long publishTimeoutMs = 5000;
+    private List<Class<? extends Throwable>> nonRetryableExceptions = new ArrayList<>(List.of(
+            IllegalArgumentException.class,
+            ClassCastException.class,
+            JacksonException.class,                                                        // Jackson 3 (message converters)
+            MessageConversionException.class,                                              // AMQP converter
+            org.springframework.messaging.converter.MessageConversionException.class,      // @Payload conversion
+            MethodArgumentResolutionException.class));
+}
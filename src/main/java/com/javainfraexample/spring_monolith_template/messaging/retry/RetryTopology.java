@@ -0,0 +1,134 @@
+package com.javainfraexample.spring_monolith_template.messaging.retry;
+
+import com.javainfraexample.spring_monolith_template.messaging.constant.QueueConstants;
+import com.javainfraexample.spring_monolith_template.messaging.idempotency.IdempotencyConfig;
+
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Delay queues for non-blocking retries (TTL + dead-lettering, no broker plugin needed).
+ *
+ * <pre>
+ *   listener fails on app.email.send (attempt n)
+ *       → DelayedRetryRecoverer → app.exchange.dlx (routing key: app.email.send.retry.n)
+ *           → app.email.send.retry.n   (x-message-ttl = delays-ms[n-1], no consumers)
+ *               → expires → app.exchange (routing key: app.email.send) → app.email.send
+ *   attempts exhausted
+ *       → app.exchange.dlx (routing key: app.email.send.dlq) → app.email.send.dlq → DlqListener
+ *   message-id in flight on another consumer (MessageInFlightException), attempt not counted
+ *       → app.exchange.dlx (routing key: app.email.send.retry.hold)
+ *           → app.email.send.retry.hold   (x-message-ttl = idempotency lease + 5s)
+ *               → expires → app.email.send
+ * </pre>
+ *
+ * One queue per delay keeps every message in a queue at the same TTL, so nothing waits behind
+ * a message with a longer delay (per-message TTL only expires at the head of a queue).
+ *
+ * The hold queue outlasts the idempotency lease, so the held copy comes back after the other
+ * consumer has finished or its claim has expired. Changing {@code lease-seconds} changes its TTL.
+ *
+ * Each {@code *QueueConfig} calls {@link #declare} for its queues; the recoverer only retries
+ * queues registered here. Batch listeners that ack themselves (audit) only use {@link #declareHold}.
+ */
+@Component
+public class RetryTopology {
+
+    private static final String RETRY_INFIX = ".retry.";
+    private static final String HOLD_SUFFIX = RETRY_INFIX + "hold";
+    private static final long HOLD_MARGIN_MS = 5000;
+
+    private final RetryConfig config;
+    private final IdempotencyConfig idempotencyConfig;
+    private final Map<String, String> routingKeys = new ConcurrentHashMap<>();
+    private final Map<String, String> dlqRoutingKeys = new ConcurrentHashMap<>();
+
+    public RetryTopology(RetryConfig config, IdempotencyConfig idempotencyConfig) {
+        this.config = config;
+        this.idempotencyConfig = idempotencyConfig;
+    }
+
+    /**
+     * Delay queues + bindings for {@code queue}, returning to it via {@code routingKey} on the main exchange.
+     */
+    public Declarables declare(String queue, String routingKey, String dlqRoutingKey, TopicExchange dlxExchange) {
+        routingKeys.put(queue, routingKey);
+        dlqRoutingKeys.put(queue, dlqRoutingKey);
+
+        List<Declarable> declarables = new ArrayList<>();
+        for (int attempt = 1; attempt <= tiers(); attempt++) {
+            String retryQueue = queue + RETRY_INFIX + attempt;
+            Queue delayQueue = QueueBuilder.durable(retryQueue)
+                    .ttl(Math.toIntExact(config.getDelaysMs().get(attempt - 1)))
+                    .deadLetterExchange(QueueConstants.EXCHANGE)
+                    .deadLetterRoutingKey(routingKey)
+                    .build();
+            declarables.add(delayQueue);
+            declarables.add(BindingBuilder.bind(delayQueue).to(dlxExchange).with(retryQueue));
+        }
+        declarables.addAll(declareHold(queue, routingKey, dlxExchange).getDeclarables());
+        return new Declarables(declarables);
+    }
+
+    /**
+     * Hold queue + binding for {@code queue}: messages wait there for the idempotency lease plus a
+     * margin, then return to it via {@code routingKey} on the main exchange.
+     */
+    public Declarables declareHold(String queue, String routingKey, TopicExchange dlxExchange) {
+        String holdQueue = holdRoutingKey(queue);
+        Queue delayQueue = QueueBuilder.durable(holdQueue)
+                .ttl(Math.toIntExact(idempotencyConfig.getLeaseSeconds() * 1000 + HOLD_MARGIN_MS))
+                .deadLetterExchange(QueueConstants.EXCHANGE)
+                .deadLetterRoutingKey(routingKey)
+                .build();
+        return new Declarables(delayQueue, BindingBuilder.bind(delayQueue).to(dlxExchange).with(holdQueue));
+    }
+
+    public boolean isManaged(String queue) {
+        return queue != null && dlqRoutingKeys.containsKey(queue);
+    }
+
+    /**
+     * Routing key (on the DLX) of the delay queue for retry {@code attempt}; attempts past the
+     * last configured delay reuse it.
+     */
+    public String retryRoutingKey(String queue, int attempt) {
+        return queue + RETRY_INFIX + Math.max(1, Math.min(attempt, tiers()));
+    }
+
+    /**
+     * Routing key (on the DLX) of the hold queue used while the message-id is in flight elsewhere.
+     */
+    public String holdRoutingKey(String queue) {
+        return queue + HOLD_SUFFIX;
+    }
+
+    /**
+     * Routing key on the main exchange that reaches {@code queue}, or null if it isn't registered.
+     */
+    public String routingKey(String queue) {
+        return queue != null ? routingKeys.get(queue) : null;
+    }
+
+    public String dlqRoutingKey(String queue) {
+        return dlqRoutingKeys.get(queue);
+    }
+
+    private int tiers() {
+        if (config.getDelaysMs().isEmpty()) {
+            throw new IllegalStateException("app.messaging.retry.delays-ms must not be empty");
+        }
+        return config.getDelaysMs().size();
+    }
+}
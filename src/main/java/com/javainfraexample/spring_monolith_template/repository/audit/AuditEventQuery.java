@@ -0,0 +1,22 @@
+package com.javainfraexample.spring_monolith_template.repository.audit;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Filter for reading audit_events, ordered by (occurred_at, id).
+ *
+ * @param from            inclusive lower bound (UTC)
+ * @param to              exclusive upper bound (UTC)
+ * @param userId          only this user's events, or null for all
+ * @param afterOccurredAt keyset cursor: continue after this row (null = from the start)
+ * @param afterId         keyset cursor tie-breaker, set together with afterOccurredAt
+ */
+public record AuditEventQuery(
+        LocalDateTime from,
+        LocalDateTime to,
+        String userId,
+        LocalDateTime afterOccurredAt,
+        UUID afterId
+) {
+}
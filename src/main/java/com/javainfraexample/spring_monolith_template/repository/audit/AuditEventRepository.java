@@ -0,0 +1,198 @@
+package com.javainfraexample.spring_monolith_template.repository.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.javainfraexample.spring_monolith_template.domain.audit.AuditEvent;
+import com.javainfraexample.spring_monolith_template.messaging.audit.AuditMessage;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * JDBC access to audit_events (range-partitioned by month on occurred_at).
+ *
+ * Inserts go through a single JDBC batch per call; with {@code reWriteBatchedInserts=true}
+ * on the JDBC URL the PostgreSQL driver sends them as multi-row INSERTs.
+ *
+ * Reads are keyset-ordered by (occurred_at, id). {@link #stream} uses a forward-only
+ * cursor with a fetch size, which the PostgreSQL driver only honours inside a
+ * transaction (autocommit off) — call it from a {@code @Transactional} method.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuditEventRepository {
+
+    private static final String INSERT = """
+        INSERT INTO audit_events (action, user_id, ip, details, occurred_at)
+        VALUES (?, ?, ?, ?::jsonb, ?)
+        """;
+
+    private static final String SELECT = """
+        SELECT id, action, user_id, ip, details::text AS details, occurred_at
+        FROM audit_events
+        WHERE occurred_at >= ? AND occurred_at < ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    // ==================== Writes ====================
+
+    /**
+     * Insert all events in one JDBC batch. Returns the number of rows written.
+     */
+    public int insertBatch(List<AuditMessage> events) {
+        jdbcTemplate.batchUpdate(INSERT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                AuditMessage event = events.get(i);
+                ps.setString(1, event.action());
+                ps.setString(2, event.userId());
+                ps.setString(3, event.ip());
+                if (event.details() == null || event.details().isEmpty()) {
+                    ps.setNull(4, Types.VARCHAR);
+                } else {
+                    ps.setString(4, toJson(event));
+                }
+                Instant occurredAt = event.timestamp() != null ? event.timestamp() : Instant.now();
+                ps.setTimestamp(5, Timestamp.valueOf(LocalDateTime.ofInstant(occurredAt, ZoneOffset.UTC)));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return events.size();
+            }
+        });
+        return events.size();
+    }
+
+    // ==================== Reads ====================
+
+    /**
+     * One keyset page: up to {@code limit} events after the query's cursor.
+     */
+    public List<AuditEvent> findPage(AuditEventQuery query, int limit) {
+        List<Object> args = new ArrayList<>();
+        String sql = buildSelect(query, args) + " LIMIT ?";
+        args.add(limit);
+        return jdbcTemplate.query(sql, (rs, rowNum) -> mapRow(rs), args.toArray());
+    }
+
+    /**
+     * Stream every matching event to {@code consumer} without materialising the result,
+     * fetching {@code fetchSize} rows per round trip. Must run inside a transaction.
+     */
+    public void stream(AuditEventQuery query, int fetchSize, Consumer<AuditEvent> consumer) {
+        List<Object> args = new ArrayList<>();
+        String sql = buildSelect(query, args);
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < args.size(); i++) {
+                ps.setObject(i + 1, args.get(i));
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(mapRow(rs)));
+    }
+
+    private static String buildSelect(AuditEventQuery query, List<Object> args) {
+        StringBuilder sql = new StringBuilder(SELECT);
+        args.add(Timestamp.valueOf(query.from()));
+        args.add(Timestamp.valueOf(query.to()));
+        if (query.userId() != null) {
+            sql.append(" AND user_id = ?");
+            args.add(query.userId());
+        }
+        if (query.afterOccurredAt() != null) {
+            sql.append(" AND (occurred_at, id) > (?, ?)");
+            args.add(Timestamp.valueOf(query.afterOccurredAt()));
+            args.add(query.afterId());
+        }
+        return sql.append(" ORDER BY occurred_at, id").toString();
+    }
+
+    private static AuditEvent mapRow(ResultSet rs) throws SQLException {
+        return new AuditEvent(
+            rs.getObject("id", UUID.class),
+            rs.getString("action"),
+            rs.getString("user_id"),
+            rs.getString("ip"),
+            rs.getString("details"),
+            rs.getTimestamp("occurred_at").toLocalDateTime()
+        );
+    }
+
+    // ==================== Partitions & Retention ====================
+
+    /**
+     * Create the partition for the month containing {@code month} if it is missing.
+     */
+    public void ensurePartition(LocalDate month) {
+        jdbcTemplate.queryForObject("SELECT ensure_audit_events_partition(?)::text", String.class, Date.valueOf(month));
+    }
+
+    /**
+     * First day of every month that has rows in audit_events_default (no partition of its own yet).
+     */
+    public List<LocalDate> findDefaultPartitionMonths() {
+        return jdbcTemplate.queryForList("""
+            SELECT DISTINCT date_trunc('month', occurred_at)::date
+            FROM audit_events_default
+            ORDER BY 1
+            """, Date.class).stream()
+            .map(Date::toLocalDate)
+            .toList();
+    }
+
+    /**
+     * First day of every month that has a partition starting before {@code before}, oldest first.
+     */
+    public List<LocalDate> findPartitionMonthsBefore(LocalDate before) {
+        return jdbcTemplate.queryForList("""
+            SELECT to_date(substring(c.relname FROM 'audit_events_(\\d{6})$'), 'YYYYMM')
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            JOIN pg_class p ON p.oid = i.inhparent
+            WHERE p.relname = 'audit_events'
+              AND c.relname ~ '^audit_events_\\d{6}$'
+            ORDER BY 1
+            """, Date.class).stream()
+            .map(Date::toLocalDate)
+            .filter(month -> month.isBefore(before))
+            .toList();
+    }
+
+    /**
+     * Drop a whole month of events (metadata-only, no dead tuples or vacuum debt).
+     */
+    public void dropPartition(LocalDate month) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS audit_events_" + month.toString().substring(0, 7).replace("-", ""));
+    }
+
+    private String toJson(AuditMessage event) throws SQLException {
+        try {
+            return objectMapper.writeValueAsString(event.details());
+        } catch (JsonProcessingException e) {
+            throw new SQLException("Audit details not serializable for action " + event.action(), e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.javainfraexample.spring_monolith_template.repository.dlq;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A stored dead-lettered message. {@code id}, {@code replayStatus}, {@code replayAttempts} and
+ * {@code lastReplayError} are set by the database (null / defaults before insert).
+ *
+ * @param exchange   exchange the message is replayed to
+ * @param routingKey routing key the message is replayed with
+ * @param payload    raw AMQP body, as received (possibly compressed / CBOR / Smile)
+ * @param failedAt   when the message was consumed from the DLQ (UTC)
+ */
+public record DlqRecord(
+        Long id,
+        String messageId,
+        String dlqQueue,
+        String originalQueue,
+        String messageType,
+        String exchange,
+        String routingKey,
+        int retryCount,
+        int replayCount,
+        String errorReason,
+        String contentType,
+        String contentEncoding,
+        Integer priority,
+        Map<String, Object> headers,
+        byte[] payload,
+        LocalDateTime failedAt,
+        String replayStatus,
+        int replayAttempts,
+        String lastReplayError
+) {
+}
@@ -0,0 +1,26 @@
+package com.javainfraexample.spring_monolith_template.repository.dlq;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filter for reading dlq_records, ordered by id. Null fields are not filtered on.
+ *
+ * @param originalQueue queue the message failed on
+ * @param messageType   e.g. EMAIL, SINGLE_NOTIFICATION
+ * @param replayStatus  PENDING, REPLAYING, REPLAYED, FAILED or DUPLICATE
+ * @param from          inclusive lower bound on failed_at (UTC)
+ * @param to            exclusive upper bound on failed_at (UTC)
+ * @param afterId       keyset cursor: continue after this id (null = from the start)
+ */
+public record DlqRecordQuery(
+        String originalQueue,
+        String messageType,
+        String replayStatus,
+        LocalDateTime from,
+        LocalDateTime to,
+        Long afterId
+) {
+    public DlqRecordQuery withAfterId(Long id) {
+        return new DlqRecordQuery(originalQueue, messageType, replayStatus, from, to, id);
+    }
+}
@@ -0,0 +1,304 @@
+package com.javainfraexample.spring_monolith_template.repository.dlq;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JDBC access to dlq_records.
+ *
+ * Inserts go through a single JDBC batch per call ({@code reWriteBatchedInserts=true} turns it
+ * into multi-row INSERTs). {@code ON CONFLICT DO NOTHING} on (dlq_queue, message_id, replay_count)
+ * keeps a redelivered DLQ message from being stored twice.
+ *
+ * {@link #claimForReplay} must run inside a transaction: {@code FOR UPDATE SKIP LOCKED} is what
+ * keeps two nodes replaying the same rows.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DlqRecordRepository {
+
+    private static final TypeReference<Map<String, Object>> HEADERS_TYPE = new TypeReference<>() {};
+
+    private static final String INSERT = """
+        INSERT INTO dlq_records (message_id, dlq_queue, original_queue, message_type, exchange, routing_key,
+                                 retry_count, replay_count, error_reason, content_type, content_encoding,
+                                 priority, headers, payload, failed_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?::jsonb, ?, ?)
+        ON CONFLICT (dlq_queue, message_id, replay_count) WHERE message_id IS NOT NULL DO NOTHING
+        """;
+
+    private static final String COLUMNS = """
+        id, message_id, dlq_queue, original_queue, message_type, exchange, routing_key, retry_count,
+        replay_count, error_reason, content_type, content_encoding, priority, headers::text AS headers,
+        payload, failed_at, replay_status, replay_attempts, last_replay_error
+        """;
+
+    /** Statuses a replay may pick up; REPLAYING rows only once their claim has timed out. */
+    private static final String CLAIMABLE = """
+        (replay_status IN ('PENDING', 'FAILED')
+         OR (replay_status = 'REPLAYING' AND replay_updated_at < CURRENT_TIMESTAMP - make_interval(secs => ?)))
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    // ==================== Writes ====================
+
+    /**
+     * Deliveries already stored for {@code dlqQueue}, as {@code messageId#replayCount}.
+     */
+    public Set<String> findStoredDeliveries(String dlqQueue, Collection<String> messageIds) {
+        if (messageIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                SELECT message_id || '#' || replay_count FROM dlq_records
+                WHERE dlq_queue = ? AND message_id = ANY(?)
+                """);
+            ps.setString(1, dlqQueue);
+            ps.setArray(2, con.createArrayOf("varchar", messageIds.toArray()));
+            return ps;
+        }, (rs, rowNum) -> rs.getString(1)));
+    }
+
+    /**
+     * Insert all records in one JDBC batch; rows that are already stored are skipped.
+     */
+    public void insertBatch(List<DlqRecord> records) {
+        jdbcTemplate.batchUpdate(INSERT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                DlqRecord record = records.get(i);
+                ps.setString(1, record.messageId());
+                ps.setString(2, record.dlqQueue());
+                ps.setString(3, record.originalQueue());
+                ps.setString(4, record.messageType());
+                ps.setString(5, record.exchange());
+                ps.setString(6, record.routingKey());
+                ps.setInt(7, record.retryCount());
+                ps.setInt(8, record.replayCount());
+                ps.setString(9, record.errorReason());
+                ps.setString(10, record.contentType());
+                ps.setString(11, record.contentEncoding());
+                if (record.priority() != null) {
+                    ps.setInt(12, record.priority());
+                } else {
+                    ps.setNull(12, Types.INTEGER);
+                }
+                ps.setString(13, toJson(record.headers()));
+                ps.setBytes(14, record.payload());
+                ps.setTimestamp(15, Timestamp.valueOf(record.failedAt()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return records.size();
+            }
+        });
+    }
+
+    // ==================== Reads ====================
+
+    /**
+     * One keyset page: up to {@code limit} records after the query's cursor, by id.
+     */
+    public List<DlqRecord> findPage(DlqRecordQuery query, int limit) {
+        List<Object> args = new ArrayList<>();
+        String sql = "SELECT " + COLUMNS + " FROM dlq_records WHERE " + where(query, args) + " ORDER BY id LIMIT ?";
+        args.add(limit);
+        return jdbcTemplate.query(sql, (rs, rowNum) -> mapRow(rs), args.toArray());
+    }
+
+    public long count(DlqRecordQuery query) {
+        List<Object> args = new ArrayList<>();
+        Long count = jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM dlq_records WHERE " + where(query, args), Long.class, args.toArray());
+        return count != null ? count : 0;
+    }
+
+    // ==================== Replay ====================
+
+    /**
+     * Mark up to {@code limit} replayable records after the query's cursor as REPLAYING and return
+     * them, ordered by id. Rows locked by another replay are skipped.
+     */
+    public List<DlqRecord> claimForReplay(DlqRecordQuery query, int limit, long claimTimeoutSeconds) {
+        List<Object> args = new ArrayList<>();
+        args.add(claimTimeoutSeconds);
+        String sql = """
+            UPDATE dlq_records SET replay_status = 'REPLAYING', replay_updated_at = CURRENT_TIMESTAMP
+            WHERE id IN (
+                SELECT id FROM dlq_records
+                WHERE %s AND %s
+                ORDER BY id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED)
+            RETURNING %s
+            """.formatted(CLAIMABLE, where(query, args), COLUMNS);
+        args.add(limit);
+        List<DlqRecord> claimed = new ArrayList<>(jdbcTemplate.query(sql, (rs, rowNum) -> mapRow(rs), args.toArray()));
+        // RETURNING has no defined order
+        claimed.sort(Comparator.comparing(DlqRecord::id));
+        return claimed;
+    }
+
+    public void markReplayed(Collection<Long> ids) {
+        setStatus(ids, "REPLAYED", 1);
+    }
+
+    public void markDuplicate(Collection<Long> ids) {
+        setStatus(ids, "DUPLICATE", 0);
+    }
+
+    /**
+     * Give claimed rows back (replay cancelled before they were sent).
+     */
+    public void releaseClaims(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                UPDATE dlq_records SET replay_status = CASE WHEN replay_attempts > 0 THEN 'FAILED' ELSE 'PENDING' END,
+                                       replay_updated_at = CURRENT_TIMESTAMP
+                WHERE id = ANY(?) AND replay_status = 'REPLAYING'
+                """);
+            ps.setArray(1, con.createArrayOf("bigint", ids.toArray()));
+            return ps;
+        });
+    }
+
+    public void markReplayFailed(Map<Long, String> errorsById) {
+        if (errorsById.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(errorsById.size());
+        errorsById.forEach((id, error) -> rows.add(new Object[]{error, id}));
+        jdbcTemplate.batchUpdate("""
+            UPDATE dlq_records
+            SET replay_status = 'FAILED',
+                replay_attempts = replay_attempts + 1,
+                last_replay_error = ?,
+                replay_updated_at = CURRENT_TIMESTAMP
+            WHERE id = ?
+            """, rows);
+    }
+
+    private void setStatus(Collection<Long> ids, String status, int attempts) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                UPDATE dlq_records
+                SET replay_status = ?,
+                    replay_attempts = replay_attempts + ?,
+                    last_replay_error = NULL,
+                    replay_updated_at = CURRENT_TIMESTAMP
+                WHERE id = ANY(?)
+                """);
+            ps.setString(1, status);
+            ps.setInt(2, attempts);
+            ps.setArray(3, con.createArrayOf("bigint", ids.toArray()));
+            return ps;
+        });
+    }
+
+    // ==================== Mapping ====================
+
+    private static String where(DlqRecordQuery query, List<Object> args) {
+        StringBuilder sql = new StringBuilder("TRUE");
+        if (query.originalQueue() != null) {
+            sql.append(" AND original_queue = ?");
+            args.add(query.originalQueue());
+        }
+        if (query.messageType() != null) {
+            sql.append(" AND message_type = ?");
+            args.add(query.messageType());
+        }
+        if (query.replayStatus() != null) {
+            sql.append(" AND replay_status = ?");
+            args.add(query.replayStatus());
+        }
+        if (query.from() != null) {
+            sql.append(" AND failed_at >= ?");
+            args.add(Timestamp.valueOf(query.from()));
+        }
+        if (query.to() != null) {
+            sql.append(" AND failed_at < ?");
+            args.add(Timestamp.valueOf(query.to()));
+        }
+        if (query.afterId() != null) {
+            sql.append(" AND id > ?");
+            args.add(query.afterId());
+        }
+        return sql.toString();
+    }
+
+    private DlqRecord mapRow(ResultSet rs) throws SQLException {
+        return new DlqRecord(
+            rs.getLong("id"),
+            rs.getString("message_id"),
+            rs.getString("dlq_queue"),
+            rs.getString("original_queue"),
+            rs.getString("message_type"),
+            rs.getString("exchange"),
+            rs.getString("routing_key"),
+            rs.getInt("retry_count"),
+            rs.getInt("replay_count"),
+            rs.getString("error_reason"),
+            rs.getString("content_type"),
+            rs.getString("content_encoding"),
+            rs.getObject("priority", Integer.class),
+            fromJson(rs.getString("headers")),
+            rs.getBytes("payload"),
+            rs.getTimestamp("failed_at").toLocalDateTime(),
+            rs.getString("replay_status"),
+            rs.getInt("replay_attempts"),
+            rs.getString("last_replay_error")
+        );
+    }
+
+    private String toJson(Map<String, Object> headers) throws SQLException {
+        if (headers == null || headers.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(headers);
+        } catch (JsonProcessingException e) {
+            throw new SQLException("DLQ headers not serializable", e);
+        }
+    }
+
+    private Map<String, Object> fromJson(String json) throws SQLException {
+        if (json == null) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(json, HEADERS_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new SQLException("Invalid DLQ headers JSON", e);
+        }
+    }
+}
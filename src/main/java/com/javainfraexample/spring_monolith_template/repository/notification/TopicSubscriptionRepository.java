@@ -0,0 +1,70 @@
+package com.javainfraexample.spring_monolith_template.repository.notification;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * JDBC access to the topic_subscriptions table.
+ *
+ * Subscribers are read in keyset pages ({@code token > ?} on the primary key), so paging through
+ * a topic costs the same per page no matter how deep into the topic it is.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TopicSubscriptionRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return true if the subscription is new
+     */
+    public boolean subscribe(String topic, String token) {
+        return jdbcTemplate.update("""
+            INSERT INTO topic_subscriptions (topic, token)
+            VALUES (?, ?)
+            ON CONFLICT (topic, token) DO NOTHING
+            """, topic, token) > 0;
+    }
+
+    /**
+     * @return true if a subscription was removed
+     */
+    public boolean unsubscribe(String topic, String token) {
+        return jdbcTemplate.update("DELETE FROM topic_subscriptions WHERE topic = ? AND token = ?", topic, token) > 0;
+    }
+
+    /**
+     * Remove a token from every topic (e.g. the provider reported it as unregistered).
+     *
+     * @return topics the token was removed from
+     */
+    public List<String> unsubscribeAll(String token) {
+        return jdbcTemplate.queryForList("DELETE FROM topic_subscriptions WHERE token = ? RETURNING topic", String.class, token);
+    }
+
+    /**
+     * Next page of a topic's tokens in token order.
+     *
+     * @param afterToken last token of the previous page, null for the first page
+     */
+    public List<String> findTokensAfter(String topic, String afterToken, int limit) {
+        if (afterToken == null) {
+            return jdbcTemplate.queryForList("""
+                SELECT token FROM topic_subscriptions
+                WHERE topic = ?
+                ORDER BY token
+                LIMIT ?
+                """, String.class, topic, limit);
+        }
+        return jdbcTemplate.queryForList("""
+            SELECT token FROM topic_subscriptions
+            WHERE topic = ? AND token > ?
+            ORDER BY token
+            LIMIT ?
+            """, String.class, topic, afterToken, limit);
+    }
+}
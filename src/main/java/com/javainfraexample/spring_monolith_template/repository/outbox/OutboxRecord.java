@@ -0,0 +1,21 @@
+package com.javainfraexample.spring_monolith_template.repository.outbox;
+
+import java.util.Map;
+
+/**
+ * A pending outbox row. {@code ageMillis} is measured by the database clock.
+ */
+public record OutboxRecord(
+        long id,
+        String messageId,
+        String exchange,
+        String routingKey,
+        String contentType,
+        String contentEncoding,
+        Integer priority,
+        Map<String, Object> headers,
+        byte[] payload,
+        int attempts,
+        long ageMillis
+) {
+}
@@ -0,0 +1,140 @@
+package com.javainfraexample.spring_monolith_template.repository.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * JDBC access to the outbox table.
+ *
+ * {@link #insert} joins the caller's transaction (JdbcTemplate uses the transaction-bound
+ * connection). {@link #claimBatch} is one statement that commits on its own: rows are
+ * leased (claim token + {@code next_attempt_at} pushed past the lease) rather than held
+ * locked, so no lock or transaction is open while the relay waits for the broker.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OutboxRepository {
+
+    private static final TypeReference<Map<String, Object>> HEADERS_TYPE = new TypeReference<>() {};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public void insert(String messageId, String exchange, String routingKey, String contentType,
+                       String contentEncoding, Integer priority, Map<String, Object> headers, byte[] payload) {
+        jdbcTemplate.update("""
+            INSERT INTO outbox (message_id, exchange, routing_key, content_type, content_encoding, priority, headers, payload)
+            VALUES (?, ?, ?, ?, ?, ?, ?::jsonb, ?)
+            """, messageId, exchange, routingKey, contentType, contentEncoding, priority, toJson(headers), payload);
+    }
+
+    /**
+     * Lease up to {@code limit} due rows, oldest first, for {@code leaseSeconds}: they are tagged
+     * with {@code claimToken} and not due again until the lease ends, so a relay that dies
+     * mid-batch only delays them. Rows being claimed by another relay are skipped.
+     */
+    public List<OutboxRecord> claimBatch(UUID claimToken, int limit, double leaseSeconds) {
+        List<OutboxRecord> claimed = new ArrayList<>(jdbcTemplate.query("""
+            UPDATE outbox
+            SET claim_token = ?,
+                next_attempt_at = CURRENT_TIMESTAMP + make_interval(secs => ?)
+            WHERE id IN (
+                SELECT id FROM outbox
+                WHERE next_attempt_at <= CURRENT_TIMESTAMP
+                ORDER BY id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED)
+            RETURNING id, message_id, exchange, routing_key, content_type, content_encoding, priority,
+                      headers::text AS headers,
+                      payload, attempts,
+                      (EXTRACT(EPOCH FROM CURRENT_TIMESTAMP - created_at) * 1000)::bigint AS age_ms
+            """, (rs, rowNum) -> mapRow(rs), claimToken, leaseSeconds, limit));
+        // RETURNING has no defined order
+        claimed.sort(Comparator.comparingLong(OutboxRecord::id));
+        return claimed;
+    }
+
+    public void deleteAll(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(con -> {
+            var ps = con.prepareStatement("DELETE FROM outbox WHERE id = ANY(?)");
+            ps.setArray(1, con.createArrayOf("bigint", ids.toArray()));
+            return ps;
+        });
+    }
+
+    /**
+     * Record failed publishes; each row is retried after 2^attempts seconds, capped at {@code maxBackoffSeconds}.
+     * Rows whose lease was taken over by another relay ({@code claimToken} no longer matches) are left alone.
+     */
+    public void markFailed(UUID claimToken, Map<Long, String> errorsById, long maxBackoffSeconds) {
+        if (errorsById.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(errorsById.size());
+        errorsById.forEach((id, error) -> rows.add(new Object[]{error, maxBackoffSeconds, id, claimToken}));
+        jdbcTemplate.batchUpdate("""
+            UPDATE outbox
+            SET attempts = attempts + 1,
+                last_error = ?,
+                claim_token = NULL,
+                next_attempt_at = CURRENT_TIMESTAMP + make_interval(secs => LEAST(?, power(2, LEAST(attempts, 20))))
+            WHERE id = ? AND claim_token = ?
+            """, rows);
+    }
+
+    private OutboxRecord mapRow(ResultSet rs) throws SQLException {
+        return new OutboxRecord(
+            rs.getLong("id"),
+            rs.getString("message_id"),
+            rs.getString("exchange"),
+            rs.getString("routing_key"),
+            rs.getString("content_type"),
+            rs.getString("content_encoding"),
+            rs.getObject("priority", Integer.class),
+            fromJson(rs.getString("headers")),
+            rs.getBytes("payload"),
+            rs.getInt("attempts"),
+            rs.getLong("age_ms")
+        );
+    }
+
+    private String toJson(Map<String, Object> headers) {
+        if (headers == null || headers.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(headers);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Outbox headers not serializable", e);
+        }
+    }
+
+    private Map<String, Object> fromJson(String json) throws SQLException {
+        if (json == null) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(json, HEADERS_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new SQLException("Invalid outbox headers JSON", e);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.javainfraexample.spring_monolith_template.repository.usage;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC access to usage_counters (daily, partitioned) and usage_monthly.
+ *
+ * Plain JdbcTemplate rather than JPA: writes are multi-row upserts that add to
+ * the stored value, and partitions are managed with DDL.
+ *
+ * Every write upserts the daily row and the monthly row in one statement, so the
+ * monthly total is always exact: concurrent flushes serialize on the row locks taken
+ * by ON CONFLICT, and there is no separate rollup that could miss late increments.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UsageCounterRepository {
+
+    private static final String UPSERT = """
+        WITH input (usage_date, client_id, units) AS (
+            VALUES (CAST(? AS DATE), CAST(? AS VARCHAR), CAST(? AS BIGINT))
+        ), daily AS (
+            INSERT INTO usage_counters (usage_date, client_id, units, updated_at)
+            SELECT usage_date, client_id, units, now() FROM input
+            ON CONFLICT (usage_date, client_id)
+            DO UPDATE SET units = usage_counters.units + EXCLUDED.units, updated_at = now()
+        )
+        INSERT INTO usage_monthly (usage_month, client_id, units, updated_at)
+        SELECT date_trunc('month', usage_date)::date, client_id, units, now() FROM input
+        ON CONFLICT (usage_month, client_id)
+        DO UPDATE SET units = usage_monthly.units + EXCLUDED.units, updated_at = now()
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // ==================== Writes ====================
+
+    /**
+     * Add units for many clients of one (UTC) day, and to that day's month, in JDBC batches.
+     */
+    public void addUnits(LocalDate day, Map<String, Long> unitsByClient, int batchSize) {
+        Date sqlDay = Date.valueOf(day);
+        List<Object[]> rows = new ArrayList<>(unitsByClient.size());
+        unitsByClient.forEach((clientId, units) -> rows.add(new Object[]{sqlDay, clientId, units}));
+
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(UPSERT, rows.subList(from, Math.min(rows.size(), from + batchSize)));
+        }
+    }
+
+    public void ensurePartition(LocalDate day) {
+        jdbcTemplate.queryForObject("SELECT ensure_usage_counters_partition(?)::text", String.class, Date.valueOf(day));
+    }
+
+    // ==================== Reads ====================
+
+    /**
+     * Units used by a client on {@code day} and in the month starting at {@code monthStart}.
+     * Returns {daily, monthly}.
+     */
+    public long[] findDailyAndMonthlyUnits(String clientId, LocalDate day, LocalDate monthStart) {
+        return jdbcTemplate.queryForObject("""
+            SELECT COALESCE((SELECT units FROM usage_counters WHERE usage_date = ? AND client_id = ?), 0),
+                   COALESCE((SELECT units FROM usage_monthly WHERE usage_month = ? AND client_id = ?), 0)
+            """,
+            (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)},
+            Date.valueOf(day), clientId, Date.valueOf(monthStart), clientId);
+    }
+
+    /**
+     * Daily usage of one client, newest first.
+     */
+    public List<Map<String, Object>> findDailyUsage(String clientId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.queryForList("""
+            SELECT usage_date, units
+            FROM usage_counters
+            WHERE client_id = ? AND usage_date BETWEEN ? AND ?
+            ORDER BY usage_date DESC
+            """, clientId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    // ==================== Retention ====================
+
+    /**
+     * Days that still have their own partition before {@code before}, oldest first.
+     */
+    public List<LocalDate> findPartitionDaysBefore(LocalDate before) {
+        return jdbcTemplate.queryForList("""
+            SELECT to_date(substring(c.relname FROM 'usage_counters_(\\d{8})$'), 'YYYYMMDD')
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            JOIN pg_class p ON p.oid = i.inhparent
+            WHERE p.relname = 'usage_counters'
+              AND c.relname ~ '^usage_counters_\\d{8}$'
+            ORDER BY 1
+            """, Date.class).stream()
+            .map(Date::toLocalDate)
+            .filter(day -> day.isBefore(before))
+            .toList();
+    }
+
+    /**
+     * Drop one day's partition. Its units are already counted in usage_monthly.
+     */
+    public void dropPartition(LocalDate day) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS usage_counters_" + day.toString().replace("-", ""));
+    }
+}
@@ -0,0 +1,53 @@
+package com.javainfraexample.spring_monolith_template.scheduler.jobs;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.scheduling.quartz.QuartzJobBean;
+import org.springframework.stereotype.Component;
+
+import com.javainfraexample.spring_monolith_template.services.audit.AuditService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Quartz Job: Runs every day at 01:00 UTC.
+ *
+ * audit_events partition housekeeping:
+ *   - Create the current month and app.audit.storage.partitions-ahead months ahead
+ *   - Give months found in audit_events_default their own partition (moves the rows)
+ *   - Drop months past app.audit.storage.retention-months
+ *
+ * Daily rather than monthly so a missed run (or a failed one) is retried well before
+ * the next month starts. DB-backed + clustered → runs on exactly one node.
+ */
+@Slf4j
+@Component
+@DisallowConcurrentExecution
+@RequiredArgsConstructor
+public class AuditPartitionJob extends QuartzJobBean {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final AuditService auditService;
+
+    @Override
+    protected void executeInternal(JobExecutionContext context) throws JobExecutionException {
+        log.info("[Quartz] Audit partition job started at: {}", LocalDateTime.now().format(FORMATTER));
+
+        try {
+            auditService.ensureUpcomingPartitions();
+            int dropped = auditService.dropExpiredPartitions();
+
+            log.info("[Quartz] Audit partition job completed successfully ({} monthly partitions dropped)", dropped);
+
+        } catch (Exception e) {
+            log.error("[Quartz] Audit partition job failed: {}", e.getMessage(), e);
+            throw new JobExecutionException("Audit partition maintenance failed", e);
+        }
+    }
+}
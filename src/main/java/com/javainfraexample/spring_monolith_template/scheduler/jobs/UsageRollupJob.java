@@ -0,0 +1,51 @@
+package com.javainfraexample.spring_monolith_template.scheduler.jobs;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.scheduling.quartz.QuartzJobBean;
+import org.springframework.stereotype.Component;
+
+import com.javainfraexample.spring_monolith_template.common.metering.UsagePartitionManager;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Quartz Job: Runs every day at 00:30 UTC.
+ *
+ * Usage metering housekeeping:
+ *   - Pre-create usage_counters partitions for the coming days
+ *   - Drop partitions older than app.metering.retention-days (monthly totals live in usage_monthly)
+ *
+ * DB-backed + clustered → runs on exactly one node.
+ */
+@Slf4j
+@Component
+@DisallowConcurrentExecution
+@RequiredArgsConstructor
+public class UsageRollupJob extends QuartzJobBean {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final UsagePartitionManager partitionManager;
+
+    @Override
+    protected void executeInternal(JobExecutionContext context) throws JobExecutionException {
+        log.info("[Quartz] Usage rollup job started at: {}", LocalDateTime.now().format(FORMATTER));
+
+        try {
+            partitionManager.ensureUpcomingPartitions();
+            int dropped = partitionManager.dropExpiredPartitions();
+
+            log.info("[Quartz] Usage rollup job completed successfully ({} partitions dropped)", dropped);
+
+        } catch (Exception e) {
+            log.error("[Quartz] Usage rollup job failed: {}", e.getMessage(), e);
+            throw new JobExecutionException("Usage rollup failed", e);
+        }
+    }
+}
@@ -25,7 +25,7 @@ import lombok.extern.slf4j.Slf4j;
  * Use cases:
  *   - Generate weekly analytics report (dispatch to RabbitMQ)
  *   - Send weekly summary emails (dispatch to RabbitMQ)
- *   - Clean up old data (>30 days)
+ *   - Clean up old data (>30 days) — audit_events partitions are handled by AuditPartitionJob
  *   - Database maintenance tasks
  *   - Reset weekly rate limit counters
  */
@@ -59,9 +59,6 @@ public class WeeklyReportJob extends QuartzJobBean {
             //     "period", "last-7-days"
             // ));
 
-            // Example 3: Clean up old data
-            // auditLogRepository.deleteOlderThan(LocalDateTime.now().minusDays(90));
-
             log.info("[Quartz] Weekly report job completed successfully");
 
         } catch (Exception e) {
@@ -0,0 +1,179 @@
+package com.javainfraexample.spring_monolith_template.services.audit;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.javainfraexample.spring_monolith_template.api.audit.dto.AuditEventPageResponse;
+import com.javainfraexample.spring_monolith_template.api.audit.dto.AuditEventResponse;
+import com.javainfraexample.spring_monolith_template.common.dto.ApiResponseDto;
+import com.javainfraexample.spring_monolith_template.common.exception.BadRequestException;
+import com.javainfraexample.spring_monolith_template.domain.audit.AuditEvent;
+import com.javainfraexample.spring_monolith_template.messaging.audit.AuditMessage;
+import com.javainfraexample.spring_monolith_template.repository.audit.AuditEventQuery;
+import com.javainfraexample.spring_monolith_template.repository.audit.AuditEventRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persists, reads and expires audit events.
+ *
+ * audit_events is partitioned by month: {@link #ensureUpcomingPartitions()} keeps the next
+ * months ready (on startup and from AuditPartitionJob, daily at 01:00 UTC) and
+ * {@link #dropExpiredPartitions()} drops whole months past
+ * {@code app.audit.storage.retention-months}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuditService {
+
+    private final AuditEventRepository auditEventRepository;
+    private final AuditStorageConfig storageConfig;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Write a batch of events in one transaction: either every row is stored or none.
+     */
+    @Transactional
+    public int recordBatch(List<AuditMessage> events) {
+        if (events.isEmpty()) {
+            return 0;
+        }
+        return auditEventRepository.insertBatch(events);
+    }
+
+    // ==================== Queries ====================
+
+    /**
+     * One keyset page ordered by (occurredAt, id). {@code after} is the previous page's nextCursor.
+     */
+    public ApiResponseDto<AuditEventPageResponse> findPage(LocalDateTime from, LocalDateTime to,
+                                                           String userId, String after, int limit) {
+        if (limit < 1 || limit > storageConfig.getMaxPageSize()) {
+            throw new BadRequestException("limit must be between 1 and " + storageConfig.getMaxPageSize());
+        }
+        AuditEventQuery query = buildQuery(from, to, userId, after);
+
+        // One extra row tells whether there is a next page
+        List<AuditEvent> rows = auditEventRepository.findPage(query, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<AuditEvent> page = hasMore ? rows.subList(0, limit) : rows;
+
+        String nextCursor = hasMore ? encodeCursor(page.get(page.size() - 1)) : null;
+        return ApiResponseDto.success(new AuditEventPageResponse(
+            page.stream().map(AuditEventResponse::from).toList(), nextCursor));
+    }
+
+    /**
+     * Write every matching event to {@code out} as NDJSON, one object per line.
+     * Rows are pulled from a server-side cursor {@code fetch-size} at a time, so memory
+     * stays flat regardless of how many rows the export has.
+     *
+     * @return number of events written
+     */
+    @Transactional(readOnly = true)
+    public long exportNdjson(AuditEventQuery query, OutputStream out) throws IOException {
+        AtomicLong written = new AtomicLong();
+        try (SequenceWriter lines = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n")
+                .writeValues(out)) {
+            auditEventRepository.stream(query, storageConfig.getFetchSize(), event -> {
+                try {
+                    lines.write(AuditEventResponse.from(event));
+                    written.incrementAndGet();
+                } catch (IOException e) {
+                    // Client went away — abort the cursor instead of reading the rest
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        if (written.get() > 0) {
+            out.write('\n');
+        }
+        return written.get();
+    }
+
+    public AuditEventQuery buildQuery(LocalDateTime from, LocalDateTime to, String userId, String after) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now(ZoneOffset.UTC);
+        if (from == null || !from.isBefore(end)) {
+            throw new BadRequestException("from is required and must be before to");
+        }
+        String user = userId == null || userId.isBlank() ? null : userId;
+        if (after == null || after.isBlank()) {
+            return new AuditEventQuery(from, end, user, null, null);
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(after), StandardCharsets.UTF_8).split("\\|", 2);
+            return new AuditEventQuery(from, end, user, LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    private static String encodeCursor(AuditEvent last) {
+        String raw = last.occurredAt() + "|" + last.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // ==================== Partitions & Retention ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            ensureUpcomingPartitions();
+        } catch (Exception e) {
+            // Not fatal: rows of a missing month land in audit_events_default and AuditPartitionJob retries
+            log.error("Failed to create upcoming audit_events partitions: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Create this month and {@code partitions-ahead} months ahead, then give every month found in
+     * audit_events_default its own partition (which moves those rows out of the default partition).
+     */
+    public void ensureUpcomingPartitions() {
+        LocalDate thisMonth = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+        for (int offset = 0; offset <= storageConfig.getPartitionsAhead(); offset++) {
+            auditEventRepository.ensurePartition(thisMonth.plusMonths(offset));
+        }
+        for (LocalDate month : auditEventRepository.findDefaultPartitionMonths()) {
+            log.warn("audit_events_default holds events of {}, creating its partition", month.toString().substring(0, 7));
+            auditEventRepository.ensurePartition(month);
+        }
+    }
+
+    /**
+     * @return number of monthly partitions dropped
+     */
+    public int dropExpiredPartitions() {
+        LocalDate cutoff = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1).minusMonths(storageConfig.getRetentionMonths());
+        int dropped = 0;
+        for (LocalDate month : auditEventRepository.findPartitionMonthsBefore(cutoff)) {
+            auditEventRepository.dropPartition(month);
+            log.info("Dropped audit_events partition for {}", month.toString().substring(0, 7));
+            dropped++;
+        }
+        return dropped;
+    }
+}
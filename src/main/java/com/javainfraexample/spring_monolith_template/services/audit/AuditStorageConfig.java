@@ -0,0 +1,32 @@
+package com.javainfraexample.spring_monolith_template.services.audit;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Storage and read settings for audit_events (monthly partitions).
+ *
+ * <pre>
+ * app:
+ *   audit:
+ *     storage:
+ *       retention-months: 12   # partitions older than this are dropped by AuditPartitionJob
+ *       partitions-ahead: 2    # future monthly partitions kept ready
+ *       fetch-size: 1000       # rows per round trip when streaming an export
+ *       max-page-size: 500
+ * </pre>
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "app.audit.storage")
+public class AuditStorageConfig {
+
+    private int retentionMonths = 12;
+    private int partitionsAhead = 2;
+    private int fetchSize = 1000;
+    private int maxPageSize = 500;
+}
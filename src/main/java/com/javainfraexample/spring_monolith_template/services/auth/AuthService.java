@@ -1,6 +1,7 @@
 package com.javainfraexample.spring_monolith_template.services.auth;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.javainfraexample.spring_monolith_template.api.auth.dto.LoginRequest;
 import com.javainfraexample.spring_monolith_template.api.auth.dto.LoginResponse;
@@ -23,6 +24,11 @@ public class AuthService {
 
     // TODO: Inject UserRepository, PasswordEncoder, JwtService
     
+    /**
+     * The login email is written to the outbox in this transaction (a local insert),
+     * so it is sent only if the login commits and the request never waits on RabbitMQ.
+     */
+    @Transactional
     public ApiResponseDto<LoginResponse> login(LoginRequest request) {
         log.info("Login attempt for email: {}", request.email());
         
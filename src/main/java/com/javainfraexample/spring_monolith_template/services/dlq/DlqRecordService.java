@@ -0,0 +1,170 @@
+package com.javainfraexample.spring_monolith_template.services.dlq;
+
+import com.javainfraexample.spring_monolith_template.api.dlq.dto.DlqRecordPageResponse;
+import com.javainfraexample.spring_monolith_template.api.dlq.dto.DlqRecordResponse;
+import com.javainfraexample.spring_monolith_template.api.dlq.dto.DlqReplayRequest;
+import com.javainfraexample.spring_monolith_template.api.dlq.dto.DlqReplayResponse;
+import com.javainfraexample.spring_monolith_template.common.dto.ApiResponseDto;
+import com.javainfraexample.spring_monolith_template.common.exception.BadRequestException;
+import com.javainfraexample.spring_monolith_template.common.exception.ResourceNotFoundException;
+import com.javainfraexample.spring_monolith_template.config.rabbitmq.NegotiatingMessageConverter;
+import com.javainfraexample.spring_monolith_template.messaging.dlq.DlqReplayConfig;
+import com.javainfraexample.spring_monolith_template.messaging.dlq.DlqReplayer;
+import com.javainfraexample.spring_monolith_template.messaging.dlq.DlqStoreConfig;
+import com.javainfraexample.spring_monolith_template.repository.dlq.DlqRecord;
+import com.javainfraexample.spring_monolith_template.repository.dlq.DlqRecordQuery;
+import com.javainfraexample.spring_monolith_template.repository.dlq.DlqRecordRepository;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Stores, reads and replays dead-lettered messages (dlq_records).
+ */
+@Service
+@RequiredArgsConstructor
+public class DlqRecordService {
+
+    private static final Set<String> STATUSES = Set.of("PENDING", "REPLAYING", "REPLAYED", "FAILED", "DUPLICATE");
+    private static final Set<String> REPLAYABLE_STATUSES = Set.of("PENDING", "FAILED");
+
+    private final DlqRecordRepository dlqRecordRepository;
+    private final DlqReplayer replayer;
+    private final DlqStoreConfig storeConfig;
+    private final DlqReplayConfig replayConfig;
+    private final NegotiatingMessageConverter messageConverter;
+
+    /**
+     * Store a DLQ batch in one transaction, skipping messages already stored (redeliveries).
+     *
+     * @return the records actually written, in batch order
+     */
+    @Transactional
+    public List<DlqRecord> recordBatch(String dlqQueue, List<DlqRecord> records) {
+        List<String> messageIds = records.stream().map(DlqRecord::messageId).filter(id -> id != null).toList();
+        Set<String> seen = new HashSet<>(dlqRecordRepository.findStoredDeliveries(dlqQueue, messageIds));
+
+        List<DlqRecord> fresh = new ArrayList<>(records.size());
+        for (DlqRecord record : records) {
+            if (record.messageId() == null || seen.add(record.messageId() + "#" + record.replayCount())) {
+                fresh.add(record);
+            }
+        }
+        if (!fresh.isEmpty()) {
+            dlqRecordRepository.insertBatch(fresh);
+        }
+        return fresh;
+    }
+
+    // ==================== Queries ====================
+
+    /**
+     * One keyset page ordered by id. {@code after} is the previous page's nextCursor.
+     */
+    public ApiResponseDto<DlqRecordPageResponse> findPage(String queue, String type, String status,
+                                                          LocalDateTime from, LocalDateTime to,
+                                                          String after, int limit) {
+        if (limit < 1 || limit > storeConfig.getMaxPageSize()) {
+            throw new BadRequestException("limit must be between 1 and " + storeConfig.getMaxPageSize());
+        }
+        DlqRecordQuery query = buildQuery(queue, type, status, from, to, parseCursor(after));
+
+        // One extra row tells whether there is a next page
+        List<DlqRecord> rows = dlqRecordRepository.findPage(query, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<DlqRecord> page = hasMore ? rows.subList(0, limit) : rows;
+
+        String nextCursor = hasMore ? String.valueOf(page.get(page.size() - 1).id()) : null;
+        return ApiResponseDto.success(new DlqRecordPageResponse(
+            page.stream().map(record -> DlqRecordResponse.from(record, displayPayload(record))).toList(), nextCursor));
+    }
+
+    // ==================== Replay ====================
+
+    public ApiResponseDto<DlqReplayResponse> startReplay(DlqReplayRequest request) {
+        if (request.status() != null && !REPLAYABLE_STATUSES.contains(request.status())) {
+            throw new BadRequestException("status must be one of " + REPLAYABLE_STATUSES);
+        }
+        DlqRecordQuery query = buildQuery(request.queue(), request.type(), request.status(),
+                request.from(), request.to(), null);
+        int rate = request.ratePerSecond() != null ? request.ratePerSecond() : replayConfig.getDefaultRate();
+        if (rate > replayConfig.getMaxRate()) {
+            throw new BadRequestException("ratePerSecond must be at most " + replayConfig.getMaxRate());
+        }
+        long limit = request.limit() != null ? request.limit() : Long.MAX_VALUE;
+
+        DlqReplayer.ReplayJob job = replayer.start(query, rate, limit);
+        return ApiResponseDto.success("Replay started", DlqReplayResponse.from(job));
+    }
+
+    public ApiResponseDto<List<DlqReplayResponse>> findReplays() {
+        return ApiResponseDto.success(replayer.jobs().stream().map(DlqReplayResponse::from).toList());
+    }
+
+    public ApiResponseDto<DlqReplayResponse> findReplay(String id) {
+        return ApiResponseDto.success(DlqReplayResponse.from(job(id)));
+    }
+
+    public ApiResponseDto<DlqReplayResponse> cancelReplay(String id) {
+        DlqReplayer.ReplayJob job = job(id);
+        job.cancel();
+        return ApiResponseDto.success("Replay cancelling", DlqReplayResponse.from(job));
+    }
+
+    private DlqReplayer.ReplayJob job(String id) {
+        DlqReplayer.ReplayJob job = replayer.job(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Replay not found with id: " + id);
+        }
+        return job;
+    }
+
+    // ==================== Helpers ====================
+
+    private static DlqRecordQuery buildQuery(String queue, String type, String status,
+                                             LocalDateTime from, LocalDateTime to, Long afterId) {
+        if (status != null && !STATUSES.contains(status)) {
+            throw new BadRequestException("status must be one of " + STATUSES);
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new BadRequestException("from must be before to");
+        }
+        return new DlqRecordQuery(blankToNull(queue), blankToNull(type), status, from, to, afterId);
+    }
+
+    private static Long parseCursor(String after) {
+        if (after == null || after.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(after);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    private String displayPayload(DlqRecord record) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(record.contentType());
+        properties.setContentEncoding(record.contentEncoding());
+        try {
+            return messageConverter.toDisplayString(new Message(record.payload(), properties));
+        } catch (RuntimeException e) {
+            return "<undecodable body, " + record.payload().length + " bytes>";
+        }
+    }
+}
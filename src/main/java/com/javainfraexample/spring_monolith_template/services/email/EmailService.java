@@ -2,21 +2,36 @@ package com.javainfraexample.spring_monolith_template.services.email;
 
 import com.javainfraexample.spring_monolith_template.messaging.email.constant.EmailConstants;
 import com.javainfraexample.spring_monolith_template.messaging.email.message.EmailMessage;
+import com.javainfraexample.spring_monolith_template.services.email.delivery.EmailRejectedException;
+import com.javainfraexample.spring_monolith_template.services.email.delivery.SmtpDeliveryEngine;
+import com.javainfraexample.spring_monolith_template.services.email.template.EmailTemplateRenderer;
+
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeBodyPart;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.stereotype.Service;
 
+import java.io.UnsupportedEncodingException;
+
 /**
  * Email business service — handles all email types via switch case.
  *
  * <p>Called by {@code EmailListener} after deserializing the queue message.
- * Each email type has its own handler method with specific business logic.</p>
+ * Each email type has its own handler method with specific business logic.
+ * The HTML body is rendered from {@code templates/email/{type}.html} by {@link EmailTemplateRenderer},
+ * with {@code body} as the plain-text alternative; emails go out through {@link SmtpDeliveryEngine}
+ * (pooled SMTP connections).</p>
  *
  * <h3>Adding a new email type:</h3>
  * <ol>
- *   <li>Add a constant in {@code EmailConstants} (e.g. {@code TYPE_INVOICE})</li>
+ *   <li>Add a constant in {@code EmailConstants} (e.g. {@code TYPE_INVOICE}) and its template</li>
  *   <li>Add a convenience factory method in {@code EmailMessage}</li>
  *   <li>Add a convenience publish method in {@code EmailPublisher}</li>
  *   <li>Add a case in {@code process()} below</li>
@@ -28,8 +43,8 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class EmailService {
 
-    // TODO: Inject email sending infrastructure (e.g. JavaMailSender, SendGrid, SES)
-    // private final JavaMailSender mailSender;
+    private final SmtpDeliveryEngine deliveryEngine;
+    private final EmailTemplateRenderer templateRenderer;
 
     /**
      * Process an email message — routes to the correct handler based on type.
@@ -60,10 +75,7 @@ public class EmailService {
     private void handleWelcome(EmailMessage email) {
         log.info("[EMAIL] Sending welcome email to: {}", email.to());
 
-        // TODO: Replace with actual email sending logic
-        // MimeMessage message = mailSender.createMimeMessage();
-        // Use a "welcome" HTML template, inject name and data
-        // mailSender.send(message);
+        deliveryEngine.send(toMimeMessage(email));
 
         log.info("[EMAIL] Welcome email sent to: {} (name={})", email.to(), email.name());
     }
@@ -75,10 +87,8 @@ public class EmailService {
     private void handleLogin(EmailMessage email) {
         log.info("[EMAIL] Sending login notification to: {}", email.to());
 
-        // TODO: Replace with actual email sending logic
-        // Include login details from data (e.g. IP address, device, timestamp)
-        // String ip = (String) email.data().getOrDefault("ip", "unknown");
-        // String device = (String) email.data().getOrDefault("device", "unknown");
+        // login.html shows data.ip and data.device
+        deliveryEngine.send(toMimeMessage(email));
 
         log.info("[EMAIL] Login notification sent to: {} (name={})", email.to(), email.name());
     }
@@ -90,9 +100,8 @@ public class EmailService {
     private void handleUserUpdate(EmailMessage email) {
         log.info("[EMAIL] Sending profile update confirmation to: {}", email.to());
 
-        // TODO: Replace with actual email sending logic
-        // Include changed fields from data (e.g. "email", "name", "phone")
-        // String changedField = (String) email.data().getOrDefault("field", "profile");
+        // user-update.html shows data.field (e.g. "email", "name", "phone")
+        deliveryEngine.send(toMimeMessage(email));
 
         log.info("[EMAIL] Profile update email sent to: {} (name={})", email.to(), email.name());
     }
@@ -104,9 +113,8 @@ public class EmailService {
     private void handlePasswordReset(EmailMessage email) {
         log.info("[EMAIL] Sending password reset email to: {}", email.to());
 
-        // TODO: Replace with actual email sending logic
-        // Include reset link from data
-        // String resetLink = (String) email.data().get("resetLink");
+        // password-reset.html links to data.resetLink
+        deliveryEngine.send(toMimeMessage(email));
 
         log.info("[EMAIL] Password reset email sent to: {} (name={})", email.to(), email.name());
     }
@@ -118,7 +126,7 @@ public class EmailService {
     private void handlePasswordChanged(EmailMessage email) {
         log.info("[EMAIL] Sending password changed confirmation to: {}", email.to());
 
-        // TODO: Replace with actual email sending logic
+        deliveryEngine.send(toMimeMessage(email));
 
         log.info("[EMAIL] Password changed email sent to: {} (name={})", email.to(), email.name());
     }
@@ -130,10 +138,33 @@ public class EmailService {
     private void handleVerification(EmailMessage email) {
         log.info("[EMAIL] Sending verification email to: {}", email.to());
 
-        // TODO: Replace with actual email sending logic
-        // Include verification link from data
-        // String verifyLink = (String) email.data().get("verifyLink");
+        // verification.html links to data.verifyLink
+        deliveryEngine.send(toMimeMessage(email));
 
         log.info("[EMAIL] Verification email sent to: {} (name={})", email.to(), email.name());
     }
+
+    // ===========================================
+    // MIME message from the queue payload
+    // ===========================================
+
+    private MimeMessage toMimeMessage(EmailMessage email) {
+        try {
+            MimeMessage message = deliveryEngine.createMessage();
+            message.setFrom(deliveryEngine.fromAddress());
+            message.setRecipient(Message.RecipientType.TO, email.name() != null
+                    ? new InternetAddress(email.to(), email.name(), "UTF-8")
+                    : new InternetAddress(email.to(), true));
+            message.setSubject(email.subject(), "UTF-8");
+
+            MimeBodyPart text = new MimeBodyPart();
+            text.setText(email.body(), "UTF-8");
+            MimeBodyPart html = new MimeBodyPart();
+            html.setText(templateRenderer.render(email), "UTF-8", "html");
+            message.setContent(new MimeMultipart("alternative", text, html));
+            return message;
+        } catch (MessagingException | UnsupportedEncodingException e) {
+            throw new EmailRejectedException("Invalid email: to=" + email.to() + " (" + e.getMessage() + ")", e);
+        }
+    }
 }
@@ -0,0 +1,16 @@
+package com.javainfraexample.spring_monolith_template.services.email.delivery;
+
+/**
+ * An email could not be handed to the SMTP server (connection, timeout, 4xx). Retryable:
+ * the listener's delayed retries send it again.
+ */
+public class EmailDeliveryException extends RuntimeException {
+
+    public EmailDeliveryException(String message) {
+        super(message);
+    }
+
+    public EmailDeliveryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,19 @@
+package com.javainfraexample.spring_monolith_template.services.email.delivery;
+
+import com.javainfraexample.spring_monolith_template.messaging.retry.NonRetryable;
+
+/**
+ * The SMTP server permanently rejected the email (invalid recipient, 5xx) or the address can't be
+ * parsed. Sent straight to the DLQ — another attempt would be rejected the same way.
+ */
+@NonRetryable
+public class EmailRejectedException extends EmailDeliveryException {
+
+    public EmailRejectedException(String message) {
+        super(message);
+    }
+
+    public EmailRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
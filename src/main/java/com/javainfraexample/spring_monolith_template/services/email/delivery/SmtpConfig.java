@@ -0,0 +1,58 @@
+package com.javainfraexample.spring_monolith_template.services.email.delivery;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * SMTP server and delivery engine settings — see {@link SmtpDeliveryEngine}.
+ *
+ * <pre>
+ * app:
+ *   email:
+ *     smtp:
+ *       enabled: true                  # false: emails are only logged
+ *       host: smtp.example.com
+ *       port: 587
+ *       username: ${SMTP_USERNAME:}
+ *       password: ${SMTP_PASSWORD:}
+ *       start-tls: true
+ *       from: no-reply@example.com
+ *       pool-size: 8                   # authenticated connections per node (= max sends in flight)
+ *       max-messages-per-connection: 100
+ *       idle-timeout-ms: 30000         # idle connections are closed after this
+ *       max-per-domain: 4              # sends in flight per recipient domain
+ * </pre>
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "app.email.smtp")
+public class SmtpConfig {
+
+    private boolean enabled = false;
+    private String host = "localhost";
+    private int port = 587;
+    private String username;
+    private String password;
+    private boolean startTls = true;
+    private boolean ssl = false;
+    private String from = "no-reply@example.com";
+    private String fromName;
+
+    private int poolSize = 8;
+    private int maxMessagesPerConnection = 100;
+    private long idleTimeoutMs = 30000;
+    private long validateAfterIdleMs = 2000;
+    private long borrowTimeoutMs = 10000;
+    private int maxPerDomain = 4;
+
+    private int connectTimeoutMs = 5000;
+    private int readTimeoutMs = 15000;
+
+    public boolean hasCredentials() {
+        return username != null && !username.isBlank();
+    }
+}
@@ -0,0 +1,221 @@
+package com.javainfraexample.spring_monolith_template.services.email.delivery;
+
+import com.javainfraexample.spring_monolith_template.services.email.delivery.SmtpTransportPool.PooledTransport;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends emails over pooled SMTP connections instead of one connect + AUTH + QUIT per email.
+ *
+ * <pre>
+ *   send(message)
+ *     ├── per recipient domain: at most max-per-domain in flight (waits up to borrow-timeout-ms)
+ *     ├── borrow a connected transport  (SmtpTransportPool)
+ *     ├── MAIL FROM / RCPT TO / DATA on it
+ *     └── return it — the next email reuses the connection (up to max-messages-per-connection)
+ * </pre>
+ *
+ * Failures: a permanently rejected recipient (5xx) throws {@link EmailRejectedException} (straight to
+ * the DLQ); anything else throws {@link EmailDeliveryException} (retried). A connection that
+ * failed, or no longer answers after a refused recipient, is discarded. With {@code app.email.smtp.enabled=false} messages are only logged.
+ *
+ * <p>Metrics: {@code email.smtp.messages{outcome=sent|failed|rejected}} (use {@code rate()} for
+ * throughput), {@code email.smtp.send.latency}, {@code email.smtp.acquire.latency} (domain limit +
+ * pool wait), {@code email.smtp.domains.active}.</p>
+ */
+@Slf4j
+@Component
+public class SmtpDeliveryEngine {
+
+    private final SmtpConfig config;
+    private final SmtpTransportPool pool;
+    private final Map<String, DomainLimit> domains = new ConcurrentHashMap<>();
+
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter rejected;
+    private final Timer sendLatency;
+    private final Timer acquireLatency;
+
+    public SmtpDeliveryEngine(SmtpConfig config, SmtpTransportPool pool, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.pool = pool;
+
+        this.sent = outcome(meterRegistry, "sent");
+        this.failed = outcome(meterRegistry, "failed");
+        this.rejected = outcome(meterRegistry, "rejected");
+        this.sendLatency = Timer.builder("email.smtp.send.latency")
+                .description("Time to transfer one email on an open SMTP connection")
+                .register(meterRegistry);
+        this.acquireLatency = Timer.builder("email.smtp.acquire.latency")
+                .description("Wait for the recipient domain limit and a pooled SMTP connection")
+                .register(meterRegistry);
+        Gauge.builder("email.smtp.domains.active", domains, Map::size)
+                .description("Recipient domains with sends in flight or waiting")
+                .register(meterRegistry);
+    }
+
+    /**
+     * An empty message bound to the pool's mail session.
+     */
+    public MimeMessage createMessage() {
+        return new MimeMessage(pool.session());
+    }
+
+    public InternetAddress fromAddress() {
+        try {
+            return config.getFromName() != null
+                    ? new InternetAddress(config.getFrom(), config.getFromName(), "UTF-8")
+                    : new InternetAddress(config.getFrom(), true);
+        } catch (Exception e) {
+            throw new IllegalStateException("Invalid app.email.smtp.from: " + config.getFrom(), e);
+        }
+    }
+
+    /**
+     * Send {@code message} to all its recipients. Blocks until the server accepted it.
+     *
+     * @throws EmailRejectedException  recipient permanently rejected, or no recipients
+     * @throws EmailDeliveryException  connection, timeout or temporary failure
+     */
+    public void send(MimeMessage message) {
+        Address[] recipients = recipients(message);
+        if (!config.isEnabled()) {
+            log.info("[SMTP disabled] Email not sent: to={}, subject={}", recipients[0], subject(message));
+            return;
+        }
+
+        String domain = domain(recipients[0]);
+        long waitStart = System.nanoTime();
+        DomainLimit limit = acquireDomain(domain);
+        try {
+            PooledTransport pooled = pool.borrow();
+            acquireLatency.record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+            boolean broken = false;
+            try {
+                long start = System.nanoTime();
+                message.saveChanges();
+                pooled.transport().sendMessage(message, recipients);
+                pooled.recordSent();
+                sendLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                sent.increment();
+            } catch (SendFailedException e) {
+                // Usually address-level and the connection is still fine, but a server that hung up
+                // mid-transaction also surfaces here: keep the connection only if it answers a NOOP
+                broken = !pooled.transport().isConnected();
+                throw classify(e, recipients[0]);
+            } catch (MessagingException | IllegalStateException e) {
+                broken = true;
+                failed.increment();
+                throw new EmailDeliveryException("SMTP send to " + domain + " failed: " + e.getMessage(), e);
+            } finally {
+                pool.release(pooled, broken);
+            }
+        } finally {
+            releaseDomain(domain, limit);
+        }
+    }
+
+    private EmailDeliveryException classify(SendFailedException e, Address recipient) {
+        Address[] invalid = e.getInvalidAddresses();
+        if (invalid != null && invalid.length > 0) {
+            rejected.increment();
+            return new EmailRejectedException("Recipient rejected: " + recipient + " (" + e.getMessage() + ")", e);
+        }
+        failed.increment();
+        return new EmailDeliveryException("Recipient temporarily refused: " + recipient + " (" + e.getMessage() + ")", e);
+    }
+
+    private DomainLimit acquireDomain(String domain) {
+        DomainLimit limit = domains.compute(domain, (k, existing) -> {
+            DomainLimit target = existing != null ? existing : new DomainLimit(config.getMaxPerDomain());
+            target.users++;
+            return target;
+        });
+        try {
+            if (!limit.permits.tryAcquire(config.getBorrowTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                leaveDomain(domain);
+                throw new EmailDeliveryException("Too many emails in flight to " + domain);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            leaveDomain(domain);
+            throw new EmailDeliveryException("Interrupted waiting for the " + domain + " limit", e);
+        }
+        return limit;
+    }
+
+    private void releaseDomain(String domain, DomainLimit limit) {
+        limit.permits.release();
+        leaveDomain(domain);
+    }
+
+    /**
+     * Drop the domain's entry once nobody holds or waits for it, so the map only has active domains.
+     */
+    private void leaveDomain(String domain) {
+        domains.computeIfPresent(domain, (k, limit) -> --limit.users == 0 ? null : limit);
+    }
+
+    private static Address[] recipients(MimeMessage message) {
+        try {
+            Address[] recipients = message.getAllRecipients();
+            if (recipients == null || recipients.length == 0) {
+                throw new EmailRejectedException("Email has no recipients");
+            }
+            return recipients;
+        } catch (MessagingException e) {
+            throw new EmailRejectedException("Unreadable recipients: " + e.getMessage(), e);
+        }
+    }
+
+    private static String domain(Address recipient) {
+        String address = recipient instanceof InternetAddress internet ? internet.getAddress() : recipient.toString();
+        int at = address.lastIndexOf('@');
+        return at >= 0 ? address.substring(at + 1).toLowerCase(Locale.ROOT) : "";
+    }
+
+    private static String subject(MimeMessage message) {
+        try {
+            return message.getSubject();
+        } catch (MessagingException e) {
+            return "?";
+        }
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("email.smtp.messages")
+                .description("Emails handed to the SMTP server by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * {@code users} (holding or waiting) is only changed inside {@code domains.compute*}.
+     */
+    private static final class DomainLimit {
+        final Semaphore permits;
+        int users;
+
+        DomainLimit(int maxInFlight) {
+            this.permits = new Semaphore(maxInFlight);
+        }
+    }
+}
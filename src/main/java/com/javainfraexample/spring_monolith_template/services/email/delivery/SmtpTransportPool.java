@@ -0,0 +1,203 @@
+package com.javainfraexample.spring_monolith_template.services.email.delivery;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Properties;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool of connected, authenticated SMTP transports.
+ *
+ * <pre>
+ *   borrow  ──► idle connection (most recently used first)
+ *               │  idle &gt; validate-after-idle-ms: NOOP check, dead ones are closed
+ *               └─ none idle: connect + AUTH a new one
+ *   return  ──► back to idle, or closed after max-messages-per-connection / a failed send
+ * </pre>
+ *
+ * At most {@code pool-size} connections are borrowed at once; {@code borrow} waits up to
+ * {@code borrow-timeout-ms} for one. A connection idle longer than {@code idle-timeout-ms} is
+ * closed by {@link #evictIdle()} before the server times it out.
+ *
+ * <p>Metrics: {@code email.smtp.connections{state=idle|in_use}}, {@code email.smtp.connections.opened}.</p>
+ */
+@Slf4j
+@Component
+public class SmtpTransportPool {
+
+    private final SmtpConfig config;
+    private final Session session;
+    private final Semaphore permits;
+    private final BlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+    private final Counter opened;
+
+    public SmtpTransportPool(SmtpConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.session = Session.getInstance(sessionProperties(config));
+        this.permits = new Semaphore(config.getPoolSize(), true);
+
+        this.opened = Counter.builder("email.smtp.connections.opened")
+                .description("SMTP connections opened (connect + AUTH)")
+                .register(meterRegistry);
+        Gauge.builder("email.smtp.connections", idle, BlockingDeque::size)
+                .description("SMTP connections in the pool")
+                .tag("state", "idle")
+                .register(meterRegistry);
+        Gauge.builder("email.smtp.connections", permits, p -> config.getPoolSize() - p.availablePermits())
+                .description("SMTP connections in the pool")
+                .tag("state", "in_use")
+                .register(meterRegistry);
+    }
+
+    public Session session() {
+        return session;
+    }
+
+    /**
+     * Borrow a connected transport. Every borrow must be followed by exactly one {@link #release}.
+     *
+     * @throws EmailDeliveryException if none is free within borrow-timeout-ms or the connect fails
+     */
+    public PooledTransport borrow() {
+        try {
+            if (!permits.tryAcquire(config.getBorrowTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                throw new EmailDeliveryException("No SMTP connection free within " + config.getBorrowTimeoutMs() + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EmailDeliveryException("Interrupted waiting for an SMTP connection", e);
+        }
+
+        try {
+            PooledTransport pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                if (isUsable(pooled)) {
+                    return pooled;
+                }
+                close(pooled);
+            }
+            return connect();
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Return a borrowed transport. {@code broken}: the last send failed at the connection level,
+     * so it is closed instead of reused.
+     */
+    public void release(PooledTransport pooled, boolean broken) {
+        try {
+            if (broken || pooled.sent >= config.getMaxMessagesPerConnection()) {
+                close(pooled);
+            } else {
+                pooled.lastUsedAt = System.currentTimeMillis();
+                idle.offerFirst(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.smtp.idle-timeout-ms:30000}")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - config.getIdleTimeoutMs();
+        // Oldest at the tail; borrow() takes from the head, so these are the unused ones
+        Iterator<PooledTransport> it = idle.descendingIterator();
+        while (it.hasNext()) {
+            PooledTransport pooled = it.next();
+            if (pooled.lastUsedAt < cutoff && idle.removeLastOccurrence(pooled)) {
+                close(pooled);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            close(pooled);
+        }
+    }
+
+    private boolean isUsable(PooledTransport pooled) {
+        if (System.currentTimeMillis() - pooled.lastUsedAt < config.getValidateAfterIdleMs()) {
+            return true;
+        }
+        return pooled.transport.isConnected();   // NOOP round trip
+    }
+
+    private PooledTransport connect() {
+        try {
+            Transport transport = session.getTransport(config.isSsl() ? "smtps" : "smtp");
+            if (config.hasCredentials()) {
+                transport.connect(config.getHost(), config.getPort(), config.getUsername(), config.getPassword());
+            } else {
+                transport.connect(config.getHost(), config.getPort(), null, null);
+            }
+            opened.increment();
+            log.debug("SMTP connection opened to {}:{}", config.getHost(), config.getPort());
+            return new PooledTransport(transport);
+        } catch (MessagingException e) {
+            throw new EmailDeliveryException("SMTP connect to " + config.getHost() + ":" + config.getPort() + " failed", e);
+        }
+    }
+
+    private void close(PooledTransport pooled) {
+        try {
+            pooled.transport.close();
+        } catch (MessagingException e) {
+            log.debug("SMTP connection close failed: {}", e.getMessage());
+        }
+    }
+
+    private static Properties sessionProperties(SmtpConfig config) {
+        String protocol = config.isSsl() ? "smtps" : "smtp";
+        Properties props = new Properties();
+        props.put("mail.transport.protocol", protocol);
+        props.put("mail." + protocol + ".auth", String.valueOf(config.hasCredentials()));
+        props.put("mail." + protocol + ".starttls.enable", String.valueOf(config.isStartTls()));
+        props.put("mail." + protocol + ".starttls.required", String.valueOf(config.isStartTls()));
+        props.put("mail." + protocol + ".connectiontimeout", String.valueOf(config.getConnectTimeoutMs()));
+        props.put("mail." + protocol + ".timeout", String.valueOf(config.getReadTimeoutMs()));
+        props.put("mail." + protocol + ".writetimeout", String.valueOf(config.getReadTimeoutMs()));
+        props.put("mail." + protocol + ".quitwait", "false");   // don't wait for the QUIT reply when closing
+        return props;
+    }
+
+    /**
+     * A pooled connection; {@code sent} and {@code lastUsedAt} are only touched by the borrower.
+     */
+    public static final class PooledTransport {
+        final Transport transport;
+        int sent;
+        volatile long lastUsedAt = System.currentTimeMillis();
+
+        PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+
+        public Transport transport() {
+            return transport;
+        }
+
+        public void recordSent() {
+            sent++;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.javainfraexample.spring_monolith_template.services.email.template;
+
+import com.javainfraexample.spring_monolith_template.messaging.email.message.EmailMessage;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A parsed template: literal text and placeholders, ready to render without parsing.
+ *
+ * @param type     email type the template renders
+ * @param segments in output order; adjacent literals are merged
+ */
+public record CompiledTemplate(String type, List<Segment> segments) {
+
+    public void render(EmailMessage email, StringBuilder out) {
+        for (Segment segment : segments) {
+            segment.render(email, out);
+        }
+    }
+
+    /**
+     * One piece of output. Values are HTML-escaped as they are appended.
+     */
+    public sealed interface Segment {
+        void render(EmailMessage email, StringBuilder out);
+    }
+
+    /** Static text (and, with cache-static-fragments, globals and partials already rendered). */
+    public record Literal(String text) implements Segment {
+        @Override
+        public void render(EmailMessage email, StringBuilder out) {
+            out.append(text);
+        }
+    }
+
+    /** {@code {{name}}}, {@code {{to}}}, {@code {{subject}}} or {@code {{body}}}. */
+    public record Field(String field) implements Segment {
+        @Override
+        public void render(EmailMessage email, StringBuilder out) {
+            Html.escape(switch (field) {
+                case "name" -> email.name();
+                case "to" -> email.to();
+                case "subject" -> email.subject();
+                default -> email.body();
+            }, out);
+        }
+    }
+
+    /** {@code {{data.key}}} — empty if the message has no such entry. */
+    public record DataValue(String key) implements Segment {
+        @Override
+        public void render(EmailMessage email, StringBuilder out) {
+            Object value = email.data() != null ? email.data().get(key) : null;
+            Html.escape(value != null ? value.toString() : null, out);
+        }
+    }
+
+    /** {@code {{> partial}}} rendered per use (cache-static-fragments off). */
+    public record Include(CompiledTemplate partial) implements Segment {
+        @Override
+        public void render(EmailMessage email, StringBuilder out) {
+            partial.render(email, out);
+        }
+    }
+
+    /** {@code {{globalKey}}} looked up per render (cache-static-fragments off). */
+    public record Global(String key, Map<String, String> globals) implements Segment {
+        @Override
+        public void render(EmailMessage email, StringBuilder out) {
+            Html.escape(globals.get(key), out);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.javainfraexample.spring_monolith_template.services.email.template;
+
+import com.javainfraexample.spring_monolith_template.services.email.template.CompiledTemplate.DataValue;
+import com.javainfraexample.spring_monolith_template.services.email.template.CompiledTemplate.Field;
+import com.javainfraexample.spring_monolith_template.services.email.template.CompiledTemplate.Global;
+import com.javainfraexample.spring_monolith_template.services.email.template.CompiledTemplate.Include;
+import com.javainfraexample.spring_monolith_template.services.email.template.CompiledTemplate.Literal;
+import com.javainfraexample.spring_monolith_template.services.email.template.CompiledTemplate.Segment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Parses template source into a {@link CompiledTemplate}.
+ *
+ * <pre>
+ *   {{name}} {{to}} {{subject}} {{body}}   fields of the EmailMessage
+ *   {{data.resetLink}}                     entry of EmailMessage.data (empty if missing)
+ *   {{appName}}                            app.email.templates.globals
+ *   {{&gt; footer}}                           partials/footer.html
+ * </pre>
+ *
+ * Every value is HTML-escaped. An unclosed tag, an unknown placeholder or a missing partial fails
+ * the compile, so a broken template stops startup instead of the first email of its type.
+ */
+final class EmailTemplateCompiler {
+
+    private static final Set<String> FIELDS = Set.of("name", "to", "subject", "body");
+    private static final String DATA_PREFIX = "data.";
+    private static final int MAX_PARTIAL_DEPTH = 5;
+
+    private final Map<String, String> globals;
+    private final boolean cacheStaticFragments;
+    private final Function<String, String> partialSource;
+
+    /**
+     * @param partialSource partial name → source; throws if the partial doesn't exist
+     */
+    EmailTemplateCompiler(Map<String, String> globals, boolean cacheStaticFragments, Function<String, String> partialSource) {
+        this.globals = globals;
+        this.cacheStaticFragments = cacheStaticFragments;
+        this.partialSource = partialSource;
+    }
+
+    CompiledTemplate compile(String type, String source) {
+        return compile(type, source, 0);
+    }
+
+    private CompiledTemplate compile(String name, String source, int depth) {
+        List<Segment> segments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        parse(name, source, segments, literal, depth);
+        flush(literal, segments);
+        return new CompiledTemplate(name, List.copyOf(segments));
+    }
+
+    private void parse(String name, String source, List<Segment> segments, StringBuilder literal, int depth) {
+        int pos = 0;
+        while (true) {
+            int open = source.indexOf("{{", pos);
+            if (open < 0) {
+                literal.append(source, pos, source.length());
+                return;
+            }
+            literal.append(source, pos, open);
+            int close = source.indexOf("}}", open + 2);
+            if (close < 0) {
+                throw new IllegalStateException("Unclosed {{ in email template " + name + " at offset " + open);
+            }
+            String tag = source.substring(open + 2, close).trim();
+            pos = close + 2;
+
+            if (tag.startsWith(">")) {
+                String partial = tag.substring(1).trim();
+                if (depth >= MAX_PARTIAL_DEPTH) {
+                    throw new IllegalStateException("Partials nested deeper than " + MAX_PARTIAL_DEPTH + " in " + name);
+                }
+                if (cacheStaticFragments) {
+                    parse(partial, partialSource.apply(partial), segments, literal, depth + 1);
+                } else {
+                    flush(literal, segments);
+                    segments.add(new Include(compile(partial, partialSource.apply(partial), depth + 1)));
+                }
+            } else if (FIELDS.contains(tag)) {
+                flush(literal, segments);
+                segments.add(new Field(tag));
+            } else if (tag.startsWith(DATA_PREFIX) && tag.length() > DATA_PREFIX.length()) {
+                flush(literal, segments);
+                segments.add(new DataValue(tag.substring(DATA_PREFIX.length())));
+            } else if (globals.containsKey(tag)) {
+                if (cacheStaticFragments) {
+                    Html.escape(globals.get(tag), literal);
+                } else {
+                    flush(literal, segments);
+                    segments.add(new Global(tag, globals));
+                }
+            } else {
+                throw new IllegalStateException("Unknown placeholder {{" + tag + "}} in email template " + name);
+            }
+        }
+    }
+
+    private static void flush(StringBuilder literal, List<Segment> segments) {
+        if (!literal.isEmpty()) {
+            segments.add(new Literal(literal.toString()));
+            literal.setLength(0);
+        }
+    }
+}
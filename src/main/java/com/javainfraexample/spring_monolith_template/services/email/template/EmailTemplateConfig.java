@@ -0,0 +1,44 @@
+package com.javainfraexample.spring_monolith_template.services.email.template;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Email template settings — see {@link EmailTemplateRenderer}.
+ *
+ * <pre>
+ * app:
+ *   email:
+ *     templates:
+ *       location: classpath:templates/email/   # {type}.html, partials/{name}.html
+ *       cache-static-fragments: true           # globals and partials rendered once at compile time
+ *       buffer-pool-size: 64                   # render buffers kept for reuse
+ *       max-pooled-buffer-chars: 65536         # larger buffers are dropped, not pooled
+ *       reload-check-interval-ms: 1000         # dev profile only: recompile changed templates
+ *       globals:                               # {{appName}} etc. in every template
+ *         appName: My App
+ *         supportEmail: support@example.com
+ * </pre>
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "app.email.templates")
+public class EmailTemplateConfig {
+
+    private String location = "classpath:templates/email/";
+    private boolean cacheStaticFragments = true;
+    private int bufferPoolSize = 64;
+    private int initialBufferChars = 8192;
+    private int maxPooledBufferChars = 65536;
+    private long reloadCheckIntervalMs = 1000;
+    private Map<String, String> globals = new LinkedHashMap<>(Map.of(
+            "appName", "Spring Monolith",
+            "supportEmail", "support@example.com"));
+}
@@ -0,0 +1,32 @@
+package com.javainfraexample.spring_monolith_template.services.email.template;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Dev only: recompiles the email templates when a template or partial file changes, so edits
+ * show up in the next email without a restart. Point {@code app.email.templates.location} at
+ * {@code file:src/main/resources/templates/email/} (application-dev.yaml does) to edit the sources.
+ */
+@Profile("dev")
+@Component
+public class EmailTemplateHotReloader {
+
+    private final EmailTemplateRenderer renderer;
+    private long lastModified;
+
+    public EmailTemplateHotReloader(EmailTemplateRenderer renderer) {
+        this.renderer = renderer;
+        this.lastModified = renderer.sourcesLastModified();
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.templates.reload-check-interval-ms:1000}")
+    public void reloadIfChanged() {
+        long modified = renderer.sourcesLastModified();
+        if (modified > lastModified) {
+            lastModified = modified;
+            renderer.reload();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.javainfraexample.spring_monolith_template.services.email.template;
+
+import com.javainfraexample.spring_monolith_template.messaging.email.constant.EmailConstants;
+import com.javainfraexample.spring_monolith_template.messaging.email.message.EmailMessage;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders the HTML body of every email type from precompiled templates.
+ *
+ * <pre>
+ *   startup:  {location}{type}.html for every EmailConstants.ALL_TYPES
+ *                 └── compiled once (EmailTemplateCompiler) — a missing or broken template fails startup
+ *   render:   pooled StringBuilder ──► literal / placeholder segments ──► String
+ * </pre>
+ *
+ * File names are the type in lower case with dashes: {@code PASSWORD_RESET → password-reset.html};
+ * partials live in {@code partials/}. With {@code cache-static-fragments} (default), partials and
+ * globals are rendered into the surrounding text at compile time, so a render only appends a few
+ * literals plus the per-message values. In the dev profile {@link EmailTemplateHotReloader}
+ * recompiles changed templates; elsewhere templates are fixed for the life of the process.
+ *
+ * <p>Metrics: {@code email.template.render.latency{type}} (with histogram buckets).</p>
+ */
+@Slf4j
+@Component
+public class EmailTemplateRenderer {
+
+    private static final String PARTIALS = "partials/";
+    private static final String SUFFIX = ".html";
+
+    private final EmailTemplateConfig config;
+    private final ResourceLoader resourceLoader;
+    private final RenderBufferPool buffers;
+    private final Map<String, Timer> renderLatency = new HashMap<>();
+
+    private volatile Compiled compiled;
+
+    public EmailTemplateRenderer(EmailTemplateConfig config, ResourceLoader resourceLoader, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.resourceLoader = resourceLoader;
+        this.buffers = new RenderBufferPool(config.getBufferPoolSize(), config.getInitialBufferChars(),
+                config.getMaxPooledBufferChars());
+
+        for (String type : EmailConstants.ALL_TYPES) {
+            renderLatency.put(type, Timer.builder("email.template.render.latency")
+                    .description("Time to render an email template")
+                    .tag("type", type)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        this.compiled = compileAll();
+        log.info("Email templates compiled: {} types from {}", compiled.templates().size(), config.getLocation());
+    }
+
+    /**
+     * HTML body for {@code email}.
+     *
+     * @throws IllegalArgumentException if there is no template for the email's type
+     */
+    public String render(EmailMessage email) {
+        CompiledTemplate template = compiled.templates().get(email.type());
+        if (template == null) {
+            throw new IllegalArgumentException("No email template for type: " + email.type());
+        }
+        long start = System.nanoTime();
+        StringBuilder buffer = buffers.acquire();
+        try {
+            template.render(email, buffer);
+            return buffer.toString();
+        } finally {
+            buffers.release(buffer);
+            renderLatency.get(email.type()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Recompile all templates. If one fails the previous set stays in use.
+     */
+    void reload() {
+        try {
+            compiled = compileAll();
+            log.info("Email templates reloaded from {}", config.getLocation());
+        } catch (RuntimeException e) {
+            log.error("Email template reload failed, keeping the previous templates: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Latest modification time of the files the current templates were compiled from
+     * (0 if unknown, e.g. inside a jar).
+     */
+    long sourcesLastModified() {
+        long latest = 0;
+        for (Resource source : compiled.sources()) {
+            try {
+                latest = Math.max(latest, source.lastModified());
+            } catch (IOException e) {
+                // not a file: never changes at runtime
+            }
+        }
+        return latest;
+    }
+
+    private Compiled compileAll() {
+        List<Resource> sources = new ArrayList<>();
+        EmailTemplateCompiler compiler = new EmailTemplateCompiler(config.getGlobals(), config.isCacheStaticFragments(),
+                partial -> read(PARTIALS + partial + SUFFIX, sources));
+
+        Map<String, CompiledTemplate> templates = new HashMap<>();
+        for (String type : EmailConstants.ALL_TYPES) {
+            String source = read(type.toLowerCase(Locale.ROOT).replace('_', '-') + SUFFIX, sources);
+            templates.put(type, compiler.compile(type, source));
+        }
+        return new Compiled(Map.copyOf(templates), List.copyOf(sources));
+    }
+
+    private String read(String fileName, List<Resource> sources) {
+        Resource resource = resourceLoader.getResource(config.getLocation() + fileName);
+        if (!resource.exists()) {
+            throw new IllegalStateException("Email template not found: " + config.getLocation() + fileName);
+        }
+        sources.add(resource);
+        try {
+            return resource.getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read email template " + fileName, e);
+        }
+    }
+
+    private record Compiled(Map<String, CompiledTemplate> templates, List<Resource> sources) {
+    }
+}
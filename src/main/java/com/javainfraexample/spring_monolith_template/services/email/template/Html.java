@@ -0,0 +1,32 @@
+package com.javainfraexample.spring_monolith_template.services.email.template;
+
+/**
+ * HTML escaping straight into the render buffer, without an intermediate String.
+ */
+final class Html {
+
+    private Html() {}
+
+    static void escape(String value, StringBuilder out) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    static String escape(String value) {
+        StringBuilder out = new StringBuilder(value != null ? value.length() + 16 : 0);
+        escape(value, out);
+        return out.toString();
+    }
+}
@@ -0,0 +1,38 @@
+package com.javainfraexample.spring_monolith_template.services.email.template;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Bounded pool of {@link StringBuilder}s for rendering, so a render doesn't grow a fresh buffer
+ * from 16 chars every time. A pool rather than a ThreadLocal: listeners run on virtual threads,
+ * where per-thread buffers would be allocated (and dropped) per message anyway.
+ */
+final class RenderBufferPool {
+
+    private final BlockingQueue<StringBuilder> buffers;
+    private final int initialChars;
+    private final int maxPooledChars;
+
+    RenderBufferPool(int size, int initialChars, int maxPooledChars) {
+        this.buffers = new ArrayBlockingQueue<>(Math.max(1, size));
+        this.initialChars = initialChars;
+        this.maxPooledChars = maxPooledChars;
+    }
+
+    StringBuilder acquire() {
+        StringBuilder buffer = buffers.poll();
+        return buffer != null ? buffer : new StringBuilder(initialChars);
+    }
+
+    /**
+     * Give a buffer back; one that grew past max-pooled-buffer-chars is dropped so the pool
+     * doesn't pin memory for a rare huge email.
+     */
+    void release(StringBuilder buffer) {
+        if (buffer.capacity() <= maxPooledChars) {
+            buffer.setLength(0);
+            buffers.offer(buffer);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.javainfraexample.spring_monolith_template.services.notification;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Development stand-in ({@code app.notification.provider: logging}): logs the send and reports
+ * every token as delivered. Nothing reaches a device.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.notification.provider", havingValue = "logging")
+public class LoggingNotificationService implements NotificationService {
+
+    @Override
+    public List<String> sendToTokens(List<String> tokens, String title, String body,
+                                     String priority, Map<String, Object> data) {
+        log.info("[NOTIFICATION SERVICE] Logging provider, not sent: {} tokens, title={}, priority={}",
+                tokens.size(), title, priority);
+        return List.of();
+    }
+}
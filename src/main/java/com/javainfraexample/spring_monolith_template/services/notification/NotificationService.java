@@ -0,0 +1,24 @@
+package com.javainfraexample.spring_monolith_template.services.notification;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Push provider call behind the notification listeners.
+ *
+ * The implementation is chosen by {@code app.notification.provider}:
+ *   - {@code none} (default): {@link UnconfiguredNotificationService}, every send throws
+ *   - {@code logging}:        {@link LoggingNotificationService}, logs and reports every token delivered
+ *
+ * A real provider (FCM, APNs) is another implementation with its own provider value.
+ */
+public interface NotificationService {
+
+    /**
+     * Send one notification to a batch of tokens (one provider multicast call).
+     *
+     * @return tokens the provider could not deliver to (empty when all succeeded)
+     */
+    List<String> sendToTokens(List<String> tokens, String title, String body,
+                              String priority, Map<String, Object> data);
+}
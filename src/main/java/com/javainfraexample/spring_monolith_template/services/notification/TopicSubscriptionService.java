@@ -0,0 +1,132 @@
+package com.javainfraexample.spring_monolith_template.services.notification;
+
+import com.javainfraexample.spring_monolith_template.common.redis.RedisCacheService;
+import com.javainfraexample.spring_monolith_template.common.redis.RedisKey;
+import com.javainfraexample.spring_monolith_template.messaging.notification.NotificationDeliveryConfig;
+import com.javainfraexample.spring_monolith_template.repository.notification.TopicSubscriptionRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Topic subscriptions — Postgres is the source of truth, Redis caches one set per topic
+ * ({@code notification:topic:<topic>}).
+ *
+ * Usage:
+ *   topicSubscriptionService.subscribe("news", deviceToken);
+ *   topicSubscriptionService.forEachPage("news", 1000, page -> ...);
+ *
+ * Reads never load a whole topic: the Redis set is streamed with SSCAN, and on a cache miss
+ * Postgres is read in keyset pages while the set is rebuilt under a temporary key and renamed
+ * into place once complete, so readers never see a half-built set.
+ *
+ * Writes go to Postgres first, then update the set only if it is cached. A subscription change
+ * that races a rebuild can be missing from the cache until it expires ({@code cache-ttl-minutes}).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TopicSubscriptionService {
+
+    private final TopicSubscriptionRepository repository;
+    private final RedisCacheService cacheService;
+    private final NotificationDeliveryConfig config;
+
+    public void subscribe(String topic, String token) {
+        if (repository.subscribe(topic, token)) {
+            cacheService.setAddIfExists(RedisKey.NOTIFICATION_TOPIC.key(topic), token);
+        }
+    }
+
+    public void unsubscribe(String topic, String token) {
+        if (repository.unsubscribe(topic, token)) {
+            cacheService.setRemove(RedisKey.NOTIFICATION_TOPIC.key(topic), token);
+        }
+    }
+
+    /**
+     * Drop a token from every topic, e.g. after the provider reported it as unregistered.
+     */
+    public void unsubscribeAll(String token) {
+        for (String topic : repository.unsubscribeAll(token)) {
+            cacheService.setRemove(RedisKey.NOTIFICATION_TOPIC.key(topic), token);
+        }
+    }
+
+    /**
+     * Stream a topic's subscribers in pages of at most {@code pageSize} tokens. Each page is a new
+     * list the consumer may keep; only one page is buffered here at a time.
+     *
+     * A subscriber may appear twice if the Redis set is rehashed mid-scan (SSCAN guarantee).
+     *
+     * @return number of tokens streamed
+     */
+    public long forEachPage(String topic, int pageSize, Consumer<List<String>> pageConsumer) {
+        String key = RedisKey.NOTIFICATION_TOPIC.key(topic);
+        if (cacheService.exists(key)) {
+            return streamFromCache(key, pageSize, pageConsumer);
+        }
+        return streamFromDatabase(topic, key, pageSize, pageConsumer);
+    }
+
+    private long streamFromCache(String key, int pageSize, Consumer<List<String>> pageConsumer) {
+        List<String> page = new ArrayList<>(pageSize);
+        long streamed = cacheService.setScan(key, config.getTopics().getScanCount(), token -> {
+            page.add(token);
+            if (page.size() == pageSize) {
+                pageConsumer.accept(List.copyOf(page));
+                page.clear();
+            }
+        });
+        if (!page.isEmpty()) {
+            pageConsumer.accept(List.copyOf(page));
+        }
+        return streamed;
+    }
+
+    private long streamFromDatabase(String topic, String key, int pageSize, Consumer<List<String>> pageConsumer) {
+        String buildKey = key + ":build:" + UUID.randomUUID();
+        Duration ttl = Duration.ofMinutes(config.getTopics().getCacheTtlMinutes());
+        boolean caching = true;
+        long streamed = 0;
+        String after = null;
+
+        try {
+            List<String> page;
+            do {
+                page = repository.findTokensAfter(topic, after, pageSize);
+                if (page.isEmpty()) {
+                    break;
+                }
+                if (caching) {
+                    // Every token in a page is distinct, so a short count means the write failed
+                    caching = cacheService.setAdd(buildKey, page.toArray(String[]::new)) == page.size();
+                    if (streamed == 0) {
+                        cacheService.expire(buildKey, ttl); // don't leak the key if this node dies mid-build
+                    }
+                }
+                pageConsumer.accept(page);
+                streamed += page.size();
+                after = page.getLast();
+            } while (page.size() == pageSize);
+
+            if (caching && streamed > 0 && cacheService.rename(buildKey, key)) {
+                cacheService.expire(key, ttl);
+                log.debug("Cached {} subscribers for topic: {}", streamed, topic);
+            }
+        } finally {
+            if (streamed > 0) {
+                cacheService.delete(buildKey); // no-op after a successful rename
+            }
+        }
+        return streamed;
+    }
+}
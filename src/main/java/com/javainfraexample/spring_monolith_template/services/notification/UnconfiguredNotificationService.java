@@ -0,0 +1,24 @@
+package com.javainfraexample.spring_monolith_template.services.notification;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Used when no push provider is configured ({@code app.notification.provider: none}).
+ *
+ * Every send throws, so the fan-out counts the tokens as failed and they end up in the DLQ
+ * instead of being reported as delivered.
+ */
+@Service
+@ConditionalOnProperty(name = "app.notification.provider", havingValue = "none", matchIfMissing = true)
+public class UnconfiguredNotificationService implements NotificationService {
+
+    @Override
+    public List<String> sendToTokens(List<String> tokens, String title, String body,
+                                     String priority, Map<String, Object> data) {
+        throw new IllegalStateException("No push provider configured (app.notification.provider=none)");
+    }
+}
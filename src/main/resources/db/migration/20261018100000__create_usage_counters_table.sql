@@ -0,0 +1,45 @@
+-- 20261018100000__create_usage_counters_table.sql
+-- Creates usage metering tables (per-client daily counters, monthly rollups)
+
+-- Daily usage per client, one partition per day (UTC).
+-- Written by UsageMeter in batched upserts; old partitions are rolled up
+-- into usage_monthly and dropped by UsageRollupJob.
+CREATE TABLE IF NOT EXISTS usage_counters (
+    usage_date      DATE NOT NULL,
+    client_id       VARCHAR(255) NOT NULL,
+    units           BIGINT NOT NULL DEFAULT 0,
+    updated_at      TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (usage_date, client_id)
+) PARTITION BY RANGE (usage_date);
+
+-- Monthly totals of days whose partitions were dropped
+CREATE TABLE IF NOT EXISTS usage_monthly (
+    usage_month     DATE NOT NULL,
+    client_id       VARCHAR(255) NOT NULL,
+    units           BIGINT NOT NULL DEFAULT 0,
+    updated_at      TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (usage_month, client_id)
+);
+
+-- Index for per-client reports
+CREATE INDEX IF NOT EXISTS idx_usage_monthly_client_id ON usage_monthly(client_id);
+
+-- Creates the partition for one day if missing (idempotent, safe to call concurrently)
+CREATE OR REPLACE FUNCTION ensure_usage_counters_partition(day DATE) RETURNS VOID AS $$
+DECLARE
+    partition_name TEXT := 'usage_counters_' || to_char(day, 'YYYYMMDD');
+BEGIN
+    EXECUTE format(
+        'CREATE TABLE IF NOT EXISTS %I PARTITION OF usage_counters FOR VALUES FROM (%L) TO (%L)',
+        partition_name, day, day + 1
+    );
+END;
+$$ LANGUAGE plpgsql;
+
+-- Pre-create partitions for the coming week
+SELECT ensure_usage_counters_partition(CURRENT_DATE + offs)
+FROM generate_series(-1, 7) AS offs;
+
+COMMENT ON TABLE usage_counters IS 'Per-client daily usage units, partitioned by day';
+COMMENT ON COLUMN usage_counters.client_id IS 'Metering key, e.g. ip:203.0.113.7';
+COMMENT ON TABLE usage_monthly IS 'Per-client monthly usage rolled up from dropped daily partitions';
@@ -0,0 +1,22 @@
+-- 20261018110000__create_audit_events_table.sql
+-- Creates audit_events table (written in batches by AuditListener)
+
+CREATE TABLE IF NOT EXISTS audit_events (
+    id              UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    action          VARCHAR(100) NOT NULL,
+    user_id         VARCHAR(64),
+    ip              VARCHAR(45),
+    details         JSONB,
+    occurred_at     TIMESTAMP NOT NULL,
+    created_at      TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Index for time range queries
+CREATE INDEX IF NOT EXISTS idx_audit_events_occurred_at ON audit_events(occurred_at);
+
+-- Index for a user's history
+CREATE INDEX IF NOT EXISTS idx_audit_events_user_id ON audit_events(user_id);
+
+COMMENT ON TABLE audit_events IS 'Audit trail consumed from app.audit.event';
+COMMENT ON COLUMN audit_events.user_id IS 'Acting user, NULL for system events';
+COMMENT ON COLUMN audit_events.occurred_at IS 'When the event happened (AuditMessage.timestamp, UTC)';
@@ -0,0 +1,58 @@
+-- 20261018120000__partition_audit_events_by_month.sql
+-- Converts audit_events into a table range-partitioned by month (occurred_at)
+--
+-- Most queries are "time range" or "user + time range"; old months are removed
+-- with DROP TABLE on their partition (see AuditService.dropExpiredPartitions).
+
+ALTER TABLE audit_events RENAME TO audit_events_unpartitioned;
+ALTER INDEX IF EXISTS idx_audit_events_occurred_at RENAME TO idx_audit_events_unpartitioned_occurred_at;
+ALTER INDEX IF EXISTS idx_audit_events_user_id RENAME TO idx_audit_events_unpartitioned_user_id;
+
+CREATE TABLE audit_events (
+    id              UUID NOT NULL DEFAULT uuid_generate_v4(),
+    action          VARCHAR(100) NOT NULL,
+    user_id         VARCHAR(64),
+    ip              VARCHAR(45),
+    details         JSONB,
+    occurred_at     TIMESTAMP NOT NULL,
+    created_at      TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, occurred_at)
+) PARTITION BY RANGE (occurred_at);
+
+-- BRIN for time ranges: rows arrive roughly in time order, so a few KB cover millions of rows
+CREATE INDEX IF NOT EXISTS idx_audit_events_occurred_at_brin ON audit_events USING BRIN (occurred_at);
+
+-- B-tree for a user's history (user_id first, time second for keyset pagination)
+CREATE INDEX IF NOT EXISTS idx_audit_events_user_id_occurred_at ON audit_events(user_id, occurred_at, id);
+
+-- Creates the partition for the month containing `month` if missing
+CREATE OR REPLACE FUNCTION ensure_audit_events_partition(month DATE) RETURNS VOID AS $$
+DECLARE
+    month_start DATE := date_trunc('month', month)::date;
+    partition_name TEXT := 'audit_events_' || to_char(month_start, 'YYYYMM');
+BEGIN
+    EXECUTE format(
+        'CREATE TABLE IF NOT EXISTS %I PARTITION OF audit_events FOR VALUES FROM (%L) TO (%L)',
+        partition_name, month_start, (month_start + INTERVAL '1 month')::date
+    );
+END;
+$$ LANGUAGE plpgsql;
+
+-- Partitions for existing rows, the current month and the next two
+SELECT ensure_audit_events_partition(m::date)
+FROM (
+    SELECT DISTINCT date_trunc('month', occurred_at) AS m FROM audit_events_unpartitioned
+    UNION
+    SELECT date_trunc('month', CURRENT_DATE) + (offs || ' month')::interval
+    FROM generate_series(0, 2) AS offs
+) months;
+
+INSERT INTO audit_events (id, action, user_id, ip, details, occurred_at, created_at)
+SELECT id, action, user_id, ip, details, occurred_at, created_at
+FROM audit_events_unpartitioned;
+
+DROP TABLE audit_events_unpartitioned;
+
+COMMENT ON TABLE audit_events IS 'Audit trail consumed from app.audit.event, partitioned by month (occurred_at)';
+COMMENT ON COLUMN audit_events.user_id IS 'Acting user, NULL for system events';
+COMMENT ON COLUMN audit_events.occurred_at IS 'When the event happened (AuditMessage.timestamp, UTC)';
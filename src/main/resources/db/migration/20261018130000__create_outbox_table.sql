@@ -0,0 +1,29 @@
+-- 20261018130000__create_outbox_table.sql
+-- Transactional outbox: messages written in the caller's transaction, relayed to RabbitMQ by OutboxRelay
+--
+-- Rows live only until the broker confirms them, so the table stays small but churns a lot.
+
+CREATE TABLE IF NOT EXISTS outbox (
+    id              BIGSERIAL PRIMARY KEY,
+    message_id      VARCHAR(36) NOT NULL,
+    exchange        VARCHAR(255) NOT NULL,
+    routing_key     VARCHAR(255) NOT NULL,
+    content_type    VARCHAR(100),
+    headers         JSONB,
+    payload         BYTEA NOT NULL,
+    attempts        INT NOT NULL DEFAULT 0,
+    last_error      TEXT,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_at      TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Relay poll: WHERE next_attempt_at <= now ORDER BY id
+CREATE INDEX IF NOT EXISTS idx_outbox_next_attempt_at ON outbox(next_attempt_at, id);
+
+-- Queue-like table: vacuum early so deleted rows don't pile up
+ALTER TABLE outbox SET (autovacuum_vacuum_scale_factor = 0.01, autovacuum_vacuum_threshold = 1000);
+
+COMMENT ON TABLE outbox IS 'Transactional outbox — pending RabbitMQ messages, deleted once the broker confirms them';
+COMMENT ON COLUMN outbox.message_id IS 'AMQP message-id, stable across redeliveries (consumers can dedupe on it)';
+COMMENT ON COLUMN outbox.headers IS 'AMQP headers set by the message converter (e.g. __TypeId__)';
+COMMENT ON COLUMN outbox.next_attempt_at IS 'Earliest time the relay picks the row up again after a failed publish';
@@ -0,0 +1,6 @@
+-- 20261018140000__add_outbox_content_encoding.sql
+-- Keep the AMQP content_encoding of outbox rows (e.g. "gzip:UTF-8" from the message converter)
+
+ALTER TABLE outbox ADD COLUMN IF NOT EXISTS content_encoding VARCHAR(50);
+
+COMMENT ON COLUMN outbox.content_encoding IS 'AMQP content_encoding — compression and/or charset of payload';
@@ -0,0 +1,6 @@
+-- 20261018150000__add_outbox_priority.sql
+-- Keep the AMQP priority of outbox rows (used by the notification priority queues)
+
+ALTER TABLE outbox ADD COLUMN IF NOT EXISTS priority SMALLINT;
+
+COMMENT ON COLUMN outbox.priority IS 'AMQP priority (NULL = none), honoured by queues declared with x-max-priority';
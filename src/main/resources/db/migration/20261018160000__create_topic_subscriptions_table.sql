@@ -0,0 +1,17 @@
+-- 20261018160000__create_topic_subscriptions_table.sql
+-- Topic subscriptions: which device tokens receive broadcasts for a notification topic
+--
+-- Source of truth for TopicSubscriptionService; Redis holds a per-topic set as a read cache.
+
+CREATE TABLE IF NOT EXISTS topic_subscriptions (
+    topic       VARCHAR(255) NOT NULL,
+    token       VARCHAR(512) NOT NULL,
+    created_at  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (topic, token)
+);
+
+-- Remove a dead token from every topic at once
+CREATE INDEX IF NOT EXISTS idx_topic_subscriptions_token ON topic_subscriptions(token);
+
+COMMENT ON TABLE topic_subscriptions IS 'Device tokens subscribed to notification topics';
+COMMENT ON COLUMN topic_subscriptions.token IS 'Push provider device token (FCM / APNs)';
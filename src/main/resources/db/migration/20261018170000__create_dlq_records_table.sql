@@ -0,0 +1,44 @@
+-- 20261018170000__create_dlq_records_table.sql
+-- Dead-lettered messages, stored by DlqListener (one JDBC batch per consumed DLQ batch) and replayed by DlqReplayer
+--
+-- The raw body and AMQP properties are kept, so a replay re-publishes the exact message.
+
+CREATE TABLE IF NOT EXISTS dlq_records (
+    id                 BIGSERIAL PRIMARY KEY,
+    message_id         VARCHAR(255),
+    dlq_queue          VARCHAR(255) NOT NULL,
+    original_queue     VARCHAR(255) NOT NULL,
+    message_type       VARCHAR(100) NOT NULL,
+    exchange           VARCHAR(255) NOT NULL,
+    routing_key        VARCHAR(255) NOT NULL,
+    retry_count        INT NOT NULL DEFAULT 0,
+    replay_count       INT NOT NULL DEFAULT 0,
+    error_reason       TEXT,
+    content_type       VARCHAR(100),
+    content_encoding   VARCHAR(50),
+    priority           INT,
+    headers            JSONB,
+    payload            BYTEA NOT NULL,
+    failed_at          TIMESTAMP NOT NULL,
+    replay_status      VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    replay_attempts    INT NOT NULL DEFAULT 0,
+    last_replay_error  TEXT,
+    replay_updated_at  TIMESTAMP
+);
+
+-- Store dedup: a redelivered DLQ message (crash between commit and ack) is not stored twice.
+-- replay_count is part of the key, so a replayed message that fails again gets a new row.
+CREATE UNIQUE INDEX IF NOT EXISTS uq_dlq_records_delivery
+    ON dlq_records(dlq_queue, message_id, replay_count) WHERE message_id IS NOT NULL;
+
+-- Admin filters: by queue / type within a time range
+CREATE INDEX IF NOT EXISTS idx_dlq_records_original_queue_failed_at ON dlq_records(original_queue, failed_at);
+CREATE INDEX IF NOT EXISTS idx_dlq_records_message_type_failed_at ON dlq_records(message_type, failed_at);
+CREATE INDEX IF NOT EXISTS idx_dlq_records_failed_at ON dlq_records(failed_at);
+
+COMMENT ON TABLE dlq_records IS 'Dead-lettered RabbitMQ messages — stored for inspection and bulk replay';
+COMMENT ON COLUMN dlq_records.exchange IS 'Exchange the message is replayed to (the one it was originally published to)';
+COMMENT ON COLUMN dlq_records.routing_key IS 'Routing key the message is replayed with';
+COMMENT ON COLUMN dlq_records.replay_count IS 'Times this message had been replayed before it dead-lettered (x-replay-count header)';
+COMMENT ON COLUMN dlq_records.replay_status IS 'PENDING, REPLAYING, REPLAYED, FAILED (last replay not confirmed) or DUPLICATE (message-id already replayed by the same job)';
+COMMENT ON COLUMN dlq_records.replay_updated_at IS 'Last replay status change; REPLAYING rows older than the claim timeout are picked up again';
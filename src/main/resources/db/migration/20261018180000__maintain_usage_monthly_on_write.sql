@@ -0,0 +1,19 @@
+-- 20261018180000__maintain_usage_monthly_on_write.sql
+-- usage_monthly becomes the complete monthly total, maintained by the same
+-- statement that upserts the daily row (see UsageCounterRepository.addUnits).
+-- Previously it only held days whose partitions had been rolled up and dropped,
+-- so the monthly quota had to sum live partitions and raced the rollup.
+
+-- Add the days still held in daily partitions (usage_monthly already has the dropped ones)
+INSERT INTO usage_monthly (usage_month, client_id, units, updated_at)
+SELECT date_trunc('month', usage_date)::date, client_id, SUM(units), now()
+FROM usage_counters
+GROUP BY 1, 2
+ON CONFLICT (usage_month, client_id)
+DO UPDATE SET units = usage_monthly.units + EXCLUDED.units, updated_at = now();
+
+-- Days are UTC regardless of the session time zone (CURRENT_DATE follows the session)
+SELECT ensure_usage_counters_partition((now() AT TIME ZONE 'UTC')::date + offs)
+FROM generate_series(-1, 7) AS offs;
+
+COMMENT ON TABLE usage_monthly IS 'Per-client monthly usage totals (UTC months), maintained on write together with usage_counters; daily partitions are only dropped';
@@ -0,0 +1,45 @@
+-- 20261018190000__add_audit_events_default_partition.sql
+-- Catch-all partition for audit_events, and a partition function that moves
+-- rows out of it.
+--
+-- Without a DEFAULT partition an insert for a month nobody created fails, and
+-- the whole audit batch ends up in the DLQ. Such rows now land in
+-- audit_events_default. AuditPartitionJob creates months ahead of time and, when
+-- it finds rows in the default partition, creates their month, which moves them.
+
+CREATE TABLE IF NOT EXISTS audit_events_default PARTITION OF audit_events DEFAULT;
+
+-- Creates the partition for the month containing `month` if it is missing.
+-- A new partition can't be attached while the default partition holds rows of its
+-- range, so those rows are moved into the new table first (same transaction).
+CREATE OR REPLACE FUNCTION ensure_audit_events_partition(month DATE) RETURNS VOID AS $$
+DECLARE
+    month_start DATE := date_trunc('month', month)::date;
+    month_end DATE := (date_trunc('month', month) + INTERVAL '1 month')::date;
+    partition_name TEXT := 'audit_events_' || to_char(month_start, 'YYYYMM');
+BEGIN
+    -- Serialize concurrent callers (startup on several nodes, the scheduled job)
+    PERFORM pg_advisory_xact_lock(hashtext('ensure_audit_events_partition'));
+
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE audit_events INCLUDING DEFAULTS)', partition_name);
+    EXECUTE format(
+        'WITH moved AS (DELETE FROM audit_events_default WHERE occurred_at >= %L AND occurred_at < %L RETURNING *) '
+        'INSERT INTO %I SELECT * FROM moved',
+        month_start, month_end, partition_name
+    );
+    EXECUTE format(
+        'ALTER TABLE audit_events ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+        partition_name, month_start, month_end
+    );
+END;
+$$ LANGUAGE plpgsql;
+
+-- Current month and the next two, in UTC (CURRENT_DATE follows the session time zone)
+SELECT ensure_audit_events_partition(((now() AT TIME ZONE 'UTC')::date + (offs || ' month')::interval)::date)
+FROM generate_series(0, 2) AS offs;
+
+COMMENT ON TABLE audit_events_default IS 'Audit events of months without their own partition; moved out by ensure_audit_events_partition';
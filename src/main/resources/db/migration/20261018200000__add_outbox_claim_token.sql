@@ -0,0 +1,8 @@
+-- 20261018200000__add_outbox_claim_token.sql
+-- Relay claims become short committed leases instead of row locks held while
+-- waiting for publisher confirms (see OutboxRepository.claimBatch)
+
+ALTER TABLE outbox ADD COLUMN IF NOT EXISTS claim_token UUID;
+
+COMMENT ON COLUMN outbox.claim_token IS 'Relay pass that currently holds the row; its lease ends at next_attempt_at';
+COMMENT ON COLUMN outbox.next_attempt_at IS 'Earliest time the relay picks the row up: after a failed publish, or when a claim lease expires';
@@ -0,0 +1,100 @@
+package com.javainfraexample.spring_monolith_template.common.net;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CidrTrieTest {
+
+    private final CidrTrie v4 = new CidrTrie(32);
+    private final CidrTrie v6 = new CidrTrie(128);
+
+    @Test
+    void zeroPrefixMatchesEveryAddressOfItsFamily() {
+        v4.add(ip("0.0.0.0"), 0);
+        v6.add(ip("::"), 0);
+
+        assertThat(v4.contains(ip("0.0.0.0"))).isTrue();
+        assertThat(v4.contains(ip("255.255.255.255"))).isTrue();
+        assertThat(v6.contains(ip("ffff:ffff:ffff:ffff:ffff:ffff:ffff:ffff"))).isTrue();
+        assertThat(v4.contains(ip("2001:db8::1"))).isFalse();
+        assertThat(v6.contains(ip("10.0.0.1"))).isFalse();
+    }
+
+    @Test
+    void fullLengthPrefixMatchesOneAddress() {
+        v4.add(ip("10.0.0.1"), 32);
+        v6.add(ip("::1"), 128);
+
+        assertThat(v4.contains(ip("10.0.0.1"))).isTrue();
+        assertThat(v4.contains(ip("10.0.0.0"))).isFalse();
+        assertThat(v4.contains(ip("10.0.0.2"))).isFalse();
+        assertThat(v6.contains(ip("::1"))).isTrue();
+        assertThat(v6.contains(ip("::"))).isFalse();
+        assertThat(v6.contains(ip("::2"))).isFalse();
+        assertThat(v6.contains(ip("8000::1"))).isFalse();
+    }
+
+    @Test
+    void prefixIgnoresHostBits() {
+        v4.add(ip("10.1.2.3"), 8);
+        v6.add(ip("2001:db8:100::5"), 48);
+
+        assertThat(v4.contains(ip("10.255.0.1"))).isTrue();
+        assertThat(v4.contains(ip("11.0.0.1"))).isFalse();
+        assertThat(v6.contains(ip("2001:db8:100:ffff::1"))).isTrue();
+        assertThat(v6.contains(ip("2001:db8:101::1"))).isFalse();
+    }
+
+    @Test
+    void prefixBoundaryIsExact() {
+        v4.add(ip("172.16.0.0"), 12);
+
+        assertThat(v4.contains(ip("172.16.0.0"))).isTrue();
+        assertThat(v4.contains(ip("172.31.255.255"))).isTrue();
+        assertThat(v4.contains(ip("172.15.255.255"))).isFalse();
+        assertThat(v4.contains(ip("172.32.0.0"))).isFalse();
+    }
+
+    @Test
+    void shorterPrefixCoversLongerOnesInEitherOrder() {
+        v4.add(ip("10.1.2.0"), 24);
+        v4.add(ip("10.0.0.0"), 8);
+        v4.add(ip("10.9.9.9"), 32);
+
+        assertThat(v4.contains(ip("10.200.0.1"))).isTrue();
+        assertThat(v4.contains(ip("10.1.2.3"))).isTrue();
+    }
+
+    @Test
+    void growsPastInitialCapacity() {
+        for (int i = 0; i < 200; i++) {
+            v4.add(new byte[] {(byte) 192, (byte) 168, (byte) i, 1}, 32);
+        }
+
+        for (int i = 0; i < 200; i++) {
+            assertThat(v4.contains(new byte[] {(byte) 192, (byte) 168, (byte) i, 1})).isTrue();
+        }
+        assertThat(v4.contains(ip("192.168.0.2"))).isFalse();
+        assertThat(v4.contains(ip("192.168.200.1"))).isFalse();
+    }
+
+    @Test
+    void rejectsInvalidPrefixes() {
+        assertThatThrownBy(() -> v4.add(ip("10.0.0.0"), 33)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> v4.add(ip("10.0.0.0"), -1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> v6.add(ip("::1"), 129)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> v4.add(ip("::1"), 8)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void emptyTrieContainsNothing() {
+        assertThat(v4.contains(ip("10.0.0.1"))).isFalse();
+        assertThat(v6.contains(ip("::1"))).isFalse();
+    }
+
+    private static byte[] ip(String value) {
+        return IpAddress.parse(value);
+    }
+}
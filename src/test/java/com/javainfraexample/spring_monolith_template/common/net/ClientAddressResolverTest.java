@@ -0,0 +1,168 @@
+package com.javainfraexample.spring_monolith_template.common.net;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Trusted proxies: 10.0.0.0/8, 2001:db8:100::/48 and loopback.
+ */
+class ClientAddressResolverTest {
+
+    private final ClientAddressResolver resolver = new ClientAddressResolver(config(true));
+
+    @Test
+    void untrustedPeerIgnoresHeaders() {
+        MockHttpServletRequest request = request("203.0.113.7", "198.51.100.1");
+        request.addHeader("X-Real-IP", "198.51.100.2");
+
+        assertThat(resolver.resolve(request)).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    void firstUntrustedHopFromTheRightIsTheClient() {
+        assertThat(resolver.resolve(request("10.0.0.2", "198.51.100.1"))).isEqualTo("198.51.100.1");
+        assertThat(resolver.resolve(request("10.0.0.2", "198.51.100.1, 10.0.0.5"))).isEqualTo("198.51.100.1");
+    }
+
+    @Test
+    void spoofedLeftmostHopIsNotTrusted() {
+        assertThat(resolver.resolve(request("10.0.0.2", "6.6.6.6, 198.51.100.1, 10.0.0.5")))
+            .isEqualTo("198.51.100.1");
+        assertThat(resolver.resolve(request("10.0.0.2", "10.0.0.9, 198.51.100.1, 10.0.0.5")))
+            .isEqualTo("198.51.100.1");
+    }
+
+    @Test
+    void allTrustedHopsResolveToTheLeftmost() {
+        assertThat(resolver.resolve(request("10.0.0.2", "10.0.0.7, 10.0.0.5"))).isEqualTo("10.0.0.7");
+    }
+
+    @Test
+    void unparsableHopStopsAtTheLastTrustedHop() {
+        assertThat(resolver.resolve(request("10.0.0.2", "198.51.100.1, unknown, 10.0.0.5"))).isEqualTo("10.0.0.5");
+        assertThat(resolver.resolve(request("10.0.0.2", "garbage"))).isEqualTo("10.0.0.2");
+    }
+
+    @Test
+    void blankHopsAreSkipped() {
+        assertThat(resolver.resolve(request("10.0.0.2", " 198.51.100.1 ,, 10.0.0.5 ,"))).isEqualTo("198.51.100.1");
+    }
+
+    @Test
+    void repeatedHeadersAreWalkedLastHeaderFirst() {
+        MockHttpServletRequest request = request("10.0.0.2", "6.6.6.6, 198.51.100.1");
+        request.addHeader("X-Forwarded-For", "10.0.0.7, 10.0.0.5");
+
+        assertThat(resolver.resolve(request)).isEqualTo("198.51.100.1");
+    }
+
+    @Test
+    void repeatedHeadersOfTrustedHopsResolveToTheLeftmost() {
+        MockHttpServletRequest request = request("10.0.0.2", "10.0.0.8");
+        request.addHeader("X-Forwarded-For", "10.0.0.5");
+
+        assertThat(resolver.resolve(request)).isEqualTo("10.0.0.8");
+    }
+
+    @Test
+    void ipv6HopsAreMatchedAndNormalized() {
+        assertThat(resolver.resolve(request("::1", "[2001:DB8:1:0::5]:443, 2001:db8:100::1")))
+            .isEqualTo("2001:db8:1::5");
+        assertThat(resolver.resolve(request("2001:db8:100::9", "2001:db8:2::1%eth0"))).isEqualTo("2001:db8:2::1");
+    }
+
+    @Test
+    void ipv4MappedAddressesAreTreatedAsIpv4() {
+        assertThat(resolver.resolve(request("::ffff:10.0.0.2", "::ffff:198.51.100.1, ::ffff:10.0.0.5")))
+            .isEqualTo("198.51.100.1");
+        assertThat(resolver.resolve(request("::ffff:203.0.113.7", null))).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    void peerWithZoneIdIsNormalized() {
+        assertThat(resolver.resolve(request("fe80::1%eth0", "198.51.100.1"))).isEqualTo("fe80::1");
+    }
+
+    @Test
+    void realIpHeaderIsUsedOnlyWithoutForwardedFor() {
+        MockHttpServletRequest realIpOnly = request("10.0.0.2", null);
+        realIpOnly.addHeader("X-Real-IP", "198.51.100.9");
+        MockHttpServletRequest both = request("10.0.0.2", "198.51.100.1");
+        both.addHeader("X-Real-IP", "198.51.100.9");
+        MockHttpServletRequest invalid = request("10.0.0.2", null);
+        invalid.addHeader("X-Real-IP", "unknown");
+
+        assertThat(resolver.resolve(realIpOnly)).isEqualTo("198.51.100.9");
+        assertThat(resolver.resolve(both)).isEqualTo("198.51.100.1");
+        assertThat(resolver.resolve(invalid)).isEqualTo("10.0.0.2");
+    }
+
+    @Test
+    void realIpHeaderCanBeDisabled() {
+        ClientAddressResolver withoutRealIp = new ClientAddressResolver(config(false));
+        MockHttpServletRequest request = request("10.0.0.2", null);
+        request.addHeader("X-Real-IP", "198.51.100.9");
+
+        assertThat(withoutRealIp.resolve(request)).isEqualTo("10.0.0.2");
+    }
+
+    @Test
+    void unparsableRemoteAddressIsReturnedAsIs() {
+        assertThat(resolver.resolve(request("unix-socket", "198.51.100.1"))).isEqualTo("unix-socket");
+    }
+
+    @Test
+    void resultIsCachedOnTheRequest() {
+        MockHttpServletRequest request = request("10.0.0.2", "198.51.100.1");
+        assertThat(resolver.resolve(request)).isEqualTo("198.51.100.1");
+
+        request.setRemoteAddr("203.0.113.7");
+        assertThat(resolver.resolve(request)).isEqualTo("198.51.100.1");
+        assertThat(request.getAttribute(ClientAddressResolver.ATTRIBUTE)).isEqualTo("198.51.100.1");
+    }
+
+    @Test
+    void isTrustedProxyChecksBothFamilies() {
+        assertThat(resolver.isTrustedProxy(IpAddress.parse("10.255.255.255"))).isTrue();
+        assertThat(resolver.isTrustedProxy(IpAddress.parse("11.0.0.0"))).isFalse();
+        assertThat(resolver.isTrustedProxy(IpAddress.parse("2001:db8:100:abcd::1"))).isTrue();
+        assertThat(resolver.isTrustedProxy(IpAddress.parse("2001:db8:101::1"))).isFalse();
+        assertThat(resolver.isTrustedProxy(null)).isFalse();
+    }
+
+    @Test
+    void invalidTrustedProxyFailsStartup() {
+        ClientAddressConfig badAddress = new ClientAddressConfig();
+        badAddress.setTrustedProxies(List.of("proxy.internal/8"));
+        ClientAddressConfig badPrefix = new ClientAddressConfig();
+        badPrefix.setTrustedProxies(List.of("10.0.0.0/eight"));
+
+        assertThatThrownBy(() -> new ClientAddressResolver(badAddress))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("proxy.internal/8");
+        assertThatThrownBy(() -> new ClientAddressResolver(badPrefix))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("10.0.0.0/eight");
+    }
+
+    private static ClientAddressConfig config(boolean realIpHeaderEnabled) {
+        ClientAddressConfig config = new ClientAddressConfig();
+        config.setTrustedProxies(List.of("10.0.0.0/8", "2001:db8:100::/48", "127.0.0.0/8", "::1/128"));
+        config.setRealIpHeaderEnabled(realIpHeaderEnabled);
+        return config;
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+        request.setRemoteAddr(remoteAddr);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return request;
+    }
+}
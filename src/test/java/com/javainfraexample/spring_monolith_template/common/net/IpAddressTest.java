@@ -0,0 +1,80 @@
+package com.javainfraexample.spring_monolith_template.common.net;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IpAddressTest {
+
+    @Test
+    void parsesIpv4WithAndWithoutPort() {
+        assertThat(IpAddress.parse("192.168.1.10")).containsExactly(192, 168, 1, 10);
+        assertThat(IpAddress.parse("1.2.3.4:8080")).containsExactly(1, 2, 3, 4);
+        assertThat(IpAddress.parse("  10.0.0.1 ")).containsExactly(10, 0, 0, 1);
+    }
+
+    @Test
+    void parsesRegionOfALargerString() {
+        String header = "198.51.100.1, 10.0.0.5";
+
+        assertThat(IpAddress.format(IpAddress.parse(header, 0, 12))).isEqualTo("198.51.100.1");
+        assertThat(IpAddress.format(IpAddress.parse(header, 13, header.length()))).isEqualTo("10.0.0.5");
+    }
+
+    @Test
+    void expandsDoubleColonCompression() {
+        assertThat(IpAddress.parse("::")).hasSize(16).containsOnly(0);
+        assertThat(format("::1")).isEqualTo("::1");
+        assertThat(format("1::")).isEqualTo("1::");
+        assertThat(format("2001:db8::1")).isEqualTo("2001:db8::1");
+        assertThat(IpAddress.parse("2001:db8::1")).isEqualTo(IpAddress.parse("2001:0db8:0000:0000:0000:0000:0000:0001"));
+    }
+
+    @Test
+    void formatsIpv6Canonically() {
+        assertThat(format("2001:0DB8:0000:0000:0000:0000:0000:000A")).isEqualTo("2001:db8::a");
+        assertThat(format("2001:db8:0:0:1:0:0:1")).isEqualTo("2001:db8::1:0:0:1");   // first of equal runs
+        assertThat(format("2001:db8:0:0:1:0:0:0")).isEqualTo("2001:db8:0:0:1::");    // longest run
+        assertThat(format("2001:db8:0:1:1:1:1:1")).isEqualTo("2001:db8:0:1:1:1:1:1"); // single zero kept
+    }
+
+    @Test
+    void dropsBracketsPortAndZone() {
+        assertThat(format("[2001:db8::1]:443")).isEqualTo("2001:db8::1");
+        assertThat(format("[::1]")).isEqualTo("::1");
+        assertThat(format("fe80::1%eth0")).isEqualTo("fe80::1");
+        assertThat(format("fe80::1%25")).isEqualTo("fe80::1");
+    }
+
+    @Test
+    void collapsesIpv4MappedIpv6ToIpv4() {
+        assertThat(IpAddress.parse("::ffff:10.0.0.1")).containsExactly(10, 0, 0, 1);
+        assertThat(IpAddress.parse("::FFFF:a00:1")).containsExactly(10, 0, 0, 1);
+        assertThat(IpAddress.parse("[::ffff:10.0.0.1]:8080")).containsExactly(10, 0, 0, 1);
+        assertThat(IpAddress.parse("0:0:0:0:0:ffff:10.0.0.1")).containsExactly(10, 0, 0, 1);
+    }
+
+    @Test
+    void keepsOtherEmbeddedIpv4AsIpv6() {
+        assertThat(format("64:ff9b::192.0.2.33")).isEqualTo("64:ff9b::c000:221");
+        assertThat(IpAddress.parse("::ffff:0:10.0.0.1")).hasSize(16);
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {
+        "   ", "unknown", "localhost", "256.1.1.1", "1.2.3", "1.2.3.4.5", "1.2.3.", "1..2.3", "0001.2.3.4", "-1.2.3.4",
+        ":1", "1:", ":::", "1::2::3", "12345::1", "gggg::1", "1:2:3:4:5:6:7", "1:2:3:4:5:6:7:8:9", "1:2:3:4:5:6:7::8",
+        "::ffff:1.2.3", "::ffff:1.2.3.4.5", "1:2:3:4:5:6:7:1.2.3.4", "[::1", "[]", "%eth0"
+    })
+    void rejectsMalformedInput(String value) {
+        assertThat(IpAddress.parse(value)).isNull();
+    }
+
+    private static String format(String value) {
+        return IpAddress.format(IpAddress.parse(value));
+    }
+}
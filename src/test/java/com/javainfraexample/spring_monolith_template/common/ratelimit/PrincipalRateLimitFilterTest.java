@@ -0,0 +1,95 @@
+package com.javainfraexample.spring_monolith_template.common.ratelimit;
+
+import com.javainfraexample.spring_monolith_template.common.net.ClientAddressResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * PRINCIPAL rules are checked after authentication, by {@link PrincipalRateLimitFilter} only.
+ */
+class PrincipalRateLimitFilterTest {
+
+    private static final RateLimitRule PER_USER = new RateLimitRule(
+        "per-user", false, RateLimitAlgorithm.FIXED_WINDOW, RateLimitKeyStrategy.PRINCIPAL, 1, List.of());
+    private static final RateLimitRule PER_IP = new RateLimitRule(
+        "per-ip", false, RateLimitAlgorithm.FIXED_WINDOW, RateLimitKeyStrategy.IP, 1, List.of());
+
+    private final RateLimiterService rateLimiterService = mock(RateLimiterService.class);
+    private final RateLimitRuleRegistry ruleRegistry = mock(RateLimitRuleRegistry.class);
+    private final ClientAddressResolver clientAddressResolver = mock(ClientAddressResolver.class);
+    private final RateLimitMetrics metrics = mock(RateLimitMetrics.class);
+    private final RateLimitConfig config = new RateLimitConfig();
+
+    private RateLimitFilter beforeSecurity;
+    private PrincipalRateLimitFilter afterSecurity;
+
+    @BeforeEach
+    void setUp() {
+        beforeSecurity = new RateLimitFilter(rateLimiterService, config, ruleRegistry, clientAddressResolver, metrics);
+        afterSecurity = new PrincipalRateLimitFilter(rateLimiterService, config, ruleRegistry, clientAddressResolver, metrics);
+        when(clientAddressResolver.resolve(any())).thenReturn("203.0.113.7");
+        when(rateLimiterService.checkRule(any(), anyString()))
+            .thenReturn(RateLimiterService.RateLimitResult.allowed(9, 60));
+    }
+
+    @Test
+    void authenticatedRequestIsLimitedPerUser() throws Exception {
+        when(ruleRegistry.match("GET", "/api/users/me")).thenReturn(PER_USER);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+        request.setUserPrincipal(new UsernamePasswordAuthenticationToken("alice", null, List.of()));
+        MockFilterChain chain = new MockFilterChain();
+
+        afterSecurity.doFilter(request, new MockHttpServletResponse(), chain);
+
+        verify(rateLimiterService).checkRule(PER_USER, "user:alice");
+        assertThat(chain.getRequest()).isSameAs(request);
+    }
+
+    @Test
+    void anonymousRequestFallsBackToClientIp() throws Exception {
+        when(ruleRegistry.match("GET", "/api/users/me")).thenReturn(PER_USER);
+
+        afterSecurity.doFilter(new MockHttpServletRequest("GET", "/api/users/me"), new MockHttpServletResponse(),
+            new MockFilterChain());
+
+        verify(rateLimiterService).checkRule(PER_USER, "203.0.113.7");
+    }
+
+    @Test
+    void principalRulesAreSkippedBeforeSecurity() throws Exception {
+        when(ruleRegistry.match("GET", "/api/users/me")).thenReturn(PER_USER);
+        MockFilterChain chain = new MockFilterChain();
+
+        beforeSecurity.doFilter(new MockHttpServletRequest("GET", "/api/users/me"), new MockHttpServletResponse(), chain);
+
+        verify(rateLimiterService, never()).checkRule(any(), anyString());
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    void otherRulesAreLeftToTheFilterBeforeSecurity() throws Exception {
+        when(ruleRegistry.match("POST", "/api/auth/login")).thenReturn(PER_IP);
+
+        afterSecurity.doFilter(new MockHttpServletRequest("POST", "/api/auth/login"), new MockHttpServletResponse(),
+            new MockFilterChain());
+        verify(rateLimiterService, never()).checkRule(any(), anyString());
+
+        beforeSecurity.doFilter(new MockHttpServletRequest("POST", "/api/auth/login"), new MockHttpServletResponse(),
+            new MockFilterChain());
+        verify(rateLimiterService).checkRule(PER_IP, "203.0.113.7");
+    }
+}
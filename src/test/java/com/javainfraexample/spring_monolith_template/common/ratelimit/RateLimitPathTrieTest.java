@@ -0,0 +1,124 @@
+package com.javainfraexample.spring_monolith_template.common.ratelimit;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class RateLimitPathTrieTest {
+
+    private final RateLimitPathTrie trie = new RateLimitPathTrie();
+
+    @Test
+    void literalBranchFallsBackToWildcardSibling() {
+        RateLimitRule deep = rule("deep");
+        RateLimitRule wildcard = rule("wildcard");
+        trie.add("/a/b/d", null, deep);
+        trie.add("/a/*/c", null, wildcard);
+
+        assertThat(trie.match("GET", "/a/b/c")).isSameAs(wildcard);
+        assertThat(trie.match("GET", "/a/b/d")).isSameAs(deep);
+    }
+
+    @Test
+    void exactMatchBeatsDeeperDoubleWildcard() {
+        RateLimitRule rest = rule("rest");
+        RateLimitRule exact = rule("exact");
+        trie.add("/a/b/**", null, rest);
+        trie.add("/a/*/c", null, exact);
+
+        assertThat(trie.match("GET", "/a/b/c")).isSameAs(exact);
+        assertThat(trie.match("GET", "/a/b/x/y")).isSameAs(rest);
+    }
+
+    @Test
+    void deepestDoubleWildcardOnAnyBranchIsTheFallback() {
+        RateLimitRule shallow = rule("shallow");
+        RateLimitRule deep = rule("deep");
+        trie.add("/api/**", null, shallow);
+        trie.add("/api/b/x", null, rule("other"));
+        trie.add("/api/*/c/**", null, deep);
+
+        assertThat(trie.match("GET", "/api/b/c/d")).isSameAs(deep);
+        assertThat(trie.match("GET", "/api/b/z")).isSameAs(shallow);
+    }
+
+    @Test
+    void pathIsNormalizedBeforeMatching() {
+        RateLimitRule login = rule("login");
+        trie.add("/api/auth/login", "POST", login);
+
+        assertThat(trie.match("POST", "/api/auth/login/")).isSameAs(login);
+        assertThat(trie.match("POST", "//api//auth///login")).isSameAs(login);
+        assertThat(trie.match("POST", "/api/./auth/x/../login")).isSameAs(login);
+        assertThat(trie.match("POST", "/api/auth/login;jsessionid=abc")).isSameAs(login);
+        assertThat(trie.match("POST", "/api/auth/%6Cogin")).isSameAs(login);
+        assertThat(trie.match("POST", "/api/auth/logins")).isNull();
+    }
+
+    @Test
+    void normalizeLeavesCleanPathsAlone() {
+        String path = "/api/users/42";
+        assertThat(RateLimitPathTrie.normalize(path)).isSameAs(path);
+        assertThat(RateLimitPathTrie.normalize("/api/users/")).isEqualTo("/api/users");
+        assertThat(RateLimitPathTrie.normalize("/../..")).isEqualTo("/");
+        assertThat(RateLimitPathTrie.normalize("/api/%zz")).isEqualTo("/api/%zz");
+    }
+
+    @Test
+    void unknownMethodIsRejectedWhenRegistering() {
+        assertThatThrownBy(() -> trie.add("/api/users", "FETCH", rule("typo")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("FETCH");
+    }
+
+    @Test
+    void unknownRequestMethodOnlyMatchesAnyMethodRules() {
+        RateLimitRule get = rule("get");
+        RateLimitRule any = rule("any");
+        trie.add("/api/files", "GET", get);
+        trie.add("/api/files", null, any);
+
+        assertThat(trie.match("get", "/api/files")).isSameAs(get);
+        assertThat(trie.match("PROPFIND", "/api/files")).isSameAs(any);
+    }
+
+    @Test
+    void matchingDoesNotAllocate() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        trie.add("/api/**", null, rule("api"));
+        trie.add("/api/*/orders/**", "GET", rule("orders"));
+        trie.add("/api/users/*", "GET", rule("user"));
+        int matches = 0;
+        for (int i = 0; i < 20_000; i++) {   // warm up
+            matches += match();
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 10_000; i++) {
+            matches += match();
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertThat(matches).isEqualTo(30_000 * 3);
+        assertThat(allocated).isLessThan(1024);   // one object per lookup would be well over 100 KB
+    }
+
+    private int match() {
+        int found = 0;
+        found += trie.match("GET", "/api/users/42") != null ? 1 : 0;            // exact
+        found += trie.match("GET", "/api/users/42/orders/7") != null ? 1 : 0;   // ** fallback
+        found += trie.match("POST", "/api/anything/else") != null ? 1 : 0;      // shallow ** fallback
+        return found;
+    }
+
+    private static RateLimitRule rule(String name) {
+        return new RateLimitRule(name, false, RateLimitAlgorithm.FIXED_WINDOW, RateLimitKeyStrategy.IP, 1, List.of());
+    }
+}
@@ -0,0 +1,94 @@
+package com.javainfraexample.spring_monolith_template.config.rabbitmq;
+
+import com.javainfraexample.spring_monolith_template.messaging.audit.AuditMessage;
+import com.javainfraexample.spring_monolith_template.messaging.notification.message.NotificationMessage;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NegotiatingMessageConverterTest {
+
+    static Stream<Arguments> formats() {
+        return Stream.of(MessageConversionConfig.Format.values())
+            .flatMap(format -> Stream.of(MessageConversionConfig.Compression.values())
+                .map(compression -> Arguments.of(format, compression)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("formats")
+    void roundTripsMulticastNotification(MessageConversionConfig.Format format,
+                                         MessageConversionConfig.Compression compression) {
+        NotificationMessage payload = multicast(1000);
+
+        assertThat(roundTrip(converter(format, compression), payload)).isEqualTo(payload);
+    }
+
+    @ParameterizedTest
+    @MethodSource("formats")
+    void roundTripsAuditMessage(MessageConversionConfig.Format format,
+                                MessageConversionConfig.Compression compression) {
+        AuditMessage payload = audit(200);
+
+        assertThat(roundTrip(converter(format, compression), payload)).isEqualTo(payload);
+    }
+
+    @ParameterizedTest
+    @MethodSource("formats")
+    void binaryAndCompressedBodiesAreSmallerThanJson(MessageConversionConfig.Format format,
+                                                     MessageConversionConfig.Compression compression) {
+        NotificationMessage payload = multicast(1000);
+        int json = new JacksonJsonMessageConverter().toMessage(payload, new MessageProperties()).getBody().length;
+
+        int size = converter(format, compression).toMessage(payload, new MessageProperties()).getBody().length;
+
+        if (format == MessageConversionConfig.Format.JSON && compression == MessageConversionConfig.Compression.NONE) {
+            assertThat(size).isEqualTo(json);
+        } else {
+            assertThat(size).isLessThan(json);
+        }
+    }
+
+    private static Object roundTrip(NegotiatingMessageConverter converter, Object payload) {
+        Message message = converter.toMessage(payload, new MessageProperties());
+        message.getMessageProperties().setInferredArgumentType(payload.getClass());
+        return converter.fromMessage(new Message(message.getBody(), message.getMessageProperties()));
+    }
+
+    private static NegotiatingMessageConverter converter(MessageConversionConfig.Format format,
+                                                         MessageConversionConfig.Compression compression) {
+        MessageConversionConfig config = new MessageConversionConfig();
+        config.setFormat(format);
+        config.setCompression(compression);
+        return new NegotiatingMessageConverter(new JacksonJsonMessageConverter(), config);
+    }
+
+    private static NotificationMessage multicast(int tokens) {
+        List<String> list = new ArrayList<>(tokens);
+        for (int i = 0; i < tokens; i++) {
+            list.add("fcm-token-" + i);
+        }
+        return NotificationMessage.multicast(list, "Sprint review", "Sprint review at 3pm in room 4", "NORMAL",
+            Map.of("url", "/meetings/42"));
+    }
+
+    private static AuditMessage audit(int entries) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        for (int i = 0; i < entries; i++) {
+            details.put("field" + i, i % 3 == 0 ? i : "value-" + i);
+        }
+        return new AuditMessage("USER_UPDATED", "user-42", "203.0.113.7", details,
+            Instant.parse("2026-10-18T12:00:00.123456Z"));
+    }
+}
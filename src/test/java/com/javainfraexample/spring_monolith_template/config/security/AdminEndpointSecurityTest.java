@@ -0,0 +1,120 @@
+package com.javainfraexample.spring_monolith_template.config.security;
+
+import com.javainfraexample.spring_monolith_template.api.audit.AuditController;
+import com.javainfraexample.spring_monolith_template.api.dlq.DlqController;
+import com.javainfraexample.spring_monolith_template.config.WebMvcConfig;
+import com.javainfraexample.spring_monolith_template.services.audit.AuditService;
+import com.javainfraexample.spring_monolith_template.services.dlq.DlqRecordService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Operator endpoints must not fall through to the /api/** permitAll.
+ */
+@SpringJUnitWebConfig(AdminEndpointSecurityTest.Config.class)
+class AdminEndpointSecurityTest {
+
+    private static final String AUDIT_EVENTS = "/api/audit/events?from=2026-10-01T00:00:00";
+    private static final String AUDIT_EXPORT = "/api/audit/events/export?from=2026-10-01T00:00:00";
+    private static final String DLQ_RECORDS = "/api/admin/dlq/records";
+    private static final String DLQ_REPLAYS = "/api/admin/dlq/replays";
+    private static final String RATE_LIMIT_KEY = "/actuator/ratelimit/strict/ip:192.168.1.10:login";
+
+    @MockitoBean
+    private AuditService auditService;
+
+    @MockitoBean
+    private DlqRecordService dlqRecordService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp(WebApplicationContext context) {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+    }
+
+    @Test
+    void anonymousAuditRequestsAreUnauthorized() throws Exception {
+        mockMvc.perform(get(AUDIT_EVENTS)).andExpect(status().isUnauthorized());
+        mockMvc.perform(get(AUDIT_EXPORT)).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void nonAdminAuditRequestsAreForbidden() throws Exception {
+        mockMvc.perform(get(AUDIT_EVENTS).with(httpBasic("user", "secret"))).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void adminCanReadAuditEvents() throws Exception {
+        mockMvc.perform(get(AUDIT_EVENTS).with(httpBasic("admin", "secret"))).andExpect(status().isOk());
+    }
+
+    @Test
+    void anonymousDlqRequestsAreUnauthorized() throws Exception {
+        mockMvc.perform(get(DLQ_RECORDS)).andExpect(status().isUnauthorized());
+        mockMvc.perform(get(DLQ_REPLAYS)).andExpect(status().isUnauthorized());
+        mockMvc.perform(post(DLQ_REPLAYS).contentType(MediaType.APPLICATION_JSON).content("{\"queue\":\"app.email.send\"}"))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(delete(DLQ_REPLAYS + "/1")).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void nonAdminDlqRequestsAreForbidden() throws Exception {
+        mockMvc.perform(get(DLQ_RECORDS).with(httpBasic("user", "secret"))).andExpect(status().isForbidden());
+        mockMvc.perform(post(DLQ_REPLAYS).with(httpBasic("user", "secret"))
+                .contentType(MediaType.APPLICATION_JSON).content("{\"queue\":\"app.email.send\"}"))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void adminCanListDlqRecords() throws Exception {
+        mockMvc.perform(get(DLQ_RECORDS).with(httpBasic("admin", "secret"))).andExpect(status().isOk());
+    }
+
+    @Test
+    void anonymousRateLimitRequestsAreUnauthorized() throws Exception {
+        mockMvc.perform(get("/actuator/ratelimit")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get(RATE_LIMIT_KEY)).andExpect(status().isUnauthorized());
+        mockMvc.perform(delete(RATE_LIMIT_KEY)).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void nonAdminCannotResetRateLimits() throws Exception {
+        mockMvc.perform(delete(RATE_LIMIT_KEY).with(httpBasic("user", "secret"))).andExpect(status().isForbidden());
+    }
+
+    @Configuration
+    @EnableWebMvc
+    @EnableWebSecurity
+    @Import({SecurityConfig.class, WebMvcConfig.class, AuditController.class, DlqController.class})
+    static class Config {
+
+        @Bean
+        UserDetailsService userDetailsService() {
+            return new InMemoryUserDetailsManager(
+                User.withUsername("admin").password("{noop}secret").roles(SecurityConfig.ADMIN_ROLE).build(),
+                User.withUsername("user").password("{noop}secret").roles("USER").build());
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.javainfraexample.spring_monolith_template.messaging.audit;
+
+import com.javainfraexample.spring_monolith_template.messaging.constant.QueueConstants;
+import com.javainfraexample.spring_monolith_template.messaging.idempotency.IdempotencyStore;
+import com.javainfraexample.spring_monolith_template.messaging.idempotency.IdempotencyStore.Claim;
+import com.javainfraexample.spring_monolith_template.messaging.publisher.AsyncRabbitPublisher;
+import com.javainfraexample.spring_monolith_template.messaging.retry.RetryConfig;
+import com.javainfraexample.spring_monolith_template.messaging.retry.RetryTopology;
+import com.javainfraexample.spring_monolith_template.services.audit.AuditService;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuditListenerTest {
+
+    private static final String HOLD = QueueConstants.AUDIT_QUEUE + ".retry.hold";
+
+    private final AuditService auditService = mock(AuditService.class);
+    private final MessageConverter converter = mock(MessageConverter.class);
+    private final IdempotencyStore idempotencyStore = mock(IdempotencyStore.class);
+    private final RetryTopology retryTopology = mock(RetryTopology.class);
+    private final AsyncRabbitPublisher publisher = mock(AsyncRabbitPublisher.class);
+    private final Channel channel = mock(Channel.class);
+    private final AuditBatchConfig batchConfig = new AuditBatchConfig();
+
+    private AuditListener listener;
+
+    @BeforeEach
+    void setUp() {
+        batchConfig.setInsertAttempts(1);
+        when(retryTopology.holdRoutingKey(QueueConstants.AUDIT_QUEUE)).thenReturn(HOLD);
+        listener = new AuditListener(auditService, converter, batchConfig, idempotencyStore, retryTopology,
+                new RetryConfig(), publisher, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void unreadableLastMessageIsNotAckedAgain() throws Exception {
+        Message first = readable(1);
+        Message second = readable(2);
+        Message broken = unreadable(3);
+        when(auditService.recordBatch(anyList())).thenReturn(2);
+
+        listener.onBatch(List.of(first, second, broken), channel);
+
+        verify(channel).basicNack(3, false, false);
+        verify(channel).basicAck(2, true);
+        verify(channel, never()).basicAck(eq(3L), anyBoolean());
+    }
+
+    @Test
+    void batchOfOnlyUnreadableMessagesIsNeverAcked() throws Exception {
+        listener.onBatch(List.of(unreadable(1), unreadable(2)), channel);
+
+        verify(channel).basicNack(1, false, false);
+        verify(channel).basicNack(2, false, false);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+        verify(auditService, never()).recordBatch(anyList());
+    }
+
+    @Test
+    void failedInsertNacksUpToLastReadableMessage() throws Exception {
+        Message first = readable(1);
+        Message broken = unreadable(2);
+        when(auditService.recordBatch(anyList())).thenThrow(new IllegalStateException("database down"));
+
+        listener.onBatch(List.of(first, broken), channel);
+
+        verify(channel).basicNack(2, false, false);
+        verify(channel).basicNack(1, true, false);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+
+    @Test
+    void failedAckDoesNotInsertTheBatchAgain() throws Exception {
+        Message first = readable(1);
+        Message second = readable(2);
+        batchConfig.setInsertAttempts(3);
+        when(auditService.recordBatch(anyList())).thenReturn(2);
+        doThrow(new IOException("channel closed")).when(channel).basicAck(2, true);
+
+        assertThatThrownBy(() -> listener.onBatch(List.of(first, second), channel)).isInstanceOf(IOException.class);
+
+        verify(auditService, times(1)).recordBatch(anyList());
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    void failedInsertDoesNotDeadLetterDuplicates() throws Exception {
+        Message duplicate = readable(1);
+        Message event = readable(2);
+        Message laterDuplicate = readable(3);
+        when(idempotencyStore.isEnabled()).thenReturn(true);
+        when(idempotencyStore.claim(anyString(), anyList()))
+            .thenReturn(List.of(Claim.DUPLICATE, Claim.CLAIMED, Claim.DUPLICATE));
+        when(auditService.recordBatch(anyList())).thenThrow(new IllegalStateException("database down"));
+
+        listener.onBatch(List.of(duplicate, event, laterDuplicate), channel);
+
+        verify(channel).basicAck(1, false);
+        verify(channel).basicAck(3, false);
+        verify(channel).basicNack(2, true, false);
+        verify(channel, never()).basicNack(eq(3L), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    void inFlightMessageIsHeldNotRequeued() throws Exception {
+        Message first = readable(1);
+        Message inFlight = readable(2);
+        Message third = readable(3);
+        when(idempotencyStore.isEnabled()).thenReturn(true);
+        when(idempotencyStore.claim(anyString(), anyList()))
+            .thenReturn(List.of(Claim.CLAIMED, Claim.IN_FLIGHT, Claim.CLAIMED));
+        when(publisher.publish(QueueConstants.DLX_EXCHANGE, HOLD, inFlight)).thenReturn(confirm(true));
+        when(auditService.recordBatch(anyList())).thenReturn(2);
+
+        listener.onBatch(List.of(first, inFlight, third), channel);
+
+        verify(publisher).publish(eq(QueueConstants.DLX_EXCHANGE), eq(HOLD), same(inFlight));
+        verify(channel).basicAck(2, false);
+        verify(channel).basicAck(3, true);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), eq(true));
+    }
+
+    @Test
+    void batchIsHeldWhenIdempotencyCheckIsUnavailable() throws Exception {
+        Message first = readable(1);
+        Message second = readable(2);
+        when(idempotencyStore.isEnabled()).thenReturn(true);
+        when(idempotencyStore.claim(anyString(), anyList())).thenThrow(new RedisConnectionFailureException("down"));
+        when(publisher.publish(QueueConstants.DLX_EXCHANGE, HOLD, first)).thenReturn(confirm(true));
+        when(publisher.publish(QueueConstants.DLX_EXCHANGE, HOLD, second)).thenReturn(confirm(false));
+
+        listener.onBatch(List.of(first, second), channel);
+
+        verify(channel).basicAck(1, false);
+        verify(channel).basicNack(2, false, false);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), eq(true));
+        verify(auditService, never()).recordBatch(anyList());
+    }
+
+    private static CompletableFuture<CorrelationData.Confirm> confirm(boolean ack) {
+        return CompletableFuture.completedFuture(new CorrelationData.Confirm(ack, ack ? null : "nacked"));
+    }
+
+    private Message readable(long tag) {
+        Message message = message(tag);
+        when(converter.fromMessage(message)).thenReturn(new AuditMessage("LOGIN", "user-" + tag, Map.of()));
+        return message;
+    }
+
+    private Message unreadable(long tag) {
+        Message message = message(tag);
+        when(converter.fromMessage(message)).thenThrow(new MessageConversionException("bad payload"));
+        return message;
+    }
+
+    private static Message message(long tag) {
+        MessageProperties properties = new MessageProperties();
+        properties.setDeliveryTag(tag);
+        properties.setMessageId("audit-" + tag);
+        return new Message(("{\"tag\":" + tag + "}").getBytes(), properties);
+    }
+}
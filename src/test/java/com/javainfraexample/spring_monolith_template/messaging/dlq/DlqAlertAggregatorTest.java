@@ -0,0 +1,144 @@
+package com.javainfraexample.spring_monolith_template.messaging.dlq;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Windowing and dedup of DLQ alerts, posted to a stub webhook.
+ */
+class DlqAlertAggregatorTest {
+
+    private static final String QUEUE = "app.email.send";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BlockingQueue<JsonNode> posts = new LinkedBlockingQueue<>();
+    private final DlqSlackConfig config = new DlqSlackConfig();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private HttpServer webhook;
+    private DlqSlackNotifier notifier;
+    private DlqAlertAggregator aggregator;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        webhook = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        webhook.createContext("/hook", exchange -> {
+            posts.add(objectMapper.readTree(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8)));
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        webhook.start();
+
+        config.setEnabled(true);
+        config.setWebhookUrl("http://localhost:" + webhook.getAddress().getPort() + "/hook");
+        config.setDedupWindowMs(60_000);
+        notifier = new DlqSlackNotifier(config, objectMapper, meterRegistry);
+        aggregator = new DlqAlertAggregator(notifier, config, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        notifier.shutdown();
+        webhook.stop(0);
+    }
+
+    @Test
+    void oneAlertPerWindowWithErrorsGroupedAcrossIds() throws Exception {
+        aggregator.record(message("User 42 not found"));
+        aggregator.record(message("User 43 not found"));
+        aggregator.record(message("SMTP timeout"));
+
+        aggregator.flush();
+
+        JsonNode alert = posts.poll(5, TimeUnit.SECONDS);
+        assertThat(alert).isNotNull();
+        assertThat(alert.get("text").asText()).isEqualTo("DLQ Alert — 3 messages failed");
+        assertThat(queueSections(alert)).hasSize(2);
+        assertThat(posts.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void groupAlreadyAlertedIsHeldUntilTheDedupWindowEnds() throws Exception {
+        config.setDedupWindowMs(300);
+        aggregator.record(message("User 42 not found"));
+        aggregator.flush();
+        assertThat(posts.poll(5, TimeUnit.SECONDS)).isNotNull();
+
+        aggregator.record(message("User 44 not found"));
+        aggregator.record(message("User 45 not found"));
+        aggregator.flush();
+        assertThat(posts.poll(200, TimeUnit.MILLISECONDS)).isNull();
+
+        Thread.sleep(300);
+        aggregator.flush();
+        JsonNode repeat = posts.poll(5, TimeUnit.SECONDS);
+        assertThat(repeat).isNotNull();
+        assertThat(repeat.get("text").asText()).isEqualTo("DLQ Alert — 2 messages failed");
+        assertThat(repeat.toString()).contains("still failing, 3 total");
+    }
+
+    @Test
+    void emptyWindowSendsNothing() throws Exception {
+        aggregator.flush();
+
+        assertThat(posts.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void trackedGroupsNeverExceedTheCapUnderConcurrentRecords() throws Exception {
+        config.setMaxTrackedGroups(10);
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int thread = 0; thread < 8; thread++) {
+                String prefix = "error-" + (char) ('a' + thread);
+                executor.execute(() -> {
+                    for (char c = 'a'; c <= 'z'; c++) {
+                        aggregator.record(message(prefix + c));
+                    }
+                });
+            }
+        }
+
+        // 10 tracked groups plus the one "other errors" group of the queue
+        assertThat(meterRegistry.get("dlq.alert.groups").gauge().value()).isEqualTo(11);
+
+        aggregator.flush();
+        JsonNode alert = posts.poll(5, TimeUnit.SECONDS);
+        assertThat(alert).isNotNull();
+        assertThat(alert.get("text").asText()).isEqualTo("DLQ Alert — " + 8 * 26 + " messages failed");
+    }
+
+    private static List<JsonNode> queueSections(JsonNode alert) {
+        List<JsonNode> sections = new ArrayList<>();
+        for (JsonNode block : alert.get("blocks")) {
+            if (block.has("fields")) {
+                sections.add(block);
+            }
+        }
+        return sections;
+    }
+
+    private static DlqMessage message(String error) {
+        return new DlqMessage(QUEUE, "EMAIL", 3, error, "{}", Map.of(), Instant.now());
+    }
+}
@@ -0,0 +1,115 @@
+package com.javainfraexample.spring_monolith_template.messaging.dlq;
+
+import com.javainfraexample.spring_monolith_template.messaging.constant.QueueConstants;
+import com.javainfraexample.spring_monolith_template.messaging.publisher.AsyncRabbitPublisher;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DlqListenerTest {
+
+    private static final String DLQ = QueueConstants.EMAIL_DLQ;
+
+    private final DlqNotificationService notificationService = mock(DlqNotificationService.class);
+    private final AsyncRabbitPublisher publisher = mock(AsyncRabbitPublisher.class);
+    private final Channel channel = mock(Channel.class);
+    private final DlqStoreConfig storeConfig = new DlqStoreConfig();
+
+    private DlqListener listener;
+
+    @BeforeEach
+    void setUp() {
+        storeConfig.setInsertAttempts(1);
+        storeConfig.setMaxStoreFailures(3);
+        listener = new DlqListener(notificationService, storeConfig, publisher, new SimpleMeterRegistry());
+        when(publisher.publish(anyString(), anyString(), any(Message.class)))
+            .thenReturn(CompletableFuture.completedFuture(new CorrelationData.Confirm(true, null)));
+    }
+
+    @Test
+    void storedBatchIsAckedAtOnce() throws Exception {
+        listener.onEmailDlq(List.of(message(1, 0), message(2, 0)), channel);
+
+        verify(channel).basicAck(2, true);
+        verify(publisher, never()).publish(anyString(), anyString(), any(Message.class));
+    }
+
+    @Test
+    void poisonMessageIsIsolatedAndRepublishedWithItsFailureCount() throws Exception {
+        Message good = message(1, 0);
+        Message poison = message(2, 0);
+        doThrow(new IllegalStateException("batch failed")).when(notificationService)
+            .processBatch(argThat(batch -> batch.size() > 1), eq(DLQ));
+        doThrow(new IllegalStateException("value too long")).when(notificationService)
+            .processBatch(List.of(poison), DLQ);
+
+        listener.onEmailDlq(List.of(good, poison), channel);
+
+        verify(channel).basicAck(1, false);
+        verify(channel).basicAck(2, false);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+        ArgumentCaptor<Message> republished = ArgumentCaptor.forClass(Message.class);
+        verify(publisher).publish(eq(""), eq(DLQ), republished.capture());
+        assertThat((Object) republished.getValue().getMessageProperties().getHeader(QueueConstants.HEADER_DLQ_STORE_FAILURES))
+            .isEqualTo(1);
+    }
+
+    @Test
+    void messageIsParkedAfterMaxStoreFailures() throws Exception {
+        Message poison = message(1, 2);
+        doThrow(new IllegalStateException("value too long")).when(notificationService).processBatch(anyList(), eq(DLQ));
+
+        listener.onEmailDlq(List.of(poison), channel);
+
+        ArgumentCaptor<Message> parked = ArgumentCaptor.forClass(Message.class);
+        verify(publisher).publish(eq(""), eq(QueueConstants.DLQ_PARKING_QUEUE), parked.capture());
+        assertThat((Object) parked.getValue().getMessageProperties().getHeader(QueueConstants.HEADER_PARKED_FROM))
+            .isEqualTo(DLQ);
+        verify(channel).basicAck(1, false);
+    }
+
+    @Test
+    void unconfirmedRepublishIsRequeued() throws Exception {
+        Message poison = message(1, 0);
+        doThrow(new IllegalStateException("database down")).when(notificationService).processBatch(anyList(), eq(DLQ));
+        when(publisher.publish(anyString(), anyString(), any(Message.class)))
+            .thenReturn(CompletableFuture.completedFuture(new CorrelationData.Confirm(false, "nack")));
+
+        listener.onEmailDlq(List.of(poison), channel);
+
+        verify(channel).basicNack(1, false, true);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+
+    private static Message message(long tag, int storeFailures) {
+        MessageProperties properties = new MessageProperties();
+        properties.setDeliveryTag(tag);
+        properties.setMessageId("m-" + tag);
+        if (storeFailures > 0) {
+            properties.setHeader(QueueConstants.HEADER_DLQ_STORE_FAILURES, storeFailures);
+        }
+        return new Message(("{\"tag\":" + tag + "}").getBytes(), properties);
+    }
+}
@@ -0,0 +1,54 @@
+package com.javainfraexample.spring_monolith_template.messaging.notification.publisher;
+
+import com.javainfraexample.spring_monolith_template.messaging.constant.QueueConstants;
+import com.javainfraexample.spring_monolith_template.messaging.notification.NotificationDeliveryConfig;
+import com.javainfraexample.spring_monolith_template.messaging.notification.message.NotificationMessage;
+import com.javainfraexample.spring_monolith_template.messaging.outbox.OutboxPublisher;
+import com.javainfraexample.spring_monolith_template.messaging.retry.RetryTopology;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class NotificationPublisherTest {
+
+    private final OutboxPublisher outboxPublisher = mock(OutboxPublisher.class);
+    private final NotificationPublisher publisher =
+            new NotificationPublisher(outboxPublisher, new NotificationDeliveryConfig(), mock(RetryTopology.class));
+
+    @Test
+    void highMulticastIsDeadLetteredToTheHighQueueDlq() {
+        NotificationMessage failed = NotificationMessage.multicast(List.of("t1"), "Alert", "Sign-in", "HIGH", Map.of());
+
+        publisher.deadLetterMulticast(failed, 3, "1 tokens failed after 3 attempts");
+
+        MessageProperties properties = deadLettered(QueueConstants.NOTIFICATION_HIGH_DLQ, failed);
+        assertThat((String) properties.getHeader(QueueConstants.HEADER_ORIGINAL_QUEUE))
+                .isEqualTo(QueueConstants.NOTIFICATION_HIGH_QUEUE);
+    }
+
+    @Test
+    void normalMulticastIsDeadLetteredToTheMulticastDlq() {
+        NotificationMessage failed = NotificationMessage.multicast(List.of("t1"), "Update", "Sprint review", "NORMAL", Map.of());
+
+        publisher.deadLetterMulticast(failed, 3, "1 tokens failed after 3 attempts");
+
+        MessageProperties properties = deadLettered(QueueConstants.NOTIFICATION_MULTICAST_DLQ, failed);
+        assertThat((String) properties.getHeader(QueueConstants.HEADER_ORIGINAL_QUEUE))
+                .isEqualTo(QueueConstants.NOTIFICATION_MULTICAST_QUEUE);
+    }
+
+    private MessageProperties deadLettered(String dlq, NotificationMessage failed) {
+        ArgumentCaptor<MessageProperties> properties = ArgumentCaptor.forClass(MessageProperties.class);
+        verify(outboxPublisher).publish(eq(QueueConstants.DLX_EXCHANGE), eq(dlq), same(failed), properties.capture());
+        return properties.getValue();
+    }
+}
@@ -0,0 +1,72 @@
+package com.javainfraexample.spring_monolith_template.messaging.publisher;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.support.converter.SimpleMessageConverter;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AsyncRabbitPublisherTest {
+
+    private final ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+    private final AsyncPublisherConfig config = new AsyncPublisherConfig();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shutdownFailsRetriesStillWaitingForTheirBackoff() throws Exception {
+        when(connectionFactory.createConnection()).thenThrow(new AmqpConnectException(new IOException("broker down")));
+        config.setSenderThreads(1);
+        config.setRetryBackoffMs(60_000);
+        AsyncRabbitPublisher publisher = new AsyncRabbitPublisher(
+                connectionFactory, new SimpleMessageConverter(), config, meterRegistry);
+        publisher.start();
+
+        CompletableFuture<CorrelationData.Confirm> result =
+                publisher.publish("app.exchange", "app.email.send", new Message("{}".getBytes(), new MessageProperties()));
+        verify(connectionFactory, timeout(5000)).createConnection();
+        awaitRetryScheduled();
+        publisher.shutdown();
+
+        assertThat(result).isCompletedExceptionally();
+        assertThatThrownBy(() -> result.get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void publishesBeforeStartAreBufferedNotLost() throws Exception {
+        AsyncRabbitPublisher publisher = new AsyncRabbitPublisher(
+                connectionFactory, new SimpleMessageConverter(), config, meterRegistry);
+
+        CompletableFuture<CorrelationData.Confirm> result =
+                publisher.publish("app.exchange", "app.email.send", new Message("{}".getBytes(), new MessageProperties()));
+        assertThat(result).isNotDone();
+
+        publisher.shutdown();
+        assertThat(result).isCompletedExceptionally();
+    }
+
+    private void awaitRetryScheduled() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("rabbitmq.publish.retries").counter().count() < 1) {
+            assertThat(System.currentTimeMillis()).as("retry scheduled").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
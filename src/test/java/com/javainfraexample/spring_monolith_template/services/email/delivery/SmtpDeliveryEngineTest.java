@@ -0,0 +1,286 @@
+package com.javainfraexample.spring_monolith_template.services.email.delivery;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Message.RecipientType;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The engine and its connection pool against an in-process SMTP server. GreenMail accepts every
+ * recipient, so RCPT replies are tested against a scripted stub instead.
+ */
+class SmtpDeliveryEngineTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SmtpConfig config = new SmtpConfig();
+
+    private GreenMail greenMail;
+    private SmtpTransportPool pool;
+    private SmtpDeliveryEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        greenMail = startGreenMail();
+        config.setEnabled(true);
+        config.setHost(ServerSetupTest.SMTP.getBindAddress());
+        config.setPort(greenMail.getSmtp().getPort());
+        config.setStartTls(false);
+        config.setValidateAfterIdleMs(60_000);   // hand out pooled connections without a NOOP check
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+        greenMail.stop();
+    }
+
+    @Test
+    void reusesConnectionUpToMaxMessagesPerConnection() throws Exception {
+        config.setMaxMessagesPerConnection(2);
+        createEngine();
+
+        for (int i = 0; i < 5; i++) {
+            engine.send(message("user" + i + "@example.com"));
+        }
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(5);
+        assertThat(opened()).isEqualTo(3);
+        assertThat(connections("idle")).isEqualTo(1);
+        assertThat(connections("in_use")).isZero();
+    }
+
+    @Test
+    void brokenConnectionIsDiscarded() throws Exception {
+        createEngine();
+        engine.send(message("first@example.com"));
+        assertThat(connections("idle")).isEqualTo(1);
+
+        greenMail.stop();
+        assertThatThrownBy(() -> engine.send(message("second@example.com")))
+            .isInstanceOf(EmailDeliveryException.class)
+            .isNotInstanceOf(EmailRejectedException.class);
+        assertThat(connections("idle")).isZero();
+        assertThat(connections("in_use")).isZero();
+
+        greenMail = startGreenMail();
+        config.setPort(greenMail.getSmtp().getPort());
+        engine.send(message("third@example.com"));
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+        assertThat(opened()).isEqualTo(2);
+    }
+
+    @Test
+    void limitsSendsInFlightPerDomain() throws Exception {
+        config.setMaxPerDomain(1);
+        config.setBorrowTimeoutMs(300);
+        createEngine();
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        MimeMessage blocking = fill(new BlockingMessage(pool.session(), writing, proceed), "first@example.com");
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> engine.send(blocking));
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> engine.send(message("second@example.com")))
+            .isInstanceOf(EmailDeliveryException.class)
+            .hasMessageContaining("Too many emails in flight to example.com");
+        engine.send(message("other@example.org"));   // another domain isn't held up
+
+        proceed.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        engine.send(message("second@example.com"));
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(3);
+        assertThat(meterRegistry.get("email.smtp.domains.active").gauge().value()).isZero();
+    }
+
+    @Test
+    void permanentlyRejectedRecipientIsNotRetried() throws Exception {
+        try (ScriptedSmtpServer server = new ScriptedSmtpServer("550 5.1.1 No such user")) {
+            config.setPort(server.port());
+            createEngine();
+
+            assertThatThrownBy(() -> engine.send(message("missing@example.com")))
+                .isInstanceOf(EmailRejectedException.class)
+                .hasMessageContaining("missing@example.com");
+            assertThat(outcome("rejected")).isEqualTo(1);
+            assertThat(connections("idle")).isEqualTo(1);   // the connection itself is fine
+        }
+    }
+
+    @Test
+    void temporarilyRefusedRecipientIsRetryable() throws Exception {
+        try (ScriptedSmtpServer server = new ScriptedSmtpServer("450 4.2.1 Mailbox busy, try later")) {
+            config.setPort(server.port());
+            createEngine();
+
+            assertThatThrownBy(() -> engine.send(message("busy@example.com")))
+                .isInstanceOf(EmailDeliveryException.class)
+                .isNotInstanceOf(EmailRejectedException.class);
+            assertThat(outcome("failed")).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void emailWithoutRecipientsIsRejected() throws Exception {
+        createEngine();
+        MimeMessage message = engine.createMessage();
+        message.setText("Hello");
+
+        assertThatThrownBy(() -> engine.send(message))
+            .isInstanceOf(EmailRejectedException.class)
+            .hasMessage("Email has no recipients");
+    }
+
+    private void createEngine() {
+        pool = new SmtpTransportPool(config, meterRegistry);
+        engine = new SmtpDeliveryEngine(config, pool, meterRegistry);
+    }
+
+    private static GreenMail startGreenMail() {
+        GreenMail server = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+        server.start();
+        return server;
+    }
+
+    private MimeMessage message(String to) throws MessagingException {
+        return fill(engine.createMessage(), to);
+    }
+
+    private static MimeMessage fill(MimeMessage message, String to) throws MessagingException {
+        message.setFrom(new InternetAddress("no-reply@example.com"));
+        message.setRecipients(RecipientType.TO, to);
+        message.setSubject("Test");
+        message.setText("Hello");
+        return message;
+    }
+
+    private double opened() {
+        return meterRegistry.get("email.smtp.connections.opened").counter().count();
+    }
+
+    private double connections(String state) {
+        return meterRegistry.get("email.smtp.connections").tag("state", state).gauge().value();
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.get("email.smtp.messages").tag("outcome", outcome).counter().count();
+    }
+
+    /**
+     * Holds the DATA transfer until {@code proceed} opens, so the send keeps its domain slot.
+     */
+    private static final class BlockingMessage extends MimeMessage {
+        private final CountDownLatch writing;
+        private final CountDownLatch proceed;
+
+        BlockingMessage(Session session, CountDownLatch writing, CountDownLatch proceed) {
+            super(session);
+            this.writing = writing;
+            this.proceed = proceed;
+        }
+
+        @Override
+        public void writeTo(OutputStream os, String[] ignoreList) throws IOException, MessagingException {
+            writing.countDown();
+            try {
+                proceed.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.writeTo(os, ignoreList);
+        }
+    }
+
+    /**
+     * Minimal SMTP server that answers every RCPT TO with {@code rcptReply}.
+     */
+    private static final class ScriptedSmtpServer implements AutoCloseable {
+        private final ServerSocket socket;
+        private final String rcptReply;
+
+        ScriptedSmtpServer(String rcptReply) throws IOException {
+            this.socket = new ServerSocket(0, 10, InetAddress.getByName(ServerSetupTest.SMTP.getBindAddress()));
+            this.rcptReply = rcptReply;
+            Thread.ofVirtual().name("scripted-smtp").start(this::accept);
+        }
+
+        int port() {
+            return socket.getLocalPort();
+        }
+
+        private void accept() {
+            while (!socket.isClosed()) {
+                try {
+                    Socket client = socket.accept();
+                    Thread.ofVirtual().start(() -> serve(client));
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void serve(Socket client) {
+            try (client;
+                 BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.US_ASCII));
+                 PrintWriter out = new PrintWriter(client.getOutputStream(), true, StandardCharsets.US_ASCII)) {
+                reply(out, "220 scripted ESMTP");
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase(Locale.ROOT) : line;
+                    switch (command) {
+                        case "EHLO", "HELO" -> reply(out, "250 scripted");
+                        case "MAIL", "RSET", "NOOP" -> reply(out, "250 OK");
+                        case "RCPT" -> reply(out, rcptReply);
+                        case "QUIT" -> {
+                            reply(out, "221 Bye");
+                            return;
+                        }
+                        default -> reply(out, "502 Command not implemented");
+                    }
+                }
+            } catch (IOException e) {
+                // client hung up
+            }
+        }
+
+        private static void reply(PrintWriter out, String line) {
+            out.print(line + "\r\n");
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}